@@ -0,0 +1,443 @@
+package banc;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import main.Main;
+import main.TraitementParLots;
+import modele.ACMDynamique;
+import modele.Diametre;
+import modele.Graphe;
+import modele.Kruskal;
+import modele.Prim;
+import modele.TableauAretes;
+
+
+/**
+* La classe BancEssai est un banc d'essai mesurant les performances des principales
+* oprations du projet : lecture d'un fichier, algorithmes de Prim (variantes tas et dense)
+* et de Kruskal, mises  jour de l'arbre couvrant minimal dynamique, calcul du diamtre et
+* construction des listes d'adjacence.
+* Les mesures sont faites sur les fichiers donns en arguments (par dfaut doc/graphe_k5.dat
+* et les instances doc/Instances/inst_v*.dat) et sur des graphes alatoires creux et denses
+* de tailles choisies, pour pouvoir comparer les chiffres avant et aprs une optimisation.
+*
+* Chaque opration est d'abord excute NB_ECHAUFFEMENTS fois sans tre mesure, pour
+* laisser la JVM la compiler, puis NB_MESURES fois. Une mesure rpte l'opration jusqu'
+* ce que DUREE_MIN_MESURE soit coule, et en dduit la dure d'une opration. Sont
+* affiches, pour chaque opration, la dure moyenne et la dure minimale d'une opration,
+* la mmoire alloue par opration dans le thread du banc (lorsque la JVM sait la mesurer)
+* et le nombre et la dure des passages du ramasse-miettes pendant les mesures. La mmoire
+* alloue par les threads de calcul des variantes parallles n'est pas compte dans
+* l'allocation par opration, mais se retrouve dans les passages du ramasse-miettes.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class BancEssai {
+	
+	public final static int NB_ECHAUFFEMENTS = 5;
+	public final static int NB_MESURES = 10;
+	public final static long DUREE_MIN_MESURE = 100000000L;
+	public final static int[] NB_SOMMETS_SYNTHETIQUES = {1000};
+	public final static double[] DENSITES_SYNTHETIQUES = {0.01, 0.9};
+	public final static long GRAINE = 42;
+	static final int POIDS_MAX = 1000;
+	
+	private int nbEchauffements;
+	private int nbMesures;
+	private String filtre;
+	private Object puits;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe BancEssai.
+	 * 
+	 * @param nbEchauffements Nombre d'excutions non mesures de chaque opration.
+	 * @param nbMesures Nombre de mesures de chaque opration.
+	 * @param filtre Seules les oprations dont le nom contient ce texte sont mesures
+	 * (toutes si null).
+	 */
+	public BancEssai(int nbEchauffements, int nbMesures, String filtre) {
+		this.nbEchauffements = nbEchauffements;
+		this.nbMesures = nbMesures;
+		this.filtre = filtre;
+	}
+	
+	
+	
+	// ********************
+	// *** MTHODE MAIN ***
+	// ********************
+	
+	/**
+	 * La mthode main permet de lancer le banc d'essai depuis la ligne de commande.
+	 * Chaque argument est un fichier, un dossier ou un motif, comme pour la classe
+	 * TraitementParLots. Les options sont :
+	 * -echauffements N : nombre d'excutions non mesures (NB_ECHAUFFEMENTS par dfaut) ;
+	 * -mesures N : nombre de mesures (NB_MESURES par dfaut) ;
+	 * -sommets N,N,... : tailles des graphes alatoires (NB_SOMMETS_SYNTHETIQUES par dfaut,
+	 * 0 pour n'en mesurer aucun) ;
+	 * -densites D,D,... : densits des graphes alatoires (DENSITES_SYNTHETIQUES par dfaut) ;
+	 * -filtre T : ne mesurer que les oprations dont le nom contient T.
+	 * 
+	 * @param args Les arguments en lignes de commande.
+	 */
+	public static void main(String[] args) {
+		int nbEchauffements = NB_ECHAUFFEMENTS;
+		int nbMesures = NB_MESURES;
+		int[] nbSommets = NB_SOMMETS_SYNTHETIQUES;
+		double[] densites = DENSITES_SYNTHETIQUES;
+		String filtre = null;
+		List<File> fichiers = new ArrayList<File>();
+		String[] valeurs;
+		BancEssai banc;
+		
+		try {
+			for (int i=0 ; i<args.length ; i++) {
+				if (args[i].equals("-echauffements"))
+					nbEchauffements = Integer.parseInt(args[++i]);
+				else if (args[i].equals("-mesures"))
+					nbMesures = Integer.parseInt(args[++i]);
+				else if (args[i].equals("-filtre"))
+					filtre = args[++i];
+				else if (args[i].equals("-sommets")) {
+					valeurs = args[++i].split(",");
+					nbSommets = new int[valeurs.length];
+					for (int j=0 ; j<valeurs.length ; j++)
+						nbSommets[j] = Integer.parseInt(valeurs[j]);
+				} else if (args[i].equals("-densites")) {
+					valeurs = args[++i].split(",");
+					densites = new double[valeurs.length];
+					for (int j=0 ; j<valeurs.length ; j++)
+						densites[j] = Double.parseDouble(valeurs[j]);
+				} else
+					fichiers.addAll(TraitementParLots.listerFichiers(args[i]));
+			}
+			
+			if (fichiers.isEmpty()) {
+				fichiers.add(new File("doc", "graphe_k5.dat"));
+				fichiers.addAll(TraitementParLots.listerFichiers(new File("doc", "Instances").getPath()));
+			}
+			
+			banc = new BancEssai(nbEchauffements, nbMesures, filtre);
+			System.out.println(getEnTete());
+			for (File f : fichiers)
+				banc.mesurerFichier(f.getPath());
+			for (int n : nbSommets) {
+				for (double densite : densites) {
+					if (n > 1)
+						banc.mesurerGraphe("aleatoire_v" + n + "_d" + densite, genererGraphe(n, densite, GRAINE));
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	
+	
+	// **************************
+	// *** MTHODES DE MESURE ***
+	// **************************
+	
+	/**
+	 * Mthode permettant de mesurer la lecture d'un fichier, puis toutes les oprations sur
+	 * le graphe lu.
+	 * 
+	 * @param cheminFichier Chemin du fichier de graphe.
+	 * @throws IOException Si le fichier ne peut pas tre lu.
+	 */
+	public void mesurerFichier(final String cheminFichier) throws IOException {
+		mesurer("lecture", cheminFichier, new Operation() {
+			public Object executer() throws IOException {
+				return Main.lireFichier(cheminFichier);
+			}
+		});
+		mesurerGraphe(cheminFichier, Main.lireFichier(cheminFichier));
+	}
+	
+	/**
+	 * Mthode permettant de mesurer toutes les oprations sur un graphe dj construit.
+	 * Les listes d'adjacence du graphe sont construites avant les mesures, pour que chaque
+	 * algorithme soit mesur seul.
+	 * Une opration acm_dynamique est une mise  jour de l'arbre couvrant minimal maintenu
+	 * par la classe ACMDynamique,  comparer  l'opration kruskal qui le recalcule en entier.
+	 * 
+	 * @param instance Nom du graphe, affich avec les rsultats.
+	 * @param g Graphe sur lequel les oprations sont mesures.
+	 * @throws IOException Jamais en pratique, les oprations ne lisant pas de fichier.
+	 */
+	public void mesurerGraphe(String instance, final Graphe g) throws IOException {
+		g.getListesAdjacence();
+		
+		mesurer("listes_adjacence", instance, new Operation() {
+			public Object executer() {
+				return g.construireListesAdjacence();
+			}
+		});
+		mesurer("prim_tas", instance, new Operation() {
+			public Object executer() {
+				return new Prim(g, Prim.VARIANTE_TAS).declencherAlgorithme();
+			}
+		});
+		mesurer("prim_dense", instance, new Operation() {
+			public Object executer() {
+				return new Prim(g, Prim.VARIANTE_DENSE).declencherAlgorithme();
+			}
+		});
+		mesurer("kruskal", instance, new Operation() {
+			public Object executer() {
+				return new Kruskal(g).declencherAlgorithme();
+			}
+		});
+		if (g.getNbAretes() > 0) {
+			mesurer("acm_dynamique", instance, new MiseAJour(g, false));
+			mesurer("acm_dynamique_arbre", instance, new MiseAJour(g, true));
+		}
+		mesurer("diametre", instance, new Operation() {
+			public Object executer() {
+				return new Diametre(g).calculerDiametre();
+			}
+		});
+	}
+	
+	/**
+	 * Mthode permettant de mesurer une opration et d'afficher le rsultat sur une ligne.
+	 * L'opration n'est pas mesure si son nom ne contient pas le filtre.
+	 * 
+	 * @param nom Nom de l'opration.
+	 * @param instance Nom du graphe sur lequel porte l'opration.
+	 * @param operation Opration  mesurer.
+	 * @throws IOException Si l'opration choue.
+	 */
+	public void mesurer(String nom, String instance, Operation operation) throws IOException {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		boolean allocationMesurable = (threads instanceof com.sun.management.ThreadMXBean) && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+		long idThread = Thread.currentThread().getId();
+		double dureeTotale = 0;
+		double dureeMin = Double.MAX_VALUE;
+		double duree;
+		long nbOperations = 0;
+		long memoireAvant = 0;
+		long memoireAllouee = 0;
+		long[] ramasseMiettesAvant;
+		long[] ramasseMiettesApres;
+		long debut;
+		long fin;
+		int n;
+		
+		if ((filtre != null) && !nom.contains(filtre))
+			return;
+		
+		for (int i=0 ; i<nbEchauffements ; i++)
+			puits = operation.executer();
+		
+		ramasseMiettesAvant = getRamasseMiettes();
+		for (int i=0 ; i<nbMesures ; i++) {
+			if (allocationMesurable)
+				memoireAvant = ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(idThread);
+			n = 0;
+			debut = System.nanoTime();
+			do {
+				puits = operation.executer();
+				n++;
+				fin = System.nanoTime();
+			} while (fin - debut < DUREE_MIN_MESURE);
+			if (allocationMesurable)
+				memoireAllouee += ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(idThread) - memoireAvant;
+			
+			duree = (double) (fin - debut) / n;
+			dureeTotale += duree;
+			dureeMin = Math.min(dureeMin, duree);
+			nbOperations += n;
+		}
+		ramasseMiettesApres = getRamasseMiettes();
+		
+		System.out.println(nom + "\t" + instance + "\t" + nbOperations
+				+ "\t" + String.format(Locale.ROOT, "%.3f", dureeTotale / Math.max(nbMesures, 1) / 1e6)
+				+ "\t" + String.format(Locale.ROOT, "%.3f", dureeMin / 1e6)
+				+ "\t" + (allocationMesurable ? String.valueOf(memoireAllouee / Math.max(nbOperations, 1)) : "?")
+				+ "\t" + (ramasseMiettesApres[0] - ramasseMiettesAvant[0])
+				+ "\t" + (ramasseMiettesApres[1] - ramasseMiettesAvant[1]));
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer la ligne d'en-tte des rsultats, donnant le nom de
+	 * chacune de leurs colonnes.
+	 * 
+	 * @return Ligne d'en-tte des rsultats.
+	 */
+	public static String getEnTete() {
+		return "operation\tinstance\tnb_operations\tms_moyenne\tms_min\toctets_par_operation\tnb_ramasse_miettes\tms_ramasse_miettes";
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer le nombre total de passages du ramasse-miettes depuis
+	 * le lancement de la JVM, et leur dure totale.
+	 * 
+	 * @return Tableau contenant le nombre de passages puis leur dure en millisecondes.
+	 */
+	private static long[] getRamasseMiettes() {
+		long[] total = new long[2];
+		
+		for (GarbageCollectorMXBean ramasseMiettes : ManagementFactory.getGarbageCollectorMXBeans()) {
+			total[0] += Math.max(ramasseMiettes.getCollectionCount(), 0);
+			total[1] += Math.max(ramasseMiettes.getCollectionTime(), 0);
+		}
+		
+		return total;
+	}
+	
+	
+	
+	// ****************************************
+	// *** GNRATION DE GRAPHES ALATOIRES ***
+	// ****************************************
+	
+	/**
+	 * Mthode permettant de gnrer un graphe alatoire connexe, de poids compris entre 1
+	 * et POIDS_MAX.
+	 * Le graphe contient une chane passant par tous les sommets, qui le rend connexe, puis
+	 * des artes tires au hasard jusqu' atteindre la densit demande (des artes
+	 * multiples sont possibles pour les graphes creux). Avec la mme graine, le mme graphe
+	 * est toujours gnr.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param densite Proportion des artes possibles prsentes dans le graphe, entre 0 et 1.
+	 * @param graine Graine du gnrateur de nombres alatoires.
+	 * @return Graphe gnr.
+	 */
+	public static Graphe genererGraphe(int nbSommets, double densite, long graine) {
+		Random hasard = new Random(graine);
+		long nbAretesPossibles = (long) nbSommets * (nbSommets - 1) / 2;
+		int nbAretes = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(nbSommets - 1, (long) (densite * nbAretesPossibles)));
+		int[] premiersSommets = new int[nbAretes];
+		int[] secondsSommets = new int[nbAretes];
+		int[] poids = new int[nbAretes];
+		int i = 0;
+		
+		for (int s=1 ; s<nbSommets ; s++) {
+			premiersSommets[i] = s - 1;
+			secondsSommets[i] = s;
+			poids[i++] = 1 + hasard.nextInt(POIDS_MAX);
+		}
+		
+		if (densite >= 0.5) {
+			// Graphe dense : chaque arte possible (hors chane) est tire avec la probabilit voulue.
+			double probabilite = (double) (nbAretes - i) / Math.max(nbAretesPossibles - i, 1);
+			for (int u=0 ; (u<nbSommets) && (i<nbAretes) ; u++) {
+				for (int v=u+2 ; (v<nbSommets) && (i<nbAretes) ; v++) {
+					if (hasard.nextDouble() < probabilite) {
+						premiersSommets[i] = u;
+						secondsSommets[i] = v;
+						poids[i++] = 1 + hasard.nextInt(POIDS_MAX);
+					}
+				}
+			}
+			nbAretes = i;
+		} else {
+			while (i < nbAretes) {
+				premiersSommets[i] = hasard.nextInt(nbSommets);
+				secondsSommets[i] = hasard.nextInt(nbSommets);
+				if (premiersSommets[i] != secondsSommets[i])
+					poids[i++] = 1 + hasard.nextInt(POIDS_MAX);
+			}
+		}
+		
+		return new Graphe(nbSommets, new TableauAretes(Arrays.copyOf(premiersSommets, nbAretes), Arrays.copyOf(secondsSommets, nbAretes), Arrays.copyOf(poids, nbAretes)));
+	}
+	
+	
+	
+	// ************************************************
+	// *** MISES  JOUR DE L'ARBRE COUVRANT MINIMAL ***
+	// ************************************************
+	
+	/**
+	 * La classe MiseAJour est l'opration mesurant une mise  jour de l'arbre couvrant
+	 * minimal dynamique d'un graphe : une arte est supprime puis remplace par une arte
+	 * de sommets et de poids tirs au hasard, qui reprend son numro, et le poids d'une autre
+	 * arte tire au hasard est chang. L'arte supprime est tire parmi toutes les artes,
+	 * ou seulement parmi celles de l'arbre, dont la suppression demande de chercher une arte
+	 * de remplacement. L'tat de l'arbre est conserv d'une excution  la suivante.
+	 */
+	static class MiseAJour implements Operation {
+		
+		private ACMDynamique acm;
+		private Random hasard;
+		private boolean dansArbre;
+		
+		/**
+		 * Constructeur avec tous les attributs de la classe MiseAJour.
+		 * 
+		 * @param g Graphe de dpart, qui doit avoir au moins une arte.
+		 * @param dansArbre Vrai si les artes supprimes sont tires dans l'arbre.
+		 */
+		public MiseAJour(Graphe g, boolean dansArbre) {
+			this.acm = new ACMDynamique(g);
+			this.hasard = new Random(GRAINE);
+			this.dansArbre = dansArbre;
+		}
+		
+		/**
+		 * Mthode permettant d'excuter une mise  jour.
+		 * 
+		 * @return Poids total de l'arbre couvrant minimal aprs la mise  jour.
+		 */
+		public Object executer() {
+			int nbAretes = acm.getNbAretes();
+			int nbSommets = acm.getNbSommets();
+			int a = hasard.nextInt(nbAretes);
+			
+			if (dansArbre && (acm.getNbAretesArbre() > 0)) {
+				while (!acm.isDansArbre(a))
+					a = hasard.nextInt(nbAretes);
+			}
+			
+			acm.supprimerArete(a);
+			acm.ajouterArete(hasard.nextInt(nbSommets), hasard.nextInt(nbSommets), 1 + hasard.nextInt(POIDS_MAX));
+			acm.modifierPoids(hasard.nextInt(nbAretes), 1 + hasard.nextInt(POIDS_MAX));
+			
+			return acm.getPoidsTotal();
+		}
+		
+	}
+	
+	
+	
+	// ********************************
+	// *** INTERFACE DES OPRATIONS ***
+	// ********************************
+	
+	/**
+	 * L'interface Operation correspond  une opration mesure par le banc d'essai.
+	 * Le rsultat de l'opration est conserv par le banc, pour que la JVM ne puisse pas
+	 * supprimer un calcul dont le rsultat ne servirait pas.
+	 */
+	public interface Operation {
+		
+		/**
+		 * Mthode permettant d'excuter une fois l'opration.
+		 * 
+		 * @return Rsultat de l'opration.
+		 * @throws IOException Si l'opration lit un fichier et que la lecture choue.
+		 */
+		Object executer() throws IOException;
+		
+	}
+	
+}
\ No newline at end of file
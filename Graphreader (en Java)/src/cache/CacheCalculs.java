@@ -0,0 +1,171 @@
+package cache;
+
+import java.io.File;
+import java.io.IOException;
+
+import modele.Graphe;
+
+
+/**
+* La classe CacheCalculs runit les caches de Graphreader, rangs sous l'empreinte du
+* contenu des fichiers de graphes (voir la classe EmpreinteFichier) :
+* - les tableaux d'artes des graphes lus restent en mmoire dans la limite d'un budget
+*   (classe CacheGraphes), et les graphes sont aussi stocks sur disque au format binaire
+*   (classe StockResultats) ;
+* - les arbres couvrants minimaux, leurs poids et les diamtres sont stocks sur disque
+*   pour chaque jeu d'options de calcul (classe StockResultats).
+* Un fichier modifi change d'empreinte : ses anciens rsultats ne sont plus utiliss.
+* Le cache n'est utilis que si la proprit systme PROPRIETE_DOSSIER donne son dossier,
+* par exemple avec -Dgraphreader.cache=cache ; le budget de mmoire, en mgaoctets, peut
+* tre donn par la proprit PROPRIETE_MEMOIRE (un quart du tas par dfaut).
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class CacheCalculs {
+	
+	public final static String PROPRIETE_DOSSIER = "graphreader.cache";
+	public final static String PROPRIETE_MEMOIRE = "graphreader.cache.memoire";
+	static final long MO = 1024 * 1024;
+	
+	private static CacheCalculs cacheDemande;
+	
+	private CacheGraphes graphes;
+	private StockResultats stock;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur des caches, stocks dans un dossier.
+	 * 
+	 * @param dossier Dossier du cache, cr s'il n'existe pas.
+	 * @param budgetMemoire Mmoire que peuvent occuper les graphes gards en mmoire, en
+	 * octets.
+	 * @throws IOException Si le dossier ne peut pas tre cr.
+	 */
+	public CacheCalculs(File dossier, long budgetMemoire) throws IOException {
+		this.stock = new StockResultats(dossier);
+		this.graphes = new CacheGraphes(budgetMemoire);
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer le cache demand par la proprit systme
+	 * PROPRIETE_DOSSIER, cr au premier appel et partag ensuite.
+	 * 
+	 * @return Cache demand, ou null si la proprit n'est pas dfinie.
+	 * @throws IOException Si le dossier du cache ne peut pas tre cr.
+	 */
+	public static synchronized CacheCalculs getCacheDemande() throws IOException {
+		String dossier = System.getProperty(PROPRIETE_DOSSIER);
+		long budgetMemoire;
+		
+		if ((cacheDemande == null) && (dossier != null)) {
+			budgetMemoire = Long.getLong(PROPRIETE_MEMOIRE, Runtime.getRuntime().maxMemory() / MO / 4) * MO;
+			cacheDemande = new CacheCalculs(new File(dossier), budgetMemoire);
+		}
+		
+		return cacheDemande;
+	}
+	
+	
+	
+	// *************************
+	// *** MTHODES DU CACHE ***
+	// *************************
+	
+	/**
+	 * Mthode permettant de calculer l'empreinte du contenu d'un fichier, relu en entier 
+	 * chaque appel (voir la classe EmpreinteFichier). Plusieurs threads peuvent calculer
+	 * en mme temps les empreintes de fichiers diffrents.
+	 * 
+	 * @param cheminFichier Chemin du fichier.
+	 * @return Empreinte du fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu.
+	 */
+	public String getEmpreinte(String cheminFichier) throws IOException {
+		return EmpreinteFichier.calculerEmpreinte(new File(cheminFichier));
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer un graphe dj lu : en mmoire s'il y est encore,
+	 * sinon sur disque, auquel cas il est remis en mmoire.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @return Graphe, ou null s'il n'a jamais t lu.
+	 */
+	public Graphe getGraphe(String empreinte) {
+		Graphe g = graphes.getGraphe(empreinte);
+		
+		if (g == null) {
+			g = stock.lireGraphe(empreinte);
+			if (g != null)
+				graphes.ajouterGraphe(empreinte, g);
+		}
+		
+		return g;
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter un graphe qui vient d'tre lu, en mmoire et sur disque.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @param g Graphe lu.
+	 * @throws IOException Si le graphe ne peut pas tre crit sur disque.
+	 */
+	public void ajouterGraphe(String empreinte, Graphe g) throws IOException {
+		graphes.ajouterGraphe(empreinte, g);
+		stock.ecrireGraphe(empreinte, g);
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer les rsultats stocks d'un graphe.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @param options Options de calcul des rsultats.
+	 * @return Rsultats, ou null s'ils n'ont jamais t calculs avec ces options.
+	 */
+	public ResultatsCalcul getResultats(String empreinte, String options) {
+		return stock.lireResultats(empreinte, options);
+	}
+	
+	/**
+	 * Mthode permettant de stocker les rsultats calculs pour un graphe.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @param options Options de calcul des rsultats.
+	 * @param resultats Rsultats calculs.
+	 * @throws IOException Si les rsultats ne peuvent pas tre crits.
+	 */
+	public void ajouterResultats(String empreinte, String options, ResultatsCalcul resultats) throws IOException {
+		stock.ecrireResultats(empreinte, options, resultats);
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le cache des graphes en mmoire.
+	 * 
+	 * @return Cache des graphes en mmoire.
+	 */
+	public CacheGraphes getGraphes() {
+		return graphes;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le stockage sur disque.
+	 * 
+	 * @return Stockage sur disque.
+	 */
+	public StockResultats getStock() {
+		return stock;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import modele.Graphe;
+
+
+/**
+* La classe CacheGraphes correspond  un cache en mmoire des graphes lus, rangs sous
+* l'empreinte de leur fichier (voir la classe EmpreinteFichier) : un fichier trait
+* plusieurs fois pendant une excution (par la classe TraitementParLots, par exemple)
+* n'est lu qu'une fois.
+* Seul le tableau d'artes de chaque graphe est conserv : chaque appel  getGraphe
+* renvoie un nouveau graphe qui partage ce tableau, et dont les vues construites  la
+* demande (listes et matrice d'adjacence, index des artes, objets Sommet et Arete)
+* disparaissent avec lui. La mmoire occupe par le cache est donc celle des tableaux
+* d'artes (voir estimerTaille), limite par un budget : lorsqu'il est dpass, les
+* graphes utiliss le moins rcemment sont retirs du cache. Un graphe plus gros que le
+* budget n'est pas conserv.
+* Les tableaux d'artes ne sont jamais modifis : un mme tableau peut tre partag par
+* plusieurs threads  la fois.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class CacheGraphes {
+	
+	static final long OCTETS_PAR_ARETE = 12;
+	
+	private long budget;
+	private long tailleOccupee;
+	private LinkedHashMap<String, Graphe> graphes; // Graphes rduits  leur tableau d'artes.
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un cache de graphes vide.
+	 * 
+	 * @param budget Mmoire que peuvent occuper les graphes du cache, en octets.
+	 */
+	public CacheGraphes(long budget) {
+		this.budget = budget;
+		this.tailleOccupee = 0;
+		// Ordre d'accs : le premier graphe parcouru est le moins rcemment utilis.
+		this.graphes = new LinkedHashMap<String, Graphe>(16, 0.75f, true);
+	}
+	
+	
+	
+	// ******************************
+	// *** MTHODES D'UTILISATION ***
+	// ******************************
+	
+	/**
+	 * Mthode permettant de rcuprer un graphe du cache, qui devient le plus rcemment
+	 * utilis.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @return Nouveau graphe partageant le tableau d'artes du graphe du cache, ou null
+	 * s'il n'y est pas.
+	 */
+	public synchronized Graphe getGraphe(String empreinte) {
+		Graphe g = graphes.get(empreinte);
+		
+		return (g == null) ? null : new Graphe(g.getNbSommets(), g.getTableauAretes());
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter un graphe au cache, rduit  son tableau d'artes, puis
+	 * d'en retirer les graphes les moins rcemment utiliss tant que le budget est dpass.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @param g Graphe  ajouter.
+	 */
+	public synchronized void ajouterGraphe(String empreinte, Graphe g) {
+		Graphe ancien;
+		Iterator<Map.Entry<String, Graphe>> iterateur;
+		
+		if (estimerTaille(g) > budget)
+			return;
+		
+		ancien = graphes.put(empreinte, new Graphe(g.getNbSommets(), g.getTableauAretes()));
+		if (ancien != null)
+			tailleOccupee -= estimerTaille(ancien);
+		tailleOccupee += estimerTaille(g);
+		
+		iterateur = graphes.entrySet().iterator();
+		while (tailleOccupee > budget) {
+			tailleOccupee -= estimerTaille(iterateur.next().getValue());
+			iterateur.remove();
+		}
+	}
+	
+	/**
+	 * Mthode permettant de vider le cache.
+	 */
+	public synchronized void vider() {
+		graphes.clear();
+		tailleOccupee = 0;
+	}
+	
+	/**
+	 * Mthode permettant d'estimer la mmoire occupe dans le cache par un graphe : celle
+	 * de son tableau d'artes, soit trois entiers (12 octets) par arte.
+	 * 
+	 * @param g Graphe.
+	 * @return Mmoire estime, en octets.
+	 */
+	public static long estimerTaille(Graphe g) {
+		return OCTETS_PAR_ARETE * g.getNbAretes();
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le budget de mmoire du cache.
+	 * 
+	 * @return Budget de mmoire, en octets.
+	 */
+	public long getBudget() {
+		return budget;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la mmoire estime des graphes du cache.
+	 * 
+	 * @return Mmoire occupe, en octets.
+	 */
+	public synchronized long getTailleOccupee() {
+		return tailleOccupee;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de graphes du cache.
+	 * 
+	 * @return Nombre de graphes du cache.
+	 */
+	public synchronized int getNbGraphes() {
+		return graphes.size();
+	}
+	
+}
\ No newline at end of file
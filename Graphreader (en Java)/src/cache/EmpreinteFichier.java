@@ -0,0 +1,83 @@
+package cache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+
+/**
+* La classe EmpreinteFichier permet de calculer l'empreinte d'un fichier, c'est--dire le
+* condensat SHA-256 de son contenu, crit en hexadcimal : deux fichiers de mme contenu
+* ont la mme empreinte, quel que soit leur chemin, et la moindre modification du contenu
+* la change. Les rsultats mis en cache sont rangs sous cette empreinte.
+* L'empreinte est recalcule  chaque consultation du cache, en relisant tout le fichier :
+* la taille et la date de modification d'un fichier ne suffisent pas  savoir s'il a
+* chang (cp -p, rsync -t ou tar conservent la date, qui n'a parfois qu'une prcision
+* d'une seconde). Cette lecture squentielle reste bien plus rapide que l'analyse du
+* fichier et le calcul des arbres qu'elle vite, et plusieurs fichiers peuvent tre lus
+* en mme temps par plusieurs threads.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public final class EmpreinteFichier {
+	
+	public final static String ALGORITHME = "SHA-256";
+	static final int TAILLE_TAMPON = 1 << 20;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur priv : la classe ne contient que des mthodes statiques.
+	 */
+	private EmpreinteFichier() {
+	}
+	
+	
+	
+	// **************************
+	// *** MTHODES DE CALCUL ***
+	// **************************
+	
+	/**
+	 * Mthode permettant de calculer l'empreinte d'un fichier en le lisant en entier.
+	 * 
+	 * @param fichier Fichier.
+	 * @return Empreinte du contenu du fichier, en hexadcimal.
+	 * @throws IOException Si le fichier ne peut pas tre lu.
+	 */
+	public static String calculerEmpreinte(File fichier) throws IOException {
+		FileInputStream flux = new FileInputStream(fichier);
+		FileChannel canal = flux.getChannel();
+		ByteBuffer tampon = ByteBuffer.allocate(TAILLE_TAMPON);
+		MessageDigest condensat;
+		StringBuilder empreinte = new StringBuilder();
+		
+		try {
+			condensat = MessageDigest.getInstance(ALGORITHME);
+			while (canal.read(tampon) > 0) {
+				tampon.flip();
+				condensat.update(tampon);
+				tampon.clear();
+			}
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			flux.close();
+		}
+		
+		for (byte octet : condensat.digest())
+			empreinte.append(Character.forDigit((octet >>> 4) & 0xF, 16)).append(Character.forDigit(octet & 0xF, 16));
+		
+		return empreinte.toString();
+	}
+	
+}
\ No newline at end of file
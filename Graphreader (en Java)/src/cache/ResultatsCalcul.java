@@ -0,0 +1,145 @@
+package cache;
+
+import modele.Graphe;
+import rapport.Rapport;
+
+
+/**
+* La classe ResultatsCalcul correspond aux rsultats des calculs mens sur un graphe et
+* conservs par la classe StockResultats : ses arbres couvrants minimaux de Prim et de
+* Kruskal, leurs poids, et les diamtres du graphe et des deux arbres.
+* Les graphes n'tant plus modifis une fois construits, les diamtres connus sont gards
+* ici et transmis au rapport (voir la classe Rapport), sans tre recalculs. Un diamtre
+* que le rapport n'crivait pas n'est pas calcul pour autant : il vaut alors
+* Rapport.DIAMETRE_NON_CALCULE.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class ResultatsCalcul {
+	
+	private Graphe ACMP;
+	private Graphe ACMK;
+	private long poidsPrim;
+	private long poidsKruskal;
+	private int diametreGraphe;
+	private int diametrePrim;
+	private int diametreKruskal;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur des rsultats d'un graphe  partir de ses arbres couvrants minimaux.
+	 * Seuls les diamtres crits par le rapport, dj calculs pour lui, sont retenus : les
+	 * autres valent Rapport.DIAMETRE_NON_CALCULE.
+	 * 
+	 * @param g Graphe.
+	 * @param ACMP Arbre couvrant minimal de Prim.
+	 * @param ACMK Arbre couvrant minimal de Kruskal.
+	 * @param rapport Rapport dans lequel les trois graphes ont t crits.
+	 */
+	public ResultatsCalcul(Graphe g, Graphe ACMP, Graphe ACMK, Rapport rapport) {
+		this(ACMP, ACMK, ACMP.getPoidsTotal(), ACMK.getPoidsTotal(),
+				rapport.isDiametreEcrit(Rapport.TYPE_ORIGINE) ? g.getDiametre() : Rapport.DIAMETRE_NON_CALCULE,
+				rapport.isDiametreEcrit(Rapport.TYPE_PRIM) ? ACMP.getDiametre() : Rapport.DIAMETRE_NON_CALCULE,
+				rapport.isDiametreEcrit(Rapport.TYPE_KRUSKAL) ? ACMK.getDiametre() : Rapport.DIAMETRE_NON_CALCULE);
+	}
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe ResultatsCalcul.
+	 * 
+	 * @param ACMP Arbre couvrant minimal de Prim.
+	 * @param ACMK Arbre couvrant minimal de Kruskal.
+	 * @param poidsPrim Poids de l'arbre de Prim.
+	 * @param poidsKruskal Poids de l'arbre de Kruskal.
+	 * @param diametreGraphe Diamtre du graphe, ou Rapport.DIAMETRE_NON_CALCULE.
+	 * @param diametrePrim Diamtre de l'arbre de Prim, ou Rapport.DIAMETRE_NON_CALCULE.
+	 * @param diametreKruskal Diamtre de l'arbre de Kruskal, ou Rapport.DIAMETRE_NON_CALCULE.
+	 */
+	public ResultatsCalcul(Graphe ACMP, Graphe ACMK, long poidsPrim, long poidsKruskal, int diametreGraphe, int diametrePrim, int diametreKruskal) {
+		this.ACMP = ACMP;
+		this.ACMK = ACMK;
+		this.poidsPrim = poidsPrim;
+		this.poidsKruskal = poidsKruskal;
+		this.diametreGraphe = diametreGraphe;
+		this.diametrePrim = diametrePrim;
+		this.diametreKruskal = diametreKruskal;
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer l'arbre couvrant minimal de Prim.
+	 * 
+	 * @return Arbre couvrant minimal de Prim.
+	 */
+	public Graphe getACMP() {
+		return ACMP;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer l'arbre couvrant minimal de Kruskal.
+	 * 
+	 * @return Arbre couvrant minimal de Kruskal.
+	 */
+	public Graphe getACMK() {
+		return ACMK;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids de l'arbre de Prim.
+	 * 
+	 * @return Poids de l'arbre de Prim.
+	 */
+	public long getPoidsPrim() {
+		return poidsPrim;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids de l'arbre de Kruskal.
+	 * 
+	 * @return Poids de l'arbre de Kruskal.
+	 */
+	public long getPoidsKruskal() {
+		return poidsKruskal;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le diamtre du graphe.
+	 * 
+	 * @return Diamtre du graphe, ou Rapport.DIAMETRE_NON_CALCULE s'il n'a pas t
+	 * calcul.
+	 */
+	public int getDiametreGraphe() {
+		return diametreGraphe;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le diamtre de l'arbre de Prim.
+	 * 
+	 * @return Diamtre de l'arbre de Prim, ou Rapport.DIAMETRE_NON_CALCULE s'il n'a pas t
+	 * calcul.
+	 */
+	public int getDiametrePrim() {
+		return diametrePrim;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le diamtre de l'arbre de Kruskal.
+	 * 
+	 * @return Diamtre de l'arbre de Kruskal, ou Rapport.DIAMETRE_NON_CALCULE s'il n'a pas t
+	 * calcul.
+	 */
+	public int getDiametreKruskal() {
+		return diametreKruskal;
+	}
+	
+}
\ No newline at end of file
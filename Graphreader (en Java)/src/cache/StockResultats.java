@@ -0,0 +1,255 @@
+package cache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import fichier.ConvertisseurBinaire;
+import fichier.FormatBinaire;
+import modele.Graphe;
+
+
+/**
+* La classe StockResultats correspond au stockage sur disque, dans un dossier, des graphes
+* lus et des rsultats calculs, rangs sous l'empreinte du fichier du graphe (voir la
+* classe EmpreinteFichier) :
+* - EMPREINTE.bin : le graphe, au format de la classe FormatBinaire, qui se relit en
+*   quelques millisecondes quelle que soit sa taille ;
+* - EMPREINTE-OPTIONS.res : les poids et les diamtres (voir la classe ResultatsCalcul),
+*   pour les options de calcul donnes (variantes des algorithmes, par exemple) ;
+* - EMPREINTE-OPTIONS-prim.bin et EMPREINTE-OPTIONS-kruskal.bin : les deux arbres
+*   couvrants minimaux, au format de la classe FormatBinaire.
+* Chaque fichier est crit sous un nom temporaire, puis renomm : un fichier prsent est
+* toujours complet, et le fichier .res n'est crit qu'aprs les arbres. Un fichier
+* illisible est considr comme absent, et sera rcrit. Le dossier peut tre vid  tout
+* moment.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class StockResultats {
+	
+	public final static String EXTENSION_RESULTATS = ".res";
+	public final static String EXTENSION_TEMPORAIRE = ".tmp";
+	public final static int VERSION = 1;
+	
+	private File dossier;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur du stockage dans un dossier, cr s'il n'existe pas.
+	 * 
+	 * @param dossier Dossier du stockage.
+	 * @throws IOException Si le dossier ne peut pas tre cr.
+	 */
+	public StockResultats(File dossier) throws IOException {
+		this.dossier = dossier;
+		Files.createDirectories(dossier.toPath());
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES DE LECTURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant de relire un graphe stock, projet en mmoire.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @return Graphe stock, ou null s'il n'est pas stock ou est illisible.
+	 */
+	public Graphe lireGraphe(String empreinte) {
+		return lireGrapheBinaire(new File(dossier, empreinte + ConvertisseurBinaire.EXTENSION_BINAIRE));
+	}
+	
+	/**
+	 * Mthode permettant de relire les rsultats stocks d'un graphe.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @param options Options de calcul des rsultats.
+	 * @return Rsultats stocks, ou null s'ils ne sont pas stocks ou sont illisibles.
+	 */
+	public ResultatsCalcul lireResultats(String empreinte, String options) {
+		String prefixe = getPrefixe(empreinte, options);
+		File fichierResultats = new File(dossier, prefixe + EXTENSION_RESULTATS);
+		Properties proprietes = new Properties();
+		InputStream flux;
+		Graphe ACMP;
+		Graphe ACMK;
+		
+		if (!fichierResultats.isFile())
+			return null;
+		
+		try {
+			flux = new FileInputStream(fichierResultats);
+			try {
+				proprietes.load(flux);
+			} finally {
+				flux.close();
+			}
+			
+			if (Integer.parseInt(proprietes.getProperty("version")) != VERSION)
+				return null;
+			
+			ACMP = lireGrapheBinaire(new File(dossier, prefixe + "-prim" + ConvertisseurBinaire.EXTENSION_BINAIRE));
+			ACMK = lireGrapheBinaire(new File(dossier, prefixe + "-kruskal" + ConvertisseurBinaire.EXTENSION_BINAIRE));
+			if ((ACMP == null) || (ACMK == null))
+				return null;
+			
+			return new ResultatsCalcul(ACMP, ACMK, Long.parseLong(proprietes.getProperty("poids_prim")), Long.parseLong(proprietes.getProperty("poids_kruskal")),
+					Integer.parseInt(proprietes.getProperty("diametre_graphe")), Integer.parseInt(proprietes.getProperty("diametre_prim")), Integer.parseInt(proprietes.getProperty("diametre_kruskal")));
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Mthode permettant de relire un graphe au format binaire.
+	 * 
+	 * @param fichier Fichier binaire.
+	 * @return Graphe du fichier, ou null si le fichier n'existe pas ou est illisible.
+	 */
+	private static Graphe lireGrapheBinaire(File fichier) {
+		if (!fichier.isFile())
+			return null;
+		
+		try {
+			return new FormatBinaire(fichier.getPath()).lireGraphe();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant de stocker un graphe, sans ses listes d'adjacence.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @param g Graphe  stocker.
+	 * @throws IOException Si le graphe ne peut pas tre crit.
+	 */
+	public void ecrireGraphe(String empreinte, Graphe g) throws IOException {
+		ecrireGrapheBinaire(new File(dossier, empreinte + ConvertisseurBinaire.EXTENSION_BINAIRE), g);
+	}
+	
+	/**
+	 * Mthode permettant de stocker les rsultats d'un graphe : les deux arbres, puis les
+	 * poids et les diamtres.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @param options Options de calcul des rsultats.
+	 * @param resultats Rsultats  stocker.
+	 * @throws IOException Si les rsultats ne peuvent pas tre crits.
+	 */
+	public void ecrireResultats(String empreinte, String options, ResultatsCalcul resultats) throws IOException {
+		String prefixe = getPrefixe(empreinte, options);
+		File fichierResultats = new File(dossier, prefixe + EXTENSION_RESULTATS);
+		File temporaire;
+		Properties proprietes = new Properties();
+		OutputStream flux;
+		
+		ecrireGrapheBinaire(new File(dossier, prefixe + "-prim" + ConvertisseurBinaire.EXTENSION_BINAIRE), resultats.getACMP());
+		ecrireGrapheBinaire(new File(dossier, prefixe + "-kruskal" + ConvertisseurBinaire.EXTENSION_BINAIRE), resultats.getACMK());
+		
+		proprietes.setProperty("version", String.valueOf(VERSION));
+		proprietes.setProperty("poids_prim", String.valueOf(resultats.getPoidsPrim()));
+		proprietes.setProperty("poids_kruskal", String.valueOf(resultats.getPoidsKruskal()));
+		proprietes.setProperty("diametre_graphe", String.valueOf(resultats.getDiametreGraphe()));
+		proprietes.setProperty("diametre_prim", String.valueOf(resultats.getDiametrePrim()));
+		proprietes.setProperty("diametre_kruskal", String.valueOf(resultats.getDiametreKruskal()));
+		
+		temporaire = File.createTempFile(prefixe, EXTENSION_TEMPORAIRE, dossier);
+		try {
+			flux = new FileOutputStream(temporaire);
+			try {
+				proprietes.store(flux, options);
+			} finally {
+				flux.close();
+			}
+			remplacer(temporaire, fichierResultats);
+		} finally {
+			Files.deleteIfExists(temporaire.toPath());
+		}
+	}
+	
+	/**
+	 * Mthode permettant d'crire un graphe au format binaire, sous un nom temporaire,
+	 * puis de le renommer.
+	 * 
+	 * @param fichier Fichier binaire.
+	 * @param g Graphe  crire.
+	 * @throws IOException Si le graphe ne peut pas tre crit.
+	 */
+	private void ecrireGrapheBinaire(File fichier, Graphe g) throws IOException {
+		File temporaire = File.createTempFile(fichier.getName(), EXTENSION_TEMPORAIRE, dossier);
+		
+		try {
+			new FormatBinaire(temporaire.getPath()).ecrireGraphe(g, false);
+			remplacer(temporaire, fichier);
+		} finally {
+			Files.deleteIfExists(temporaire.toPath());
+		}
+	}
+	
+	/**
+	 * Mthode permettant de remplacer un fichier par un fichier temporaire, d'un seul coup
+	 * si le systme de fichiers le permet.
+	 * 
+	 * @param temporaire Fichier temporaire.
+	 * @param fichier Fichier  remplacer.
+	 * @throws IOException Si le fichier ne peut pas tre remplac.
+	 */
+	static void remplacer(File temporaire, File fichier) throws IOException {
+		try {
+			Files.move(temporaire.toPath(), fichier.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporaire.toPath(), fichier.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	/**
+	 * Mthode permettant de construire le dbut du nom des fichiers de rsultats, les
+	 * caractres des options qui ne conviendraient pas  un nom de fichier tant remplacs.
+	 * 
+	 * @param empreinte Empreinte du fichier du graphe.
+	 * @param options Options de calcul des rsultats.
+	 * @return Dbut du nom des fichiers de rsultats.
+	 */
+	private static String getPrefixe(String empreinte, String options) {
+		return empreinte + "-" + options.replaceAll("[^A-Za-z0-9_]", "_");
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le dossier du stockage.
+	 * 
+	 * @return Dossier du stockage.
+	 */
+	public File getDossier() {
+		return dossier;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package fichier;
+
+import java.io.File;
+import java.io.IOException;
+
+import modele.Graphe;
+
+
+/**
+* La classe ConvertisseurBinaire permet de convertir les fichiers de graphes au format
+* texte .dat vers le format binaire dcrit par la classe FormatBinaire.
+* Chaque fichier .dat converti donne un fichier .bin du mme nom, dans le mme dossier.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class ConvertisseurBinaire {
+	
+	public final static String EXTENSION_TEXTE = ".dat";
+	public final static String EXTENSION_BINAIRE = ".bin";
+	
+	
+	/**
+	 * La mthode main permet de lancer la conversion depuis la ligne de commande.
+	 * Chaque argument est un fichier .dat ou un dossier dont tous les fichiers .dat sont
+	 * convertis. L'option -sansListes vite d'crire les listes d'adjacence, ce qui
+	 * rduit la taille des fichiers mais oblige  les reconstruire  chaque lecture.
+	 * 
+	 * @param args Les arguments en lignes de commande.
+	 */
+	public static void main(String[] args) {
+		boolean avecListes = true;
+		
+		for (String argument : args) {
+			if (argument.equals("-sansListes"))
+				avecListes = false;
+		}
+		
+		for (String argument : args) {
+			if (argument.equals("-sansListes"))
+				continue;
+			
+			File source = new File(argument);
+			File[] fichiers = source.isDirectory() ? source.listFiles() : new File[] {source};
+			
+			for (File f : fichiers) {
+				if (!f.getName().endsWith(EXTENSION_TEXTE))
+					continue;
+				try {
+					System.out.println(f.getPath() + " -> " + convertir(f.getPath(), avecListes));
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * La mthode convertir permet de convertir un fichier .dat en fichier .bin.
+	 * 
+	 * @param cheminFichier Le chemin du fichier .dat  convertir.
+	 * @param avecListes Vrai pour crire aussi les listes d'adjacence du graphe.
+	 * @return Le chemin du fichier .bin cr.
+	 * @throws IOException Si le fichier .dat ne peut pas tre lu, ou le fichier .bin crit.
+	 */
+	public static String convertir(String cheminFichier, boolean avecListes) throws IOException {
+		String cheminBinaire = cheminFichier.substring(0, cheminFichier.length() - EXTENSION_TEXTE.length()) + EXTENSION_BINAIRE;
+		Graphe g = new LecteurGraphe(cheminFichier).lireGraphe();
+		
+		new FormatBinaire(cheminBinaire).ecrireGraphe(g, avecListes);
+		
+		return cheminBinaire;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,278 @@
+package fichier;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import modele.Graphe;
+import modele.ListesAdjacence;
+import modele.TableauAretes;
+
+
+/**
+* La classe FormatBinaire correspond au format binaire des fichiers de graphes, qui vite
+* de relire les fichiers texte .dat  chaque excution.
+* Un fichier binaire est compos d'un en-tte de 8 entiers (signature, version, nombre
+* de sommets, nombre d'artes, prsence des listes d'adjacence, taille des listes
+* d'adjacence, et deux entiers rservs), suivi des tableaux d'entiers des premiers
+* sommets, des seconds sommets et des poids des artes, puis ventuellement des tableaux
+* des listes d'adjacence (dbut, voisins, artes et poids).
+* Tous les entiers sont stocks sur 4 octets, dans l'ordre petit-boutiste.
+* La lecture projette chaque tableau en mmoire (FileChannel.map) : l'ouverture d'un
+* graphe ne copie rien sur le tas, quelle que soit sa taille. Une projection tant
+* limite  Integer.MAX_VALUE octets, chaque tableau compte au plus NB_ENTIERS_MAX
+* entiers ; les graphes plus grands sont refuss  l'criture comme  la lecture.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class FormatBinaire {
+	
+	static final int SIGNATURE = 0x31425247; // "GRB1" en petit-boutiste.
+	static final int VERSION = 1;
+	static final int TAILLE_EN_TETE = 8;
+	static final int TAILLE_TAMPON_ECRITURE = 1 << 16;
+	public final static int NB_ENTIERS_MAX = Integer.MAX_VALUE / 4;
+	
+	private String cheminFichier;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur avec l'attribut cheminFichier de la classe FormatBinaire.
+	 * 
+	 * @param cheminFichier Chemin du fichier binaire.
+	 */
+	public FormatBinaire(String cheminFichier) {
+		this.cheminFichier = cheminFichier;
+	}
+	
+	
+	
+	// **************************
+	// *** MTHODE DE LECTURE ***
+	// **************************
+	
+	/**
+	 * Mthode permettant d'ouvrir le fichier binaire et de construire le graphe qu'il
+	 * dcrit, directement sur les tampons projets en mmoire.
+	 * Si le fichier ne contient pas les listes d'adjacence, celles-ci sont construites
+	 * sur le tas.
+	 * 
+	 * @return Graphe dcrit par le fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format.
+	 */
+	public Graphe lireGraphe() throws IOException {
+		FileChannel canal = FileChannel.open(Paths.get(cheminFichier), StandardOpenOption.READ);
+		
+		try {
+			if (canal.size() < 4L*TAILLE_EN_TETE)
+				throw new IOException(cheminFichier + " : fichier trop court pour tre au format binaire.");
+			
+			IntBuffer enTete = projeter(canal, 0, TAILLE_EN_TETE);
+			int nbSommets = enTete.get(2);
+			int nbAretes = enTete.get(3);
+			boolean avecListes = (enTete.get(4) != 0);
+			int tailleListes = enTete.get(5);
+			long position = 4L*TAILLE_EN_TETE;
+			
+			if ((enTete.get(0) != SIGNATURE) || (enTete.get(1) != VERSION))
+				throw new IOException(cheminFichier + " : signature ou version du format binaire incorrecte.");
+			if ((nbSommets < 0) || (nbAretes < 0) || (tailleListes < 0))
+				throw new IOException(cheminFichier + " : tailles ngatives dans l'en-tte.");
+			if ((nbAretes > NB_ENTIERS_MAX) || (nbSommets >= NB_ENTIERS_MAX) || (tailleListes > NB_ENTIERS_MAX))
+				throw new IOException(cheminFichier + " : tableaux trop grands pour tre projets en mmoire (" + NB_ENTIERS_MAX + " entiers au plus).");
+			if ((avecListes) && (tailleListes != 2L*nbAretes))
+				throw new IOException(cheminFichier + " : taille des listes d'adjacence incohrente avec le nombre d'artes.");
+			if (canal.size() != 4L * (TAILLE_EN_TETE + 3L*nbAretes + (avecListes ? nbSommets + 1L + 3L*tailleListes : 0)))
+				throw new IOException(cheminFichier + " : taille du fichier incohrente avec l'en-tte.");
+			
+			IntBuffer premiersSommets = projeter(canal, position, nbAretes);
+			IntBuffer secondsSommets = projeter(canal, position += 4L*nbAretes, nbAretes);
+			IntBuffer poids = projeter(canal, position += 4L*nbAretes, nbAretes);
+			verifierSommets(premiersSommets, nbSommets);
+			verifierSommets(secondsSommets, nbSommets);
+			TableauAretes tableauAretes = new TableauAretes(premiersSommets, secondsSommets, poids);
+			
+			if (!avecListes)
+				return new Graphe(nbSommets, tableauAretes);
+			
+			IntBuffer debuts = projeter(canal, position += 4L*nbAretes, nbSommets+1);
+			IntBuffer voisins = projeter(canal, position += 4L*(nbSommets+1), tailleListes);
+			IntBuffer aretes = projeter(canal, position += 4L*tailleListes, tailleListes);
+			IntBuffer poidsVoisins = projeter(canal, position += 4L*tailleListes, tailleListes);
+			verifierListes(debuts, voisins, aretes, nbSommets, nbAretes);
+			
+			return new Graphe(nbSommets, tableauAretes, new ListesAdjacence(nbSommets, debuts, voisins, aretes, poidsVoisins));
+		} finally {
+			canal.close();
+		}
+	}
+	
+	/**
+	 * Mthode permettant de projeter en mmoire un tableau d'entiers du fichier.
+	 * La projection reste valide aprs la fermeture du canal.
+	 * 
+	 * @param canal Canal ouvert sur le fichier.
+	 * @param position Position du tableau dans le fichier, en octets.
+	 * @param taille Nombre d'entiers du tableau.
+	 * @return Tampon d'entiers projet en mmoire.
+	 * @throws IOException Si la projection choue.
+	 */
+	private static IntBuffer projeter(FileChannel canal, long position, int taille) throws IOException {
+		return canal.map(FileChannel.MapMode.READ_ONLY, position, 4L*taille).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+	}
+	
+	/**
+	 * Mthode permettant de vrifier que tous les sommets d'un tableau projet sont
+	 * compris entre 0 et nbSommets-1.
+	 * 
+	 * @param sommets Tableau de sommets projet en mmoire.
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @throws IOException Si un sommet est hors de l'intervalle.
+	 */
+	private void verifierSommets(IntBuffer sommets, int nbSommets) throws IOException {
+		int s;
+		
+		for (int i=0 ; i<sommets.limit() ; i++) {
+			s = sommets.get(i);
+			if ((s < 0) || (s >= nbSommets))
+				throw new IOException(cheminFichier + " : sommet " + s + " hors de l'intervalle 0  " + (nbSommets-1) + ".");
+		}
+	}
+	
+	/**
+	 * Mthode permettant de vrifier la cohrence des listes d'adjacence projetes : les
+	 * dbuts sont croissants de 0  la taille des listes, les voisins sont des sommets du
+	 * graphe et les artes des indices du tableau d'artes.
+	 * 
+	 * @param debuts Dbut de la liste de chaque sommet.
+	 * @param voisins Voisins des sommets.
+	 * @param aretes Indices des artes correspondantes.
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param nbAretes Nombre d'artes du graphe.
+	 * @throws IOException Si les listes d'adjacence sont incohrentes.
+	 */
+	private void verifierListes(IntBuffer debuts, IntBuffer voisins, IntBuffer aretes, int nbSommets, int nbAretes) throws IOException {
+		int a;
+		
+		if ((debuts.get(0) != 0) || (debuts.get(nbSommets) != voisins.limit()))
+			throw new IOException(cheminFichier + " : bornes des listes d'adjacence incorrectes.");
+		for (int s=0 ; s<nbSommets ; s++) {
+			if (debuts.get(s) > debuts.get(s+1))
+				throw new IOException(cheminFichier + " : dbuts des listes d'adjacence non croissants.");
+		}
+		verifierSommets(voisins, nbSommets);
+		for (int i=0 ; i<aretes.limit() ; i++) {
+			a = aretes.get(i);
+			if ((a < 0) || (a >= nbAretes))
+				throw new IOException(cheminFichier + " : arte " + a + " hors de l'intervalle 0  " + (nbAretes-1) + ".");
+		}
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant d'crire un graphe dans le fichier binaire.
+	 * 
+	 * @param g Graphe  crire.
+	 * @param avecListes Vrai pour crire aussi les listes d'adjacence du graphe, ce qui
+	 * vite de les reconstruire  la lecture.
+	 * @throws IOException Si le fichier ne peut pas tre crit.
+	 */
+	public void ecrireGraphe(Graphe g, boolean avecListes) throws IOException {
+		FileChannel canal;
+		ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON_ECRITURE).order(ByteOrder.LITTLE_ENDIAN);
+		TableauAretes tableauAretes = g.getTableauAretes();
+		ListesAdjacence listes = avecListes ? g.getListesAdjacence() : null;
+		
+		if ((tableauAretes.getNbAretes() > NB_ENTIERS_MAX) || (g.getNbSommets() >= NB_ENTIERS_MAX) || ((avecListes) && (listes.getTaille() > NB_ENTIERS_MAX)))
+			throw new IOException(cheminFichier + " : graphe trop grand pour le format binaire (" + NB_ENTIERS_MAX + " entiers au plus par tableau).");
+		
+		canal = FileChannel.open(Paths.get(cheminFichier), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			tampon.putInt(SIGNATURE).putInt(VERSION).putInt(g.getNbSommets()).putInt(tableauAretes.getNbAretes());
+			tampon.putInt(avecListes ? 1 : 0).putInt(avecListes ? listes.getTaille() : 0).putInt(0).putInt(0);
+			
+			for (int i=0 ; i<tableauAretes.getNbAretes() ; i++)
+				ecrireEntier(canal, tampon, tableauAretes.getPremierSommet(i));
+			for (int i=0 ; i<tableauAretes.getNbAretes() ; i++)
+				ecrireEntier(canal, tampon, tableauAretes.getSecondSommet(i));
+			for (int i=0 ; i<tableauAretes.getNbAretes() ; i++)
+				ecrireEntier(canal, tampon, tableauAretes.getPoids(i));
+			
+			if (avecListes) {
+				for (int s=0 ; s<g.getNbSommets() ; s++)
+					ecrireEntier(canal, tampon, listes.getDebut(s));
+				ecrireEntier(canal, tampon, listes.getTaille());
+				for (int i=0 ; i<listes.getTaille() ; i++)
+					ecrireEntier(canal, tampon, listes.getVoisin(i));
+				for (int i=0 ; i<listes.getTaille() ; i++)
+					ecrireEntier(canal, tampon, listes.getArete(i));
+				for (int i=0 ; i<listes.getTaille() ; i++)
+					ecrireEntier(canal, tampon, listes.getPoids(i));
+			}
+			
+			vider(canal, tampon);
+		} finally {
+			canal.close();
+		}
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter un entier au tampon d'criture, en vidant celui-ci
+	 * dans le fichier lorsqu'il est plein.
+	 * 
+	 * @param canal Canal ouvert sur le fichier.
+	 * @param tampon Tampon d'criture.
+	 * @param valeur Entier  crire.
+	 * @throws IOException Si le fichier ne peut pas tre crit.
+	 */
+	private static void ecrireEntier(FileChannel canal, ByteBuffer tampon, int valeur) throws IOException {
+		if (tampon.remaining() < 4)
+			vider(canal, tampon);
+		tampon.putInt(valeur);
+	}
+	
+	/**
+	 * Mthode permettant d'crire le contenu du tampon d'criture dans le fichier.
+	 * 
+	 * @param canal Canal ouvert sur le fichier.
+	 * @param tampon Tampon d'criture.
+	 * @throws IOException Si le fichier ne peut pas tre crit.
+	 */
+	private static void vider(FileChannel canal, ByteBuffer tampon) throws IOException {
+		tampon.flip();
+		while (tampon.hasRemaining())
+			canal.write(tampon);
+		tampon.clear();
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le chemin du fichier binaire.
+	 * 
+	 * @return Chemin du fichier binaire.
+	 */
+	public String getCheminFichier() {
+		return cheminFichier;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,680 @@
+package fichier;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import modele.Graphe;
+import modele.TableauAretes;
+
+
+/**
+* La classe GenerateurGraphe permet de gnrer des graphes alatoires de grande taille,
+* pour tester le passage  l'chelle des algorithmes au-del des instances fournies.
+* Cinq modles sont disponibles :
+* - MODELE_COMPLET : toutes les artes entre les nbSommets sommets ;
+* - MODELE_ERDOS_RENYI : chaque arte possible est prsente avec la probabilit
+* degreMoyen/(nbSommets-1), les artes absentes tant sautes d'un coup (tirage
+* gomtrique) pour un temps proportionnel au nombre d'artes gnres ;
+* - MODELE_GEOMETRIQUE : les sommets sont des points du carr unit, relis lorsque leur
+* distance est infrieure au rayon donnant le degr moyen voulu, avec un poids
+* proportionnel  cette distance ;
+* - MODELE_GRILLE : les sommets forment une grille carre, chacun tant reli  ses voisins
+* de droite et du dessous ;
+* - MODELE_PUISSANCE : nbSommets*degreMoyen/2 artes dont les extrmits sont tires avec
+* une probabilit dcroissant comme une puissance du numro du sommet (modle de
+* Chung-Lu), ce qui donne une loi de puissance d'exposant exposant pour les degrs.
+* Les boucles sont cartes, mais des artes multiples sont possibles dans ce modle.
+*
+* La gnration est dterministe : avec la mme graine, le mme graphe est toujours
+* gnr. Elle ne conserve pas le graphe en mmoire : les artes sont crites au fur et 
+* mesure dans le fichier, au format texte .dat ou au format binaire de la classe
+* FormatBinaire (sans listes d'adjacence). Le nombre d'artes devant figurer dans
+* l'en-tte, le graphe est gnr deux fois : une premire fois pour compter ses artes,
+* une seconde pour les crire. Seul le modle gomtrique utilise de la mmoire, pour les
+* points de quelques cases voisines.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class GenerateurGraphe {
+	
+	public final static int MODELE_COMPLET = 0;
+	public final static int MODELE_ERDOS_RENYI = 1;
+	public final static int MODELE_GEOMETRIQUE = 2;
+	public final static int MODELE_GRILLE = 3;
+	public final static int MODELE_PUISSANCE = 4;
+	public final static String[] NOMS_MODELES = {"complet", "erdos-renyi", "geometrique", "grille", "puissance"};
+	public final static int POIDS_MAX_DEFAUT = 1000;
+	public final static double EXPOSANT_DEFAUT = 2.5;
+	static final long MELANGE_CASES = 0x9E3779B97F4A7C15L;
+	static final int TAILLE_TAMPON = 1 << 16;
+	
+	private int modele;
+	private int nbSommets;
+	private double degreMoyen;
+	private double exposant;
+	private int poidsMax;
+	private long graine;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe GenerateurGraphe.
+	 * 
+	 * @param modele Modle de graphe (MODELE_COMPLET, MODELE_ERDOS_RENYI, ...).
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param degreMoyen Degr moyen voulu (ignor par les modles complet et grille).
+	 * @param exposant Exposant de la loi de puissance des degrs, strictement suprieur  2
+	 * (utilis par le seul modle MODELE_PUISSANCE).
+	 * @param poidsMax Poids maximal des artes, les poids tant compris entre 1 et poidsMax.
+	 * @param graine Graine du gnrateur de nombres alatoires.
+	 */
+	public GenerateurGraphe(int modele, int nbSommets, double degreMoyen, double exposant, int poidsMax, long graine) {
+		if ((modele < MODELE_COMPLET) || (modele > MODELE_PUISSANCE))
+			throw new IllegalArgumentException("Modle de graphe inconnu : " + modele + ".");
+		if ((nbSommets < 0) || (poidsMax < 1))
+			throw new IllegalArgumentException("Nombre de sommets ou poids maximal incorrect.");
+		if ((modele == MODELE_PUISSANCE) && (exposant <= 2))
+			throw new IllegalArgumentException("L'exposant de la loi de puissance doit tre strictement suprieur  2.");
+		
+		this.modele = modele;
+		this.nbSommets = nbSommets;
+		this.degreMoyen = degreMoyen;
+		this.exposant = exposant;
+		this.poidsMax = poidsMax;
+		this.graine = graine;
+	}
+	
+	
+	
+	// ********************
+	// *** MTHODE MAIN ***
+	// ********************
+	
+	/**
+	 * La mthode main permet de lancer la gnration depuis la ligne de commande.
+	 * Les options sont :
+	 * -modele M : complet, erdos-renyi, geometrique, grille ou puissance ;
+	 * -sommets N : nombre de sommets ;
+	 * -degre D : degr moyen (10 par dfaut) ;
+	 * -exposant E : exposant de la loi de puissance (EXPOSANT_DEFAUT par dfaut) ;
+	 * -poids P : poids maximal (POIDS_MAX_DEFAUT par dfaut) ;
+	 * -graine G : graine (0 par dfaut) ;
+	 * -sortie F : fichier  crire, au format binaire si son nom se termine par .bin, au
+	 * format texte sinon.
+	 * 
+	 * @param args Les arguments en lignes de commande.
+	 */
+	public static void main(String[] args) {
+		int modele = MODELE_ERDOS_RENYI;
+		int nbSommets = 1000;
+		double degreMoyen = 10;
+		double exposant = EXPOSANT_DEFAUT;
+		int poidsMax = POIDS_MAX_DEFAUT;
+		long graine = 0;
+		String cheminFichier = null;
+		GenerateurGraphe generateur;
+		long nbAretes;
+		
+		for (int i=0 ; i<args.length ; i++) {
+			if (args[i].equals("-modele"))
+				modele = getModele(args[++i]);
+			else if (args[i].equals("-sommets"))
+				nbSommets = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-degre"))
+				degreMoyen = Double.parseDouble(args[++i]);
+			else if (args[i].equals("-exposant"))
+				exposant = Double.parseDouble(args[++i]);
+			else if (args[i].equals("-poids"))
+				poidsMax = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-graine"))
+				graine = Long.parseLong(args[++i]);
+			else if (args[i].equals("-sortie"))
+				cheminFichier = args[++i];
+		}
+		
+		if (cheminFichier == null) {
+			System.err.println("Aucun fichier de sortie (option -sortie).");
+			return;
+		}
+		
+		try {
+			generateur = new GenerateurGraphe(modele, nbSommets, degreMoyen, exposant, poidsMax, graine);
+			if (cheminFichier.endsWith(ConvertisseurBinaire.EXTENSION_BINAIRE))
+				nbAretes = generateur.ecrireBinaire(cheminFichier);
+			else
+				nbAretes = generateur.ecrireTexte(cheminFichier);
+			System.out.println(cheminFichier + " : " + nbSommets + " sommets, " + nbAretes + " artes.");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Mthode permettant de retrouver un modle  partir de son nom.
+	 * 
+	 * @param nom Nom du modle, tel que dans NOMS_MODELES.
+	 * @return Modle correspondant.
+	 */
+	public static int getModele(String nom) {
+		for (int m=0 ; m<NOMS_MODELES.length ; m++) {
+			if (NOMS_MODELES[m].equals(nom))
+				return m;
+		}
+		
+		throw new IllegalArgumentException("Modle de graphe inconnu : " + nom + ".");
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant d'crire le graphe gnr dans un fichier texte, au mme format
+	 * que les instances .dat.
+	 * 
+	 * @param cheminFichier Chemin du fichier  crire.
+	 * @return Nombre d'artes crites.
+	 * @throws IOException Si le fichier ne peut pas tre crit.
+	 */
+	public long ecrireTexte(String cheminFichier) throws IOException {
+		long nbAretes = compterAretes();
+		final OutputStream sortie = new BufferedOutputStream(new FileOutputStream(cheminFichier), TAILLE_TAMPON);
+		final byte[] ligne = new byte[48];
+		
+		try {
+			sortie.write(("UNDIRECTED GRAPH \nNB_NODES \t\t " + nbSommets + "\nNB_EDGES  \t\t " + nbAretes + "\nLIST_OF_EDGES \t COSTS \n").getBytes("US-ASCII"));
+			
+			generer(new RecepteurAretes() {
+				public void recevoirArete(int premierSommet, int secondSommet, int poids) throws IOException {
+					int taille = ecrireNombre(ligne, 0, premierSommet);
+					ligne[taille++] = ' ';
+					ligne[taille++] = '\t';
+					ligne[taille++] = ' ';
+					taille = ecrireNombre(ligne, taille, secondSommet);
+					ligne[taille++] = ' ';
+					ligne[taille++] = '\t';
+					ligne[taille++] = ' ';
+					taille = ecrireNombre(ligne, taille, poids);
+					ligne[taille++] = ' ';
+					ligne[taille++] = '\n';
+					sortie.write(ligne, 0, taille);
+				}
+			});
+			
+			sortie.write("END\n".getBytes("US-ASCII"));
+		} finally {
+			sortie.close();
+		}
+		
+		return nbAretes;
+	}
+	
+	/**
+	 * Mthode permettant d'crire le graphe gnr dans un fichier au format binaire de la
+	 * classe FormatBinaire, sans les listes d'adjacence.
+	 * Les trois tableaux du fichier (premiers sommets, seconds sommets et poids) sont
+	 * remplis en mme temps, chacun par son propre tampon crit  sa position.
+	 * 
+	 * @param cheminFichier Chemin du fichier  crire.
+	 * @return Nombre d'artes crites.
+	 * @throws IOException Si le fichier ne peut pas tre crit ou si le graphe a trop
+	 * de sommets ou d'artes pour le format binaire (FormatBinaire.NB_ENTIERS_MAX).
+	 */
+	public long ecrireBinaire(String cheminFichier) throws IOException {
+		long nbAretes;
+		final ByteBuffer[] tampons = new ByteBuffer[3];
+		final long[] positions = new long[3];
+		final FileChannel canal;
+		ByteBuffer enTete = ByteBuffer.allocate(4*FormatBinaire.TAILLE_EN_TETE).order(ByteOrder.LITTLE_ENDIAN);
+		
+		if (nbSommets >= FormatBinaire.NB_ENTIERS_MAX)
+			throw new IOException(cheminFichier + " : trop de sommets pour le format binaire (" + nbSommets + ").");
+		nbAretes = compterAretes();
+		if (nbAretes > FormatBinaire.NB_ENTIERS_MAX)
+			throw new IOException(cheminFichier + " : trop d'artes pour le format binaire (" + nbAretes + ", " + FormatBinaire.NB_ENTIERS_MAX + " au plus).");
+		
+		canal = FileChannel.open(Paths.get(cheminFichier), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			enTete.putInt(FormatBinaire.SIGNATURE).putInt(FormatBinaire.VERSION).putInt(nbSommets).putInt((int) nbAretes);
+			enTete.putInt(0).putInt(0).putInt(0).putInt(0);
+			positions[0] = 0;
+			ecrireTampon(canal, enTete, positions, 0);
+			
+			for (int t=0 ; t<3 ; t++) {
+				tampons[t] = ByteBuffer.allocateDirect(TAILLE_TAMPON).order(ByteOrder.LITTLE_ENDIAN);
+				positions[t] = 4L * (FormatBinaire.TAILLE_EN_TETE + t*nbAretes);
+			}
+			
+			generer(new RecepteurAretes() {
+				public void recevoirArete(int premierSommet, int secondSommet, int poids) throws IOException {
+					if (!tampons[0].hasRemaining()) {
+						for (int t=0 ; t<3 ; t++)
+							ecrireTampon(canal, tampons[t], positions, t);
+					}
+					tampons[0].putInt(premierSommet);
+					tampons[1].putInt(secondSommet);
+					tampons[2].putInt(poids);
+				}
+			});
+			
+			for (int t=0 ; t<3 ; t++)
+				ecrireTampon(canal, tampons[t], positions, t);
+		} finally {
+			canal.close();
+		}
+		
+		return nbAretes;
+	}
+	
+	/**
+	 * Mthode permettant de construire le graphe gnr en mmoire, par exemple pour un
+	 * test ou un banc d'essai.
+	 * 
+	 * @return Graphe gnr.
+	 */
+	public Graphe construireGraphe() {
+		long nbAretes = compterAretes();
+		final int[] premiersSommets;
+		final int[] secondsSommets;
+		final int[] poids;
+		final int[] position = new int[1];
+		
+		if (nbAretes > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Trop d'artes pour un graphe en mmoire (" + nbAretes + ").");
+		
+		premiersSommets = new int[(int) nbAretes];
+		secondsSommets = new int[(int) nbAretes];
+		poids = new int[(int) nbAretes];
+		
+		try {
+			generer(new RecepteurAretes() {
+				public void recevoirArete(int premierSommet, int secondSommet, int poidsArete) {
+					premiersSommets[position[0]] = premierSommet;
+					secondsSommets[position[0]] = secondSommet;
+					poids[position[0]++] = poidsArete;
+				}
+			});
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		
+		return new Graphe(nbSommets, new TableauAretes(premiersSommets, secondsSommets, poids));
+	}
+	
+	/**
+	 * Mthode permettant de compter les artes du graphe, en le gnrant sans rien crire.
+	 * 
+	 * @return Nombre d'artes du graphe.
+	 */
+	public long compterAretes() {
+		final long[] nbAretes = new long[1];
+		
+		try {
+			generer(new RecepteurAretes() {
+				public void recevoirArete(int premierSommet, int secondSommet, int poids) {
+					nbAretes[0]++;
+				}
+			});
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		
+		return nbAretes[0];
+	}
+	
+	/**
+	 * Mthode permettant d'crire l'entier positif ou nul valeur en dcimal dans un tableau
+	 * d'octets.
+	 * 
+	 * @param octets Tableau dans lequel crire.
+	 * @param debut Position du premier chiffre.
+	 * @param valeur Entier  crire.
+	 * @return Position suivant le dernier chiffre.
+	 */
+	private static int ecrireNombre(byte[] octets, int debut, int valeur) {
+		int fin = debut;
+		int i = debut;
+		int j;
+		byte chiffre;
+		
+		do {
+			octets[fin++] = (byte) ('0' + valeur % 10);
+			valeur /= 10;
+		} while (valeur > 0);
+		
+		for (j=fin-1 ; i<j ; i++, j--) {
+			chiffre = octets[i];
+			octets[i] = octets[j];
+			octets[j] = chiffre;
+		}
+		
+		return fin;
+	}
+	
+	/**
+	 * Mthode permettant d'crire le contenu d'un tampon  sa position dans le fichier, puis
+	 * d'avancer cette position.
+	 * 
+	 * @param canal Canal ouvert sur le fichier.
+	 * @param tampon Tampon  crire.
+	 * @param positions Positions d'criture des tampons, en octets.
+	 * @param t Numro du tampon dans positions.
+	 * @throws IOException Si le fichier ne peut pas tre crit.
+	 */
+	private static void ecrireTampon(FileChannel canal, ByteBuffer tampon, long[] positions, int t) throws IOException {
+		tampon.flip();
+		while (tampon.hasRemaining())
+			positions[t] += canal.write(tampon, positions[t]);
+		tampon.clear();
+	}
+	
+	
+	
+	// ******************************
+	// *** MTHODES DE GNRATION ***
+	// ******************************
+	
+	/**
+	 * Mthode permettant de gnrer les artes du graphe une  une, dans un ordre et avec
+	 * des poids qui ne dpendent que des attributs du gnrateur.
+	 * 
+	 * @param recepteur Destinataire des artes gnres.
+	 * @throws IOException Si le destinataire ne peut pas crire une arte.
+	 */
+	public void generer(RecepteurAretes recepteur) throws IOException {
+		Random hasard = new Random(graine);
+		
+		switch (modele) {
+			case MODELE_COMPLET :
+				genererComplet(recepteur, hasard);
+				break;
+			case MODELE_ERDOS_RENYI :
+				genererErdosRenyi(recepteur, hasard);
+				break;
+			case MODELE_GEOMETRIQUE :
+				genererGeometrique(recepteur);
+				break;
+			case MODELE_GRILLE :
+				genererGrille(recepteur, hasard);
+				break;
+			default :
+				genererPuissance(recepteur, hasard);
+				break;
+		}
+	}
+	
+	/**
+	 * Mthode permettant de gnrer toutes les artes entre les sommets, chaque sommet
+	 * tant reli aux sommets de numros infrieurs, comme dans les instances fournies.
+	 * 
+	 * @param recepteur Destinataire des artes gnres.
+	 * @param hasard Gnrateur de nombres alatoires des poids.
+	 * @throws IOException Si le destinataire ne peut pas crire une arte.
+	 */
+	private void genererComplet(RecepteurAretes recepteur, Random hasard) throws IOException {
+		for (int u=1 ; u<nbSommets ; u++) {
+			for (int v=0 ; v<u ; v++)
+				recepteur.recevoirArete(u, v, 1 + hasard.nextInt(poidsMax));
+		}
+	}
+	
+	/**
+	 * Mthode permettant de gnrer un graphe d'Erdos-Rnyi G(n, p).
+	 * Plutt que de tirer chaque arte possible, on tire directement le nombre d'artes
+	 * possibles  sauter avant la prochaine arte prsente, qui suit une loi gomtrique
+	 * (mthode de Batagelj et Brandes) : le temps est proportionnel au nombre d'artes
+	 * gnres plutt qu'au carr du nombre de sommets.
+	 * 
+	 * @param recepteur Destinataire des artes gnres.
+	 * @param hasard Gnrateur de nombres alatoires des artes et des poids.
+	 * @throws IOException Si le destinataire ne peut pas crire une arte.
+	 */
+	private void genererErdosRenyi(RecepteurAretes recepteur, Random hasard) throws IOException {
+		double probabilite = (nbSommets > 1) ? degreMoyen / (nbSommets - 1) : 0;
+		double logarithme;
+		long v = 1;
+		long w = -1;
+		
+		if (probabilite >= 1) {
+			genererComplet(recepteur, hasard);
+			return;
+		}
+		if (probabilite <= 0)
+			return;
+		
+		logarithme = Math.log(1 - probabilite);
+		while (v < nbSommets) {
+			w += 1 + (long) Math.floor(Math.log(1 - hasard.nextDouble()) / logarithme);
+			while ((w >= v) && (v < nbSommets)) {
+				w -= v;
+				v++;
+			}
+			if (v < nbSommets)
+				recepteur.recevoirArete((int) v, (int) w, 1 + hasard.nextInt(poidsMax));
+		}
+	}
+	
+	/**
+	 * Mthode permettant de gnrer un graphe gomtrique alatoire.
+	 * Le carr unit est dcoup en cases de ct au moins gal au rayon, et les sommets
+	 * sont rpartis quitablement entre les cases, en suivant l'ordre des cases : seuls les
+	 * points d'une case et des cases voisines peuvent tre relis. Les points d'une case
+	 * sont tirs par un gnrateur propre  la case, ce qui permet de les recalculer  la
+	 * demande au lieu de conserver tous les points en mmoire.
+	 * 
+	 * @param recepteur Destinataire des artes gnres.
+	 * @throws IOException Si le destinataire ne peut pas crire une arte.
+	 */
+	private void genererGeometrique(RecepteurAretes recepteur) throws IOException {
+		double rayon = Math.sqrt(Math.max(degreMoyen, 0) / (Math.PI * Math.max(nbSommets, 1)));
+		int nbCotes = (rayon > 0) ? (int) Math.max(1, Math.min(Math.floor(1 / rayon), Math.sqrt(nbSommets))) : 1;
+		int[][] voisines = {{0, 1}, {1, -1}, {1, 0}, {1, 1}};
+		double[] case1;
+		double[] case2;
+		int ligne;
+		int colonne;
+		
+		if ((rayon <= 0) || (nbSommets < 2))
+			return;
+		
+		for (int c=0 ; c<nbCotes*nbCotes ; c++) {
+			ligne = c / nbCotes;
+			colonne = c % nbCotes;
+			case1 = genererPoints(c, nbCotes);
+			
+			// Paires de points de la case, puis paires avec les cases voisines suivantes.
+			relierPoints(recepteur, case1, getPremierSommet(c, nbCotes), case1, getPremierSommet(c, nbCotes), true, rayon);
+			for (int[] voisine : voisines) {
+				if ((ligne + voisine[0] < nbCotes) && (colonne + voisine[1] >= 0) && (colonne + voisine[1] < nbCotes)) {
+					case2 = genererPoints(c + voisine[0]*nbCotes + voisine[1], nbCotes);
+					relierPoints(recepteur, case1, getPremierSommet(c, nbCotes), case2, getPremierSommet(c + voisine[0]*nbCotes + voisine[1], nbCotes), false, rayon);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Mthode permettant de tirer les points d'une case du modle gomtrique.
+	 * 
+	 * @param c Numro de la case.
+	 * @param nbCotes Nombre de cases sur chaque ct du carr unit.
+	 * @return Coordonnes des points de la case (abscisse puis ordonne de chaque point).
+	 */
+	private double[] genererPoints(int c, int nbCotes) {
+		Random hasard = new Random(graine ^ ((c + 1) * MELANGE_CASES));
+		int nbPoints = getPremierSommet(c + 1, nbCotes) - getPremierSommet(c, nbCotes);
+		double[] points = new double[2*nbPoints];
+		
+		for (int p=0 ; p<nbPoints ; p++) {
+			points[2*p] = (c % nbCotes + hasard.nextDouble()) / nbCotes;
+			points[2*p+1] = (c / nbCotes + hasard.nextDouble()) / nbCotes;
+		}
+		
+		return points;
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer le numro du premier sommet d'une case du modle
+	 * gomtrique, les sommets tant rpartis quitablement entre les cases.
+	 * 
+	 * @param c Numro de la case.
+	 * @param nbCotes Nombre de cases sur chaque ct du carr unit.
+	 * @return Numro du premier sommet de la case.
+	 */
+	private int getPremierSommet(int c, int nbCotes) {
+		int nbCases = nbCotes * nbCotes;
+		
+		return (int) ((long) c * (nbSommets / nbCases) + Math.min(c, nbSommets % nbCases));
+	}
+	
+	/**
+	 * Mthode permettant de relier les points de deux cases (ou d'une mme case) dont la
+	 * distance est infrieure au rayon, avec un poids proportionnel  cette distance.
+	 * 
+	 * @param recepteur Destinataire des artes gnres.
+	 * @param points1 Points de la premire case.
+	 * @param premier1 Numro du premier sommet de la premire case.
+	 * @param points2 Points de la seconde case.
+	 * @param premier2 Numro du premier sommet de la seconde case.
+	 * @param memeCase Vrai si les deux cases sont la mme case.
+	 * @param rayon Distance maximale entre deux points relis.
+	 * @throws IOException Si le destinataire ne peut pas crire une arte.
+	 */
+	private void relierPoints(RecepteurAretes recepteur, double[] points1, int premier1, double[] points2, int premier2, boolean memeCase, double rayon) throws IOException {
+		double dx;
+		double dy;
+		double distance;
+		
+		for (int p=0 ; p<points1.length/2 ; p++) {
+			for (int q=(memeCase ? p+1 : 0) ; q<points2.length/2 ; q++) {
+				dx = points1[2*p] - points2[2*q];
+				dy = points1[2*p+1] - points2[2*q+1];
+				distance = Math.sqrt(dx*dx + dy*dy);
+				if (distance < rayon)
+					recepteur.recevoirArete(premier2 + q, premier1 + p, 1 + (int) (distance / rayon * (poidsMax - 1)));
+			}
+		}
+	}
+	
+	/**
+	 * Mthode permettant de gnrer une grille carre de nbSommets sommets, numrots ligne
+	 * par ligne, la dernire ligne pouvant tre incomplte.
+	 * 
+	 * @param recepteur Destinataire des artes gnres.
+	 * @param hasard Gnrateur de nombres alatoires des poids.
+	 * @throws IOException Si le destinataire ne peut pas crire une arte.
+	 */
+	private void genererGrille(RecepteurAretes recepteur, Random hasard) throws IOException {
+		int largeur = (int) Math.ceil(Math.sqrt(nbSommets));
+		
+		for (int s=0 ; s<nbSommets ; s++) {
+			if ((s % largeur + 1 < largeur) && (s + 1 < nbSommets))
+				recepteur.recevoirArete(s + 1, s, 1 + hasard.nextInt(poidsMax));
+			if ((long) s + largeur < nbSommets)
+				recepteur.recevoirArete(s + largeur, s, 1 + hasard.nextInt(poidsMax));
+		}
+	}
+	
+	/**
+	 * Mthode permettant de gnrer un graphe dont les degrs suivent une loi de puissance.
+	 * Chaque extrmit d'arte est tire avec une probabilit proportionnelle 
+	 * (i+1)^(-1/(exposant-1)) pour le sommet i, par inversion de la fonction de rpartition
+	 * continue correspondante : aucun tableau de poids n'est ncessaire.
+	 * 
+	 * @param recepteur Destinataire des artes gnres.
+	 * @param hasard Gnrateur de nombres alatoires des artes et des poids.
+	 * @throws IOException Si le destinataire ne peut pas crire une arte.
+	 */
+	private void genererPuissance(RecepteurAretes recepteur, Random hasard) throws IOException {
+		long nbAretes = (long) (nbSommets * Math.max(degreMoyen, 0) / 2);
+		double puissance = 1 - 1 / (exposant - 1);
+		double borne = Math.pow(nbSommets + 1, puissance) - 1;
+		int u;
+		int v;
+		
+		if (nbSommets < 2)
+			return;
+		
+		for (long i=0 ; i<nbAretes ; ) {
+			u = (int) Math.min(nbSommets - 1, Math.floor(Math.pow(borne * hasard.nextDouble() + 1, 1 / puissance)) - 1);
+			v = (int) Math.min(nbSommets - 1, Math.floor(Math.pow(borne * hasard.nextDouble() + 1, 1 / puissance)) - 1);
+			if (u != v) {
+				recepteur.recevoirArete(Math.max(u, v), Math.min(u, v), 1 + hasard.nextInt(poidsMax));
+				i++;
+			}
+		}
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le modle de graphe.
+	 * 
+	 * @return Modle de graphe.
+	 */
+	public int getModele() {
+		return modele;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets du graphe.
+	 * 
+	 * @return Nombre de sommets du graphe.
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la graine du gnrateur.
+	 * 
+	 * @return Graine du gnrateur.
+	 */
+	public long getGraine() {
+		return graine;
+	}
+	
+	
+	
+	// ***********************************
+	// *** INTERFACE DES DESTINATAIRES ***
+	// ***********************************
+	
+	/**
+	 * L'interface RecepteurAretes correspond au destinataire des artes produites par le
+	 * gnrateur : fichier texte, fichier binaire, tableaux en mmoire ou simple compteur.
+	 */
+	public interface RecepteurAretes {
+		
+		/**
+		 * Mthode permettant de recevoir une arte gnre.
+		 * 
+		 * @param premierSommet Premier sommet de l'arte.
+		 * @param secondSommet Second sommet de l'arte.
+		 * @param poids Poids de l'arte.
+		 * @throws IOException Si l'arte ne peut pas tre crite.
+		 */
+		void recevoirArete(int premierSommet, int secondSommet, int poids) throws IOException;
+		
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,895 @@
+package fichier;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import fichier.GenerateurGraphe.RecepteurAretes;
+import mesure.Mesures;
+import modele.Graphe;
+import modele.TableauAretes;
+import modele.TriAretes;
+import modele.UnionFind;
+
+
+/**
+* La classe KruskalExterne correspond  l'algorithme de Kruskal appliqu  un graphe trop
+* gros pour tre charg en mmoire : seuls une structure Union-Find de V lments, l'arbre
+* couvrant minimal (V-1 artes) et un paquet d'artes de taille borne sont gards sur le
+* tas, quel que soit le nombre d'artes du fichier.
+* Les artes sont lues au fil du fichier (voir la mthode parcourirAretes de la classe
+* LecteurGraphe) et ranges dans un paquet. Chaque paquet plein est tri par poids (voir la
+* classe TriAretes) puis crit dans un fichier temporaire. Les paquets tris sont ensuite
+* fusionns, ORDRE_FUSION au plus  la fois, en autant de passes que ncessaire, et la
+* dernire fusion fournit les artes par poids croissant directement  l'algorithme de
+* Kruskal, qui s'arrte ds que l'arbre a V-1 artes. Si toutes les artes tiennent dans
+* un seul paquet, rien n'est crit sur le disque.
+* Les artes de mme poids sont dpartages par leur position dans le fichier, comme dans la
+* classe Kruskal : les deux classes renvoient le mme arbre.
+* Les fichiers .bin (voir la classe FormatBinaire) sont aussi accepts : ils sont projets en
+* mmoire et parcourus de la mme manire.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class KruskalExterne {
+	
+	public final static int ORDRE_FUSION = 64;
+	public final static int TAILLE_PAQUET_MIN = 1 << 10;
+	static final int OCTETS_PAR_ARETE = 12;
+	static final int OCTETS_PAR_ARETE_TRIEE = 36;
+	static final int TAILLE_TAMPON = 1 << 16;
+	static final String PREFIXE_TEMPORAIRE = "kruskal";
+	static final String EXTENSION_TEMPORAIRE = ".paquet";
+	
+	private String cheminFichier;
+	private int taillePaquet;
+	private File dossierTemporaire;
+	
+	private int nbSommets;
+	private long nbAretesLues;
+	private long nbAretesExaminees;
+	private int nbPaquets;
+	private int nbPassesFusion;
+	
+	private int[] premiersSommets;
+	private int[] secondsSommets;
+	private int[] poids;
+	private int nbAretesPaquet;
+	private List<File> paquets;
+	private List<File> fichiersTemporaires;
+	
+	
+	
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
+	
+	/**
+	 * Constructeur avec l'attribut cheminFichier de la classe KruskalExterne : la taille
+	 * des paquets est dduite de la mmoire disponible (voir getTaillePaquetParDefaut), et
+	 * les fichiers temporaires sont crs dans le dossier temporaire du systme.
+	 * 
+	 * @param cheminFichier Chemin du fichier de graphe (.dat ou .bin).
+	 */
+	public KruskalExterne(String cheminFichier) {
+		this(cheminFichier, getTaillePaquetParDefaut(), null);
+	}
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe KruskalExterne.
+	 * 
+	 * @param cheminFichier Chemin du fichier de graphe (.dat ou .bin).
+	 * @param taillePaquet Nombre maximal d'artes d'un paquet tri en mmoire (au moins
+	 * TAILLE_PAQUET_MIN).
+	 * @param dossierTemporaire Dossier des fichiers temporaires (dossier temporaire du
+	 * systme si null).
+	 */
+	public KruskalExterne(String cheminFichier, int taillePaquet, File dossierTemporaire) {
+		this.cheminFichier = cheminFichier;
+		this.taillePaquet = Math.max(taillePaquet, TAILLE_PAQUET_MIN);
+		this.dossierTemporaire = dossierTemporaire;
+	}
+	
+	
+	
+	// ********************
+	// *** MTHODE MAIN ***
+	// ********************
+	
+	/**
+	 * La mthode main permet de calculer l'arbre couvrant minimal d'un fichier de graphe
+	 * depuis la ligne de commande, et d'en afficher le poids et les statistiques du calcul.
+	 * Les options sont :
+	 * -paquet N : nombre maximal d'artes d'un paquet (dduit de la mmoire par dfaut) ;
+	 * -temp D : dossier des fichiers temporaires ;
+	 * -sortie F : fichier .dat dans lequel crire l'arbre couvrant minimal.
+	 * 
+	 * @param args Les arguments en lignes de commande.
+	 */
+	public static void main(String[] args) {
+		int taillePaquet = getTaillePaquetParDefaut();
+		File dossierTemporaire = null;
+		String sortie = null;
+		String cheminFichier = null;
+		KruskalExterne kruskal;
+		Graphe ACM;
+		long debut;
+		
+		for (int i=0 ; i<args.length ; i++) {
+			if (args[i].equals("-paquet"))
+				taillePaquet = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-temp"))
+				dossierTemporaire = new File(args[++i]);
+			else if (args[i].equals("-sortie"))
+				sortie = args[++i];
+			else
+				cheminFichier = args[i];
+		}
+		
+		if (cheminFichier == null) {
+			System.err.println("Usage : KruskalExterne [-paquet N] [-temp D] [-sortie F] fichier");
+			return;
+		}
+		
+		try {
+			debut = System.nanoTime();
+			kruskal = new KruskalExterne(cheminFichier, taillePaquet, dossierTemporaire);
+			ACM = kruskal.declencherAlgorithme();
+			
+			System.out.println("Arbre couvrant minimal de " + cheminFichier + " : poids " + ACM.getPoidsTotal() + ", " + ACM.getNbAretes() + " artes.");
+			System.out.println(kruskal.getNbAretesLues() + " artes lues, " + kruskal.getNbAretesExaminees() + " examines, "
+					+ kruskal.getNbPaquets() + " paquets de " + kruskal.getTaillePaquet() + " artes au plus, "
+					+ kruskal.getNbPassesFusion() + " passes de fusion, "
+					+ String.format(Locale.ROOT, "%.3f", (System.nanoTime() - debut) / 1e9) + " s.");
+			
+			if (sortie != null)
+				ecrireArbre(ACM, sortie);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	
+	
+	// ******************
+	// *** ALGORITHME ***
+	// ******************
+	
+	/**
+	 * Dclenche l'algorithme de Kruskal externe : dcoupage du fichier en paquets tris,
+	 * fusions, puis parcours des artes par poids croissant. Les fichiers temporaires sont
+	 * supprims  la fin, mme en cas d'erreur.
+	 * 
+	 * @return Arbre couvrant minimal du graphe du fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format, ou
+	 * si un fichier temporaire ne peut pas tre crit.
+	 */
+	public Graphe declencherAlgorithme() throws IOException {
+		long debut = Mesures.ACTIVE ? Mesures.getInstant() : 0;
+		long memoire = Mesures.ACTIVE ? Mesures.getMemoireAllouee() : 0;
+		UnionFind unionFind;
+		Graphe ACM;
+		
+		this.nbAretesLues = 0;
+		this.nbAretesExaminees = 0;
+		this.nbPaquets = 0;
+		this.nbPassesFusion = 0;
+		this.paquets = new ArrayList<File>();
+		this.fichiersTemporaires = new ArrayList<File>();
+		
+		try {
+			decouperEnPaquets();
+			unionFind = new UnionFind(nbSommets);
+			
+			if (paquets.isEmpty())
+				ACM = parcourirPaquetMemoire(unionFind);
+			else {
+				if (nbAretesPaquet > 0)
+					ecrirePaquet();
+				libererPaquet();
+				while (paquets.size() > ORDRE_FUSION)
+					fusionnerUnePasse();
+				ACM = parcourirFusion(unionFind);
+			}
+			
+			if (Mesures.ACTIVE) {
+				Mesures.ajouter(Mesures.COMPTEUR_RECHERCHES_UNION_FIND, unionFind.getNbRecherches());
+				Mesures.ajouter(Mesures.COMPTEUR_UNIONS, ACM.getNbAretes());
+				Mesures.ajouter(Mesures.COMPTEUR_ARETES_EXAMINEES, nbAretesExaminees);
+				Mesures.terminerPhase(Mesures.PHASE_KRUSKAL, debut, memoire);
+			}
+			
+			return ACM;
+		} finally {
+			libererPaquet();
+			for (File fichier : fichiersTemporaires)
+				fichier.delete();
+			paquets = null;
+			fichiersTemporaires = null;
+		}
+	}
+	
+	/**
+	 * Mthode permettant de lire le fichier de graphe et de le dcouper en paquets tris.
+	 *  la fin de la lecture, le dernier paquet, ventuellement incomplet, reste en mmoire.
+	 * 
+	 * @throws IOException Si le fichier ne peut pas tre lu ou un paquet crit.
+	 */
+	private void decouperEnPaquets() throws IOException {
+		RecepteurAretes recepteur = new RecepteurAretes() {
+			public void recevoirArete(int premierSommet, int secondSommet, int poidsArete) throws IOException {
+				ajouterArete(premierSommet, secondSommet, poidsArete);
+			}
+		};
+		LecteurGraphe lecteur;
+		TableauAretes aretes;
+		Graphe g;
+		
+		this.nbAretesPaquet = 0;
+		
+		if (cheminFichier.endsWith(ConvertisseurBinaire.EXTENSION_BINAIRE)) {
+			g = new FormatBinaire(cheminFichier).lireGraphe();
+			aretes = g.getTableauAretes();
+			nbSommets = g.getNbSommets();
+			allouerPaquet(aretes.getNbAretes());
+			for (int i=0 ; i<aretes.getNbAretes() ; i++)
+				recepteur.recevoirArete(aretes.getPremierSommet(i), aretes.getSecondSommet(i), aretes.getPoids(i));
+		} else {
+			lecteur = new LecteurGraphe(cheminFichier);
+			lecteur.parcourirAretes(recepteur);
+			nbSommets = lecteur.getNbSommets();
+		}
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter une arte lue au paquet courant, en crivant celui-ci
+	 * sur le disque s'il est plein.
+	 * 
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @param poidsArete Poids de l'arte.
+	 * @throws IOException Si le paquet plein ne peut pas tre crit.
+	 */
+	private void ajouterArete(int premierSommet, int secondSommet, int poidsArete) throws IOException {
+		if (premiersSommets == null)
+			allouerPaquet(0);
+		else if (nbAretesPaquet == premiersSommets.length) {
+			if (nbAretesPaquet < taillePaquet)
+				agrandirPaquet();
+			else
+				ecrirePaquet();
+		}
+		
+		premiersSommets[nbAretesPaquet] = premierSommet;
+		secondsSommets[nbAretesPaquet] = secondSommet;
+		poids[nbAretesPaquet++] = poidsArete;
+		nbAretesLues++;
+	}
+	
+	/**
+	 * Mthode permettant d'allouer les tableaux du paquet courant. Ils commencent petits et
+	 * doublent au besoin jusqu' taillePaquet, pour que les petits graphes ne rservent pas
+	 * toute la mmoire d'un paquet.
+	 * 
+	 * @param nbAretesPrevues Nombre d'artes attendues, s'il est connu.
+	 */
+	private void allouerPaquet(int nbAretesPrevues) {
+		int capacite = Math.min(taillePaquet, Math.max(nbAretesPrevues, TAILLE_PAQUET_MIN));
+		
+		premiersSommets = new int[capacite];
+		secondsSommets = new int[capacite];
+		poids = new int[capacite];
+	}
+	
+	/**
+	 * Mthode permettant de doubler la capacit du paquet courant, sans dpasser taillePaquet.
+	 */
+	private void agrandirPaquet() {
+		int capacite = (int) Math.min(taillePaquet, 2L * premiersSommets.length);
+		
+		premiersSommets = Arrays.copyOf(premiersSommets, capacite);
+		secondsSommets = Arrays.copyOf(secondsSommets, capacite);
+		poids = Arrays.copyOf(poids, capacite);
+	}
+	
+	/**
+	 * Mthode permettant de librer les tableaux du paquet courant.
+	 */
+	private void libererPaquet() {
+		premiersSommets = null;
+		secondsSommets = null;
+		poids = null;
+		nbAretesPaquet = 0;
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer les numros des artes du paquet courant, tris par
+	 * poids croissant (et par position  poids gal).
+	 * 
+	 * @return Numros tris des artes du paquet.
+	 */
+	private int[] trierPaquet() {
+		if (nbAretesPaquet < premiersSommets.length)
+			return TriAretes.trierParPoids(new TableauAretes(Arrays.copyOf(premiersSommets, nbAretesPaquet), Arrays.copyOf(secondsSommets, nbAretesPaquet), Arrays.copyOf(poids, nbAretesPaquet)));
+		
+		return TriAretes.trierParPoids(new TableauAretes(premiersSommets, secondsSommets, poids));
+	}
+	
+	/**
+	 * Mthode permettant de trier le paquet courant et de l'crire dans un nouveau fichier
+	 * temporaire, puis de le vider.
+	 * 
+	 * @throws IOException Si le fichier temporaire ne peut pas tre crit.
+	 */
+	private void ecrirePaquet() throws IOException {
+		int[] aretesTriees = trierPaquet();
+		File fichier = creerFichierTemporaire();
+		EcrivainPaquet ecrivain = new EcrivainPaquet(fichier);
+		int a;
+		
+		try {
+			for (int i=0 ; i<aretesTriees.length ; i++) {
+				a = aretesTriees[i];
+				ecrivain.ecrire(premiersSommets[a], secondsSommets[a], poids[a]);
+			}
+		} finally {
+			ecrivain.fermer();
+		}
+		
+		paquets.add(fichier);
+		nbPaquets++;
+		nbAretesPaquet = 0;
+	}
+	
+	/**
+	 * Mthode permettant d'appliquer l'algorithme de Kruskal au paquet courant, lorsque
+	 * toutes les artes du graphe y tiennent.
+	 * 
+	 * @param unionFind Structure Union-Find des sommets du graphe.
+	 * @return Arbre couvrant minimal du graphe.
+	 */
+	private Graphe parcourirPaquetMemoire(UnionFind unionFind) {
+		ConstructeurArbre arbre = new ConstructeurArbre(nbSommets);
+		int[] aretesTriees;
+		int a;
+		
+		if (nbAretesPaquet > 0) {
+			nbPaquets = 1;
+			aretesTriees = trierPaquet();
+			for (int i=0 ; (i<aretesTriees.length) && !arbre.isComplet() ; i++) {
+				a = aretesTriees[i];
+				nbAretesExaminees++;
+				if (unionFind.union(premiersSommets[a], secondsSommets[a]))
+					arbre.ajouter(premiersSommets[a], secondsSommets[a], poids[a]);
+			}
+		}
+		
+		return arbre.construire();
+	}
+	
+	/**
+	 * Mthode permettant de fusionner les paquets par groupes de ORDRE_FUSION, chaque
+	 * groupe donnant un nouveau paquet tri.
+	 * 
+	 * @throws IOException Si un paquet ne peut pas tre lu ou crit.
+	 */
+	private void fusionnerUnePasse() throws IOException {
+		List<File> nouveauxPaquets = new ArrayList<File>();
+		List<File> groupe;
+		Fusion fusion;
+		EcrivainPaquet ecrivain;
+		File sortie;
+		
+		for (int debut=0 ; debut<paquets.size() ; debut+=ORDRE_FUSION) {
+			groupe = paquets.subList(debut, Math.min(debut + ORDRE_FUSION, paquets.size()));
+			sortie = creerFichierTemporaire();
+			nouveauxPaquets.add(sortie);
+			// Les paquets lus sont ferms mme si l'criture ou la fermeture du paquet crit
+			// choue ; les fichiers temporaires sont ensuite supprims par declencherAlgorithme.
+			fusion = new Fusion(groupe);
+			try {
+				ecrivain = new EcrivainPaquet(sortie);
+				try {
+					while (fusion.avancer())
+						ecrivain.ecrire(fusion.getPremierSommet(), fusion.getSecondSommet(), fusion.getPoids());
+				} finally {
+					ecrivain.fermer();
+				}
+			} finally {
+				fusion.fermer();
+			}
+			for (File paquet : groupe)
+				paquet.delete();
+		}
+		
+		paquets = nouveauxPaquets;
+		nbPassesFusion++;
+	}
+	
+	/**
+	 * Mthode permettant de fusionner les derniers paquets en appliquant l'algorithme de
+	 * Kruskal aux artes au fur et  mesure de la fusion.
+	 * 
+	 * @param unionFind Structure Union-Find des sommets du graphe.
+	 * @return Arbre couvrant minimal du graphe.
+	 * @throws IOException Si un paquet ne peut pas tre lu.
+	 */
+	private Graphe parcourirFusion(UnionFind unionFind) throws IOException {
+		ConstructeurArbre arbre = new ConstructeurArbre(nbSommets);
+		Fusion fusion = new Fusion(paquets);
+		
+		try {
+			while (!arbre.isComplet() && fusion.avancer()) {
+				nbAretesExaminees++;
+				if (unionFind.union(fusion.getPremierSommet(), fusion.getSecondSommet()))
+					arbre.ajouter(fusion.getPremierSommet(), fusion.getSecondSommet(), fusion.getPoids());
+			}
+		} finally {
+			fusion.fermer();
+		}
+		nbPassesFusion++;
+		
+		return arbre.construire();
+	}
+	
+	/**
+	 * Mthode permettant de crer un fichier temporaire, supprim au plus tard  l'arrt de
+	 * la JVM.
+	 * 
+	 * @return Fichier temporaire cr.
+	 * @throws IOException Si le fichier ne peut pas tre cr.
+	 */
+	private File creerFichierTemporaire() throws IOException {
+		File fichier = File.createTempFile(PREFIXE_TEMPORAIRE, EXTENSION_TEMPORAIRE, dossierTemporaire);
+		
+		fichier.deleteOnExit();
+		fichiersTemporaires.add(fichier);
+		
+		return fichier;
+	}
+	
+	/**
+	 * Mthode permettant d'crire un arbre couvrant dans un fichier au format .dat.
+	 * 
+	 * @param ACM Arbre  crire.
+	 * @param cheminFichier Chemin du fichier crit.
+	 * @throws IOException Si le fichier ne peut pas tre crit.
+	 */
+	private static void ecrireArbre(Graphe ACM, String cheminFichier) throws IOException {
+		TableauAretes aretes = ACM.getTableauAretes();
+		BufferedWriter sortie = new BufferedWriter(new FileWriter(cheminFichier), TAILLE_TAMPON);
+		
+		try {
+			sortie.write("UNDIRECTED GRAPH \nNB_NODES \t\t " + ACM.getNbSommets() + "\nNB_EDGES  \t\t " + aretes.getNbAretes() + "\nLIST_OF_EDGES \t COSTS \n");
+			for (int i=0 ; i<aretes.getNbAretes() ; i++)
+				sortie.write(aretes.getPremierSommet(i) + " \t " + aretes.getSecondSommet(i) + " \t " + aretes.getPoids(i) + " \n");
+			sortie.write("END\n");
+		} finally {
+			sortie.close();
+		}
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Mthode permettant de calculer la taille de paquet par dfaut : un quart de la
+	 * mmoire encore disponible pour la JVM,  OCTETS_PAR_ARETE_TRIEE octets par arte
+	 * (l'arte et les tableaux du tri).
+	 * 
+	 * @return Taille de paquet par dfaut, en nombre d'artes.
+	 */
+	public static int getTaillePaquetParDefaut() {
+		Runtime runtime = Runtime.getRuntime();
+		long memoireDisponible = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+		
+		return (int) Math.max(TAILLE_PAQUET_MIN, Math.min(Integer.MAX_VALUE - 8, memoireDisponible / 4 / OCTETS_PAR_ARETE_TRIEE));
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le chemin du fichier de graphe.
+	 * 
+	 * @return Chemin du fichier de graphe.
+	 */
+	public String getCheminFichier() {
+		return cheminFichier;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre maximal d'artes d'un paquet.
+	 * 
+	 * @return Nombre maximal d'artes d'un paquet.
+	 */
+	public int getTaillePaquet() {
+		return taillePaquet;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes lues lors du dernier calcul.
+	 * 
+	 * @return Nombre d'artes lues.
+	 */
+	public long getNbAretesLues() {
+		return nbAretesLues;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes examines par l'algorithme de
+	 * Kruskal lors du dernier calcul, avant que l'arbre ne soit complet.
+	 * 
+	 * @return Nombre d'artes examines.
+	 */
+	public long getNbAretesExaminees() {
+		return nbAretesExaminees;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de paquets tris lors du dernier calcul.
+	 * 
+	 * @return Nombre de paquets.
+	 */
+	public int getNbPaquets() {
+		return nbPaquets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de passes de fusion du dernier calcul
+	 * (0 si tout a tenu dans un seul paquet).
+	 * 
+	 * @return Nombre de passes de fusion.
+	 */
+	public int getNbPassesFusion() {
+		return nbPassesFusion;
+	}
+	
+	
+	
+	// ***************************
+	// *** CLASSES AUXILIAIRES ***
+	// ***************************
+	
+	/**
+	 * La classe ConstructeurArbre rassemble les artes retenues par l'algorithme, au plus
+	 * V-1, et en construit l'arbre couvrant minimal.
+	 */
+	private static class ConstructeurArbre {
+		
+		private int nbSommets;
+		private int[] premiersSommets;
+		private int[] secondsSommets;
+		private int[] poids;
+		private int nbAretes;
+		
+		/**
+		 * Constructeur d'un arbre vide de nbSommets sommets.
+		 * 
+		 * @param nbSommets Nombre de sommets du graphe.
+		 */
+		public ConstructeurArbre(int nbSommets) {
+			this.nbSommets = nbSommets;
+			this.premiersSommets = new int[Math.max(nbSommets - 1, 0)];
+			this.secondsSommets = new int[premiersSommets.length];
+			this.poids = new int[premiersSommets.length];
+		}
+		
+		/**
+		 * Mthode permettant d'ajouter une arte  l'arbre.
+		 * 
+		 * @param premierSommet Premier sommet de l'arte.
+		 * @param secondSommet Second sommet de l'arte.
+		 * @param poidsArete Poids de l'arte.
+		 */
+		public void ajouter(int premierSommet, int secondSommet, int poidsArete) {
+			premiersSommets[nbAretes] = premierSommet;
+			secondsSommets[nbAretes] = secondSommet;
+			poids[nbAretes++] = poidsArete;
+		}
+		
+		/**
+		 * Mthode permettant de savoir si l'arbre couvre tous les sommets.
+		 * 
+		 * @return Vrai si l'arbre a V-1 artes.
+		 */
+		public boolean isComplet() {
+			return nbAretes == premiersSommets.length;
+		}
+		
+		/**
+		 * Mthode permettant de construire le graphe des artes retenues.
+		 * 
+		 * @return Fort couvrante minimale du graphe.
+		 */
+		public Graphe construire() {
+			int[] numerosAretes = new int[nbAretes];
+			
+			for (int i=0 ; i<nbAretes ; i++)
+				numerosAretes[i] = i;
+			
+			return new Graphe(nbSommets, new TableauAretes(Arrays.copyOf(premiersSommets, nbAretes), Arrays.copyOf(secondsSommets, nbAretes), Arrays.copyOf(poids, nbAretes))).construireForetCouvrante(numerosAretes, nbAretes);
+		}
+		
+	}
+	
+	/**
+	 * La classe EcrivainPaquet crit les artes d'un paquet tri dans un fichier temporaire,
+	 * chacune sous la forme de trois entiers de 4 octets petit-boutistes (premier sommet,
+	 * second sommet, poids), au travers d'un tampon.
+	 */
+	private static class EcrivainPaquet {
+		
+		private FileChannel canal;
+		private ByteBuffer tampon;
+		
+		/**
+		 * Constructeur d'un crivain sur un fichier, vid s'il existe.
+		 * 
+		 * @param fichier Fichier crit.
+		 * @throws IOException Si le fichier ne peut pas tre ouvert.
+		 */
+		public EcrivainPaquet(File fichier) throws IOException {
+			this.canal = FileChannel.open(fichier.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			this.tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON - TAILLE_TAMPON % OCTETS_PAR_ARETE).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		
+		/**
+		 * Mthode permettant d'crire une arte.
+		 * 
+		 * @param premierSommet Premier sommet de l'arte.
+		 * @param secondSommet Second sommet de l'arte.
+		 * @param poids Poids de l'arte.
+		 * @throws IOException Si l'criture choue.
+		 */
+		public void ecrire(int premierSommet, int secondSommet, int poids) throws IOException {
+			if (!tampon.hasRemaining())
+				vider();
+			tampon.putInt(premierSommet).putInt(secondSommet).putInt(poids);
+		}
+		
+		/**
+		 * Mthode permettant d'crire le contenu du tampon dans le fichier.
+		 * 
+		 * @throws IOException Si l'criture choue.
+		 */
+		private void vider() throws IOException {
+			tampon.flip();
+			while (tampon.hasRemaining())
+				canal.write(tampon);
+			tampon.clear();
+		}
+		
+		/**
+		 * Mthode permettant de vider le tampon et de fermer le fichier.
+		 * 
+		 * @throws IOException Si l'criture choue.
+		 */
+		public void fermer() throws IOException {
+			try {
+				vider();
+			} finally {
+				canal.close();
+			}
+		}
+		
+	}
+	
+	/**
+	 * La classe Fusion correspond  la fusion de plusieurs paquets tris : chaque appel 
+	 * avancer fournit l'arte la plus lgre non encore fournie. Un tas binaire minimum
+	 * range les paquets selon le poids de leur prochaine arte ;  poids gal, le paquet le
+	 * plus ancien passe d'abord, ce qui conserve l'ordre du fichier.
+	 */
+	private static class Fusion {
+		
+		private FileChannel[] canaux;
+		private ByteBuffer[] tampons;
+		private int[] tas;
+		private int taille;
+		private int[] prochainsPoids;
+		private int premierSommet;
+		private int secondSommet;
+		private int poids;
+		
+		/**
+		 * Constructeur d'une fusion des paquets donns, dans l'ordre de leur cration.
+		 * 
+		 * @param paquets Fichiers des paquets tris.
+		 * @throws IOException Si un paquet ne peut pas tre ouvert.
+		 */
+		public Fusion(List<File> paquets) throws IOException {
+			int nbPaquets = paquets.size();
+			
+			this.canaux = new FileChannel[nbPaquets];
+			this.tampons = new ByteBuffer[nbPaquets];
+			this.tas = new int[nbPaquets];
+			this.prochainsPoids = new int[nbPaquets];
+			this.taille = 0;
+			
+			try {
+				for (int p=0 ; p<nbPaquets ; p++) {
+					canaux[p] = FileChannel.open(paquets.get(p).toPath(), StandardOpenOption.READ);
+					tampons[p] = ByteBuffer.allocateDirect(TAILLE_TAMPON - TAILLE_TAMPON % OCTETS_PAR_ARETE).order(ByteOrder.LITTLE_ENDIAN);
+					tampons[p].limit(0);
+					if (charger(p)) {
+						prochainsPoids[p] = tampons[p].getInt(tampons[p].position() + 8);
+						tas[taille] = p;
+						monter(taille++);
+					}
+				}
+			} catch (IOException e) {
+				fermer();
+				throw e;
+			}
+		}
+		
+		/**
+		 * Mthode permettant de passer  l'arte suivante de la fusion.
+		 * 
+		 * @return Vrai s'il restait une arte, faux si tous les paquets sont puiss.
+		 * @throws IOException Si un paquet ne peut pas tre lu.
+		 */
+		public boolean avancer() throws IOException {
+			int p;
+			ByteBuffer tampon;
+			
+			if (taille == 0)
+				return false;
+			
+			p = tas[0];
+			tampon = tampons[p];
+			premierSommet = tampon.getInt();
+			secondSommet = tampon.getInt();
+			poids = tampon.getInt();
+			
+			if (charger(p))
+				prochainsPoids[p] = tampon.getInt(tampon.position() + 8);
+			else
+				tas[0] = tas[--taille];
+			descendre(0);
+			
+			return true;
+		}
+		
+		/**
+		 * Mthode permettant de s'assurer que le tampon d'un paquet contient au moins une
+		 * arte, en le rechargeant depuis le fichier s'il est vide.
+		 * 
+		 * @param p Numro du paquet.
+		 * @return Vrai si le paquet a encore une arte.
+		 * @throws IOException Si le paquet ne peut pas tre lu.
+		 */
+		private boolean charger(int p) throws IOException {
+			ByteBuffer tampon = tampons[p];
+			
+			if (tampon.remaining() >= OCTETS_PAR_ARETE)
+				return true;
+			
+			tampon.clear();
+			while (tampon.hasRemaining() && (canaux[p].read(tampon) > 0));
+			tampon.flip();
+			
+			if ((tampon.remaining() % OCTETS_PAR_ARETE) != 0)
+				throw new IOException("Paquet temporaire tronqu.");
+			
+			return tampon.hasRemaining();
+		}
+		
+		/**
+		 * Mthode permettant de savoir si le paquet p doit passer avant le paquet q.
+		 * 
+		 * @param p Premier paquet.
+		 * @param q Second paquet.
+		 * @return Vrai si la prochaine arte de p passe avant celle de q.
+		 */
+		private boolean isAvant(int p, int q) {
+			return (prochainsPoids[p] < prochainsPoids[q]) || ((prochainsPoids[p] == prochainsPoids[q]) && (p < q));
+		}
+		
+		/**
+		 * Mthode permettant de remonter un paquet dans le tas jusqu' sa place.
+		 * 
+		 * @param i Position du paquet dans le tas.
+		 */
+		private void monter(int i) {
+			int p = tas[i];
+			int parent;
+			
+			while (i > 0) {
+				parent = (i - 1) / 2;
+				if (!isAvant(p, tas[parent]))
+					break;
+				tas[i] = tas[parent];
+				i = parent;
+			}
+			tas[i] = p;
+		}
+		
+		/**
+		 * Mthode permettant de descendre un paquet dans le tas jusqu' sa place.
+		 * 
+		 * @param i Position du paquet dans le tas.
+		 */
+		private void descendre(int i) {
+			int p;
+			int fils;
+			
+			if (taille == 0)
+				return;
+			
+			p = tas[i];
+			while ((fils = 2*i + 1) < taille) {
+				if ((fils + 1 < taille) && isAvant(tas[fils + 1], tas[fils]))
+					fils++;
+				if (!isAvant(tas[fils], p))
+					break;
+				tas[i] = tas[fils];
+				i = fils;
+			}
+			tas[i] = p;
+		}
+		
+		/**
+		 * Mthode permettant de fermer tous les paquets, y compris lorsque la fermeture de
+		 * l'un d'eux choue.
+		 * 
+		 * @throws IOException Si un paquet ne peut pas tre ferm (la premire erreur).
+		 */
+		public void fermer() throws IOException {
+			IOException erreur = null;
+			
+			for (FileChannel canal : canaux) {
+				try {
+					if (canal != null)
+						canal.close();
+				} catch (IOException e) {
+					if (erreur == null)
+						erreur = e;
+				}
+			}
+			
+			if (erreur != null)
+				throw erreur;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le premier sommet de l'arte courante.
+		 * 
+		 * @return Premier sommet de l'arte courante.
+		 */
+		public int getPremierSommet() {
+			return premierSommet;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le second sommet de l'arte courante.
+		 * 
+		 * @return Second sommet de l'arte courante.
+		 */
+		public int getSecondSommet() {
+			return secondSommet;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le poids de l'arte courante.
+		 * 
+		 * @return Poids de l'arte courante.
+		 */
+		public int getPoids() {
+			return poids;
+		}
+		
+	}
+	
+}
\ No newline at end of file
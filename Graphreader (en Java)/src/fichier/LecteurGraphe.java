@@ -0,0 +1,425 @@
+package fichier;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import fichier.GenerateurGraphe.RecepteurAretes;
+import modele.Graphe;
+import modele.TableauAretes;
+
+
+/**
+* La classe LecteurGraphe correspond  un lecteur de fichiers de graphes au format .dat
+* (en-tte NB_NODES, NB_EDGES et LIST_OF_EDGES, suivi d'une arte par ligne et termin
+* par END).
+* Le fichier est lu octet par octet au travers d'un tampon, et les artes sont stockes
+* directement dans des tableaux d'entiers, sans passer par des objets intermdiaires.
+* Les artes peuvent aussi tre transmises une  une  un destinataire sans tre
+* conserves (mthode parcourirAretes), pour les fichiers trop gros pour tenir en mmoire :
+* NB_EDGES peut alors dpasser Integer.MAX_VALUE.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class LecteurGraphe {
+	
+	static final int TAILLE_TAMPON = 1 << 16;
+	static final int FIN_FICHIER = -1;
+	static final int NB_ARETES_MAX_EN_MEMOIRE = Integer.MAX_VALUE - 8;
+	
+	private String cheminFichier;
+	private int nbSommets;
+	private long nbAretes;
+	
+	private FileChannel canal;
+	private ByteBuffer tampon;
+	private byte[] octets;
+	private int position;
+	private int limite;
+	private int separateur;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur avec l'attribut cheminFichier de la classe LecteurGraphe.
+	 * 
+	 * @param cheminFichier Chemin du fichier que l'on souhaite lire.
+	 */
+	public LecteurGraphe(String cheminFichier) {
+		this.cheminFichier = cheminFichier;
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES DE LECTURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant de lire le fichier et de construire le graphe qu'il dcrit.
+	 * 
+	 * @return Graphe dcrit par le fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format.
+	 */
+	public Graphe lireGraphe() throws IOException {
+		TableauAretes tableauAretes = this.lireAretes();
+		
+		return new Graphe(this.getNbSommets(), tableauAretes);
+	}
+	
+	/**
+	 * Mthode permettant de lire le fichier et d'en extraire les artes.
+	 * Le nombre de sommets et d'artes annoncs dans l'en-tte sont vrifis : chaque
+	 * sommet doit tre compris entre 0 et NB_NODES-1, et le fichier doit contenir
+	 * exactement NB_EDGES artes avant le mot END. Ce qui suit END n'est pas lu.
+	 * 
+	 * @return Tableau des artes du fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format.
+	 */
+	public TableauAretes lireAretes() throws IOException {
+		FileInputStream flux = ouvrir();
+		final int[] premiersSommets;
+		final int[] secondsSommets;
+		final int[] poids;
+		
+		try {
+			lireEnTete();
+			if (nbAretes > NB_ARETES_MAX_EN_MEMOIRE)
+				throw new IOException(cheminFichier + " : " + nbAretes + " artes, trop pour tre charges en mmoire (voir la classe KruskalExterne).");
+			
+			premiersSommets = new int[(int) nbAretes];
+			secondsSommets = new int[(int) nbAretes];
+			poids = new int[(int) nbAretes];
+			lireListeAretes(new RecepteurAretes() {
+				private int i = 0;
+				
+				public void recevoirArete(int premierSommet, int secondSommet, int poidsArete) {
+					premiersSommets[i] = premierSommet;
+					secondsSommets[i] = secondSommet;
+					poids[i++] = poidsArete;
+				}
+			});
+			
+			return new TableauAretes(premiersSommets, secondsSommets, poids);
+		} finally {
+			fermer(flux);
+		}
+	}
+	
+	/**
+	 * Mthode permettant de lire le fichier en transmettant ses artes une  une, dans
+	 * l'ordre du fichier,  un destinataire, sans les conserver : seul le tampon de lecture
+	 * occupe de la mmoire, quel que soit le nombre d'artes.
+	 * Les vrifications sont les mmes que pour la mthode lireAretes. Le nombre de
+	 * sommets est connu (getNbSommets) ds la premire arte reue.
+	 * 
+	 * @param recepteur Destinataire des artes lues.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format, ou
+	 * si le destinataire choue.
+	 */
+	public void parcourirAretes(RecepteurAretes recepteur) throws IOException {
+		FileInputStream flux = ouvrir();
+		
+		try {
+			lireEnTete();
+			lireListeAretes(recepteur);
+		} finally {
+			fermer(flux);
+		}
+	}
+	
+	/**
+	 * Mthode permettant de lire seulement l'en-tte du fichier, pour que la liste des
+	 * artes soit lue par ailleurs (voir la classe LecteurParallele).
+	 * 
+	 * @return Position, en octets, du dbut de la ligne qui suit LIST_OF_EDGES.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou si l'en-tte est incorrect.
+	 */
+	long lireDebutListeAretes() throws IOException {
+		FileInputStream flux = ouvrir();
+		
+		try {
+			lireEnTete();
+			return canal.position() - (limite - position);
+		} finally {
+			fermer(flux);
+		}
+	}
+	
+	/**
+	 * Mthode permettant d'ouvrir le fichier et de prparer le tampon de lecture.
+	 * 
+	 * @return Flux ouvert sur le fichier.
+	 * @throws IOException Si le fichier ne peut pas tre ouvert.
+	 */
+	private FileInputStream ouvrir() throws IOException {
+		FileInputStream flux = new FileInputStream(cheminFichier);
+		
+		this.canal = flux.getChannel();
+		this.tampon = ByteBuffer.allocate(TAILLE_TAMPON);
+		this.octets = tampon.array();
+		this.position = 0;
+		this.limite = 0;
+		
+		return flux;
+	}
+	
+	/**
+	 * Mthode permettant de fermer le fichier et de librer le tampon de lecture.
+	 * 
+	 * @param flux Flux ouvert sur le fichier.
+	 * @throws IOException Si le fichier ne peut pas tre ferm.
+	 */
+	private void fermer(FileInputStream flux) throws IOException {
+		flux.close();
+		this.canal = null;
+		this.tampon = null;
+		this.octets = null;
+	}
+	
+	/**
+	 * Mthode permettant de lire l'en-tte du fichier, jusqu' la ligne LIST_OF_EDGES
+	 * incluse, et d'en extraire le nombre de sommets et le nombre d'artes.
+	 * Les mots inconnus de l'en-tte (UNDIRECTED GRAPH, COSTS...) sont ignors.
+	 * 
+	 * @throws IOException Si l'en-tte est absent ou incomplet.
+	 */
+	private void lireEnTete() throws IOException {
+		boolean nbSommetsLu = false;
+		boolean nbAretesLu = false;
+		String mot = lireMot();
+		
+		while (!mot.equals("LIST_OF_EDGES")) {
+			if (mot.isEmpty())
+				throw new IOException(cheminFichier + " : mot LIST_OF_EDGES absent de l'en-tte.");
+			
+			if (mot.equals("NB_NODES")) {
+				nbSommets = lireEntier();
+				nbSommetsLu = true;
+			} else if (mot.equals("NB_EDGES")) {
+				nbAretes = lireEntierLong();
+				nbAretesLu = true;
+			}
+			mot = lireMot();
+		}
+		
+		if (!nbSommetsLu || !nbAretesLu)
+			throw new IOException(cheminFichier + " : NB_NODES ou NB_EDGES absent de l'en-tte.");
+		if ((nbSommets < 0) || (nbAretes < 0))
+			throw new IOException(cheminFichier + " : NB_NODES et NB_EDGES doivent tre positifs.");
+		
+		// Le reste de la ligne LIST_OF_EDGES (COSTS) dcrit les colonnes et est ignor.
+		int octet = separateur;
+		while ((octet != '\n') && (octet != FIN_FICHIER))
+			octet = lireOctet();
+	}
+	
+	/**
+	 * Mthode permettant de lire les NB_EDGES lignes d'artes, puis le mot END.
+	 * 
+	 * @param recepteur Destinataire des artes lues.
+	 * @throws IOException Si le nombre d'artes ne correspond pas  l'en-tte, ou si
+	 * une arte fait rfrence  un sommet inexistant.
+	 */
+	private void lireListeAretes(RecepteurAretes recepteur) throws IOException {
+		String mot;
+		int octet;
+		int premierSommet;
+		int secondSommet;
+		
+		for (long i=0 ; i<nbAretes ; i++) {
+			octet = lireOctetNonBlanc();
+			if (((octet < '0') || (octet > '9')) && (octet != '-'))
+				throw new IOException(cheminFichier + " : " + i + " artes trouves, alors que NB_EDGES en annonce " + nbAretes + ".");
+			
+			premierSommet = verifierSommet(lireEntier(octet), i);
+			secondSommet = verifierSommet(lireEntier(), i);
+			recepteur.recevoirArete(premierSommet, secondSommet, lireEntier());
+		}
+		
+		mot = lireMot();
+		if (!mot.equals("END"))
+			throw new IOException(cheminFichier + " : END attendu aprs " + nbAretes + " artes, \"" + mot + "\" trouv.");
+	}
+	
+	
+	
+	// *****************************
+	// *** MTHODES DE DCOUPAGE ***
+	// *****************************
+	
+	/**
+	 * Mthode permettant de vrifier qu'un sommet lu pour une arte existe.
+	 * 
+	 * @param sommet Valeur du sommet lu.
+	 * @param i Numro de l'arte en cours de lecture.
+	 * @return Valeur du sommet lu.
+	 * @throws IOException Si le sommet n'est pas compris entre 0 et NB_NODES-1.
+	 */
+	private int verifierSommet(int sommet, long i) throws IOException {
+		if ((sommet < 0) || (sommet >= nbSommets))
+			throw new IOException(cheminFichier + " : l'arte " + i + " fait rfrence au sommet " + sommet + " (NB_NODES = " + nbSommets + ").");
+		
+		return sommet;
+	}
+	
+	/**
+	 * Mthode permettant de lire le prochain entier (ventuellement ngatif) du fichier,
+	 * en ignorant les blancs qui le prcdent.
+	 * 
+	 * @return Entier lu.
+	 * @throws IOException Si le prochain mot du fichier n'est pas un entier.
+	 */
+	private int lireEntier() throws IOException {
+		return lireEntier(lireOctetNonBlanc());
+	}
+	
+	/**
+	 * Mthode permettant de lire le prochain entier long positif du fichier, en ignorant
+	 * les blancs qui le prcdent.
+	 * N'est utilise que pour l'en-tte, et n'est donc pas optimise.
+	 * 
+	 * @return Entier lu.
+	 * @throws IOException Si le prochain mot du fichier n'est pas un entier positif.
+	 */
+	private long lireEntierLong() throws IOException {
+		String mot = lireMot();
+		
+		try {
+			return Long.parseLong(mot);
+		} catch (NumberFormatException e) {
+			throw new IOException(cheminFichier + " : entier attendu, \"" + mot + "\" trouv.");
+		}
+	}
+	
+	/**
+	 * Mthode permettant de lire un entier (ventuellement ngatif) dont le premier octet
+	 * a dj t lu.
+	 * L'entier est accumul en ngatif, pour que Integer.MIN_VALUE soit lisible, et chaque
+	 * chiffre est refus s'il ferait sortir la valeur des limites d'un int.
+	 * 
+	 * @param premierOctet Premier octet de l'entier.
+	 * @return Entier lu.
+	 * @throws IOException Si le mot commenant par premierOctet n'est pas un entier, ou
+	 * si cet entier ne tient pas dans un int.
+	 */
+	private int lireEntier(int premierOctet) throws IOException {
+		int octet = premierOctet;
+		boolean negatif = (octet == '-');
+		int borne = negatif ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+		int valeur = 0;
+		
+		if (negatif)
+			octet = lireOctet();
+		if ((octet < '0') || (octet > '9'))
+			throw new IOException(cheminFichier + " : entier attendu" + (octet == FIN_FICHIER ? " avant la fin du fichier." : ", '" + (char) octet + "' trouv."));
+		
+		while ((octet >= '0') && (octet <= '9')) {
+			if (valeur < (borne + (octet-'0')) / 10)
+				throw new IOException(cheminFichier + " : entier trop grand pour un int (" + Integer.MIN_VALUE + "  " + Integer.MAX_VALUE + ").");
+			valeur = valeur*10 - (octet-'0');
+			octet = lireOctet();
+		}
+		
+		return negatif ? valeur : -valeur;
+	}
+	
+	/**
+	 * Mthode permettant de lire le prochain mot du fichier, en ignorant les blancs qui
+	 * le prcdent.
+	 * N'est utilise que pour l'en-tte et le mot END, et n'est donc pas optimise.
+	 * L'octet qui termine le mot est conserv dans l'attribut separateur.
+	 * 
+	 * @return Mot lu, ou chane vide  la fin du fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu.
+	 */
+	private String lireMot() throws IOException {
+		StringBuilder mot = new StringBuilder();
+		int octet = lireOctetNonBlanc();
+		
+		while ((octet != FIN_FICHIER) && (octet > ' ')) {
+			mot.append((char) octet);
+			octet = lireOctet();
+		}
+		separateur = octet;
+		
+		return mot.toString();
+	}
+	
+	/**
+	 * Mthode permettant de lire le prochain octet du fichier qui n'est pas un blanc
+	 * (espace, tabulation, retour  la ligne).
+	 * 
+	 * @return Octet lu, ou FIN_FICHIER.
+	 * @throws IOException Si le fichier ne peut pas tre lu.
+	 */
+	private int lireOctetNonBlanc() throws IOException {
+		int octet = lireOctet();
+		
+		while ((octet != FIN_FICHIER) && (octet <= ' '))
+			octet = lireOctet();
+		
+		return octet;
+	}
+	
+	/**
+	 * Mthode permettant de lire le prochain octet du fichier, en rechargeant le tampon
+	 * lorsqu'il a t entirement parcouru.
+	 * 
+	 * @return Octet lu, ou FIN_FICHIER.
+	 * @throws IOException Si le fichier ne peut pas tre lu.
+	 */
+	private int lireOctet() throws IOException {
+		if (position == limite) {
+			tampon.clear();
+			if (canal.read(tampon) <= 0)
+				return FIN_FICHIER;
+			position = 0;
+			limite = tampon.position();
+		}
+		
+		return octets[position++] & 0xFF;
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le chemin du fichier lu.
+	 * 
+	 * @return Chemin du fichier lu.
+	 */
+	public String getCheminFichier() {
+		return cheminFichier;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets annonc par l'en-tte du
+	 * dernier fichier lu.
+	 * 
+	 * @return Nombre de sommets du graphe lu.
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes annonc par l'en-tte du
+	 * dernier fichier lu.
+	 * 
+	 * @return Nombre d'artes du graphe lu.
+	 */
+	public long getNbAretes() {
+		return nbAretes;
+	}
+	
+}
\ No newline at end of file
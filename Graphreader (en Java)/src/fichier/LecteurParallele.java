@@ -0,0 +1,590 @@
+package fichier;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import modele.Graphe;
+import modele.TableauAretes;
+
+
+/**
+* La classe LecteurParallele correspond  un lecteur de fichiers de graphes au format .dat
+* qui lit la liste des artes sur plusieurs threads.
+* L'en-tte est lu par la classe LecteurGraphe. La liste des artes est ensuite dcoupe
+* en morceaux dont la taille vise est comprise entre TAILLE_MORCEAU_MIN et
+* TAILLE_MORCEAU_MAX octets, chacun commenant au dbut d'une ligne ; chaque morceau est projet en mmoire (FileChannel.map) et analys par un thread d'un
+* ForkJoinPool, qui range ses artes dans ses propres tableaux d'entiers. Les tableaux des
+* morceaux sont enfin recopis, dans l'ordre du fichier, dans le tableau d'artes final :
+* le graphe obtenu est identique  celui de la classe LecteurGraphe.
+* Les vrifications sont les mmes (sommets compris entre 0 et NB_NODES-1, exactement
+* NB_EDGES artes avant le mot END, rien n'est lu aprs END), mais chaque arte doit tenir
+* sur une seule ligne, comme le prvoit le format.
+* La lecture n'est plus limite par le processeur d'un seul thread, mais par le disque :
+* elle n'est utile que pour les gros fichiers (voir isAdapte).
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class LecteurParallele {
+	
+	public final static long TAILLE_MIN_PARALLELE = 1 << 24;
+	static final long TAILLE_MORCEAU_MIN = 1 << 20;
+	static final long TAILLE_MORCEAU_MAX = 1 << 28;
+	static final int NB_MORCEAUX_PAR_THREAD = 4;
+	static final int TAILLE_RECHERCHE_LIGNE = 256;
+	
+	private String cheminFichier;
+	private int nbThreads;
+	private long tailleMorceau;
+	private int nbSommets;
+	private long nbAretes;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un lecteur utilisant un thread par processeur.
+	 * 
+	 * @param cheminFichier Chemin du fichier que l'on souhaite lire.
+	 */
+	public LecteurParallele(String cheminFichier) {
+		this(cheminFichier, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Constructeur d'un lecteur utilisant un nombre de threads donn.
+	 * 
+	 * @param cheminFichier Chemin du fichier que l'on souhaite lire.
+	 * @param nbThreads Nombre de threads analysant les morceaux du fichier.
+	 */
+	public LecteurParallele(String cheminFichier, int nbThreads) {
+		this(cheminFichier, nbThreads, 0);
+	}
+	
+	/**
+	 * Constructeur d'un lecteur utilisant un nombre de threads et une taille de morceau
+	 * donns.
+	 * 
+	 * @param cheminFichier Chemin du fichier que l'on souhaite lire.
+	 * @param nbThreads Nombre de threads analysant les morceaux du fichier.
+	 * @param tailleMorceau Taille vise des morceaux, en octets, ramene entre
+	 * TAILLE_MORCEAU_MIN et TAILLE_MORCEAU_MAX, ou 0 pour qu'elle soit calcule d'aprs la
+	 * taille du fichier et le nombre de threads.
+	 */
+	public LecteurParallele(String cheminFichier, int nbThreads, long tailleMorceau) {
+		this.cheminFichier = cheminFichier;
+		this.nbThreads = Math.max(nbThreads, 1);
+		this.tailleMorceau = tailleMorceau;
+	}
+	
+	/**
+	 * Mthode permettant de savoir si un fichier gagne  tre lu en parallle : il faut
+	 * au moins deux processeurs, et un fichier d'au moins TAILLE_MIN_PARALLELE octets (en
+	 * de, la lecture par la classe LecteurGraphe ne prend que quelques dizaines de
+	 * millisecondes).
+	 * 
+	 * @param cheminFichier Chemin du fichier.
+	 * @return Vrai si le fichier gagne  tre lu en parallle.
+	 */
+	public static boolean isAdapte(String cheminFichier) {
+		return (Runtime.getRuntime().availableProcessors() > 1) && (new File(cheminFichier).length() >= TAILLE_MIN_PARALLELE);
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES DE LECTURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant de lire le fichier et de construire le graphe qu'il dcrit.
+	 * 
+	 * @return Graphe dcrit par le fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format.
+	 */
+	public Graphe lireGraphe() throws IOException {
+		TableauAretes tableauAretes = this.lireAretes();
+		
+		return new Graphe(this.getNbSommets(), tableauAretes);
+	}
+	
+	/**
+	 * Mthode permettant de lire le fichier et d'en extraire les artes, dans l'ordre du
+	 * fichier.
+	 * 
+	 * @return Tableau des artes du fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format.
+	 */
+	public TableauAretes lireAretes() throws IOException {
+		LecteurGraphe lecteurEnTete = new LecteurGraphe(cheminFichier);
+		long debutListe = lecteurEnTete.lireDebutListeAretes();
+		FileInputStream flux;
+		List<Morceau> morceaux;
+		List<Future<Integer>> resultats;
+		ForkJoinPool pool;
+		
+		nbSommets = lecteurEnTete.getNbSommets();
+		nbAretes = lecteurEnTete.getNbAretes();
+		if (nbAretes > LecteurGraphe.NB_ARETES_MAX_EN_MEMOIRE)
+			throw new IOException(cheminFichier + " : " + nbAretes + " artes, trop pour tre charges en mmoire (voir la classe KruskalExterne).");
+		
+		flux = new FileInputStream(cheminFichier);
+		pool = new ForkJoinPool(nbThreads);
+		try {
+			morceaux = decouper(flux.getChannel(), debutListe);
+			resultats = pool.invokeAll(morceaux);
+			return fusionner(morceaux, resultats);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} finally {
+			pool.shutdown();
+			flux.close();
+		}
+	}
+	
+	/**
+	 * Mthode permettant de dcouper la liste des artes en morceaux commenant chacun au
+	 * dbut d'une ligne. Sauf si elle a t donne, la taille des morceaux vise
+	 * NB_MORCEAUX_PAR_THREAD morceaux par thread, afin que les threads restent occups
+	 * jusqu' la fin mme si certains morceaux sont plus lents  lire. Dans les deux cas,
+	 * elle est ramene entre TAILLE_MORCEAU_MIN et TAILLE_MORCEAU_MAX : de trop petits
+	 * morceaux multiplieraient les projections en mmoire et les tableaux  recopier.
+	 * 
+	 * @param canal Canal ouvert sur le fichier.
+	 * @param debutListe Position du dbut de la liste des artes.
+	 * @return Morceaux de la liste des artes, dans l'ordre du fichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu.
+	 */
+	private List<Morceau> decouper(FileChannel canal, long debutListe) throws IOException {
+		List<Morceau> morceaux = new ArrayList<Morceau>();
+		long finFichier = canal.size();
+		long tailleListe = Math.max(finFichier - debutListe, 1);
+		long tailleMorceau = this.tailleMorceau;
+		long debut = debutListe;
+		long fin;
+		int capacite;
+		
+		if (tailleMorceau <= 0)
+			tailleMorceau = tailleListe / ((long) nbThreads * NB_MORCEAUX_PAR_THREAD) + 1;
+		tailleMorceau = Math.min(Math.max(tailleMorceau, TAILLE_MORCEAU_MIN), TAILLE_MORCEAU_MAX);
+		
+		while (debut < finFichier) {
+			fin = (finFichier - debut <= tailleMorceau) ? finFichier : chercherFinLigne(canal, debut + tailleMorceau, finFichier);
+			
+			// Nombre d'artes attendu dans le morceau, d'aprs la taille moyenne d'une ligne.
+			capacite = (int) Math.min(LecteurGraphe.NB_ARETES_MAX_EN_MEMOIRE, (long) ((double) nbAretes * (fin - debut) / tailleListe * 1.1) + 16);
+			morceaux.add(new Morceau(canal, debut, fin, capacite));
+			debut = fin;
+		}
+		
+		return morceaux;
+	}
+	
+	/**
+	 * Mthode permettant de trouver le dbut de la premire ligne qui commence aprs une
+	 * position du fichier.
+	 * 
+	 * @param canal Canal ouvert sur le fichier.
+	 * @param position Position  partir de laquelle un retour  la ligne est cherch.
+	 * @param finFichier Taille du fichier.
+	 * @return Position suivant le premier retour  la ligne trouv, ou finFichier.
+	 * @throws IOException Si le fichier ne peut pas tre lu.
+	 */
+	private static long chercherFinLigne(FileChannel canal, long position, long finFichier) throws IOException {
+		ByteBuffer tampon = ByteBuffer.allocate(TAILLE_RECHERCHE_LIGNE);
+		int nbLus;
+		
+		while (position < finFichier) {
+			tampon.clear();
+			nbLus = canal.read(tampon, position);
+			if (nbLus <= 0)
+				break;
+			
+			for (int i=0 ; i<nbLus ; i++) {
+				if (tampon.get(i) == '\n')
+					return position + i + 1;
+			}
+			position += nbLus;
+		}
+		
+		return finFichier;
+	}
+	
+	/**
+	 * Mthode permettant de vrifier les morceaux lus, dans l'ordre du fichier, jusqu'
+	 * celui qui contient le mot END, puis de recopier leurs artes dans le tableau final.
+	 * Une erreur dans un morceau qui suit END est ignore, comme tout ce qui suit END.
+	 * 
+	 * @param morceaux Morceaux de la liste des artes, dans l'ordre du fichier.
+	 * @param resultats Rsultats de la lecture des morceaux.
+	 * @return Tableau des artes du fichier.
+	 * @throws IOException Si un morceau n'a pas pu tre lu, ou si le fichier n'est pas au
+	 * bon format.
+	 * @throws InterruptedException Si le thread est interrompu pendant l'attente.
+	 */
+	private TableauAretes fusionner(List<Morceau> morceaux, List<Future<Integer>> resultats) throws IOException, InterruptedException {
+		int[] premiersSommets;
+		int[] secondsSommets;
+		int[] poids;
+		Morceau morceau;
+		long nbAretesTrouvees = 0;
+		int nbMorceauxLus = 0;
+		boolean finTrouvee = false;
+		int position = 0;
+		
+		while ((nbMorceauxLus < morceaux.size()) && !finTrouvee) {
+			morceau = morceaux.get(nbMorceauxLus);
+			try {
+				resultats.get(nbMorceauxLus).get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof IOException)
+					throw (IOException) e.getCause();
+				throw new IllegalStateException(e.getCause());
+			}
+			
+			if (morceau.getErreurArete() != null)
+				throw new IOException(cheminFichier + " : l'arte " + (nbAretesTrouvees + morceau.getNbAretes()) + morceau.getErreurArete());
+			
+			nbAretesTrouvees += morceau.getNbAretes();
+			if (nbAretesTrouvees > nbAretes)
+				throw new IOException(cheminFichier + " : END attendu aprs " + nbAretes + " artes, une autre arte trouve.");
+			
+			if (morceau.getMotInattendu() != null) {
+				if (nbAretesTrouvees == nbAretes)
+					throw new IOException(cheminFichier + " : END attendu aprs " + nbAretes + " artes, \"" + morceau.getMotInattendu() + "\" trouv.");
+				throw new IOException(cheminFichier + " : " + nbAretesTrouvees + " artes trouves, alors que NB_EDGES en annonce " + nbAretes + ".");
+			}
+			
+			finTrouvee = morceau.isFinTrouvee();
+			nbMorceauxLus++;
+		}
+		
+		if (nbAretesTrouvees != nbAretes)
+			throw new IOException(cheminFichier + " : " + nbAretesTrouvees + " artes trouves, alors que NB_EDGES en annonce " + nbAretes + ".");
+		if (!finTrouvee)
+			throw new IOException(cheminFichier + " : END attendu aprs " + nbAretes + " artes, fin du fichier trouve.");
+		
+		premiersSommets = new int[(int) nbAretes];
+		secondsSommets = new int[(int) nbAretes];
+		poids = new int[(int) nbAretes];
+		for (int k=0 ; k<nbMorceauxLus ; k++) {
+			morceau = morceaux.get(k);
+			morceau.recopier(premiersSommets, secondsSommets, poids, position);
+			position += morceau.getNbAretes();
+		}
+		
+		return new TableauAretes(premiersSommets, secondsSommets, poids);
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le chemin du fichier lu.
+	 * 
+	 * @return Chemin du fichier lu.
+	 */
+	public String getCheminFichier() {
+		return cheminFichier;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets annonc par l'en-tte du
+	 * dernier fichier lu.
+	 * 
+	 * @return Nombre de sommets du graphe lu.
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes annonc par l'en-tte du
+	 * dernier fichier lu.
+	 * 
+	 * @return Nombre d'artes du graphe lu.
+	 */
+	public long getNbAretes() {
+		return nbAretes;
+	}
+	
+	
+	
+	// ****************************
+	// *** LECTURE D'UN MORCEAU ***
+	// ****************************
+	
+	/**
+	 * La classe Morceau correspond  la lecture d'un morceau de la liste des artes, qui
+	 * commence au dbut d'une ligne et finit  la fin d'une ligne. Ses artes sont ranges
+	 * dans ses propres tableaux, agrandis au besoin.
+	 * Une erreur de format n'interrompt que ce morceau : elle est conserve, et signale
+	 * par la mthode fusionner seulement si le morceau prcde le mot END.
+	 */
+	private class Morceau implements Callable<Integer> {
+		
+		private FileChannel canal;
+		private long debut;
+		private long fin;
+		private int[] premiersSommets;
+		private int[] secondsSommets;
+		private int[] poids;
+		private int nbAretesMorceau;
+		private int position;
+		private boolean finTrouvee;
+		private String motInattendu;
+		private String erreurArete;
+		
+		/**
+		 * Constructeur de la lecture d'un morceau.
+		 * 
+		 * @param canal Canal ouvert sur le fichier.
+		 * @param debut Position du dbut du morceau.
+		 * @param fin Position de la fin du morceau.
+		 * @param capacite Nombre d'artes attendu dans le morceau.
+		 */
+		Morceau(FileChannel canal, long debut, long fin, int capacite) {
+			this.canal = canal;
+			this.debut = debut;
+			this.fin = fin;
+			this.premiersSommets = new int[capacite];
+			this.secondsSommets = new int[capacite];
+			this.poids = new int[capacite];
+		}
+		
+		/**
+		 * Mthode permettant de projeter le morceau en mmoire et d'en lire les artes.
+		 * 
+		 * @return Nombre d'artes lues.
+		 * @throws IOException Si le morceau ne peut pas tre projet en mmoire.
+		 */
+		public Integer call() throws IOException {
+			ByteBuffer octets = canal.map(FileChannel.MapMode.READ_ONLY, debut, fin - debut);
+			
+			try {
+				analyser(octets);
+			} catch (IOException e) {
+				erreurArete = e.getMessage();
+			}
+			
+			return nbAretesMorceau;
+		}
+		
+		/**
+		 * Mthode permettant de lire les artes du morceau, jusqu' sa fin ou jusqu'au
+		 * premier mot qui n'est pas un entier (END ou non).
+		 * 
+		 * @param octets Contenu du morceau.
+		 * @throws IOException Si une arte est incomplte ou fait rfrence  un sommet
+		 * inexistant. Le message commence aprs le numro de l'arte, que seule la mthode
+		 * fusionner connat.
+		 */
+		private void analyser(ByteBuffer octets) throws IOException {
+			int taille = octets.limit();
+			int octet;
+			int premierSommet;
+			int secondSommet;
+			String mot;
+			
+			while (true) {
+				sauterBlancs(octets, taille);
+				if (position == taille)
+					return;
+				
+				octet = octets.get(position);
+				if (((octet < '0') || (octet > '9')) && (octet != '-')) {
+					mot = lireMot(octets, taille);
+					if (mot.equals("END"))
+						finTrouvee = true;
+					else
+						motInattendu = mot;
+					return;
+				}
+				
+				premierSommet = verifierSommet(lireEntier(octets, taille));
+				secondSommet = verifierSommet(lireEntier(octets, taille));
+				ajouter(premierSommet, secondSommet, lireEntier(octets, taille));
+			}
+		}
+		
+		/**
+		 * Mthode permettant d'ajouter une arte aux tableaux du morceau, en les agrandissant
+		 * si ncessaire.
+		 * 
+		 * @param premierSommet Premier sommet de l'arte.
+		 * @param secondSommet Second sommet de l'arte.
+		 * @param poidsArete Poids de l'arte.
+		 */
+		private void ajouter(int premierSommet, int secondSommet, int poidsArete) {
+			int capacite;
+			
+			if (nbAretesMorceau == poids.length) {
+				capacite = (int) Math.min(LecteurGraphe.NB_ARETES_MAX_EN_MEMOIRE, 2L * poids.length + 16);
+				premiersSommets = Arrays.copyOf(premiersSommets, capacite);
+				secondsSommets = Arrays.copyOf(secondsSommets, capacite);
+				poids = Arrays.copyOf(poids, capacite);
+			}
+			
+			premiersSommets[nbAretesMorceau] = premierSommet;
+			secondsSommets[nbAretesMorceau] = secondSommet;
+			poids[nbAretesMorceau++] = poidsArete;
+		}
+		
+		/**
+		 * Mthode permettant de recopier les artes du morceau dans le tableau final, puis de
+		 * librer les tableaux du morceau.
+		 * 
+		 * @param premiersSommetsFinal Premiers sommets de toutes les artes.
+		 * @param secondsSommetsFinal Seconds sommets de toutes les artes.
+		 * @param poidsFinal Poids de toutes les artes.
+		 * @param positionFinale Position de la premire arte du morceau dans le fichier.
+		 */
+		void recopier(int[] premiersSommetsFinal, int[] secondsSommetsFinal, int[] poidsFinal, int positionFinale) {
+			System.arraycopy(premiersSommets, 0, premiersSommetsFinal, positionFinale, nbAretesMorceau);
+			System.arraycopy(secondsSommets, 0, secondsSommetsFinal, positionFinale, nbAretesMorceau);
+			System.arraycopy(poids, 0, poidsFinal, positionFinale, nbAretesMorceau);
+			premiersSommets = null;
+			secondsSommets = null;
+			poids = null;
+		}
+		
+		/**
+		 * Mthode permettant de vrifier qu'un sommet lu pour une arte existe.
+		 * 
+		 * @param sommet Valeur du sommet lu.
+		 * @return Valeur du sommet lu.
+		 * @throws IOException Si le sommet n'est pas compris entre 0 et NB_NODES-1.
+		 */
+		private int verifierSommet(int sommet) throws IOException {
+			if ((sommet < 0) || (sommet >= nbSommets))
+				throw new IOException(" fait rfrence au sommet " + sommet + " (NB_NODES = " + nbSommets + ").");
+			
+			return sommet;
+		}
+		
+		/**
+		 * Mthode permettant de lire le prochain entier (ventuellement ngatif) du morceau,
+		 * en ignorant les blancs qui le prcdent.
+		 * Comme dans la classe LecteurGraphe, l'entier est accumul en ngatif et chaque
+		 * chiffre est refus s'il ferait sortir la valeur des limites d'un int.
+		 * 
+		 * @param octets Contenu du morceau.
+		 * @param taille Taille du morceau.
+		 * @return Entier lu.
+		 * @throws IOException Si le prochain mot du morceau n'est pas un entier, ou si cet
+		 * entier ne tient pas dans un int.
+		 */
+		private int lireEntier(ByteBuffer octets, int taille) throws IOException {
+			boolean negatif;
+			int limite;
+			int valeur = 0;
+			int octet;
+			
+			sauterBlancs(octets, taille);
+			negatif = (position < taille) && (octets.get(position) == '-');
+			limite = negatif ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+			if (negatif)
+				position++;
+			if ((position == taille) || (octets.get(position) < '0') || (octets.get(position) > '9'))
+				throw new IOException(" est incomplte : entier attendu" + (position == taille ? " avant la fin du fichier." : ", '" + (char) (octets.get(position) & 0xFF) + "' trouv."));
+			
+			while (position < taille) {
+				octet = octets.get(position);
+				if ((octet < '0') || (octet > '9'))
+					break;
+				if (valeur < (limite + (octet-'0')) / 10)
+					throw new IOException(" : entier trop grand pour un int (" + Integer.MIN_VALUE + "  " + Integer.MAX_VALUE + ").");
+				valeur = valeur*10 - (octet-'0');
+				position++;
+			}
+			
+			return negatif ? valeur : -valeur;
+		}
+		
+		/**
+		 * Mthode permettant de lire le mot qui commence  la position courante du morceau.
+		 * 
+		 * @param octets Contenu du morceau.
+		 * @param taille Taille du morceau.
+		 * @return Mot lu.
+		 */
+		private String lireMot(ByteBuffer octets, int taille) {
+			StringBuilder mot = new StringBuilder();
+			
+			while ((position < taille) && ((octets.get(position) & 0xFF) > ' '))
+				mot.append((char) (octets.get(position++) & 0xFF));
+			
+			return mot.toString();
+		}
+		
+		/**
+		 * Mthode permettant d'avancer la position courante jusqu'au prochain octet qui
+		 * n'est pas un blanc, ou jusqu' la fin du morceau.
+		 * 
+		 * @param octets Contenu du morceau.
+		 * @param taille Taille du morceau.
+		 */
+		private void sauterBlancs(ByteBuffer octets, int taille) {
+			while ((position < taille) && ((octets.get(position) & 0xFF) <= ' '))
+				position++;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le nombre d'artes lues dans le morceau avant
+		 * sa fin, le mot END ou une erreur.
+		 * 
+		 * @return Nombre d'artes lues.
+		 */
+		int getNbAretes() {
+			return nbAretesMorceau;
+		}
+		
+		/**
+		 * Accesseur permettant de savoir si le mot END a t lu dans le morceau.
+		 * 
+		 * @return Vrai si le morceau contient le mot END.
+		 */
+		boolean isFinTrouvee() {
+			return finTrouvee;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le mot, ni entier ni END, qui a arrt la
+		 * lecture du morceau.
+		 * 
+		 * @return Mot inattendu, ou null.
+		 */
+		String getMotInattendu() {
+			return motInattendu;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer l'erreur qui a arrt la lecture d'une arte,
+		 * sans le numro de l'arte.
+		 * 
+		 * @return Fin du message d'erreur, ou null.
+		 */
+		String getErreurArete() {
+			return erreurArete;
+		}
+		
+	}
+	
+}
\ No newline at end of file
@@ -1,17 +1,25 @@
 package main;
 
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.util.ArrayList;
-import java.util.InputMismatchException;
-import java.util.Scanner;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import modele.Arete;
+import cache.CacheCalculs;
+import cache.ResultatsCalcul;
+import fichier.ConvertisseurBinaire;
+import fichier.FormatBinaire;
+import fichier.LecteurGraphe;
+import fichier.LecteurParallele;
+import mesure.Mesures;
+import modele.Diametre;
 import modele.Graphe;
 import modele.Kruskal;
 import modele.Prim;
-import modele.Sommet;
+import rapport.Rapport;
+import rapport.TamponSortie;
 
 
 /**
@@ -25,48 +33,154 @@ public class Main {
 	
 	public final static String FICHIER_GRAPHE = "doc\\graphe_k5.dat";
 	//public final static String FICHIER_GRAPHE = "doc\\Instances\\inst_v100.dat";
-
+	static final int NB_BRANCHES = 3;
+	// Variantes par dfaut de Prim, Kruskal et du diamtre, utilises par main.
+	static final String OPTIONS_CALCUL = "prim" + Prim.VARIANTE_AUTOMATIQUE + "_kruskal" + Kruskal.VARIANTE_SEQUENTIELLE + "_diametre" + Diametre.VARIANTE_AUTOMATIQUE;
+	
 	
 	/**
 	 * La mthode main est la mthode principale du projet Graphreader.
 	 * L'excution du projet Graphreader commence dans cette mthode.
+	 * Sans argument, le fichier FICHIER_GRAPHE est trait et ses rsultats sont affichs
+	 * en dtail. Une fois le graphe lu, ses informations (dont le calcul de son diamtre),
+	 * l'algorithme de Prim suivi des informations de son arbre et l'algorithme de Kruskal
+	 * suivi des informations du sien ne partagent que le graphe lu, qui n'est plus modifi :
+	 * ces trois branches sont menes en mme temps, chacune calculant le diamtre de son
+	 * graphe, et les graphes sont crits dans l'ordre habituel, chacun ds qu'il est prt.
+	 * La dure totale est ainsi celle de la lecture et de la plus longue des branches.
+	 * Les rsultats sont crits par un rapport (voir la classe Rapport) dont le format est
+	 * donn par la proprit systme graphreader.format : detaille (par dfaut), resume,
+	 * csv, jsonl ou binaire.
+	 * Si le cache est activ (voir la classe CacheCalculs), les arbres et les diamtres
+	 * dj calculs pour ce contenu de fichier sont relus au lieu d'tre recalculs, et
+	 * sont stocks sinon.
+	 * Avec des arguments (fichiers, dossiers ou motifs), ceux-ci sont traits
+	 * par lots par la classe TraitementParLots, qui crit un rsum par graphe.
 	 * 
 	 * @param args Les arguments en lignes de commande.
 	 */
 	public static void main(String[] args) {
 		
+		if (args.length > 0) {
+			TraitementParLots.main(args);
+			return;
+		}
+		
 		/* Pour calculer le temps d'excution de l'algorithme :
 		long start = System.currentTimeMillis(); */
 		
 		
-		// Lecture du fichier et stockage du graphe dans g.
+		// Lecture du fichier et stockage du graphe dans g, puis recherche de ses rsultats dans le cache
+		// (l'empreinte du fichier n'est calcule qu'une fois, pour le graphe et pour ses rsultats).
 		Graphe g = new Graphe();
+		CacheCalculs cache = null;
+		String empreinte = null;
+		ResultatsCalcul resultats = null;
 		try {
-			g = lireFichier(FICHIER_GRAPHE);
-		} catch (FileNotFoundException e) {
+			cache = CacheCalculs.getCacheDemande();
+			if (cache != null)
+				empreinte = cache.getEmpreinte(FICHIER_GRAPHE);
+			g = lireFichier(FICHIER_GRAPHE, cache, empreinte);
+			if (cache != null)
+				resultats = cache.getResultats(empreinte, OPTIONS_CALCUL);
+		} catch (IOException e) {
 			e.printStackTrace();
+			// Rien n'est stock dans le cache pour un fichier illisible.
+			cache = null;
 		}
 		
-		// Affichage des informations du graphe g.
-		g.afficherInformationsGraphe (0);
-		
-		
-		// Dclenchement de l'algorithme de Prim et stockage de l'arbre couvrant minimal dans ACMP.
-		Graphe ACMP = new Graphe();
-		Prim p = new Prim(g);
-		ACMP = p.declencherAlgorithme();
-		
-		// Affichage des informations du graphe ACMP.
-		ACMP.afficherInformationsGraphe (1);
-		
+		// Rapport dans le format demand, crit  travers un seul tampon.
+		final Rapport rapport;
+		try {
+			rapport = Rapport.creer(Rapport.getFormatDemande(), TamponSortie.creerPourConsole());
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			return;
+		}
 		
-		// Dclenchement de l'algorithme de Kruskal et stockage de l'arbre couvrant minimal dans ACMK.
-		Graphe ACMK = new Graphe();
-		Kruskal k = new Kruskal(g);
-		ACMK = k.declencherAlgorithme();
+		// Rsultats relus dans le cache : les graphes sont crits avec leurs diamtres connus, et seul un
+		// diamtre que le rapport crit sans l'avoir en cache est calcul, puis ajout aux rsultats.
+		if (resultats != null) {
+			try {
+				int diametreGraphe = ecrireGraphe(rapport, g, Rapport.TYPE_ORIGINE, resultats.getDiametreGraphe());
+				int diametrePrim = ecrireGraphe(rapport, resultats.getACMP(), Rapport.TYPE_PRIM, resultats.getDiametrePrim());
+				int diametreKruskal = ecrireGraphe(rapport, resultats.getACMK(), Rapport.TYPE_KRUSKAL, resultats.getDiametreKruskal());
+				rapport.terminer();
+				if ((diametreGraphe != resultats.getDiametreGraphe()) || (diametrePrim != resultats.getDiametrePrim())
+						|| (diametreKruskal != resultats.getDiametreKruskal()))
+					cache.ajouterResultats(empreinte, OPTIONS_CALCUL, new ResultatsCalcul(resultats.getACMP(), resultats.getACMK(),
+							resultats.getPoidsPrim(), resultats.getPoidsKruskal(), diametreGraphe, diametrePrim, diametreKruskal));
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			return;
+		}
 		
-		// Affichage des informations du graphe ACMK.
-		ACMK.afficherInformationsGraphe (2);
+		// Les trois branches ne partagent que le graphe g, qui n'est plus modifi.
+		final Graphe graphe = g;
+		Graphe ACMP;
+		Graphe ACMK;
+		boolean rapportTermine = false;
+		ExecutorService pool = Executors.newFixedThreadPool(NB_BRANCHES);
+		try {
+			// Diamtre du graphe g.
+			Future<Graphe> brancheGraphe = pool.submit(new Callable<Graphe>() {
+				public Graphe call() {
+					if (rapport.isDiametreEcrit(Rapport.TYPE_ORIGINE))
+						graphe.getDiametre();
+					return graphe;
+				}
+			});
+			
+			// Dclenchement de l'algorithme de Prim, puis diamtre de l'arbre couvrant minimal ACMP.
+			Future<Graphe> brancheACMP = pool.submit(new Callable<Graphe>() {
+				public Graphe call() {
+					Graphe ACMP = new Prim(graphe).declencherAlgorithme();
+					if (rapport.isDiametreEcrit(Rapport.TYPE_PRIM))
+						ACMP.getDiametre();
+					return ACMP;
+				}
+			});
+			
+			// Dclenchement de l'algorithme de Kruskal, puis diamtre de l'arbre couvrant minimal ACMK.
+			Future<Graphe> brancheACMK = pool.submit(new Callable<Graphe>() {
+				public Graphe call() {
+					Graphe ACMK = new Kruskal(graphe).declencherAlgorithme();
+					if (rapport.isDiametreEcrit(Rapport.TYPE_KRUSKAL))
+						ACMK.getDiametre();
+					return ACMK;
+				}
+			});
+			
+			// criture des informations dans l'ordre, chacune ds qu'elle est prte.
+			rapport.ecrireGraphe(brancheGraphe.get(), Rapport.TYPE_ORIGINE);
+			ACMP = brancheACMP.get();
+			rapport.ecrireGraphe(ACMP, Rapport.TYPE_PRIM);
+			ACMK = brancheACMK.get();
+			rapport.ecrireGraphe(ACMK, Rapport.TYPE_KRUSKAL);
+			rapportTermine = true;
+			rapport.terminer();
+			
+			// Stockage des rsultats calculs, une fois le rapport crit.
+			if (cache != null)
+				cache.ajouterResultats(empreinte, OPTIONS_CALCUL, new ResultatsCalcul(graphe, ACMP, ACMK, rapport));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			e.getCause().printStackTrace();
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			pool.shutdown();
+			// Si une branche a chou, les graphes dj crits sont tout de mme vids dans la sortie.
+			if (!rapportTermine) {
+				try {
+					rapport.terminer();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
 		
 		
 		/* Pour calculer le temps d'excution de l'algorithme :
@@ -74,51 +188,79 @@ public class Main {
 	}
 	
 	
+	/**
+	 * Mthode permettant d'crire dans le rapport un graphe dont le diamtre a t relu dans le
+	 * cache. Si le rapport crit ce diamtre et qu'il n'avait pas t calcul, il l'est ici.
+	 * 
+	 * @param rapport Rapport dans lequel le graphe est crit.
+	 * @param g Graphe  crire.
+	 * @param typeGraphe Type du graphe (voir la classe Rapport).
+	 * @param diametre Diamtre relu dans le cache, ou Rapport.DIAMETRE_NON_CALCULE.
+	 * @return Le diamtre crit, ou celui relu dans le cache s'il n'est pas crit.
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	private static int ecrireGraphe(Rapport rapport, Graphe g, int typeGraphe, int diametre) throws IOException {
+		if ((diametre == Rapport.DIAMETRE_NON_CALCULE) && rapport.isDiametreEcrit(typeGraphe))
+			diametre = g.getDiametre();
+		rapport.ecrireGraphe(g, typeGraphe, diametre);
+		return diametre;
+	}
+	
+	
 	/**
 	 * La mthode lireFichier permet de lire un fichier texte contenant les informations d'un
 	 * graphe, et d'en extraire ces informations pour les manipuler et les afficher plus
 	 * clairement.
+	 * La lecture est confie  la classe LecteurGraphe, qui vrifie l'en-tte du fichier
+	 * et s'arrte au mot END, ou  la classe FormatBinaire pour les fichiers .bin crs
+	 * par la classe ConvertisseurBinaire. Les gros fichiers texte sont lus sur plusieurs
+	 * threads par la classe LecteurParallele, avec les mmes vrifications.
+	 * Si le cache est activ (voir la classe CacheCalculs), un fichier texte dj lu est
+	 * repris en mmoire ou relu depuis sa copie binaire, tant que son contenu n'a pas chang.
 	 * 
 	 * @param cheminFichier Le chemin du fichier que l'on souhaite lire.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format.
 	 */
-	@SuppressWarnings("resource")
-	public static Graphe lireFichier(String cheminFichier) throws FileNotFoundException {
-		Graphe g = new Graphe();
-		ArrayList<Integer> entiersFichier = new ArrayList<Integer>();
-		ArrayList<Sommet> sommetsGraphe = new ArrayList<Sommet>();
-		ArrayList<Arete> aretesGraphe = new ArrayList<Arete>();
-		
-		Scanner scanner = new Scanner(new FileReader(cheminFichier));
-		Pattern pattern = Pattern.compile("[^0-9]");
-		scanner.useDelimiter(pattern);
+	public static Graphe lireFichier(String cheminFichier) throws IOException {
+		boolean binaire = cheminFichier.endsWith(ConvertisseurBinaire.EXTENSION_BINAIRE);
+		CacheCalculs cache = binaire ? null : CacheCalculs.getCacheDemande();
 		
-		while (scanner.hasNext()) {
-			try {
-		    	entiersFichier.add(scanner.nextInt());
-		    } catch (InputMismatchException e) {
-		    	continue;
-		    }
-		}
+		return lireFichier(cheminFichier, cache, (cache != null) ? cache.getEmpreinte(cheminFichier) : null);
+	}
+	
+	/**
+	 * La mthode lireFichier permet de lire un fichier de graphe comme la mthode
+	 * prcdente, l'empreinte de son contenu ayant dj t calcule par l'appelant.
+	 * Les fichiers .bin ne passent pas par le cache : ils se relisent aussi vite que leur
+	 * copie en cache.
+	 * 
+	 * @param cheminFichier Le chemin du fichier que l'on souhaite lire.
+	 * @param cache Cache des graphes, ou null si le cache n'est pas activ.
+	 * @param empreinte Empreinte du contenu du fichier, ou null si le cache n'est pas activ.
+	 * @throws IOException Si le fichier ne peut pas tre lu ou n'est pas au bon format.
+	 */
+	static Graphe lireFichier(String cheminFichier, CacheCalculs cache, String empreinte) throws IOException {
+		long debut = Mesures.ACTIVE ? Mesures.getInstant() : 0;
+		long memoire = Mesures.ACTIVE ? Mesures.getMemoireAllouee() : 0;
+		boolean binaire = cheminFichier.endsWith(ConvertisseurBinaire.EXTENSION_BINAIRE);
+		boolean enCache = (cache != null) && !binaire;
+		Graphe g = enCache ? cache.getGraphe(empreinte) : null;
 		
-		if (entiersFichier.size() != 0) {
-			g.setNbSommets(entiersFichier.get(0));
-			g.setNbAretes(entiersFichier.get(1));
+		if (g == null) {
+			if (binaire)
+				g = new FormatBinaire(cheminFichier).lireGraphe();
+			else if (LecteurParallele.isAdapte(cheminFichier))
+				g = new LecteurParallele(cheminFichier).lireGraphe();
+			else
+				g = new LecteurGraphe(cheminFichier).lireGraphe();
 			
-			for (int i=0 ; i<entiersFichier.get(0) ; i++) {
-				sommetsGraphe.add(new Sommet(i));
-			}
-			g.setSommets(sommetsGraphe);
-			
-			for (int i=2 ; i<entiersFichier.size()-2 ; i=i+3) {
-				aretesGraphe.add(new Arete(sommetsGraphe.get(entiersFichier.get(i)), sommetsGraphe.get(entiersFichier.get(i+1)), entiersFichier.get(i+2)));
-			}
-			g.setAretes(aretesGraphe);
-			
-			g.setMatriceAdjacence(g.construireMatriceAdjacence());
-		} else {
-			System.out.println("Le fichier ne contient pas d'informations lies aux graphes.");
+			if (enCache)
+				cache.ajouterGraphe(empreinte, g);
 		}
 		
+		if (Mesures.ACTIVE)
+			Mesures.terminerPhase(Mesures.PHASE_LECTURE, debut, memoire);
+		
 		return g;
 	}
 	
@@ -0,0 +1,303 @@
+package main;
+
+import java.util.Locale;
+
+
+/**
+* La classe ResumeGraphe correspond au rsum du traitement d'un fichier de graphe par la
+* classe TraitementParLots : caractristiques du graphe, rsultats des algorithmes et
+* dure de chaque phase du traitement.
+* Un rsum s'crit sur une ligne dont les champs sont spars par des tabulations, dans
+* l'ordre donn par getEnTete, pour tre facilement relu par un autre programme.
+* Les dures sont en millisecondes.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class ResumeGraphe {
+	
+	public final static String SEPARATEUR = "\t";
+	
+	private String cheminFichier;
+	private int nbSommets;
+	private int nbAretes;
+	private long poidsPrim;
+	private long poidsKruskal;
+	private int diametre;
+	private int diametreACM;
+	private long dureeLecture;
+	private long dureePrim;
+	private long dureeKruskal;
+	private long dureeDiametres;
+	private String erreur;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur avec l'attribut cheminFichier de la classe ResumeGraphe.
+	 * 
+	 * @param cheminFichier Chemin du fichier de graphe trait.
+	 */
+	public ResumeGraphe(String cheminFichier) {
+		this.cheminFichier = cheminFichier;
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant de rcuprer la ligne d'en-tte des rsums, donnant le nom de
+	 * chacun de leurs champs.
+	 * 
+	 * @return Ligne d'en-tte des rsums.
+	 */
+	public static String getEnTete() {
+		return "fichier" + SEPARATEUR + "sommets" + SEPARATEUR + "aretes" + SEPARATEUR + "poids_prim" + SEPARATEUR + "poids_kruskal" + SEPARATEUR + "diametre" + SEPARATEUR + "diametre_acm"
+				+ SEPARATEUR + "ms_lecture" + SEPARATEUR + "ms_prim" + SEPARATEUR + "ms_kruskal" + SEPARATEUR + "ms_diametres" + SEPARATEUR + "erreur";
+	}
+	
+	/**
+	 * Mthode permettant de mettre le rsum sous la forme d'une ligne, dont les champs
+	 * sont dans l'ordre de getEnTete.
+	 * Si le traitement a chou, seuls le chemin du fichier et l'erreur sont renseigns.
+	 * 
+	 * @return Ligne du rsum.
+	 */
+	public String formaterLigne() {
+		if (erreur != null)
+			return cheminFichier + SEPARATEUR + SEPARATEUR + SEPARATEUR + SEPARATEUR + SEPARATEUR + SEPARATEUR + SEPARATEUR + SEPARATEUR + SEPARATEUR + SEPARATEUR + SEPARATEUR + erreur.replace('\t', ' ').replace('\n', ' ');
+		
+		return cheminFichier + SEPARATEUR + nbSommets + SEPARATEUR + nbAretes + SEPARATEUR + poidsPrim + SEPARATEUR + poidsKruskal + SEPARATEUR + diametre + SEPARATEUR + diametreACM
+				+ SEPARATEUR + formaterDuree(dureeLecture) + SEPARATEUR + formaterDuree(dureePrim) + SEPARATEUR + formaterDuree(dureeKruskal) + SEPARATEUR + formaterDuree(dureeDiametres) + SEPARATEUR;
+	}
+	
+	/**
+	 * Mthode permettant d'crire une dure en millisecondes, avec trois dcimales.
+	 * 
+	 * @param duree Dure en nanosecondes.
+	 * @return Dure en millisecondes.
+	 */
+	private static String formaterDuree(long duree) {
+		return String.format(Locale.ROOT, "%.3f", duree / 1e6);
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le chemin du fichier de graphe trait.
+	 * 
+	 * @return Chemin du fichier de graphe trait.
+	 */
+	public String getCheminFichier() {
+		return cheminFichier;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets du graphe.
+	 * 
+	 * @return Nombre de sommets du graphe.
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes du graphe.
+	 * 
+	 * @return Nombre d'artes du graphe.
+	 */
+	public int getNbAretes() {
+		return nbAretes;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids de l'arbre couvrant minimal de Prim.
+	 * 
+	 * @return Poids de l'arbre couvrant minimal de Prim.
+	 */
+	public long getPoidsPrim() {
+		return poidsPrim;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids de l'arbre couvrant minimal de Kruskal.
+	 * 
+	 * @return Poids de l'arbre couvrant minimal de Kruskal.
+	 */
+	public long getPoidsKruskal() {
+		return poidsKruskal;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le diamtre du graphe.
+	 * 
+	 * @return Diamtre du graphe.
+	 */
+	public int getDiametre() {
+		return diametre;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le diamtre de l'arbre couvrant minimal de Kruskal.
+	 * 
+	 * @return Diamtre de l'arbre couvrant minimal de Kruskal.
+	 */
+	public int getDiametreACM() {
+		return diametreACM;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la dure de la lecture du fichier.
+	 * 
+	 * @return Dure de la lecture du fichier, en nanosecondes.
+	 */
+	public long getDureeLecture() {
+		return dureeLecture;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la dure de l'algorithme de Prim.
+	 * 
+	 * @return Dure de l'algorithme de Prim, en nanosecondes.
+	 */
+	public long getDureePrim() {
+		return dureePrim;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la dure de l'algorithme de Kruskal.
+	 * 
+	 * @return Dure de l'algorithme de Kruskal, en nanosecondes.
+	 */
+	public long getDureeKruskal() {
+		return dureeKruskal;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la dure du calcul des deux diamtres.
+	 * 
+	 * @return Dure du calcul des diamtres, en nanosecondes.
+	 */
+	public long getDureeDiametres() {
+		return dureeDiametres;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le message d'erreur du traitement.
+	 * 
+	 * @return Message d'erreur, ou null si le traitement a russi.
+	 */
+	public String getErreur() {
+		return erreur;
+	}
+	
+	
+	
+	// *****************
+	// *** MUTATEURS ***
+	// *****************
+	
+	/**
+	 * Mutateur permettant de changer les nombres de sommets et d'artes du graphe.
+	 * 
+	 * @param nbSommets Nouveau nombre de sommets du graphe.
+	 * @param nbAretes Nouveau nombre d'artes du graphe.
+	 */
+	public void setTaille(int nbSommets, int nbAretes) {
+		this.nbSommets = nbSommets;
+		this.nbAretes = nbAretes;
+	}
+	
+	/**
+	 * Mutateur permettant de changer le poids de l'arbre couvrant minimal de Prim.
+	 * 
+	 * @param poidsPrim Nouveau poids de l'arbre couvrant minimal de Prim.
+	 */
+	public void setPoidsPrim(long poidsPrim) {
+		this.poidsPrim = poidsPrim;
+	}
+	
+	/**
+	 * Mutateur permettant de changer le poids de l'arbre couvrant minimal de Kruskal.
+	 * 
+	 * @param poidsKruskal Nouveau poids de l'arbre couvrant minimal de Kruskal.
+	 */
+	public void setPoidsKruskal(long poidsKruskal) {
+		this.poidsKruskal = poidsKruskal;
+	}
+	
+	/**
+	 * Mutateur permettant de changer le diamtre du graphe.
+	 * 
+	 * @param diametre Nouveau diamtre du graphe.
+	 */
+	public void setDiametre(int diametre) {
+		this.diametre = diametre;
+	}
+	
+	/**
+	 * Mutateur permettant de changer le diamtre de l'arbre couvrant minimal de Kruskal.
+	 * 
+	 * @param diametreACM Nouveau diamtre de l'arbre couvrant minimal de Kruskal.
+	 */
+	public void setDiametreACM(int diametreACM) {
+		this.diametreACM = diametreACM;
+	}
+	
+	/**
+	 * Mutateur permettant de changer la dure de la lecture du fichier.
+	 * 
+	 * @param dureeLecture Nouvelle dure de la lecture du fichier, en nanosecondes.
+	 */
+	public void setDureeLecture(long dureeLecture) {
+		this.dureeLecture = dureeLecture;
+	}
+	
+	/**
+	 * Mutateur permettant de changer la dure de l'algorithme de Prim.
+	 * 
+	 * @param dureePrim Nouvelle dure de l'algorithme de Prim, en nanosecondes.
+	 */
+	public void setDureePrim(long dureePrim) {
+		this.dureePrim = dureePrim;
+	}
+	
+	/**
+	 * Mutateur permettant de changer la dure de l'algorithme de Kruskal.
+	 * 
+	 * @param dureeKruskal Nouvelle dure de l'algorithme de Kruskal, en nanosecondes.
+	 */
+	public void setDureeKruskal(long dureeKruskal) {
+		this.dureeKruskal = dureeKruskal;
+	}
+	
+	/**
+	 * Mutateur permettant de changer la dure du calcul des deux diamtres.
+	 * 
+	 * @param dureeDiametres Nouvelle dure du calcul des diamtres, en nanosecondes.
+	 */
+	public void setDureeDiametres(long dureeDiametres) {
+		this.dureeDiametres = dureeDiametres;
+	}
+	
+	/**
+	 * Mutateur permettant de changer le message d'erreur du traitement.
+	 * 
+	 * @param erreur Nouveau message d'erreur du traitement.
+	 */
+	public void setErreur(String erreur) {
+		this.erreur = erreur;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,399 @@
+package main;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import fichier.ConvertisseurBinaire;
+import modele.Diametre;
+import modele.Graphe;
+import modele.Kruskal;
+import modele.Prim;
+
+
+/**
+* La classe TraitementParLots permet de traiter d'un coup tout un ensemble de fichiers de
+* graphes (un dossier d'instances, par exemple) : chaque graphe est lu, ses arbres
+* couvrants minimaux de Prim et de Kruskal sont calculs, ainsi que son diamtre et celui
+* de l'arbre de Kruskal, et un rsum d'une ligne (voir la classe ResumeGraphe) est crit
+* pour chaque fichier, dans l'ordre des fichiers.
+*
+* Les lectures sont faites par un petit pool de threads, et les calculs par un pool
+* d'autant de threads que de coeurs : un graphe peut tre lu pendant que d'autres sont
+* traits. Le nombre de graphes en mmoire est limit par un budget de mmoire : avant
+* d'tre lu, chaque fichier rserve une quantit de mmoire estime d'aprs sa taille, et
+* ne la rend qu'une fois son traitement termin. Lorsque le budget est puis, la lecture
+* des fichiers suivants attend, ce qui freine le programme sans jamais saturer le tas.
+* Chaque calcul tant men dans un seul thread, le diamtre est calcul par la variante
+* VARIANTE_IFUB (ou VARIANTE_ARBRE pour les arbres), sans pool de threads supplmentaire.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class TraitementParLots {
+	
+	public final static int NB_LECTEURS_DEFAUT = 2;
+	public final static int FACTEUR_MEMOIRE = 4;
+	static final long KO = 1024;
+	static final long MO = 1024 * 1024;
+	
+	private ExecutorService poolLecture;
+	private ExecutorService poolCalcul;
+	private Semaphore memoire;
+	private int budgetMemoire;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur des pools de threads et du budget de mmoire du traitement.
+	 * 
+	 * @param nbLecteurs Nombre de threads consacrs  la lecture des fichiers.
+	 * @param nbCalculateurs Nombre de threads consacrs aux calculs.
+	 * @param budgetMemoire Mmoire que peuvent occuper les graphes en cours de traitement,
+	 * en mgaoctets.
+	 */
+	public TraitementParLots(int nbLecteurs, int nbCalculateurs, int budgetMemoire) {
+		this.poolLecture = Executors.newFixedThreadPool(nbLecteurs);
+		this.poolCalcul = Executors.newFixedThreadPool(nbCalculateurs);
+		this.budgetMemoire = (int) Math.min(Integer.MAX_VALUE, budgetMemoire * (MO / KO));
+		this.memoire = new Semaphore(this.budgetMemoire);
+	}
+	
+	
+	
+	// ********************
+	// *** MTHODE MAIN ***
+	// ********************
+	
+	/**
+	 * La mthode main permet de lancer le traitement depuis la ligne de commande.
+	 * Chaque argument est un fichier, un dossier dont tous les fichiers .dat sont traits,
+	 * ou un motif (par exemple doc/Instances/inst_v*.dat) dont tous les fichiers
+	 * correspondants sont traits. Les options sont :
+	 * -lecteurs N : nombre de threads de lecture (NB_LECTEURS_DEFAUT par dfaut) ;
+	 * -calculs N : nombre de threads de calcul (nombre de coeurs par dfaut) ;
+	 * -memoire N : budget de mmoire en mgaoctets (trois quarts du tas par dfaut) ;
+	 * -sortie F : fichier dans lequel crire les rsums (sortie standard par dfaut).
+	 * 
+	 * @param args Les arguments en lignes de commande.
+	 */
+	public static void main(String[] args) {
+		int nbLecteurs = NB_LECTEURS_DEFAUT;
+		int nbCalculateurs = Runtime.getRuntime().availableProcessors();
+		int budgetMemoire = (int) (Runtime.getRuntime().maxMemory() / MO * 3 / 4);
+		String cheminSortie = null;
+		List<File> fichiers = new ArrayList<File>();
+		PrintWriter sortie;
+		
+		try {
+			for (int i=0 ; i<args.length ; i++) {
+				if (args[i].equals("-lecteurs"))
+					nbLecteurs = Integer.parseInt(args[++i]);
+				else if (args[i].equals("-calculs"))
+					nbCalculateurs = Integer.parseInt(args[++i]);
+				else if (args[i].equals("-memoire"))
+					budgetMemoire = Integer.parseInt(args[++i]);
+				else if (args[i].equals("-sortie"))
+					cheminSortie = args[++i];
+				else
+					fichiers.addAll(listerFichiers(args[i]));
+			}
+			
+			sortie = (cheminSortie == null) ? new PrintWriter(new OutputStreamWriter(System.out)) : new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(cheminSortie), "UTF-8")));
+			try {
+				new TraitementParLots(nbLecteurs, nbCalculateurs, budgetMemoire).traiter(fichiers, sortie);
+			} finally {
+				if (cheminSortie == null)
+					sortie.flush();
+				else
+					sortie.close();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Mthode permettant de lister les fichiers dsigns par un argument de la ligne de
+	 * commande, tris par nom.
+	 * 
+	 * @param argument Fichier, dossier ou motif contenant * ou ?.
+	 * @return Liste des fichiers dsigns.
+	 * @throws IOException Si le dossier ne peut pas tre parcouru.
+	 */
+	public static List<File> listerFichiers(String argument) throws IOException {
+		List<File> fichiers = new ArrayList<File>();
+		File source = new File(argument);
+		Path dossier;
+		String motif;
+		
+		if ((argument.indexOf('*') < 0) && (argument.indexOf('?') < 0)) {
+			if (!source.isDirectory()) {
+				fichiers.add(source);
+				return fichiers;
+			}
+			dossier = source.toPath();
+			motif = "*" + ConvertisseurBinaire.EXTENSION_TEXTE;
+		} else {
+			dossier = (source.getParent() == null) ? Paths.get(".") : Paths.get(source.getParent());
+			motif = source.getName();
+		}
+		
+		DirectoryStream<Path> flux = Files.newDirectoryStream(dossier, motif);
+		try {
+			for (Path p : flux) {
+				if (Files.isRegularFile(p))
+					fichiers.add(p.toFile());
+			}
+		} finally {
+			flux.close();
+		}
+		Collections.sort(fichiers);
+		
+		return fichiers;
+	}
+	
+	
+	
+	// *****************************
+	// *** MTHODE DE TRAITEMENT ***
+	// *****************************
+	
+	/**
+	 * Mthode permettant de traiter une liste de fichiers de graphes et d'crire leurs
+	 * rsums, prcds d'une ligne d'en-tte.
+	 * Les rsums sont crits dans l'ordre des fichiers, au fur et  mesure que les
+	 * traitements se terminent. Les pools de threads sont arrts  la fin du traitement.
+	 * 
+	 * @param fichiers Fichiers de graphes  traiter.
+	 * @param sortie Flux dans lequel crire les rsums.
+	 * @return Rsums des graphes, dans l'ordre des fichiers.
+	 * @throws InterruptedException Si le thread est interrompu pendant le traitement.
+	 */
+	public List<ResumeGraphe> traiter(List<File> fichiers, PrintWriter sortie) throws InterruptedException {
+		List<TraitementGraphe> traitements = new ArrayList<TraitementGraphe>(fichiers.size());
+		List<ResumeGraphe> resumes = new ArrayList<ResumeGraphe>(fichiers.size());
+		TraitementGraphe traitement;
+		int nbEcrits = 0;
+		
+		sortie.println(ResumeGraphe.getEnTete());
+		sortie.flush();
+		
+		try {
+			for (File f : fichiers) {
+				traitement = new TraitementGraphe(f);
+				traitements.add(traitement);
+				memoire.acquire(traitement.getCoutMemoire());
+				poolLecture.execute(traitement.getLecture());
+				
+				// criture des rsums dj disponibles, sans attendre.
+				while ((nbEcrits < traitements.size()) && traitements.get(nbEcrits).isTermine())
+					ecrireResume(traitements.get(nbEcrits++), sortie, resumes);
+			}
+			
+			while (nbEcrits < traitements.size()) {
+				traitements.get(nbEcrits).attendre();
+				ecrireResume(traitements.get(nbEcrits++), sortie, resumes);
+			}
+		} finally {
+			poolLecture.shutdownNow();
+			poolCalcul.shutdownNow();
+		}
+		
+		return resumes;
+	}
+	
+	/**
+	 * Mthode permettant d'crire le rsum d'un traitement termin.
+	 * 
+	 * @param traitement Traitement termin.
+	 * @param sortie Flux dans lequel crire le rsum.
+	 * @param resumes Liste des rsums crits, complte par celui-ci.
+	 */
+	private static void ecrireResume(TraitementGraphe traitement, PrintWriter sortie, List<ResumeGraphe> resumes) {
+		sortie.println(traitement.getResume().formaterLigne());
+		sortie.flush();
+		resumes.add(traitement.getResume());
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le budget de mmoire du traitement.
+	 * 
+	 * @return Budget de mmoire, en kilooctets.
+	 */
+	public int getBudgetMemoire() {
+		return budgetMemoire;
+	}
+	
+	
+	
+	// ******************************
+	// *** TRAITEMENT D'UN GRAPHE ***
+	// ******************************
+	
+	/**
+	 * La classe TraitementGraphe correspond au traitement d'un fichier de graphe : sa
+	 * lecture, excute par le pool de lecture, confie le graphe lu au pool de calcul.
+	 * La mmoire rserve est rendue et le traitement marqu comme termin ds que le
+	 * graphe n'est plus utilis, que le traitement ait russi ou non.
+	 */
+	private class TraitementGraphe {
+		
+		private File fichier;
+		private int coutMemoire;
+		private ResumeGraphe resume;
+		private Graphe g;
+		private CountDownLatch fin;
+		
+		/**
+		 * Constructeur du traitement d'un fichier de graphe.
+		 * 
+		 * @param fichier Fichier de graphe  traiter.
+		 */
+		TraitementGraphe(File fichier) {
+			this.fichier = fichier;
+			this.coutMemoire = (int) Math.max(1, Math.min(budgetMemoire, fichier.length() * FACTEUR_MEMOIRE / KO));
+			this.resume = new ResumeGraphe(fichier.getPath());
+			this.fin = new CountDownLatch(1);
+		}
+		
+		/**
+		 * Mthode permettant de rcuprer la tche de lecture du fichier, qui lance la
+		 * tche de calcul une fois le graphe lu.
+		 * 
+		 * @return Tche de lecture du fichier.
+		 */
+		Runnable getLecture() {
+			return new Runnable() {
+				@Override
+				public void run() {
+					boolean calculLance = false;
+					long debut = System.nanoTime();
+					
+					try {
+						g = Main.lireFichier(fichier.getPath());
+						resume.setDureeLecture(System.nanoTime() - debut);
+						resume.setTaille(g.getNbSommets(), g.getNbAretes());
+						poolCalcul.execute(getCalcul());
+						calculLance = true;
+					} catch (Throwable e) {
+						resume.setErreur(e.toString());
+					} finally {
+						if (!calculLance)
+							terminer();
+					}
+				}
+			};
+		}
+		
+		/**
+		 * Mthode permettant de rcuprer la tche de calcul des arbres couvrants minimaux
+		 * et des diamtres du graphe lu.
+		 * 
+		 * @return Tche de calcul.
+		 */
+		Runnable getCalcul() {
+			return new Runnable() {
+				@Override
+				public void run() {
+					long debut;
+					Graphe ACMK;
+					
+					try {
+						debut = System.nanoTime();
+						resume.setPoidsPrim(new Prim(g).declencherAlgorithme().getPoidsTotal());
+						resume.setDureePrim(System.nanoTime() - debut);
+						
+						debut = System.nanoTime();
+						ACMK = new Kruskal(g).declencherAlgorithme();
+						resume.setPoidsKruskal(ACMK.getPoidsTotal());
+						resume.setDureeKruskal(System.nanoTime() - debut);
+						
+						debut = System.nanoTime();
+						resume.setDiametre(new Diametre(g, g.isForet() ? Diametre.VARIANTE_ARBRE : Diametre.VARIANTE_IFUB).calculerDiametre());
+						resume.setDiametreACM(new Diametre(ACMK, Diametre.VARIANTE_ARBRE).calculerDiametre());
+						resume.setDureeDiametres(System.nanoTime() - debut);
+					} catch (Throwable e) {
+						resume.setErreur(e.toString());
+					} finally {
+						terminer();
+					}
+				}
+			};
+		}
+		
+		/**
+		 * Mthode permettant de librer le graphe et la mmoire rserve, et de marquer
+		 * le traitement comme termin.
+		 */
+		private void terminer() {
+			g = null;
+			memoire.release(coutMemoire);
+			fin.countDown();
+		}
+		
+		/**
+		 * Mthode permettant d'attendre la fin du traitement.
+		 * 
+		 * @throws InterruptedException Si le thread est interrompu pendant l'attente.
+		 */
+		void attendre() throws InterruptedException {
+			fin.await();
+		}
+		
+		/**
+		 * Accesseur permettant de savoir si le traitement est termin.
+		 * 
+		 * @return Vrai si le traitement est termin.
+		 */
+		boolean isTermine() {
+			return fin.getCount() == 0;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer la mmoire rserve par le traitement.
+		 * 
+		 * @return Mmoire rserve, en kilooctets.
+		 */
+		int getCoutMemoire() {
+			return coutMemoire;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le rsum du traitement.
+		 * 
+		 * @return Rsum du traitement.
+		 */
+		ResumeGraphe getResume() {
+			return resume;
+		}
+		
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,324 @@
+package mesure;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+
+/**
+* La classe Mesures rassemble les mesures des diffrentes phases d'une excution : pour
+* chaque phase (lecture d'un fichier, construction des listes d'adjacence, tri des artes,
+* algorithmes de Prim et de Kruskal, calcul du diamtre), le nombre d'excutions, leur
+* dure totale et la mmoire alloue pendant ces excutions, ainsi que des compteurs
+* d'oprations lmentaires (artes examines, recherches et unions de la structure
+* Union-Find, oprations sur le tas, recherches en largeur).
+*
+* Les mesures ne sont faites que si la JVM est lance avec -Dgraphreader.mesures=true.
+* ACTIVE tant une constante, le code de mesure, toujours crit sous la forme
+* if (Mesures.ACTIVE) ..., est supprim par le compilateur  la vole lorsqu'elles sont
+* dsactives : il ne cote alors rien. Lorsqu'elles sont actives, les mesures sont
+* publies par JMX sous le nom NOM_MBEAN, et crites au format JSON  la fin de
+* l'excution dans le fichier donn par la proprit graphreader.mesures.json, si elle
+* est dfinie.
+*
+* Les phases peuvent s'imbriquer (la construction des listes d'adjacence a souvent lieu
+* pendant un algorithme) : la dure d'une phase comprend celle des phases qu'elle
+* contient. La mmoire alloue n'est mesure que dans le thread qui excute la phase, et
+* seulement si la JVM le permet ; les compteurs sont mis  jour une fois par appel, 
+* partir de compteurs locaux, pour ne pas ralentir les boucles.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class Mesures implements MesuresMBean {
+	
+	public final static boolean ACTIVE = Boolean.getBoolean("graphreader.mesures");
+	public final static String PROPRIETE_JSON = "graphreader.mesures.json";
+	public final static String NOM_MBEAN = "graphreader:type=Mesures";
+	
+	public final static int PHASE_LECTURE = 0;
+	public final static int PHASE_LISTES_ADJACENCE = 1;
+	public final static int PHASE_TRI = 2;
+	public final static int PHASE_PRIM = 3;
+	public final static int PHASE_KRUSKAL = 4;
+	public final static int PHASE_DIAMETRE = 5;
+	public final static String[] NOMS_PHASES = {"lecture", "listes_adjacence", "tri", "prim", "kruskal", "diametre"};
+	
+	public final static int COMPTEUR_ARETES_EXAMINEES = 0;
+	public final static int COMPTEUR_RECHERCHES_UNION_FIND = 1;
+	public final static int COMPTEUR_UNIONS = 2;
+	public final static int COMPTEUR_OPERATIONS_TAS = 3;
+	public final static int COMPTEUR_RECHERCHES_EN_LARGEUR = 4;
+	public final static String[] NOMS_COMPTEURS = {"aretes_examinees", "recherches_union_find", "unions", "operations_tas", "recherches_en_largeur"};
+	
+	private static final AtomicLongArray appels = new AtomicLongArray(NOMS_PHASES.length);
+	private static final AtomicLongArray durees = new AtomicLongArray(NOMS_PHASES.length);
+	private static final AtomicLongArray memoire = new AtomicLongArray(NOMS_PHASES.length);
+	private static final AtomicLongArray compteurs = new AtomicLongArray(NOMS_COMPTEURS.length);
+	private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private static final boolean memoireMesurable = (threads instanceof com.sun.management.ThreadMXBean) && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+	
+	static {
+		if (ACTIVE)
+			publier();
+	}
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur de l'objet publi par JMX, qui donne accs aux mesures communes  toute
+	 * la JVM.
+	 */
+	private Mesures() {
+	}
+	
+	
+	
+	// **************************
+	// *** MTHODES DE MESURE ***
+	// **************************
+	
+	/**
+	 * Mthode permettant de rcuprer l'instant prsent,  passer  terminerPhase  la fin
+	 * de la phase.
+	 * 
+	 * @return Instant prsent, en nanosecondes.
+	 */
+	public static long getInstant() {
+		return System.nanoTime();
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer la mmoire alloue jusqu'ici par le thread courant,
+	 *  passer  terminerPhase  la fin de la phase.
+	 * 
+	 * @return Mmoire alloue par le thread courant, en octets, ou 0 si la JVM ne permet
+	 * pas de la mesurer.
+	 */
+	public static long getMemoireAllouee() {
+		if (!memoireMesurable)
+			return 0;
+		
+		return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+	
+	/**
+	 * Mthode permettant d'enregistrer la fin d'une excution d'une phase.
+	 * 
+	 * @param phase Phase termine (PHASE_LECTURE, PHASE_PRIM, ...).
+	 * @param debut Instant du dbut de la phase, donn par getInstant.
+	 * @param memoireDebut Mmoire alloue au dbut de la phase, donne par getMemoireAllouee.
+	 */
+	public static void terminerPhase(int phase, long debut, long memoireDebut) {
+		durees.addAndGet(phase, System.nanoTime() - debut);
+		memoire.addAndGet(phase, getMemoireAllouee() - memoireDebut);
+		appels.incrementAndGet(phase);
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter une valeur  un compteur.
+	 * 
+	 * @param compteur Compteur  augmenter (COMPTEUR_ARETES_EXAMINEES, ...).
+	 * @param valeur Valeur  ajouter.
+	 */
+	public static void ajouter(int compteur, long valeur) {
+		compteurs.addAndGet(compteur, valeur);
+	}
+	
+	/**
+	 * Mthode permettant de publier les mesures par JMX et, si la proprit PROPRIETE_JSON
+	 * est dfinie, de prvoir leur criture au format JSON  l'arrt de la JVM.
+	 */
+	private static void publier() {
+		final String cheminJson = System.getProperty(PROPRIETE_JSON);
+		
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(new Mesures(), new ObjectName(NOM_MBEAN));
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+		
+		if (cheminJson != null) {
+			Runtime.getRuntime().addShutdownHook(new Thread() {
+				public void run() {
+					try {
+						ecrireJson(cheminJson);
+					} catch (IOException e) {
+						e.printStackTrace();
+					}
+				}
+			});
+		}
+	}
+	
+	
+	
+	// ******************************
+	// *** MTHODES D'EXPORTATION ***
+	// ******************************
+	
+	/**
+	 * Mthode permettant de mettre toutes les mesures au format JSON.
+	 * Les dures sont en nanosecondes et la mmoire en octets.
+	 * 
+	 * @return Mesures au format JSON.
+	 */
+	public static String formaterJson() {
+		StringBuilder json = new StringBuilder("{\"phases\":{");
+		
+		for (int p=0 ; p<NOMS_PHASES.length ; p++) {
+			json.append((p > 0) ? "," : "").append('"').append(NOMS_PHASES[p]).append("\":{");
+			json.append("\"appels\":").append(appels.get(p));
+			json.append(",\"duree_ns\":").append(durees.get(p));
+			json.append(",\"memoire_octets\":").append(memoire.get(p)).append('}');
+		}
+		json.append("},\"compteurs\":{");
+		for (int c=0 ; c<NOMS_COMPTEURS.length ; c++)
+			json.append((c > 0) ? "," : "").append('"').append(NOMS_COMPTEURS[c]).append("\":").append(compteurs.get(c));
+		json.append("}}");
+		
+		return json.toString();
+	}
+	
+	/**
+	 * Mthode permettant d'crire toutes les mesures au format JSON dans un fichier.
+	 * 
+	 * @param cheminFichier Chemin du fichier  crire.
+	 * @throws IOException Si le fichier ne peut pas tre crit.
+	 */
+	public static void ecrireJson(String cheminFichier) throws IOException {
+		Writer sortie = new OutputStreamWriter(new FileOutputStream(cheminFichier), "UTF-8");
+		
+		try {
+			sortie.write(formaterJson());
+			sortie.write('\n');
+		} finally {
+			sortie.close();
+		}
+	}
+	
+	/**
+	 * Mthode permettant de remettre toutes les mesures  zro, par exemple entre deux
+	 * graphes.
+	 */
+	public static void reinitialiserMesures() {
+		for (int p=0 ; p<NOMS_PHASES.length ; p++) {
+			appels.set(p, 0);
+			durees.set(p, 0);
+			memoire.set(p, 0);
+		}
+		for (int c=0 ; c<NOMS_COMPTEURS.length ; c++)
+			compteurs.set(c, 0);
+	}
+	
+	
+	
+	// *****************************
+	// *** MTHODES DU MBEAN JMX ***
+	// *****************************
+	
+	/**
+	 * Accesseur permettant de rcuprer les noms des phases mesures.
+	 * 
+	 * @return Noms des phases.
+	 */
+	@Override
+	public String[] getNomsPhases() {
+		return NOMS_PHASES.clone();
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'excutions de chaque phase.
+	 * 
+	 * @return Nombre d'excutions de chaque phase.
+	 */
+	@Override
+	public long[] getAppelsPhases() {
+		return copier(appels);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la dure totale de chaque phase.
+	 * 
+	 * @return Dure totale de chaque phase, en nanosecondes.
+	 */
+	@Override
+	public long[] getDureesPhases() {
+		return copier(durees);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la mmoire alloue pendant chaque phase.
+	 * 
+	 * @return Mmoire alloue pendant chaque phase, en octets.
+	 */
+	@Override
+	public long[] getMemoirePhases() {
+		return copier(memoire);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer les noms des compteurs.
+	 * 
+	 * @return Noms des compteurs.
+	 */
+	@Override
+	public String[] getNomsCompteurs() {
+		return NOMS_COMPTEURS.clone();
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la valeur de chaque compteur.
+	 * 
+	 * @return Valeur de chaque compteur.
+	 */
+	@Override
+	public long[] getCompteurs() {
+		return copier(compteurs);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer toutes les mesures au format JSON.
+	 * 
+	 * @return Mesures au format JSON.
+	 */
+	@Override
+	public String getJson() {
+		return formaterJson();
+	}
+	
+	/**
+	 * Mthode permettant de remettre toutes les mesures  zro depuis JMX.
+	 */
+	@Override
+	public void reinitialiser() {
+		reinitialiserMesures();
+	}
+	
+	/**
+	 * Mthode permettant de copier un tableau de mesures dans un tableau d'entiers longs.
+	 * 
+	 * @param mesures Tableau de mesures.
+	 * @return Copie du tableau.
+	 */
+	private static long[] copier(AtomicLongArray mesures) {
+		long[] copie = new long[mesures.length()];
+		
+		for (int i=0 ; i<copie.length ; i++)
+			copie[i] = mesures.get(i);
+		
+		return copie;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package mesure;
+
+
+/**
+* L'interface MesuresMBean dcrit les mesures de la classe Mesures telles qu'elles sont
+* publies par JMX (par exemple dans JConsole ou VisualVM), sous le nom Mesures.NOM_MBEAN.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public interface MesuresMBean {
+	
+	/**
+	 * Accesseur permettant de rcuprer les noms des phases mesures.
+	 * 
+	 * @return Noms des phases, dans l'ordre des autres tableaux de phases.
+	 */
+	String[] getNomsPhases();
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'excutions de chaque phase.
+	 * 
+	 * @return Nombre d'excutions de chaque phase.
+	 */
+	long[] getAppelsPhases();
+	
+	/**
+	 * Accesseur permettant de rcuprer la dure totale de chaque phase.
+	 * 
+	 * @return Dure totale de chaque phase, en nanosecondes.
+	 */
+	long[] getDureesPhases();
+	
+	/**
+	 * Accesseur permettant de rcuprer la mmoire alloue pendant chaque phase.
+	 * 
+	 * @return Mmoire alloue pendant chaque phase, en octets.
+	 */
+	long[] getMemoirePhases();
+	
+	/**
+	 * Accesseur permettant de rcuprer les noms des compteurs.
+	 * 
+	 * @return Noms des compteurs, dans l'ordre de getCompteurs.
+	 */
+	String[] getNomsCompteurs();
+	
+	/**
+	 * Accesseur permettant de rcuprer la valeur de chaque compteur.
+	 * 
+	 * @return Valeur de chaque compteur.
+	 */
+	long[] getCompteurs();
+	
+	/**
+	 * Accesseur permettant de rcuprer toutes les mesures au format JSON.
+	 * 
+	 * @return Mesures au format JSON.
+	 */
+	String getJson();
+	
+	/**
+	 * Mthode permettant de remettre toutes les mesures  zro.
+	 */
+	void reinitialiser();
+	
+}
\ No newline at end of file
@@ -0,0 +1,494 @@
+package modele;
+
+import java.util.Arrays;
+
+
+/**
+* La classe ACMDynamique permet de maintenir l'arbre couvrant minimal d'un graphe (une
+* fort couvrante minimale s'il n'est pas connexe) pendant que des artes sont ajoutes,
+* supprimes ou changent de poids, sans recalculer l'arbre depuis le dbut.
+* Contrairement  la classe ACMIncremental, toutes les artes du graphe sont conserves,
+* chacune dsigne par un numro : les artes de l'arbre sont ranges dans une fort
+* d'arbres dynamiques (voir la classe ForetLienCoupure), et toutes les artes dans des
+* tours d'Euler dcoups en morceaux (voir la classe ToursEuler), qui retiennent pour
+* chaque paire de morceaux l'arte hors de l'arbre la plus lgre qui les relie.
+* - L'ajout d'une arte, ou la diminution de son poids, se traite comme dans la classe
+* ACMIncremental : l'arte remplace l'arte la plus lourde du cycle qu'elle forme si elle
+* est plus lgre qu'elle, ce cycle tant examin en O(log V) amorti.
+* - La suppression d'une arte de l'arbre, ou l'augmentation de son poids, coupe l'arbre
+* en deux. L'arte hors de l'arbre la plus lgre qui relie les deux parties remplace
+* l'arte coupe (proprit de la coupe) : elle est lue sur les paires de morceaux des
+* tours d'Euler des deux parties, sans parcourir leurs sommets.
+* - La suppression d'une arte hors de l'arbre ne change pas l'arbre. L'augmentation de
+* son poids la retire puis la replace comme un ajout, ce qui cote O(log V) amorti pour
+* examiner le cycle, et non un temps constant.
+* En plus du cycle, chaque opration met  jour les tours d'Euler en O(N^(2/3)) au pire,
+* sans amortissement, o N vaut V plus deux fois le nombre de numros d'artes rservs :
+* une mme coupure quilibre, annule puis refaite, ne cote plus O(V)  chaque fois.
+* Les numros des artes supprimes sont rutiliss par les ajouts suivants.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class ACMDynamique {
+	
+	public final static int AUCUNE = -1;
+	static final byte ABSENTE = 0;
+	static final byte DANS_ARBRE = 1;
+	static final byte HORS_ARBRE = 2;
+	static final int CAPACITE_INITIALE = 16;
+	
+	private int nbSommets;
+	private ForetLienCoupure foret;
+	private int[] aretesPlaces;
+	private int[] placesLibres;
+	private int nbPlacesLibres;
+	
+	private int[] premiersSommets;
+	private int[] secondsSommets;
+	private int[] poids;
+	private int[] noeuds;
+	private byte[] etats;
+	private int nbNumeros;
+	private int[] numerosLibres;
+	private int nbNumerosLibres;
+	private int nbAretes;
+	private long poidsTotal;
+	
+	private ToursEuler tours;
+	
+	
+	
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
+	
+	/**
+	 * Constructeur  partir d'un graphe, dont l'arbre couvrant minimal de dpart est
+	 * calcul comme par l'algorithme de Kruskal. L'arte numro i du graphe (dans
+	 * getTableauAretes) reoit le numro i.
+	 * 
+	 * @param g Graphe de dpart.
+	 */
+	public ACMDynamique(Graphe g) {
+		this(g.getNbSommets());
+		TableauAretes aretes = g.getTableauAretes();
+		int[] aretesTriees = TriAretes.trierParPoids(aretes);
+		UnionFind unionFind = new UnionFind(nbSommets);
+		int[] aretesArbre = new int[aretesTriees.length];
+		int[] aretesHors = new int[aretesTriees.length];
+		int nbAretesArbre = 0;
+		int nbAretesHors = 0;
+		int a;
+		
+		for (int i=0 ; i<aretes.getNbAretes() ; i++)
+			creerArete(aretes.getPremierSommet(i), aretes.getSecondSommet(i), aretes.getPoids(i));
+		
+		for (int i=0 ; i<aretesTriees.length ; i++) {
+			a = aretesTriees[i];
+			if (unionFind.union(premiersSommets[a], secondsSommets[a])) {
+				placerDansArbre(a);
+				aretesArbre[nbAretesArbre++] = a;
+			} else {
+				etats[a] = HORS_ARBRE;
+				aretesHors[nbAretesHors++] = a;
+			}
+		}
+		
+		// Les tours d'Euler de l'arbre de dpart sont construits en une fois.
+		tours.construire(aretesArbre, nbAretesArbre, aretesHors, nbAretesHors, premiersSommets, secondsSommets, poids);
+	}
+	
+	/**
+	 * Constructeur d'un graphe de nbSommets sommets sans arte.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 */
+	public ACMDynamique(int nbSommets) {
+		int nbPlaces = Math.max(nbSommets - 1, 0);
+		
+		this.nbSommets = nbSommets;
+		this.foret = new ForetLienCoupure(nbSommets + nbPlaces);
+		this.aretesPlaces = new int[nbPlaces];
+		this.placesLibres = new int[nbPlaces];
+		this.nbPlacesLibres = nbPlaces;
+		for (int p=0 ; p<nbPlaces ; p++)
+			placesLibres[p] = nbPlaces - 1 - p;
+		
+		this.premiersSommets = new int[CAPACITE_INITIALE];
+		this.secondsSommets = new int[CAPACITE_INITIALE];
+		this.poids = new int[CAPACITE_INITIALE];
+		this.noeuds = new int[CAPACITE_INITIALE];
+		this.etats = new byte[CAPACITE_INITIALE];
+		this.numerosLibres = new int[CAPACITE_INITIALE];
+		
+		this.tours = new ToursEuler(nbSommets, CAPACITE_INITIALE);
+	}
+	
+	
+	
+	// *******************************
+	// *** MTHODES DE MISE  JOUR ***
+	// *******************************
+	
+	/**
+	 * Mthode permettant d'ajouter une arte au graphe et de mettre  jour son arbre
+	 * couvrant minimal, en O(log V) amorti plus O(N^(2/3)) (voir la description de la
+	 * classe).
+	 * 
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @param poidsArete Poids de l'arte.
+	 * @return Numro de l'arte ajoute.
+	 */
+	public int ajouterArete(int premierSommet, int secondSommet, int poidsArete) {
+		int a = creerArete(premierSommet, secondSommet, poidsArete);
+		
+		inserer(a);
+		
+		return a;
+	}
+	
+	/**
+	 * Mthode permettant de supprimer une arte du graphe et de mettre  jour son arbre
+	 * couvrant minimal, en O(N^(2/3)) au pire (voir la description de la classe).
+	 * 
+	 * @param a Numro de l'arte supprime.
+	 */
+	public void supprimerArete(int a) {
+		verifierArete(a);
+		
+		if (etats[a] == DANS_ARBRE) {
+			couperArbre(a);
+			remplacer(premiersSommets[a], secondsSommets[a]);
+		} else
+			retirerHorsArbre(a);
+		
+		etats[a] = ABSENTE;
+		numerosLibres[nbNumerosLibres++] = a;
+		nbAretes--;
+	}
+	
+	/**
+	 * Mthode permettant de changer le poids d'une arte du graphe et de mettre  jour son
+	 * arbre couvrant minimal.
+	 * Une arte de l'arbre dont le poids diminue y reste, et une arte hors de l'arbre dont
+	 * le poids augmente en reste dehors : seuls les deux autres cas modifient l'arbre.
+	 * 
+	 * @param a Numro de l'arte.
+	 * @param nouveauPoids Nouveau poids de l'arte.
+	 */
+	public void modifierPoids(int a, int nouveauPoids) {
+		verifierArete(a);
+		
+		if (etats[a] == HORS_ARBRE) {
+			retirerHorsArbre(a);
+			poids[a] = nouveauPoids;
+			inserer(a);
+		} else if (nouveauPoids <= poids[a]) {
+			poidsTotal += (long) nouveauPoids - poids[a];
+			poids[a] = nouveauPoids;
+			foret.setValeur(noeuds[a], nouveauPoids);
+		} else {
+			// L'arte reste candidate pour se remplacer elle-mme si aucune autre n'est plus lgre.
+			couperArbre(a);
+			poids[a] = nouveauPoids;
+			ajouterHorsArbre(a);
+			remplacer(premiersSommets[a], secondsSommets[a]);
+		}
+	}
+	
+	/**
+	 * Mthode permettant de placer une arte qui n'est ni dans l'arbre, ni parmi les artes
+	 * hors de l'arbre : elle entre dans l'arbre si elle relie deux de ses arbres,
+	 * ou si elle est plus lgre que l'arte la plus lourde du cycle qu'elle forme.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	private void inserer(int a) {
+		int premierSommet = premiersSommets[a];
+		int secondSommet = secondsSommets[a];
+		int plusLourde;
+		
+		if (premierSommet == secondSommet) {
+			ajouterHorsArbre(a);
+			return;
+		}
+		
+		if (!foret.isMemeArbre(premierSommet, secondSommet)) {
+			lierArbre(a);
+			return;
+		}
+		
+		plusLourde = aretesPlaces[foret.getMaximumChemin(premierSommet, secondSommet) - nbSommets];
+		if (poids[plusLourde] > poids[a]) {
+			couperArbre(plusLourde);
+			ajouterHorsArbre(plusLourde);
+			lierArbre(a);
+		} else
+			ajouterHorsArbre(a);
+	}
+	
+	/**
+	 * Mthode permettant de reconnecter les deux parties d'un arbre qui vient d'tre coup
+	 * entre deux sommets, par l'arte hors de l'arbre la plus lgre qui les relie, s'il en
+	 * existe une ( galit de poids, la plus petite par son numro).
+	 * 
+	 * @param premierSommet Sommet de la premire partie.
+	 * @param secondSommet Sommet de la seconde partie.
+	 */
+	private void remplacer(int premierSommet, int secondSommet) {
+		int meilleure = tours.chercherRemplacement(premierSommet, secondSommet);
+		
+		if (meilleure != AUCUNE) {
+			retirerHorsArbre(meilleure);
+			lierArbre(meilleure);
+		}
+	}
+	
+	
+	
+	// **************************************
+	// *** MTHODES DE GESTION DES ARTES ***
+	// **************************************
+	
+	/**
+	 * Mthode permettant d'enregistrer une nouvelle arte, sans la placer, en rutilisant
+	 * si possible le numro d'une arte supprime.
+	 * 
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @param poidsArete Poids de l'arte.
+	 * @return Numro de l'arte.
+	 */
+	private int creerArete(int premierSommet, int secondSommet, int poidsArete) {
+		int a;
+		
+		if ((premierSommet < 0) || (premierSommet >= nbSommets) || (secondSommet < 0) || (secondSommet >= nbSommets))
+			throw new IllegalArgumentException("Sommet inexistant : " + premierSommet + " ou " + secondSommet + ".");
+		
+		if (nbNumerosLibres > 0)
+			a = numerosLibres[--nbNumerosLibres];
+		else {
+			if (nbNumeros == etats.length)
+				agrandir();
+			a = nbNumeros++;
+		}
+		
+		premiersSommets[a] = premierSommet;
+		secondsSommets[a] = secondSommet;
+		poids[a] = poidsArete;
+		noeuds[a] = AUCUNE;
+		nbAretes++;
+		
+		return a;
+	}
+	
+	/**
+	 * Mthode permettant de doubler la capacit des tableaux des artes.
+	 */
+	private void agrandir() {
+		int capacite = 2 * etats.length;
+		
+		premiersSommets = Arrays.copyOf(premiersSommets, capacite);
+		secondsSommets = Arrays.copyOf(secondsSommets, capacite);
+		poids = Arrays.copyOf(poids, capacite);
+		noeuds = Arrays.copyOf(noeuds, capacite);
+		etats = Arrays.copyOf(etats, capacite);
+		numerosLibres = Arrays.copyOf(numerosLibres, capacite);
+		tours.agrandir(capacite);
+	}
+	
+	/**
+	 * Mthode permettant de vrifier qu'un numro dsigne une arte du graphe.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	private void verifierArete(int a) {
+		if ((a < 0) || (a >= nbNumeros) || (etats[a] == ABSENTE))
+			throw new IllegalArgumentException("Arte inexistante : " + a + ".");
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter une arte  l'arbre, entre deux sommets de deux arbres
+	 * diffrents.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	private void lierArbre(int a) {
+		placerDansArbre(a);
+		tours.relier(a, premiersSommets[a], secondsSommets[a]);
+	}
+	
+	/**
+	 * Mthode permettant de placer une arte dans la fort d'arbres dynamiques, sans mettre
+	 *  jour les tours d'Euler.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	private void placerDansArbre(int a) {
+		int place = placesLibres[--nbPlacesLibres];
+		int noeud = nbSommets + place;
+		
+		aretesPlaces[place] = a;
+		noeuds[a] = noeud;
+		etats[a] = DANS_ARBRE;
+		foret.setValeur(noeud, poids[a]);
+		foret.relier(premiersSommets[a], noeud);
+		foret.relier(noeud, secondsSommets[a]);
+		poidsTotal += poids[a];
+	}
+	
+	/**
+	 * Mthode permettant de retirer une arte de l'arbre, ce qui le coupe en deux.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	private void couperArbre(int a) {
+		int noeud = noeuds[a];
+		
+		foret.couper(premiersSommets[a], noeud);
+		foret.couper(noeud, secondsSommets[a]);
+		tours.couper(a);
+		placesLibres[nbPlacesLibres++] = noeud - nbSommets;
+		noeuds[a] = AUCUNE;
+		etats[a] = ABSENTE;
+		poidsTotal -= poids[a];
+	}
+	
+	/**
+	 * Mthode permettant de ranger une arte parmi les artes hors de l'arbre.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	private void ajouterHorsArbre(int a) {
+		etats[a] = HORS_ARBRE;
+		tours.ajouterHorsForet(a, premiersSommets[a], secondsSommets[a], poids[a]);
+	}
+	
+	/**
+	 * Mthode permettant de retirer une arte des artes hors de l'arbre.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	private void retirerHorsArbre(int a) {
+		tours.retirerHorsForet(a);
+		etats[a] = ABSENTE;
+	}
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Mthode permettant de construire le graphe form des sommets et des artes de
+	 * l'arbre couvrant minimal actuel, en O(V + nombre de numros d'artes).
+	 * 
+	 * @return Arbre couvrant minimal actuel.
+	 */
+	public Graphe getACM() {
+		return construireGraphe(true);
+	}
+	
+	/**
+	 * Mthode permettant de construire le graphe actuel, dont les artes sont ranges dans
+	 * l'ordre croissant de leurs numros dans cette classe.
+	 * 
+	 * @return Graphe actuel.
+	 */
+	public Graphe construireGraphe() {
+		return construireGraphe(false);
+	}
+	
+	/**
+	 * Mthode permettant de construire le graphe form des sommets et de toutes les artes,
+	 * ou des seules artes de l'arbre couvrant minimal.
+	 * 
+	 * @param arbreSeulement Vrai pour ne garder que les artes de l'arbre.
+	 * @return Graphe construit.
+	 */
+	private Graphe construireGraphe(boolean arbreSeulement) {
+		int nbConservees = arbreSeulement ? getNbAretesArbre() : nbAretes;
+		int[] premiers = new int[nbConservees];
+		int[] seconds = new int[nbConservees];
+		int[] poidsAretes = new int[nbConservees];
+		int[] numerosAretes = new int[nbConservees];
+		int i = 0;
+		
+		for (int a=0 ; a<nbNumeros ; a++) {
+			if ((etats[a] == DANS_ARBRE) || (!arbreSeulement && (etats[a] == HORS_ARBRE))) {
+				premiers[i] = premiersSommets[a];
+				seconds[i] = secondsSommets[a];
+				poidsAretes[i] = poids[a];
+				numerosAretes[i] = i;
+				i++;
+			}
+		}
+		
+		if (arbreSeulement)
+			return new Graphe(nbSommets, new TableauAretes(premiers, seconds, poidsAretes)).construireForetCouvrante(numerosAretes, i);
+		
+		return new Graphe(nbSommets, new TableauAretes(premiers, seconds, poidsAretes));
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets du graphe.
+	 * 
+	 * @return Nombre de sommets du graphe.
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes du graphe.
+	 * 
+	 * @return Nombre d'artes du graphe.
+	 */
+	public int getNbAretes() {
+		return nbAretes;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes de l'arbre couvrant minimal.
+	 * 
+	 * @return Nombre d'artes de l'arbre couvrant minimal.
+	 */
+	public int getNbAretesArbre() {
+		return aretesPlaces.length - nbPlacesLibres;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids total de l'arbre couvrant minimal.
+	 * 
+	 * @return Poids total de l'arbre couvrant minimal.
+	 */
+	public long getPoidsTotal() {
+		return poidsTotal;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids d'une arte.
+	 * 
+	 * @param a Numro de l'arte.
+	 * @return Poids de l'arte.
+	 */
+	public int getPoids(int a) {
+		verifierArete(a);
+		
+		return poids[a];
+	}
+	
+	/**
+	 * Mthode permettant de savoir si une arte est dans l'arbre couvrant minimal.
+	 * 
+	 * @param a Numro de l'arte.
+	 * @return Vrai si l'arte est dans l'arbre couvrant minimal.
+	 */
+	public boolean isDansArbre(int a) {
+		verifierArete(a);
+		
+		return etats[a] == DANS_ARBRE;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package modele;
+
+
+/**
+* La classe ACMIncremental permet de maintenir l'arbre couvrant minimal d'un graphe (une
+* fort couvrante minimale s'il n'est pas connexe) pendant que des artes sont ajoutes au
+* graphe ou que leur poids diminue, sans recalculer l'arbre depuis le dbut.
+* L'arbre est rang dans une fort d'arbres dynamiques (voir la classe ForetLienCoupure)
+* dont les noeuds sont les sommets du graphe et les artes de l'arbre, chaque arte tant
+* un noeud plac entre ses deux sommets et ayant son poids pour valeur. Lorsqu'une arte
+* relie deux sommets dj dans le mme arbre, elle forme un cycle avec le chemin qui les
+* relie : elle remplace l'arte la plus lourde de ce chemin si elle est plus lgre
+* qu'elle. Chaque mise  jour cote O(log V) amorti, au lieu de O(E log V) pour un nouveau
+* calcul complet.
+* Seules les artes de l'arbre sont conserves : une arte carte ne peut pas revenir
+* dans l'arbre tant que le poids des autres ne fait que diminuer, et les suppressions et
+* augmentations de poids ne sont donc pas possibles.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class ACMIncremental {
+	
+	private int nbSommets;
+	private ForetLienCoupure foret;
+	private int[] premiersSommets;
+	private int[] secondsSommets;
+	private boolean[] utilisees;
+	private int[] places;
+	private int nbPlacesLibres;
+	private long poidsTotal;
+	
+	
+	
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
+	
+	/**
+	 * Constructeur  partir d'un graphe, dont l'arbre couvrant minimal de dpart est
+	 * calcul par l'algorithme de Kruskal.
+	 * 
+	 * @param g Graphe de dpart.
+	 */
+	public ACMIncremental(Graphe g) {
+		this(g.getNbSommets());
+		TableauAretes aretes = new Kruskal(g).declencherAlgorithme().getTableauAretes();
+		
+		for (int i=0 ; i<aretes.getNbAretes() ; i++)
+			relier(aretes.getPremierSommet(i), aretes.getSecondSommet(i), aretes.getPoids(i));
+	}
+	
+	/**
+	 * Constructeur d'un graphe de nbSommets sommets sans arte.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 */
+	public ACMIncremental(int nbSommets) {
+		int nbPlaces = Math.max(nbSommets - 1, 0);
+		
+		this.nbSommets = nbSommets;
+		this.foret = new ForetLienCoupure(nbSommets + nbPlaces);
+		this.premiersSommets = new int[nbPlaces];
+		this.secondsSommets = new int[nbPlaces];
+		this.utilisees = new boolean[nbPlaces];
+		this.places = new int[nbPlaces];
+		this.nbPlacesLibres = nbPlaces;
+		this.poidsTotal = 0;
+		
+		// Les places libres sont empiles de sorte que la place 0 soit utilise en premier.
+		for (int p=0 ; p<nbPlaces ; p++)
+			places[p] = nbPlaces - 1 - p;
+	}
+	
+	
+	
+	// *******************************
+	// *** MTHODES DE MISE  JOUR ***
+	// *******************************
+	
+	/**
+	 * Mthode permettant d'ajouter une arte au graphe et de mettre  jour son arbre
+	 * couvrant minimal.
+	 * 
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @param poids Poids de l'arte.
+	 * @return Vrai si l'arte est entre dans l'arbre couvrant minimal.
+	 */
+	public boolean ajouterArete(int premierSommet, int secondSommet, int poids) {
+		int plusLourde;
+		
+		if (premierSommet == secondSommet)
+			return false;
+		
+		if (foret.isMemeArbre(premierSommet, secondSommet)) {
+			plusLourde = foret.getMaximumChemin(premierSommet, secondSommet);
+			if (foret.getValeur(plusLourde) <= poids)
+				return false;
+			retirer(plusLourde);
+		}
+		
+		relier(premierSommet, secondSommet, poids);
+		
+		return true;
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter une arte au graphe et de mettre  jour son arbre
+	 * couvrant minimal.
+	 * 
+	 * @param a Arte ajoute, dont les sommets sont dsigns par leur valeur.
+	 * @return Vrai si l'arte est entre dans l'arbre couvrant minimal.
+	 */
+	public boolean ajouterArete(Arete a) {
+		return ajouterArete(a.getPremierSommet().getValeur(), a.getSecondSommet().getValeur(), a.getPoids());
+	}
+	
+	/**
+	 * Mthode permettant de diminuer le poids d'une arte du graphe et de mettre  jour son
+	 * arbre couvrant minimal.
+	 * Pour l'arbre couvrant minimal, diminuer le poids d'une arte revient  ajouter une
+	 * seconde arte entre les mmes sommets avec le nouveau poids : l'ancienne, plus
+	 * lourde, ne peut plus servir. Si l'arte tait dans l'arbre, elle y est remplace par
+	 * sa version plus lgre ; sinon, elle y entre si elle est dsormais plus lgre que
+	 * l'arte la plus lourde du cycle qu'elle forme.
+	 * 
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @param nouveauPoids Nouveau poids de l'arte.
+	 * @return Vrai si l'arbre couvrant minimal a chang.
+	 */
+	public boolean diminuerPoids(int premierSommet, int secondSommet, int nouveauPoids) {
+		return ajouterArete(premierSommet, secondSommet, nouveauPoids);
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter une arte  l'arbre, entre deux sommets de deux arbres
+	 * diffrents.
+	 * 
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @param poids Poids de l'arte.
+	 */
+	private void relier(int premierSommet, int secondSommet, int poids) {
+		int place = places[--nbPlacesLibres];
+		int noeud = nbSommets + place;
+		
+		premiersSommets[place] = premierSommet;
+		secondsSommets[place] = secondSommet;
+		utilisees[place] = true;
+		foret.setValeur(noeud, poids);
+		foret.relier(premierSommet, noeud);
+		foret.relier(noeud, secondSommet);
+		poidsTotal += poids;
+	}
+	
+	/**
+	 * Mthode permettant de retirer une arte de l'arbre.
+	 * 
+	 * @param noeud Noeud de l'arte dans la fort.
+	 */
+	private void retirer(int noeud) {
+		int place = noeud - nbSommets;
+		
+		foret.couper(premiersSommets[place], noeud);
+		foret.couper(noeud, secondsSommets[place]);
+		poidsTotal -= foret.getValeur(noeud);
+		utilisees[place] = false;
+		places[nbPlacesLibres++] = place;
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Mthode permettant de construire le graphe form des sommets et des artes de
+	 * l'arbre couvrant minimal actuel, en O(V).
+	 * 
+	 * @return Arbre couvrant minimal actuel.
+	 */
+	public Graphe getACM() {
+		int[] poids = new int[utilisees.length];
+		int[] numerosAretes = new int[getNbAretes()];
+		int i = 0;
+		
+		for (int place=0 ; place<utilisees.length ; place++) {
+			poids[place] = foret.getValeur(nbSommets + place);
+			if (utilisees[place])
+				numerosAretes[i++] = place;
+		}
+		
+		// Les places sont vues comme les artes d'un graphe, dont on ne garde que celles utilises.
+		return new Graphe(nbSommets, new TableauAretes(premiersSommets, secondsSommets, poids)).construireForetCouvrante(numerosAretes, i);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets du graphe.
+	 * 
+	 * @return Nombre de sommets du graphe.
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes de l'arbre couvrant minimal.
+	 * 
+	 * @return Nombre d'artes de l'arbre couvrant minimal.
+	 */
+	public int getNbAretes() {
+		return utilisees.length - nbPlacesLibres;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids total de l'arbre couvrant minimal.
+	 * 
+	 * @return Poids total de l'arbre couvrant minimal.
+	 */
+	public long getPoidsTotal() {
+		return poidsTotal;
+	}
+	
+	/**
+	 * Mthode permettant de savoir si deux sommets sont relis dans le graphe.
+	 * 
+	 * @param premierSommet Premier sommet.
+	 * @param secondSommet Second sommet.
+	 * @return Vrai si les deux sommets sont dans la mme composante connexe.
+	 */
+	public boolean isConnexes(int premierSommet, int secondSommet) {
+		return foret.isMemeArbre(premierSommet, secondSommet);
+	}
+	
+}
\ No newline at end of file
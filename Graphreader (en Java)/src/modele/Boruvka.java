@@ -0,0 +1,372 @@
+package modele;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+* La classe Boruvka correspond  un appel de l'algorithme de Boruvka pour obtenir l'arbre
+* couvrant minimal d'un graphe.
+*
+* L'algorithme procde par tours :  chaque tour, chaque composante connexe de la fort
+* en construction choisit l'arte la plus lgre qui la relie  une autre composante, et
+* toutes les artes choisies sont ajoutes  la fort. Le nombre de composantes tant au
+* moins divis par deux  chaque tour, il y a au plus log V tours.
+* Les tours sont excuts en parallle sur un pool de threads, sans verrou : les artes
+* sont rparties en blocs, l'arte la plus lgre de chaque composante est mise  jour par
+* comparaison-change (compareAndSet), et les composantes sont fusionnes dans une
+* structure Union-Find dont les liens sont eux aussi poss par comparaison-change.
+* Comme dans la classe Kruskal, les artes de mme poids sont dpartages par leur numro,
+* ce qui garantit l'absence de cycle et donne le mme arbre que Kruskal.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class Boruvka {
+	
+	static final long AUCUNE_ARETE = Long.MAX_VALUE;
+	static final int TAILLE_BLOC_MIN = 1 << 12;
+	
+	private Graphe g;
+	
+	private TableauAretes aretes;
+	private AtomicIntegerArray parent;
+	private AtomicLongArray areteMinimale;
+	private int[] aretesACM;
+	private AtomicInteger nbAretesACM;
+	private ForkJoinPool pool;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur avec l'attribut g de la classe Boruvka.
+	 * 
+	 * @param g Graphe sur lequel on utilise l'algorithme de Boruvka.
+	 */
+	public Boruvka(Graphe g) {
+		this.g = g;
+	}
+	
+	
+	
+	// ******************
+	// *** ALGORITHME ***
+	// ******************
+	
+	/**
+	 * Dclenche l'algorithme de Boruvka.
+	 * Si le graphe n'est pas connexe, une fort couvrante minimale est renvoye.
+	 * 
+	 * @return Arbre couvrant minimal du graphe g.
+	 */
+	public Graphe declencherAlgorithme () {
+		int nbSommets = this.getG().getNbSommets();
+		int[] aretesActives;
+		int[] debutsBlocs;
+		int[] taillesBlocs;
+		List<Callable<Integer>> tachesAretes = new ArrayList<Callable<Integer>>();
+		List<Callable<Integer>> tachesSommets = new ArrayList<Callable<Integer>>();
+		int nbAretesAvantTour;
+		
+		this.aretes = this.getG().getTableauAretes();
+		this.parent = new AtomicIntegerArray(nbSommets);
+		this.areteMinimale = new AtomicLongArray(nbSommets);
+		this.aretesACM = new int[Math.max(nbSommets-1, 0)];
+		this.nbAretesACM = new AtomicInteger(0);
+		this.pool = PoolCalcul.getPool();
+		
+		try {
+			for (int s=0 ; s<nbSommets ; s++) {
+				parent.set(s, s);
+				areteMinimale.set(s, AUCUNE_ARETE);
+			}
+			
+			// Les artes encore utiles sont ranges par blocs ; chaque bloc retire au fil
+			// des tours celles dont les deux sommets sont dans la mme composante.
+			aretesActives = new int[aretes.getNbAretes()];
+			for (int i=0 ; i<aretesActives.length ; i++)
+				aretesActives[i] = i;
+			debutsBlocs = decouper(aretesActives.length);
+			taillesBlocs = new int[debutsBlocs.length-1];
+			for (int b=0 ; b<taillesBlocs.length ; b++) {
+				taillesBlocs[b] = debutsBlocs[b+1] - debutsBlocs[b];
+				tachesAretes.add(new TacheAretes(aretesActives, debutsBlocs[b], taillesBlocs, b));
+			}
+			
+			int[] blocsSommets = decouper(nbSommets);
+			for (int b=0 ; b<blocsSommets.length-1 ; b++)
+				tachesSommets.add(new TacheSommets(blocsSommets[b], blocsSommets[b+1]));
+			
+			do {
+				nbAretesAvantTour = nbAretesACM.get();
+				executer(tachesAretes);
+				executer(tachesSommets);
+			} while ((nbAretesACM.get() > nbAretesAvantTour) && (nbAretesACM.get() < nbSommets-1));
+			
+			return this.getG().construireForetCouvrante(aretesACM, nbAretesACM.get());
+		} finally {
+			this.pool = null;
+			this.aretes = null;
+			this.parent = null;
+			this.areteMinimale = null;
+		}
+	}
+	
+	/**
+	 * Mthode permettant de dcouper un intervalle d'indices en blocs de taille voisine,
+	 * en nombre suffisant pour occuper tous les threads du pool.
+	 * 
+	 * @param taille Taille de l'intervalle  dcouper.
+	 * @return Dbut de chaque bloc, suivi de la fin de l'intervalle.
+	 */
+	private int[] decouper (int taille) {
+		int nbBlocs = (int) Math.max(1, Math.min(4L * pool.getParallelism(), taille / TAILLE_BLOC_MIN));
+		int[] debuts = new int[nbBlocs+1];
+		
+		for (int b=0 ; b<=nbBlocs ; b++)
+			debuts[b] = (int) ((long) taille * b / nbBlocs);
+		
+		return debuts;
+	}
+	
+	/**
+	 * Mthode permettant d'excuter des tches sur le pool de threads et d'attendre leur fin.
+	 * 
+	 * @param taches Tches  excuter.
+	 */
+	private void executer (List<Callable<Integer>> taches) {
+		try {
+			for (Future<Integer> f : pool.invokeAll(taches))
+				f.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Mthode permettant de proposer une arte comme arte la plus lgre sortant d'une
+	 * composante : elle remplace l'arte retenue si sa cl (poids, puis numro) est plus
+	 * petite, par comparaison-change.
+	 * 
+	 * @param racine Racine de la composante.
+	 * @param cle Arte code sous forme d'entier long (poids puis numro).
+	 */
+	private void proposerArete (int racine, long cle) {
+		long cleActuelle = areteMinimale.get(racine);
+		
+		while ((cle < cleActuelle) && !areteMinimale.compareAndSet(racine, cleActuelle, cle))
+			cleActuelle = areteMinimale.get(racine);
+	}
+	
+	
+	
+	// *******************************************************
+	// *** MTHODES DE LA STRUCTURE UNION-FIND CONCURRENTE ***
+	// *******************************************************
+	
+	/**
+	 * Mthode permettant de rcuprer la racine de la composante d'un sommet.
+	 * Le chemin est raccourci au passage (chaque sommet est rattach  son grand-parent)
+	 * par comparaison-change, ce qui reste correct si plusieurs threads le font  la fois.
+	 * 
+	 * @param i Sommet dont on cherche la racine.
+	 * @return Racine de la composante du sommet i.
+	 */
+	public int trouver (int i) {
+		int p = parent.get(i);
+		int gp;
+		
+		while (p != i) {
+			gp = parent.get(p);
+			if (gp != p)
+				parent.compareAndSet(i, p, gp);
+			i = p;
+			p = gp;
+		}
+		
+		return i;
+	}
+	
+	/**
+	 * Mthode permettant d'unir les composantes de deux sommets, sans verrou.
+	 * La racine de plus grand numro est rattache  l'autre ; si une autre union a
+	 * modifi cette racine entre-temps, l'opration est recommence.
+	 * 
+	 * @param i Premier sommet.
+	 * @param j Second sommet.
+	 * @return Vrai si les deux sommets taient dans des composantes diffrentes.
+	 */
+	public boolean union (int i, int j) {
+		int racineI;
+		int racineJ;
+		
+		while (true) {
+			racineI = trouver(i);
+			racineJ = trouver(j);
+			if (racineI == racineJ)
+				return false;
+			if ((racineI < racineJ) ? parent.compareAndSet(racineJ, racineJ, racineI) : parent.compareAndSet(racineI, racineI, racineJ))
+				return true;
+		}
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le graphe de Boruvka.
+	 * 
+	 * @return Graphe de Boruvka.
+	 */
+	public Graphe getG() {
+		return g;
+	}
+	
+	
+	// ****************
+	// *** MUTATEUR ***
+	// ****************
+	
+	/**
+	 * Mutateur permettant de changer le graphe de Boruvka.
+	 * 
+	 * @param g Nouveau graphe de Boruvka.
+	 */
+	public void setG(Graphe g) {
+		this.g = g;
+	}
+	
+	
+	
+	// ************************
+	// *** TCHES D'UN TOUR ***
+	// ************************
+	
+	/**
+	 * La classe TacheAretes correspond  la premire tape d'un tour pour un bloc d'artes :
+	 * chaque arte reliant deux composantes diffrentes est propose aux deux composantes,
+	 * et les autres sont retires du bloc.
+	 */
+	private class TacheAretes implements Callable<Integer> {
+		
+		private int[] aretesActives;
+		private int debut;
+		private int[] taillesBlocs;
+		private int bloc;
+		
+		/**
+		 * Constructeur d'une tche sur le bloc d'artes commenant  debut.
+		 * 
+		 * @param aretesActives Numros des artes encore utiles, rangs par blocs.
+		 * @param debut Dbut du bloc dans aretesActives.
+		 * @param taillesBlocs Nombre d'artes encore utiles de chaque bloc.
+		 * @param bloc Numro du bloc de la tche.
+		 */
+		TacheAretes(int[] aretesActives, int debut, int[] taillesBlocs, int bloc) {
+			this.aretesActives = aretesActives;
+			this.debut = debut;
+			this.taillesBlocs = taillesBlocs;
+			this.bloc = bloc;
+		}
+		
+		/**
+		 * Mthode traitant le bloc d'artes.
+		 * 
+		 * @return Nombre d'artes restant dans le bloc.
+		 */
+		@Override
+		public Integer call() {
+			int fin = debut + taillesBlocs[bloc];
+			int nbConservees = debut;
+			int arete;
+			int racinePremier;
+			int racineSecond;
+			long cle;
+			
+			for (int i=debut ; i<fin ; i++) {
+				arete = aretesActives[i];
+				racinePremier = trouver(aretes.getPremierSommet(arete));
+				racineSecond = trouver(aretes.getSecondSommet(arete));
+				if (racinePremier == racineSecond)
+					continue;
+				
+				cle = ((long) aretes.getPoids(arete) << 32) | arete;
+				proposerArete(racinePremier, cle);
+				proposerArete(racineSecond, cle);
+				aretesActives[nbConservees++] = arete;
+			}
+			taillesBlocs[bloc] = nbConservees - debut;
+			
+			return taillesBlocs[bloc];
+		}
+		
+	}
+	
+	/**
+	 * La classe TacheSommets correspond  la seconde tape d'un tour pour un bloc de
+	 * sommets : chaque composante dont le sommet est la racine ajoute  la fort l'arte
+	 * qu'elle a choisie, en fusionnant les deux composantes relies.
+	 */
+	private class TacheSommets implements Callable<Integer> {
+		
+		private int debut;
+		private int fin;
+		
+		/**
+		 * Constructeur d'une tche sur les sommets debut  fin-1.
+		 * 
+		 * @param debut Premier sommet du bloc (inclus).
+		 * @param fin Dernier sommet du bloc (exclu).
+		 */
+		TacheSommets(int debut, int fin) {
+			this.debut = debut;
+			this.fin = fin;
+		}
+		
+		/**
+		 * Mthode traitant le bloc de sommets.
+		 * 
+		 * @return Nombre d'artes ajoutes  la fort par le bloc.
+		 */
+		@Override
+		public Integer call() {
+			int nbAjoutees = 0;
+			long cle;
+			int arete;
+			
+			for (int s=debut ; s<fin ; s++) {
+				cle = areteMinimale.get(s);
+				if (cle == AUCUNE_ARETE)
+					continue;
+				
+				areteMinimale.set(s, AUCUNE_ARETE);
+				arete = (int) cle;
+				if (union(aretes.getPremierSommet(arete), aretes.getSecondSommet(arete))) {
+					aretesACM[nbAretesACM.getAndIncrement()] = arete;
+					nbAjoutees++;
+				}
+			}
+			
+			return nbAjoutees;
+		}
+		
+	}
+	
+}
\ No newline at end of file
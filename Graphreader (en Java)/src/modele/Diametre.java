@@ -0,0 +1,615 @@
+package modele;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import mesure.Mesures;
+
+
+/**
+* La classe Diametre correspond au calcul du diamtre d'un graphe, c'est--dire du plus
+* grand nombre d'artes d'un plus court chemin entre deux sommets (relis) du graphe.
+*
+* Plusieurs variantes du calcul sont disponibles :
+* - VARIANTE_TOUS_SOMMETS : une recherche en largeur est lance depuis chaque sommet, et
+* le diamtre est la plus grande distance trouve. Les recherches sont indpendantes et
+* sont donc rparties entre les threads d'un pool : chaque thread prend le prochain sommet
+* de dpart non trait, et dispose de ses propres tableaux d'entiers (distances et file),
+* allous une seule fois. Sur les petits graphes, les recherches sont faites dans le
+* thread appelant ;
+* - VARIANTE_ARBRE : rserve aux forts (les arbres couvrants minimaux, par exemple).
+* Dans chaque arbre, le sommet le plus loign d'un sommet quelconque est l'une des
+* extrmits d'un plus long chemin ; une seconde recherche en largeur depuis ce sommet
+* donne le diamtre de l'arbre. Le calcul se fait donc en O(V) ;
+* - VARIANTE_IFUB : algorithme iFUB (Crescenzi et al.), exact sur tout graphe. Une
+* recherche en largeur depuis un sommet central u (de degr maximal) range les sommets
+* par niveau ; les excentricits des sommets des niveaux les plus loigns sont calcules
+* tour  tour, jusqu' ce que la borne infrieure obtenue dpasse 2(i-1), qui majore la
+* distance entre deux sommets des niveaux infrieurs  i. Quelques recherches en largeur
+* suffisent en gnral ;
+* - VARIANTE_AUTOMATIQUE (par dfaut) : VARIANTE_ARBRE si le graphe est une fort,
+* VARIANTE_IFUB s'il a au moins NB_SOMMETS_MIN_IFUB sommets, VARIANTE_TOUS_SOMMETS sinon.
+* Sur un graphe dense (voir la mthode isDense de la classe Graphe), les recherches en
+* largeur se font sur la matrice d'adjacence bit  bit,  direction optimise (voir la
+* classe MatriceAdjacence), et sur ses listes d'adjacence sinon.
+* Aucune recherche ne modifie le graphe ni ses sommets. Les recherches sont comptes dans
+* les tableaux de travail de chaque thread, et le total n'est ajout au compteur de la
+* classe Mesures qu'une fois,  la fin du calcul.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class Diametre {
+	
+	public final static int VARIANTE_TOUS_SOMMETS = 0;
+	public final static int VARIANTE_ARBRE = 1;
+	public final static int VARIANTE_IFUB = 2;
+	public final static int VARIANTE_AUTOMATIQUE = 3;
+	static final int NB_SOMMETS_MIN_PARALLELE = 256;
+	static final int NB_SOMMETS_MIN_IFUB = 1024;
+	static final int NON_ATTEINT = -1;
+	
+	private Graphe g;
+	private int variante;
+	
+	
+	
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
+	
+	/**
+	 * Constructeur avec l'attribut g de la classe Diametre, choisissant automatiquement
+	 * la variante selon le graphe.
+	 * 
+	 * @param g Graphe dont on calcule le diamtre.
+	 */
+	public Diametre(Graphe g) {
+		this(g, VARIANTE_AUTOMATIQUE);
+	}
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe Diametre.
+	 * 
+	 * @param g Graphe dont on calcule le diamtre.
+	 * @param variante Variante du calcul (VARIANTE_TOUS_SOMMETS, VARIANTE_ARBRE,
+	 * VARIANTE_IFUB ou VARIANTE_AUTOMATIQUE).
+	 */
+	public Diametre(Graphe g, int variante) {
+		this.g = g;
+		this.variante = variante;
+	}
+	
+	
+	
+	// **************************
+	// *** MTHODES DE CALCUL ***
+	// **************************
+	
+	/**
+	 * Mthode permettant de calculer le diamtre du graphe g, dans la variante choisie.
+	 * Si le graphe n'est pas connexe, le rsultat est le plus grand des diamtres de ses
+	 * composantes connexes.
+	 * 
+	 * @return Diamtre du graphe g.
+	 */
+	public int calculerDiametre () {
+		long debut = Mesures.ACTIVE ? Mesures.getInstant() : 0;
+		long memoire = Mesures.ACTIVE ? Mesures.getMemoireAllouee() : 0;
+		int diametre;
+		
+		switch (this.getVariante()) {
+			case VARIANTE_TOUS_SOMMETS :
+				diametre = calculerDiametreTousSommets();
+				break;
+			case VARIANTE_ARBRE :
+				diametre = calculerDiametreArbre();
+				break;
+			case VARIANTE_IFUB :
+				diametre = calculerDiametreIFUB();
+				break;
+			default :
+				if (this.getG().isForet())
+					diametre = calculerDiametreArbre();
+				else if (this.getG().getNbSommets() >= NB_SOMMETS_MIN_IFUB)
+					diametre = calculerDiametreIFUB();
+				else
+					diametre = calculerDiametreTousSommets();
+				break;
+		}
+		
+		if (Mesures.ACTIVE)
+			Mesures.terminerPhase(Mesures.PHASE_DIAMETRE, debut, memoire);
+		
+		return diametre;
+	}
+	
+	/**
+	 * Mthode permettant de calculer le diamtre du graphe g par une recherche en largeur
+	 * depuis chacun de ses sommets, menes en parallle.
+	 * 
+	 * @return Diamtre du graphe g.
+	 */
+	public int calculerDiametreTousSommets () {
+		int nbSommets = this.getG().getNbSommets();
+		AtomicInteger prochainSommet = new AtomicInteger(0);
+		List<TacheRecherches> taches = new ArrayList<TacheRecherches>();
+		ForkJoinPool pool;
+		long nbRecherches = 0;
+		int diametre = 0;
+		
+		if (nbSommets < NB_SOMMETS_MIN_PARALLELE) {
+			taches.add(new TacheRecherches(this.getG(), prochainSommet));
+			diametre = taches.get(0).call();
+		} else {
+			pool = PoolCalcul.getPool();
+			try {
+				for (int t=0 ; t<pool.getParallelism() ; t++)
+					taches.add(new TacheRecherches(this.getG(), prochainSommet));
+				
+				for (Future<Integer> f : pool.invokeAll(taches))
+					diametre = Math.max(diametre, f.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+		
+		if (Mesures.ACTIVE) {
+			for (TacheRecherches tache : taches)
+				nbRecherches += tache.getNbRecherches();
+			Mesures.ajouter(Mesures.COMPTEUR_RECHERCHES_EN_LARGEUR, nbRecherches);
+		}
+		
+		return diametre;
+	}
+	
+	/**
+	 * Mthode permettant de calculer le diamtre du graphe g lorsque celui-ci est une
+	 * fort, par deux recherches en largeur dans chacun de ses arbres.
+	 * Si le graphe contient un cycle, le rsultat n'est qu'un minorant de son diamtre.
+	 * 
+	 * @return Diamtre du graphe g.
+	 */
+	public int calculerDiametreArbre () {
+		int nbSommets = this.getG().getNbSommets();
+		Parcours parcours = new Parcours(this.getG());
+		int[] file = parcours.getFile();
+		boolean[] atteints = new boolean[nbSommets];
+		int diametre = 0;
+		int nbAtteints;
+		int extremite;
+		
+		for (int s=0 ; s<nbSommets ; s++) {
+			if (!atteints[s]) {
+				nbAtteints = parcours.parcourir(s, nbSommets);
+				for (int i=0 ; i<nbAtteints ; i++)
+					atteints[file[i]] = true;
+				
+				// Le dernier sommet atteint est le plus loign de s.
+				extremite = file[nbAtteints-1];
+				parcours.effacer(nbAtteints);
+				diametre = Math.max(diametre, parcours.rechercher(extremite, nbAtteints));
+			}
+		}
+		
+		if (Mesures.ACTIVE)
+			Mesures.ajouter(Mesures.COMPTEUR_RECHERCHES_EN_LARGEUR, parcours.getNbRecherches());
+		
+		return diametre;
+	}
+	
+	/**
+	 * Mthode permettant de calculer le diamtre du graphe g par l'algorithme iFUB,
+	 * appliqu  chacune de ses composantes connexes.
+	 * 
+	 * @return Diamtre du graphe g.
+	 */
+	public int calculerDiametreIFUB () {
+		int nbSommets = this.getG().getNbSommets();
+		Parcours parcours = new Parcours(this.getG());
+		int[] distances = parcours.getDistances();
+		int[] file = parcours.getFile();
+		int[] ordre = new int[nbSommets];
+		int[] niveaux = new int[nbSommets];
+		boolean[] atteints = new boolean[nbSommets];
+		int diametre = 0;
+		int nbAtteints;
+		int centre;
+		int degreCentre;
+		int degre;
+		int borneInf;
+		int niveau;
+		int position;
+		
+		for (int s=0 ; s<nbSommets ; s++) {
+			if (atteints[s])
+				continue;
+			
+			// Recherche de la composante de s et de son sommet de degr maximal.
+			nbAtteints = parcours.parcourir(s, nbSommets);
+			centre = s;
+			degreCentre = parcours.getDegre(s);
+			for (int i=0 ; i<nbAtteints ; i++) {
+				atteints[file[i]] = true;
+				degre = parcours.getDegre(file[i]);
+				if (degre > degreCentre) {
+					centre = file[i];
+					degreCentre = degre;
+				}
+			}
+			parcours.effacer(nbAtteints);
+			
+			// Sommets de la composante rangs par distance croissante au centre.
+			parcours.parcourir(centre, nbAtteints);
+			for (int i=0 ; i<nbAtteints ; i++) {
+				ordre[i] = file[i];
+				niveaux[i] = distances[file[i]];
+			}
+			parcours.effacer(nbAtteints);
+			
+			// Deux sommets de niveau au plus niveau sont  distance au plus 2*niveau (en
+			// passant par le centre), et l'excentricit des sommets des niveaux suprieurs,
+			// dj calcule, est compte dans borneInf : le diamtre de la composante est
+			// donc au plus max(borneInf, 2*niveau), et vaut borneInf ds que 2*niveau ne
+			// dpasse plus borneInf.
+			niveau = niveaux[nbAtteints-1];
+			borneInf = niveau;
+			position = nbAtteints-1;
+			while (borneInf < 2*niveau) {
+				if ((position >= 0) && (niveaux[position] == niveau))
+					borneInf = Math.max(borneInf, parcours.rechercher(ordre[position--], nbAtteints));
+				else
+					niveau--;
+			}
+			
+			diametre = Math.max(diametre, borneInf);
+		}
+		
+		if (Mesures.ACTIVE)
+			Mesures.ajouter(Mesures.COMPTEUR_RECHERCHES_EN_LARGEUR, parcours.getNbRecherches());
+		
+		return diametre;
+	}
+	
+	
+	
+	// ***************************************
+	// *** MTHODES DE PARCOURS EN LARGEUR ***
+	// ***************************************
+	
+	/**
+	 * Mthode permettant de crer un tableau de distances valant NON_ATTEINT pour chaque
+	 * sommet.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @return Tableau de distances initialis.
+	 */
+	static int[] creerDistances (int nbSommets) {
+		int[] distances = new int[nbSommets];
+		
+		for (int s=0 ; s<nbSommets ; s++)
+			distances[s] = NON_ATTEINT;
+		
+		return distances;
+	}
+	
+	/**
+	 * Mthode permettant d'effectuer une recherche en largeur depuis un sommet.
+	 * Les tableaux distances et file sont fournis par l'appelant ; distances doit valoir
+	 * NON_ATTEINT pour chaque sommet.  la fin de la recherche, file contient les sommets
+	 * atteints par distance croissante au sommet de dpart, et distances leur distance.
+	 * La recherche s'arrte ds que nbMaxAtteints sommets ont t atteints, les voisins
+	 * des derniers sommets de la file ne pouvant plus rien apporter : sur un graphe
+	 * complet, elle se fait ainsi en O(V) au lieu de O(V).
+	 * 
+	 * @param listes Listes d'adjacence du graphe.
+	 * @param depart Sommet duquel part la recherche en largeur.
+	 * @param distances Tableau des distances depuis le sommet de dpart.
+	 * @param file File des sommets atteints, dans l'ordre de leur dcouverte.
+	 * @param nbMaxAtteints Nombre de sommets de la composante du sommet de dpart, s'il
+	 * est connu, ou nombre de sommets du graphe.
+	 * @return Nombre de sommets atteints, sommet de dpart compris.
+	 */
+	static int parcourirEnLargeur (ListesAdjacence listes, int depart, int[] distances, int[] file, int nbMaxAtteints) {
+		int debutFile = 0;
+		int finFile = 0;
+		int sommet;
+		int voisin;
+		
+		distances[depart] = 0;
+		file[finFile++] = depart;
+		
+		while ((debutFile < finFile) && (finFile < nbMaxAtteints)) {
+			sommet = file[debutFile++];
+			for (int i=listes.getDebut(sommet) ; i<listes.getFin(sommet) ; i++) {
+				voisin = listes.getVoisin(i);
+				if (distances[voisin] == NON_ATTEINT) {
+					distances[voisin] = distances[sommet]+1;
+					file[finFile++] = voisin;
+				}
+			}
+		}
+		
+		return finFile;
+	}
+	
+	/**
+	 * Mthode permettant de remettre  NON_ATTEINT la distance des sommets atteints par
+	 * une recherche en largeur, sans parcourir tout le tableau.
+	 * 
+	 * @param distances Tableau des distances de la recherche.
+	 * @param file File des sommets atteints par la recherche.
+	 * @param nbAtteints Nombre de sommets atteints par la recherche.
+	 */
+	static void effacerDistances (int[] distances, int[] file, int nbAtteints) {
+		for (int i=0 ; i<nbAtteints ; i++)
+			distances[file[i]] = NON_ATTEINT;
+	}
+	
+	/**
+	 * Mthode permettant d'effectuer une recherche en largeur depuis un sommet, et de
+	 * renvoyer la distance (en nombre d'artes) entre ce sommet et le sommet le plus
+	 * loign de lui.
+	 * Le tableau distances doit valoir NON_ATTEINT pour chaque sommet, et est remis dans
+	 * cet tat  la fin de la recherche.
+	 * 
+	 * @param listes Listes d'adjacence du graphe.
+	 * @param depart Sommet duquel part la recherche en largeur.
+	 * @param distances Tableau des distances depuis le sommet de dpart.
+	 * @param file File des sommets atteints, dans l'ordre de leur dcouverte.
+	 * @param nbMaxAtteints Nombre de sommets de la composante du sommet de dpart, s'il
+	 * est connu, ou nombre de sommets du graphe.
+	 * @return Excentricit du sommet de dpart.
+	 */
+	static int rechercheEnLargeur (ListesAdjacence listes, int depart, int[] distances, int[] file, int nbMaxAtteints) {
+		int nbAtteints = parcourirEnLargeur(listes, depart, distances, file, nbMaxAtteints);
+		int excentricite = distances[file[nbAtteints-1]];
+		
+		effacerDistances(distances, file, nbAtteints);
+		
+		return excentricite;
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le graphe dont on calcule le diamtre.
+	 * 
+	 * @return Graphe dont on calcule le diamtre.
+	 */
+	public Graphe getG() {
+		return g;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la variante du calcul du diamtre utilise.
+	 * 
+	 * @return Variante du calcul (VARIANTE_TOUS_SOMMETS, VARIANTE_ARBRE, VARIANTE_IFUB ou
+	 * VARIANTE_AUTOMATIQUE).
+	 */
+	public int getVariante() {
+		return variante;
+	}
+	
+	
+	
+	// *****************
+	// *** MUTATEURS ***
+	// *****************
+	
+	/**
+	 * Mutateur permettant de changer le graphe dont on calcule le diamtre.
+	 * 
+	 * @param g Nouveau graphe dont on calcule le diamtre.
+	 */
+	public void setG(Graphe g) {
+		this.g = g;
+	}
+	
+	/**
+	 * Mutateur permettant de changer la variante du calcul du diamtre utilise.
+	 * 
+	 * @param variante Nouvelle variante du calcul (VARIANTE_TOUS_SOMMETS, VARIANTE_ARBRE,
+	 * VARIANTE_IFUB ou VARIANTE_AUTOMATIQUE).
+	 */
+	public void setVariante(int variante) {
+		this.variante = variante;
+	}
+	
+	
+	
+	// **************************
+	// *** TCHE DE RECHERCHE ***
+	// **************************
+	
+	/**
+	 * La classe TacheRecherches correspond au travail d'un thread : tant qu'il reste des
+	 * sommets de dpart non traits, elle en prend un et lance une recherche en largeur
+	 * depuis ce sommet, avec ses propres tableaux de travail.
+	 */
+	private static class TacheRecherches implements Callable<Integer> {
+		
+		private Graphe g;
+		private AtomicInteger prochainSommet;
+		private long nbRecherches;
+		
+		/**
+		 * Constructeur d'une tche partageant le compteur des sommets de dpart avec les
+		 * autres tches.
+		 * 
+		 * @param g Graphe parcouru.
+		 * @param prochainSommet Prochain sommet de dpart  traiter.
+		 */
+		TacheRecherches(Graphe g, AtomicInteger prochainSommet) {
+			this.g = g;
+			this.prochainSommet = prochainSommet;
+		}
+		
+		/**
+		 * Mthode lanant les recherches en largeur.
+		 * 
+		 * @return Plus grande excentricit des sommets de dpart traits par la tche.
+		 */
+		@Override
+		public Integer call() {
+			int nbSommets = g.getNbSommets();
+			Parcours parcours = new Parcours(g);
+			int diametre = 0;
+			int depart;
+			
+			while ((depart = prochainSommet.getAndIncrement()) < nbSommets)
+				diametre = Math.max(diametre, parcours.rechercher(depart, nbSommets));
+			nbRecherches = parcours.getNbRecherches();
+			
+			return diametre;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le nombre de recherches en largeur menes par
+		 * la tche, une fois celle-ci termine.
+		 * 
+		 * @return Nombre de recherches en largeur de la tche.
+		 */
+		long getNbRecherches() {
+			return nbRecherches;
+		}
+		
+	}
+	
+	
+	
+	// ****************************
+	// *** PARCOURS D'UN GRAPHE ***
+	// ****************************
+	
+	/**
+	 * La classe Parcours regroupe les tableaux de travail des recherches en largeur d'un
+	 * thread sur un graphe, et choisit la reprsentation du graphe sur laquelle elles se
+	 * font : sa matrice d'adjacence bit  bit s'il est dense, ses listes d'adjacence sinon.
+	 */
+	static class Parcours {
+		
+		private ListesAdjacence listes;
+		private MatriceAdjacence matrice;
+		private int[] distances;
+		private int[] file;
+		private long[] nonAtteints;
+		private long[] frontiere;
+		private long nbRecherches;
+		
+		/**
+		 * Constructeur des tableaux de travail des recherches en largeur sur un graphe.
+		 * 
+		 * @param g Graphe parcouru.
+		 */
+		Parcours(Graphe g) {
+			if (g.isDense()) {
+				this.matrice = g.getMatriceAdjacence();
+				this.nonAtteints = new long[matrice.getNbMots()];
+				this.frontiere = new long[matrice.getNbMots()];
+			} else
+				this.listes = g.getListesAdjacence();
+			this.distances = creerDistances(g.getNbSommets());
+			this.file = new int[g.getNbSommets()];
+		}
+		
+		/**
+		 * Mthode permettant d'effectuer une recherche en largeur depuis un sommet (voir la
+		 * mthode parcourirEnLargeur).
+		 * 
+		 * @param depart Sommet duquel part la recherche en largeur.
+		 * @param nbMaxAtteints Nombre de sommets de la composante du sommet de dpart, s'il
+		 * est connu, ou nombre de sommets du graphe.
+		 * @return Nombre de sommets atteints, sommet de dpart compris.
+		 */
+		int parcourir(int depart, int nbMaxAtteints) {
+			if (Mesures.ACTIVE)
+				nbRecherches++;
+			if (matrice != null)
+				return matrice.parcourirEnLargeur(depart, distances, file, nbMaxAtteints, nonAtteints, frontiere);
+			
+			return parcourirEnLargeur(listes, depart, distances, file, nbMaxAtteints);
+		}
+		
+		/**
+		 * Mthode permettant de calculer l'excentricit d'un sommet par une recherche en
+		 * largeur, en remettant ensuite les distances  NON_ATTEINT.
+		 * 
+		 * @param depart Sommet duquel part la recherche en largeur.
+		 * @param nbMaxAtteints Nombre de sommets de la composante du sommet de dpart, s'il
+		 * est connu, ou nombre de sommets du graphe.
+		 * @return Excentricit du sommet de dpart.
+		 */
+		int rechercher(int depart, int nbMaxAtteints) {
+			int nbAtteints = parcourir(depart, nbMaxAtteints);
+			int excentricite = distances[file[nbAtteints-1]];
+			
+			effacer(nbAtteints);
+			
+			return excentricite;
+		}
+		
+		/**
+		 * Mthode permettant de remettre  NON_ATTEINT la distance des sommets atteints par
+		 * la dernire recherche.
+		 * 
+		 * @param nbAtteints Nombre de sommets atteints par la dernire recherche.
+		 */
+		void effacer(int nbAtteints) {
+			effacerDistances(distances, file, nbAtteints);
+		}
+		
+		/**
+		 * Mthode permettant de rcuprer le degr d'un sommet dans la reprsentation
+		 * parcourue.
+		 * 
+		 * @param sommet Sommet.
+		 * @return Degr du sommet.
+		 */
+		int getDegre(int sommet) {
+			return (matrice != null) ? matrice.getDegre(sommet) : listes.getDegre(sommet);
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le tableau des distances de la dernire recherche.
+		 * 
+		 * @return Tableau des distances.
+		 */
+		int[] getDistances() {
+			return distances;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer la file de la dernire recherche.
+		 * 
+		 * @return File des sommets atteints.
+		 */
+		int[] getFile() {
+			return file;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le nombre de recherches en largeur menes avec
+		 * ces tableaux de travail (compt seulement si les mesures sont actives).
+		 * 
+		 * @return Nombre de recherches en largeur.
+		 */
+		long getNbRecherches() {
+			return nbRecherches;
+		}
+		
+	}
+	
+}
\ No newline at end of file
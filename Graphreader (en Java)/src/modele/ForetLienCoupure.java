@@ -0,0 +1,330 @@
+package modele;
+
+
+/**
+* La classe ForetLienCoupure correspond  une fort d'arbres dynamiques (link-cut trees de
+* Sleator et Tarjan) : on peut relier deux arbres par une arte, couper une arte, savoir si
+* deux noeuds sont dans le mme arbre et trouver le noeud de plus grande valeur sur le
+* chemin qui relie deux noeuds, chacune de ces oprations en O(log n) amorti.
+* Chaque arbre est dcoup en chemins prfrs, rangs chacun dans un arbre binaire
+* auto-ajustant (splay tree) ordonn selon la profondeur ; le chemin allant d'un noeud  la
+* racine de son arbre devient prfr  chaque accs. Chaque noeud de splay tree retient
+* le noeud de plus grande valeur de son sous-arbre, et un bit d'inversion permet de changer
+* la racine d'un arbre.
+* Tous les noeuds sont stocks dans des tableaux d'entiers allous une fois pour toutes, et
+* aucune opration ne cre d'objet.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class ForetLienCoupure {
+	
+	public final static int AUCUN = -1;
+	
+	private int[] gauche;
+	private int[] droite;
+	private int[] parent;
+	private boolean[] inverse;
+	private int[] valeur;
+	private int[] maximum;
+	private int[] pile;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'une fort de nbNoeuds noeuds isols, de valeur Integer.MIN_VALUE.
+	 * 
+	 * @param nbNoeuds Nombre de noeuds de la fort.
+	 */
+	public ForetLienCoupure(int nbNoeuds) {
+		this.gauche = new int[nbNoeuds];
+		this.droite = new int[nbNoeuds];
+		this.parent = new int[nbNoeuds];
+		this.inverse = new boolean[nbNoeuds];
+		this.valeur = new int[nbNoeuds];
+		this.maximum = new int[nbNoeuds];
+		this.pile = new int[nbNoeuds];
+		
+		for (int x=0 ; x<nbNoeuds ; x++) {
+			gauche[x] = AUCUN;
+			droite[x] = AUCUN;
+			parent[x] = AUCUN;
+			valeur[x] = Integer.MIN_VALUE;
+			maximum[x] = x;
+		}
+	}
+	
+	
+	
+	// *******************************
+	// *** OPRATIONS SUR LA FORT ***
+	// *******************************
+	
+	/**
+	 * Mthode permettant de relier deux noeuds de deux arbres diffrents.
+	 * 
+	 * @param x Premier noeud.
+	 * @param y Second noeud, qui ne doit pas tre dans l'arbre de x.
+	 */
+	public void relier(int x, int y) {
+		rendreRacine(x);
+		parent[x] = y;
+	}
+	
+	/**
+	 * Mthode permettant de couper l'arte reliant deux noeuds voisins.
+	 * 
+	 * @param x Premier noeud.
+	 * @param y Second noeud, qui doit tre voisin de x.
+	 */
+	public void couper(int x, int y) {
+		rendreRacine(x);
+		acceder(y);
+		// Le chemin de x  y ne contient qu'eux : x est le fils gauche de y, sans fils droit.
+		gauche[y] = AUCUN;
+		parent[x] = AUCUN;
+		mettreAJour(y);
+	}
+	
+	/**
+	 * Mthode permettant de savoir si deux noeuds sont dans le mme arbre.
+	 * 
+	 * @param x Premier noeud.
+	 * @param y Second noeud.
+	 * @return Vrai si x et y sont dans le mme arbre.
+	 */
+	public boolean isMemeArbre(int x, int y) {
+		return (x == y) || (trouverRacine(x) == trouverRacine(y));
+	}
+	
+	/**
+	 * Mthode permettant de trouver le noeud de plus grande valeur sur le chemin reliant
+	 * deux noeuds d'un mme arbre (extrmits comprises).
+	 * 
+	 * @param x Premier noeud.
+	 * @param y Second noeud, qui doit tre dans l'arbre de x.
+	 * @return Noeud de plus grande valeur du chemin.
+	 */
+	public int getMaximumChemin(int x, int y) {
+		rendreRacine(x);
+		acceder(y);
+		
+		return maximum[y];
+	}
+	
+	/**
+	 * Mthode permettant de trouver la racine de l'arbre d'un noeud (le noeud de plus
+	 * petite profondeur, qui dpend des appels prcdents  rendreRacine).
+	 * 
+	 * @param x Noeud de l'arbre.
+	 * @return Racine de l'arbre de x.
+	 */
+	public int trouverRacine(int x) {
+		acceder(x);
+		pousser(x);
+		while (gauche[x] != AUCUN) {
+			x = gauche[x];
+			pousser(x);
+		}
+		splay(x);
+		
+		return x;
+	}
+	
+	/**
+	 * Mthode permettant de faire d'un noeud la racine de son arbre, en inversant le
+	 * chemin qui le relie  l'ancienne racine.
+	 * 
+	 * @param x Nouvelle racine.
+	 */
+	public void rendreRacine(int x) {
+		acceder(x);
+		inverse[x] = !inverse[x];
+	}
+	
+	/**
+	 * Mthode permettant de rendre prfr le chemin reliant un noeud  la racine de son
+	 * arbre :  la fin de l'accs, ce chemin forme un seul splay tree, dont x est la racine
+	 * et le noeud le plus profond.
+	 * 
+	 * @param x Noeud accd.
+	 */
+	private void acceder(int x) {
+		int precedent = AUCUN;
+		
+		for (int z=x ; z!=AUCUN ; z=parent[z]) {
+			splay(z);
+			droite[z] = precedent;
+			mettreAJour(z);
+			precedent = z;
+		}
+		splay(x);
+	}
+	
+	
+	
+	// **********************************
+	// *** OPRATIONS DES SPLAY TREES ***
+	// **********************************
+	
+	/**
+	 * Mthode permettant de savoir si un noeud est la racine de son splay tree, c'est--dire
+	 * s'il n'est le fils d'aucun noeud (son parent ventuel est alors celui du chemin).
+	 * 
+	 * @param x Noeud.
+	 * @return Vrai si x est la racine de son splay tree.
+	 */
+	private boolean isRacineSplay(int x) {
+		int p = parent[x];
+		
+		return (p == AUCUN) || ((gauche[p] != x) && (droite[p] != x));
+	}
+	
+	/**
+	 * Mthode permettant de remonter un noeud  la racine de son splay tree par rotations.
+	 * Les inversions en attente sur le chemin sont d'abord appliques, de haut en bas.
+	 * 
+	 * @param x Noeud  remonter.
+	 */
+	private void splay(int x) {
+		int taille = 0;
+		int p;
+		int gp;
+		
+		pile[taille++] = x;
+		for (int y=x ; !isRacineSplay(y) ; y=parent[y])
+			pile[taille++] = parent[y];
+		while (taille > 0)
+			pousser(pile[--taille]);
+		
+		while (!isRacineSplay(x)) {
+			p = parent[x];
+			if (!isRacineSplay(p)) {
+				gp = parent[p];
+				// Zig-zig si x et p sont du mme ct, zig-zag sinon.
+				if ((gauche[gp] == p) == (gauche[p] == x))
+					tourner(p);
+				else
+					tourner(x);
+			}
+			tourner(x);
+		}
+	}
+	
+	/**
+	 * Mthode permettant de faire tourner un noeud avec son parent dans son splay tree.
+	 * 
+	 * @param x Noeud remont d'un niveau.
+	 */
+	private void tourner(int x) {
+		int p = parent[x];
+		int gp = parent[p];
+		
+		if (!isRacineSplay(p)) {
+			if (gauche[gp] == p)
+				gauche[gp] = x;
+			else
+				droite[gp] = x;
+		}
+		parent[x] = gp;
+		
+		if (gauche[p] == x) {
+			gauche[p] = droite[x];
+			if (droite[x] != AUCUN)
+				parent[droite[x]] = p;
+			droite[x] = p;
+		} else {
+			droite[p] = gauche[x];
+			if (gauche[x] != AUCUN)
+				parent[gauche[x]] = p;
+			gauche[x] = p;
+		}
+		parent[p] = x;
+		
+		mettreAJour(p);
+		mettreAJour(x);
+	}
+	
+	/**
+	 * Mthode permettant d'appliquer l'inversion en attente d'un noeud : ses deux fils sont
+	 * changs et l'inversion est transmise  chacun d'eux.
+	 * 
+	 * @param x Noeud.
+	 */
+	private void pousser(int x) {
+		int fils;
+		
+		if (inverse[x]) {
+			fils = gauche[x];
+			gauche[x] = droite[x];
+			droite[x] = fils;
+			if (gauche[x] != AUCUN)
+				inverse[gauche[x]] = !inverse[gauche[x]];
+			if (droite[x] != AUCUN)
+				inverse[droite[x]] = !inverse[droite[x]];
+			inverse[x] = false;
+		}
+	}
+	
+	/**
+	 * Mthode permettant de recalculer le noeud de plus grande valeur du sous-arbre d'un
+	 * noeud  partir de ceux de ses fils.
+	 * 
+	 * @param x Noeud.
+	 */
+	private void mettreAJour(int x) {
+		maximum[x] = x;
+		if ((gauche[x] != AUCUN) && (valeur[maximum[gauche[x]]] > valeur[maximum[x]]))
+			maximum[x] = maximum[gauche[x]];
+		if ((droite[x] != AUCUN) && (valeur[maximum[droite[x]]] > valeur[maximum[x]]))
+			maximum[x] = maximum[droite[x]];
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de noeuds de la fort.
+	 * 
+	 * @return Nombre de noeuds de la fort.
+	 */
+	public int getNbNoeuds() {
+		return valeur.length;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la valeur d'un noeud.
+	 * 
+	 * @param x Noeud.
+	 * @return Valeur du noeud.
+	 */
+	public int getValeur(int x) {
+		return valeur[x];
+	}
+	
+	
+	
+	// *****************
+	// *** MUTATEURS ***
+	// *****************
+	
+	/**
+	 * Mutateur permettant de changer la valeur d'un noeud.
+	 * 
+	 * @param x Noeud.
+	 * @param valeur Nouvelle valeur du noeud.
+	 */
+	public void setValeur(int x, int valeur) {
+		acceder(x);
+		this.valeur[x] = valeur;
+		mettreAJour(x);
+	}
+	
+}
\ No newline at end of file
@@ -1,26 +1,44 @@
 package modele;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Queue;
+
+import mesure.Mesures;
+import rapport.Rapport;
+import rapport.RapportTexte;
+import rapport.TamponSortie;
 
 
 /**
 * La classe Graphe correspond  un graphe, compose  la fois d'un nombre de sommets,
-* d'un nombre d'artes, d'une liste de sommets, d'une liste d'artes et d'une matrice
+* d'un nombre d'artes, d'une liste de sommets, d'une liste d'artes et de listes
 * d'adjacence.
 *
+* Un graphe n'est plus modifi une fois construit : les algorithmes qui le parcourent
+* rangent leur tat dans leurs propres tableaux, et les reprsentations cres  la
+* demande (listes de sommets et d'artes, tableau d'artes, listes d'adjacence, matrice
+* d'adjacence, index des artes) le sont une seule fois, sous verrou, puis publies par
+* des attributs volatiles. Le diamtre et le fait d'tre une fort sont calculs sans
+* verrou : deux threads peuvent faire le mme calcul en mme temps, sans effet de bord,
+* et publier le mme rsultat.
+* Plusieurs threads peuvent donc utiliser le mme graphe en mme temps,  condition de
+* ne pas modifier les listes renvoyes par getSommets et getAretes.
+*
 * @author Florent LUCET et Marie-Florence REVENEAU
 * @version 1.0
 */
 public class Graphe {
 	
-	static final int NB_SOMMETS_MAX_MATRICE = 1000;
-	private int nbSommets;
-	private int nbAretes;
-	private ArrayList<Sommet> sommets = new ArrayList<Sommet>();
-	private ArrayList<Arete> aretes = new ArrayList<Arete>();
-	private boolean[][] matriceAdjacence = new boolean[NB_SOMMETS_MAX_MATRICE][NB_SOMMETS_MAX_MATRICE];
+	private final int nbSommets;
+	private final int nbAretes;
+	private volatile ArrayList<Sommet> sommets = new ArrayList<Sommet>();
+	private volatile ArrayList<Arete> aretes = new ArrayList<Arete>();
+	private volatile TableauAretes tableauAretes;
+	private volatile ListesAdjacence listesAdjacence;
+	private volatile MatriceAdjacence matriceAdjacence;
+	private volatile IndexAretes indexAretes;
+	private volatile Boolean foret; // null tant que l'on ne sait pas si le graphe est une fort.
+	private volatile Integer diametre; // null tant que le diamtre n'a pas t calcul.
 	
 	
 	
@@ -42,7 +60,44 @@ public class Graphe {
 		this.nbAretes = nbAretes;
 		this.sommets = sommets;
 		this.aretes = aretes;
-		this.matriceAdjacence = this.construireMatriceAdjacence();
+		this.listesAdjacence = this.construireListesAdjacence();
+	}
+	
+	/**
+	 * Constructeur  partir d'une liste d'artes stocke sous forme de tableaux
+	 * d'entiers, telle que produite par la lecture d'un fichier.
+	 * Les listes de sommets et d'artes (objets Sommet et Arete) et les listes
+	 * d'adjacence ne sont cres qu'au premier appel de getSommets, getAretes et
+	 * getListesAdjacence.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param tableauAretes Liste des artes du graphe.
+	 */
+	public Graphe(int nbSommets, TableauAretes tableauAretes) {
+		this.nbSommets = nbSommets;
+		this.nbAretes = tableauAretes.getNbAretes();
+		this.sommets = null;
+		this.aretes = null;
+		this.tableauAretes = tableauAretes;
+		this.listesAdjacence = null;
+	}
+	
+	/**
+	 * Constructeur  partir d'une liste d'artes et de listes d'adjacence dj
+	 * construites, par exemple projetes en mmoire depuis un fichier binaire.
+	 * Aucune copie n'est faite : le graphe utilise directement les tampons fournis.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param tableauAretes Liste des artes du graphe.
+	 * @param listesAdjacence Listes d'adjacence correspondant  tableauAretes.
+	 */
+	public Graphe(int nbSommets, TableauAretes tableauAretes, ListesAdjacence listesAdjacence) {
+		this.nbSommets = nbSommets;
+		this.nbAretes = tableauAretes.getNbAretes();
+		this.sommets = null;
+		this.aretes = null;
+		this.tableauAretes = tableauAretes;
+		this.listesAdjacence = listesAdjacence;
 	}
 	
 	/**
@@ -53,13 +108,17 @@ public class Graphe {
 	 */
 	public Graphe(int nbSommets, ArrayList<Sommet> sommets) {
 		this.nbSommets = nbSommets;
+		this.nbAretes = 0;
 		this.sommets = sommets;
 	}
 	
 	/**
 	 * Constructeur sans attribut (par dfaut) de la classe Graphe.
 	 */
-	public Graphe() {}
+	public Graphe() {
+		this.nbSommets = 0;
+		this.nbAretes = 0;
+	}
 	
 	
 	
@@ -68,26 +127,63 @@ public class Graphe {
 	// ***************************************************
 	
 	/**
-	 * Mthode permettant de construire la matrice d'adjacence du graphe  partir de
+	 * Mthode permettant de construire les listes d'adjacence du graphe  partir de
 	 * ses artes.
 	 * 
-	 * @return Matrice d'adjacence du graphe.
+	 * @return Listes d'adjacence du graphe.
 	 */
-	public boolean[][] construireMatriceAdjacence() {
-		boolean[][] matriceAdjacence = new boolean[NB_SOMMETS_MAX_MATRICE][NB_SOMMETS_MAX_MATRICE];
+	public ListesAdjacence construireListesAdjacence() {
+		long debut = Mesures.ACTIVE ? Mesures.getInstant() : 0;
+		long memoire = Mesures.ACTIVE ? Mesures.getMemoireAllouee() : 0;
+		ListesAdjacence listes = new ListesAdjacence(this.getNbSommets(), this.getTableauAretes());
 		
-		for(int i=0 ; i<this.getNbSommets() ; i++) {
-			for (int j=0 ; j<this.getNbSommets(); j++) {
-				matriceAdjacence[j][i] = false;
-			}
-		}
+		if (Mesures.ACTIVE)
+			Mesures.terminerPhase(Mesures.PHASE_LISTES_ADJACENCE, debut, memoire);
+		
+		return listes;
+	}
+	
+	/**
+	 * Mthode permettant de construire le graphe partiel form de tous les sommets du
+	 * graphe et d'une partie de ses artes, par exemple celles d'un arbre couvrant.
+	 * 
+	 * @param numerosAretes Numros des artes conserves (dans getTableauAretes).
+	 * @param nbAretesConservees Nombre d'artes conserves, lues au dbut de numerosAretes.
+	 * @return Graphe partiel form des artes conserves.
+	 */
+	public Graphe construireGraphePartiel(int[] numerosAretes, int nbAretesConservees) {
+		TableauAretes tableauAretes = this.getTableauAretes();
+		int[] premiersSommets = new int[nbAretesConservees];
+		int[] secondsSommets = new int[nbAretesConservees];
+		int[] poids = new int[nbAretesConservees];
 		
-		for (Arete a : this.getAretes()) {
-			matriceAdjacence[a.getPremierSommet().getValeur()][a.getSecondSommet().getValeur()] = true;
-			matriceAdjacence[a.getSecondSommet().getValeur()][a.getPremierSommet().getValeur()] = true;
+		for (int i=0 ; i<nbAretesConservees ; i++) {
+			premiersSommets[i] = tableauAretes.getPremierSommet(numerosAretes[i]);
+			secondsSommets[i] = tableauAretes.getSecondSommet(numerosAretes[i]);
+			poids[i] = tableauAretes.getPoids(numerosAretes[i]);
 		}
 		
-		return matriceAdjacence;
+		return new Graphe(this.getNbSommets(), new TableauAretes(premiersSommets, secondsSommets, poids));
+	}
+	
+	/**
+	 * Mthode permettant de construire la fort couvrante forme de tous les sommets du
+	 * graphe et d'une partie de ses artes, telle que renvoye par les algorithmes de
+	 * Prim, de Kruskal et de Boruvka.
+	 * Le graphe obtenu est marqu comme fort, ce qui permet notamment de calculer son
+	 * diamtre en temps linaire.
+	 * 
+	 * @param numerosAretes Numros des artes de la fort (dans getTableauAretes), qui ne
+	 * doivent former aucun cycle.
+	 * @param nbAretesConservees Nombre d'artes de la fort, lues au dbut de numerosAretes.
+	 * @return Fort couvrante forme des artes conserves.
+	 */
+	public Graphe construireForetCouvrante(int[] numerosAretes, int nbAretesConservees) {
+		Graphe foretCouvrante = this.construireGraphePartiel(numerosAretes, nbAretesConservees);
+		
+		foretCouvrante.foret = Boolean.TRUE;
+		
+		return foretCouvrante;
 	}
 	
 	/**
@@ -98,12 +194,11 @@ public class Graphe {
 	 * @return Liste d'artes contenant les artes adjacentes au sommet s.
 	 */
 	public ArrayList<Arete> aretesAdjacentes (Sommet s) {
-		ArrayList<Arete> aretesAdjacentes = new ArrayList<Arete>();
+		ListesAdjacence listes = this.getListesAdjacence();
+		ArrayList<Arete> aretesAdjacentes = new ArrayList<Arete>(listes.getDegre(s.getValeur()));
 		
-		for (int i=0 ; i<this.getNbSommets() ; i++) {
-			if (this.getMatriceAdjacence()[s.getValeur()][i] == true)
-				aretesAdjacentes.add(this.getArete(s.getValeur(), i));
-		}
+		for (int i=listes.getDebut(s.getValeur()) ; i<listes.getFin(s.getValeur()) ; i++)
+			aretesAdjacentes.add(this.getAretes().get(listes.getArete(i)));
 		
 		return aretesAdjacentes;
 	}
@@ -116,12 +211,11 @@ public class Graphe {
 	 * @return Liste de sommets contenant les sommets adjacents au sommet s.
 	 */
 	public ArrayList<Sommet> sommetsAdjacents (Sommet s) {
-		ArrayList<Sommet> sommetsAdjacents = new ArrayList<Sommet>();
+		ListesAdjacence listes = this.getListesAdjacence();
+		ArrayList<Sommet> sommetsAdjacents = new ArrayList<Sommet>(listes.getDegre(s.getValeur()));
 		
-		for (int i=0 ; i<this.getNbSommets() ; i++) {
-			if (this.getMatriceAdjacence()[s.getValeur()][i] == true)
-				sommetsAdjacents.add(this.getSommets().get(i));
-		}
+		for (int i=listes.getDebut(s.getValeur()) ; i<listes.getFin(s.getValeur()) ; i++)
+			sommetsAdjacents.add(this.getSommets().get(listes.getVoisin(i)));
 		
 		return sommetsAdjacents;
 	}
@@ -153,40 +247,23 @@ public class Graphe {
 	 * Mthode permettant d'effectuant une recherche en largeur en vue de trouver le
 	 * nombre d'artes entre un sommet mis en paramtre et le sommet le plus loign
 	 * de ce dernier, en passant par le plus court chemin.
-	 * Est utilis pour trouver le diamtre du graphe.
+	 * Les distances sont ranges dans un tableau propre  chaque appel : plusieurs
+	 * recherches peuvent tre menes en mme temps sur le mme graphe.
+	 * Sur un graphe dense, la recherche se fait sur la matrice d'adjacence (voir la
+	 * classe MatriceAdjacence).
 	 * 
 	 * @param sommetDepart Sommet duquel part la recherche en largeur.
 	 * @return Le nombre d'artes entre le sommet sommetDepart et le sommet le plus
 	 * loign de ce dernier, en passant par le plus court chemin.
 	 */
 	public int rechercheEnLargeur (Sommet sommetDepart) {
-		Queue<Sommet> sommetsParcourus = new LinkedList<Sommet>();
-		Sommet sommet = new Sommet();
-		int valeurMaxSommet = 0;
+		Diametre.Parcours parcours = new Diametre.Parcours(this);
+		int excentricite = parcours.rechercher(sommetDepart.getValeur(), this.getNbSommets());
 		
-		for (Sommet s : this.getSommets()) {
-			s.setMarque(false);
-			s.setVague(0);
-		}
+		if (Mesures.ACTIVE)
+			Mesures.ajouter(Mesures.COMPTEUR_RECHERCHES_EN_LARGEUR, parcours.getNbRecherches());
 		
-		sommetDepart.setMarque(true);
-		sommetDepart.setVague(0);
-		sommetsParcourus.add(sommetDepart);
-		
-		while (!sommetsParcourus.isEmpty()) {
-			sommet = sommetsParcourus.poll();
-			for (Sommet s : this.sommetsAdjacents(sommet)) {
-				if (s.isMarque() == false) {
-					s.setMarque(true);
-					s.setVague(sommet.getVague()+1);
-					sommetsParcourus.add(s);
-					if (valeurMaxSommet < s.getVague())
-						valeurMaxSommet = s.getVague();
-				}
-			}
-		}
-		
-		return valeurMaxSommet;
+		return excentricite;
 	}
 	
 	
@@ -215,189 +292,258 @@ public class Graphe {
 	
 	/**
 	 * Accesseur permettant de rcuprer la liste des sommets du graphe.
+	 * La liste est cre au premier appel si le graphe a t construit  partir d'un
+	 * tableau d'artes.
 	 * 
 	 * @return Liste des sommets du graphe.
 	 */
 	public ArrayList<Sommet> getSommets() {
+		if (sommets == null) {
+			synchronized (this) {
+				if (sommets == null) {
+					ArrayList<Sommet> listeSommets = new ArrayList<Sommet>(this.getNbSommets());
+					for (int i=0 ; i<this.getNbSommets() ; i++)
+						listeSommets.add(new Sommet(i));
+					sommets = listeSommets;
+				}
+			}
+		}
+		
 		return sommets;
 	}
 	
 	/**
 	 * Accesseur permettant de rcuprer la liste des artes du graphe.
+	 * La liste est cre au premier appel si le graphe a t construit  partir d'un
+	 * tableau d'artes.
 	 * 
 	 * @return Liste des artes du graphe.
 	 */
 	public ArrayList<Arete> getAretes() {
+		if (aretes == null) {
+			synchronized (this) {
+				if (aretes == null) {
+					ArrayList<Sommet> listeSommets = this.getSommets();
+					ArrayList<Arete> listeAretes = new ArrayList<Arete>(tableauAretes.getNbAretes());
+					for (int i=0 ; i<tableauAretes.getNbAretes() ; i++)
+						listeAretes.add(new Arete(listeSommets.get(tableauAretes.getPremierSommet(i)), listeSommets.get(tableauAretes.getSecondSommet(i)), tableauAretes.getPoids(i)));
+					aretes = listeAretes;
+				}
+			}
+		}
+		
 		return aretes;
 	}
 	
 	/**
-	 * Accesseur permettant de rcuprer l'adresse de la matrice d'adjacence du
-	 * graphe.
+	 * Accesseur permettant de rcuprer la liste des artes du graphe sous forme de
+	 * tableaux d'entiers.
+	 * Le tableau est cr au premier appel si le graphe a t construit  partir
+	 * d'une liste d'objets Arete.
 	 * 
-	 * @return Matrice d'adjacence du graphe.
+	 * @return Tableau des artes du graphe.
 	 */
-	public boolean[][] getMatriceAdjacence() {
-		return matriceAdjacence;
+	public TableauAretes getTableauAretes() {
+		if (tableauAretes == null) {
+			synchronized (this) {
+				if (tableauAretes == null) {
+					int[] premiersSommets = new int[aretes.size()];
+					int[] secondsSommets = new int[aretes.size()];
+					int[] poids = new int[aretes.size()];
+					Arete a;
+					
+					for (int i=0 ; i<aretes.size() ; i++) {
+						a = aretes.get(i);
+						premiersSommets[i] = a.getPremierSommet().getValeur();
+						secondsSommets[i] = a.getSecondSommet().getValeur();
+						poids[i] = a.getPoids();
+					}
+					tableauAretes = new TableauAretes(premiersSommets, secondsSommets, poids);
+				}
+			}
+		}
+		
+		return tableauAretes;
 	}
 	
 	/**
-	 * Accesseur permettant de rcuprer une arte du graphe  partir de la valeur
-	 * de ses deux sommets.
+	 * Accesseur permettant de rcuprer les listes d'adjacence du graphe.
+	 * Les listes sont construites au premier appel si elles ne l'ont pas dj t.
 	 * 
-	 * @param valeurPremierSommet Valeur du premier sommet de l'arte.
-	 * @param valeurSecondSommet Valeur du second sommet de l'arte.
-	 * @return Arte dont les deux sommets ont pour valeurs respectives
-	 * valeurPremierSommet et valeurSecondSommet.
+	 * @return Listes d'adjacence du graphe.
 	 */
-	public Arete getArete(int valeurPremierSommet, int valeurSecondSommet) {
-		for (Arete a : this.getAretes()) {
-			if ((a.getPremierSommet().getValeur() == valeurPremierSommet) && (a.getSecondSommet().getValeur() == valeurSecondSommet)) {
-				return a;
-			} else if ((a.getPremierSommet().getValeur() == valeurSecondSommet) && (a.getSecondSommet().getValeur() == valeurPremierSommet)) {
-				return a;
+	public ListesAdjacence getListesAdjacence() {
+		if (listesAdjacence == null) {
+			synchronized (this) {
+				if (listesAdjacence == null)
+					listesAdjacence = this.construireListesAdjacence();
 			}
 		}
 		
-		return null;
+		return listesAdjacence;
 	}
 	
 	/**
-	 * Accesseur permettant de rcuprer le diamtre du graphe  partir d'une
-	 * recherche en largeur adapte.
+	 * Accesseur permettant de rcuprer la matrice d'adjacence bit  bit du graphe.
+	 * La matrice est construite au premier appel, en O(V/64 + E).
 	 * 
-	 * @return Diamtre du graphe.
+	 * @return Matrice d'adjacence du graphe.
 	 */
-	public int getDiametre () {
-		int valeurMax = 0;
-		int valeurRecherche = 0;
-		
-		for (Sommet s : this.getSommets()) {
-			valeurRecherche = rechercheEnLargeur(s);
-			if (valeurMax < valeurRecherche)
-				valeurMax = valeurRecherche;
+	public MatriceAdjacence getMatriceAdjacence() {
+		if (matriceAdjacence == null) {
+			synchronized (this) {
+				if (matriceAdjacence == null)
+					matriceAdjacence = new MatriceAdjacence(this.getNbSommets(), this.getTableauAretes());
+			}
 		}
 		
-		return valeurMax;
+		return matriceAdjacence;
 	}
 	
 	/**
-	 * Accesseur permettant de rcuprer le poids total des artes du graphe.
+	 * Mthode permettant de savoir si les parcours du graphe doivent utiliser sa matrice
+	 * d'adjacence plutt que ses listes d'adjacence, c'est--dire si le graphe est dense
+	 * (voir la mthode isAdaptee de la classe MatriceAdjacence).
 	 * 
-	 * @return Poids total des artes du graphe.
+	 * @return Vrai si la matrice d'adjacence convient au graphe.
 	 */
-	public int getPoidsTotal() {
-		int poidsTotal = 0;
-		
-		for (Arete a : this.getAretes())
-			poidsTotal += a.getPoids();
-		
-		return poidsTotal;
+	public boolean isDense() {
+		return MatriceAdjacence.isAdaptee(this.getNbSommets(), this.getNbAretes());
 	}
 	
-	
-	// *****************
-	// *** MUTATEURS ***
-	// *****************
-	
 	/**
-	 * Mutateur permettant de changer le nombre d'artes du graphe.
+	 * Accesseur permettant de rcuprer l'index des artes du graphe selon leurs deux
+	 * sommets.
+	 * L'index est construit au premier appel, en O(E).
 	 * 
-	 * @param nbAretes Nouveau nombre d'artes du graphe.
+	 * @return Index des artes du graphe.
+	 * @throws IllegalArgumentException Si le graphe a plus de IndexAretes.NB_ARETES_MAX
+	 * artes.
 	 */
-	public void setNbAretes(int nbAretes) {
-		this.nbAretes = nbAretes;
+	public IndexAretes getIndexAretes() {
+		if (indexAretes == null) {
+			synchronized (this) {
+				if (indexAretes == null)
+					indexAretes = new IndexAretes(this.getTableauAretes());
+			}
+		}
+		
+		return indexAretes;
 	}
 	
 	/**
-	 * Mutateur permettant de changer le nombre de sommets du graphe.
+	 * Accesseur permettant de rcuprer une arte du graphe  partir de la valeur
+	 * de ses deux sommets, en temps constant grce  l'index des artes.
+	 * Au-del de IndexAretes.NB_ARETES_MAX artes, l'index ne peut pas tre construit :
+	 * les artes sont alors parcourues une  une, en O(E).
 	 * 
-	 * @param nbSommets Nouveau nombre de sommets du graphe.
+	 * @param valeurPremierSommet Valeur du premier sommet de l'arte.
+	 * @param valeurSecondSommet Valeur du second sommet de l'arte.
+	 * @return Arte dont les deux sommets ont pour valeurs respectives
+	 * valeurPremierSommet et valeurSecondSommet.
 	 */
-	public void setNbSommets(int nbSommets) {
-		this.nbSommets = nbSommets;
+	public Arete getArete(int valeurPremierSommet, int valeurSecondSommet) {
+		TableauAretes tableauAretes = this.getTableauAretes();
+		int numeroArete = IndexAretes.ABSENTE;
+		
+		if (tableauAretes.getNbAretes() <= IndexAretes.NB_ARETES_MAX)
+			numeroArete = this.getIndexAretes().getNumeroArete(valeurPremierSommet, valeurSecondSommet);
+		else {
+			for (int i=0 ; (i<tableauAretes.getNbAretes()) && (numeroArete == IndexAretes.ABSENTE) ; i++) {
+				if (((tableauAretes.getPremierSommet(i) == valeurPremierSommet) && (tableauAretes.getSecondSommet(i) == valeurSecondSommet))
+						|| ((tableauAretes.getPremierSommet(i) == valeurSecondSommet) && (tableauAretes.getSecondSommet(i) == valeurPremierSommet)))
+					numeroArete = i;
+			}
+		}
+		
+		if (numeroArete == IndexAretes.ABSENTE)
+			return null;
+		
+		return this.getAretes().get(numeroArete);
 	}
 	
 	/**
-	 * Mutateur permettant de changer la liste des sommets du graphe.
+	 * Accesseur permettant de rcuprer le diamtre du graphe  partir de recherches
+	 * en largeur, dont le nombre dpend de la forme du graphe (voir la classe Diametre).
+	 * Le graphe n'tant plus modifi une fois construit, le diamtre n'est calcul qu'au
+	 * premier appel : il peut ainsi tre calcul dans un thread et crit dans un autre.
 	 * 
-	 * @param sommets Nouvelle liste des sommets du graphe.
+	 * @return Diamtre du graphe.
 	 */
-	public void setSommets(ArrayList<Sommet> sommets) {
-		this.sommets = sommets;
+	public int getDiametre () {
+		if (diametre == null)
+			diametre = new Diametre(this).calculerDiametre();
+		
+		return diametre;
 	}
 	
 	/**
-	 * Mutateur permettant de changer la liste des artes du graphe.
+	 * Accesseur permettant de rcuprer le poids total des artes du graphe.
+	 * La somme est faite sur un long, pour ne pas dborder sur les grands graphes.
 	 * 
-	 * @param aretes Nouvelle liste des artes du graphe.
+	 * @return Poids total des artes du graphe.
 	 */
-	public void setAretes(ArrayList<Arete> aretes) {
-		this.aretes = aretes;
+	public long getPoidsTotal() {
+		TableauAretes tableauAretes = this.getTableauAretes();
+		long poidsTotal = 0;
+		
+		for (int i=0 ; i<tableauAretes.getNbAretes() ; i++)
+			poidsTotal += tableauAretes.getPoids(i);
+		
+		return poidsTotal;
 	}
 	
 	/**
-	 * Mutateur permettant de changer la matrice d'adjacence du graphe.
+	 * Accesseur permettant de savoir si le graphe est une fort, c'est--dire s'il ne
+	 * contient aucun cycle (ni boucle, ni arte multiple).
+	 * Si le graphe n'a pas t construit par construireForetCouvrante, la rponse est
+	 * calcule au premier appel en ajoutant les artes une  une dans une structure
+	 * Union-Find, en O(E).
 	 * 
-	 * @param matriceAdjacence Nouvelle matrice d'adjacence du graphe.
+	 * @return Vrai si le graphe est une fort.
 	 */
-	public void setMatriceAdjacence(boolean[][] matriceAdjacence) {
-		this.matriceAdjacence = matriceAdjacence;
+	public boolean isForet() {
+		if (foret == null) {
+			TableauAretes tableauAretes = this.getTableauAretes();
+			UnionFind unionFind;
+			boolean acyclique = (tableauAretes.getNbAretes() < Math.max(this.getNbSommets(), 1));
+			
+			// Une fort a au plus nbSommets-1 artes : inutile de chercher un cycle au-del.
+			// Le calcul, sans effet de bord, peut tre fait par plusieurs threads  la fois.
+			if (acyclique) {
+				unionFind = new UnionFind(this.getNbSommets());
+				for (int i=0 ; (i<tableauAretes.getNbAretes()) && acyclique ; i++)
+					acyclique = unionFind.union(tableauAretes.getPremierSommet(i), tableauAretes.getSecondSommet(i));
+			}
+			foret = acyclique;
+		}
+		
+		return foret;
 	}
 	
 	
 	
-	// ***************************
-	// *** MTHODE D'AFFICHAGE ***
-	// ***************************
+	// ****************************
+	// *** MTHODES D'AFFICHAGE ***
+	// ****************************
 	
 	/**
 	 * Mthode permettant d'afficher les diffrentes caractristiques du graphe.
+	 * Le texte est crit par un rapport dtaill (voir la classe RapportTexte),  travers
+	 * un tampon vid une seule fois dans System.out.
 	 * 
 	 * @param typeGraphe Type du graphe (origine, ACM de Prim, ACM de Kruskal).
 	 */
 	public void afficherInformationsGraphe (int typeGraphe) {
-		// Dbut de l'affichage des informations du graphe.
-		if (typeGraphe == 0) {
-			System.out.println("************************");
-			System.out.println("*** GRAPHE D'ORIGINE ***");
-			System.out.println("************************");
-			
-			System.out.println("");
-			System.out.println("Le graphe d'origine possde pour...");
-		} else {
-			System.out.println("");
-			System.out.println("");
-			
-			if (typeGraphe == 1) {
-				System.out.println("**************************");
-				System.out.println("*** ALGORITHME DE PRIM ***");
-				System.out.println("**************************");
-			} else {
-				System.out.println("*****************************");
-				System.out.println("*** ALGORITHME DE KRUSKAL ***");
-				System.out.println("*****************************");
-			}
-			
-			System.out.println("");
-			System.out.println("L'art couvrant minimal possde pour...");
-		}
-		
-		// Affichage du nombre de sommets du graphe.
-		System.out.println("- Nombre de sommets : " + this.getNbSommets() + ".");
-		
-		// Affichage du nombre d'artes du graphe.
-		System.out.println("- Nombre d'artes : " + this.getNbAretes() + ".");
+		TamponSortie sortie = TamponSortie.creerPourConsole();
+		Rapport rapport = new RapportTexte(sortie, true);
 		
-		// Affichage des artes du graphe.
-		for (Arete a : this.getAretes())
-			System.out.println("- Premier sommet : " + a.getPremierSommet().getValeur() + " ; Second sommet : " + a.getSecondSommet().getValeur() + " ; Poids : " + a.getPoids() + ".");
-		
-		// Affichage du diamtre du graphe.
-		System.out.println("- Diamtre : " + this.getDiametre() + ".");
-		
-		// Affichage du cot du graphe.
-		System.out.println("- Cot : " + this.getPoidsTotal() + ".");
+		try {
+			rapport.ecrireGraphe(this, typeGraphe);
+			rapport.terminer();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
 	}
 	
 }
\ No newline at end of file
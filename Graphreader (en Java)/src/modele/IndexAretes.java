@@ -0,0 +1,138 @@
+package modele;
+
+
+/**
+* La classe IndexAretes correspond  un index des artes d'un graphe selon leurs deux
+* sommets, qui permet de retrouver le numro d'une arte en temps constant.
+* L'index est une table de hachage  adressage ouvert (sondage linaire) stocke dans
+* deux tableaux de types primitifs : chaque case contient une cl, entier long form du
+* plus petit sommet de l'arte (32 bits de poids fort) et du plus grand (32 bits de
+* poids faible), et le numro de l'arte correspondante. Aucun objet n'est cr, ni  la
+* construction, ni lors d'une recherche.
+* La table est au plus  moiti pleine, ce qui garde les suites de cases  parcourir
+* courtes. Lorsque plusieurs artes relient les mmes sommets, seule la premire est
+* indexe, comme le faisait le parcours de la liste des artes.
+* La taille de la table tant une puissance de deux qui doit tenir dans un tableau Java,
+* l'index est limit  NB_ARETES_MAX artes (2^29, pour une table de 2^30 cases).
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class IndexAretes {
+	
+	public final static int ABSENTE = -1;
+	public final static int NB_ARETES_MAX = 1 << 29;
+	static final long CASE_VIDE = -1L;
+	static final long MULTIPLICATEUR = 0x9E3779B97F4A7C15L;
+	
+	private long[] cles;
+	private int[] numeros;
+	private int decalage;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur indexant toutes les artes d'un tableau d'artes.
+	 * 
+	 * @param tableauAretes Tableau des artes  indexer.
+	 * @throws IllegalArgumentException Si le tableau contient plus de NB_ARETES_MAX artes.
+	 */
+	public IndexAretes(TableauAretes tableauAretes) {
+		int nbAretes = tableauAretes.getNbAretes();
+		int nbBits;
+		int position;
+		long cle;
+		
+		if (nbAretes > NB_ARETES_MAX)
+			throw new IllegalArgumentException(nbAretes + " artes, trop pour tre indexes (au plus " + NB_ARETES_MAX + ").");
+		
+		// Plus petite puissance de deux au moins gale  2*nbAretes, calcule sur un long.
+		nbBits = Math.max(1, 64 - Long.numberOfLeadingZeros(Math.max(2L*nbAretes - 1, 1)));
+		this.cles = new long[1 << nbBits];
+		this.numeros = new int[1 << nbBits];
+		this.decalage = 64 - nbBits;
+		
+		for (int c=0 ; c<cles.length ; c++)
+			cles[c] = CASE_VIDE;
+		
+		for (int i=0 ; i<nbAretes ; i++) {
+			cle = calculerCle(tableauAretes.getPremierSommet(i), tableauAretes.getSecondSommet(i));
+			position = chercherCase(cle);
+			if (cles[position] == CASE_VIDE) {
+				cles[position] = cle;
+				numeros[position] = i;
+			}
+		}
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES DE L'INDEX ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant de rcuprer le numro de l'arte reliant deux sommets, dans
+	 * un sens ou dans l'autre.
+	 * 
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @return Numro de l'arte, ou ABSENTE si aucune arte ne relie les deux sommets.
+	 */
+	public int getNumeroArete(int premierSommet, int secondSommet) {
+		int position = chercherCase(calculerCle(premierSommet, secondSommet));
+		
+		return (cles[position] == CASE_VIDE) ? ABSENTE : numeros[position];
+	}
+	
+	/**
+	 * Mthode permettant de calculer la cl d'une arte, indpendante de l'ordre de ses
+	 * deux sommets.
+	 * 
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @return Cl de l'arte.
+	 */
+	static long calculerCle(int premierSommet, int secondSommet) {
+		return ((long) Math.min(premierSommet, secondSommet) << 32) | (Math.max(premierSommet, secondSommet) & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Mthode permettant de trouver la case d'une cl : la case qui la contient si elle
+	 * est dans la table, la premire case vide rencontre sinon.
+	 * La case de dpart est donne par les bits de poids fort du produit de la cl par
+	 * une constante impaire (hachage de Fibonacci).
+	 * 
+	 * @param cle Cl recherche.
+	 * @return Position de la case.
+	 */
+	private int chercherCase(long cle) {
+		int masque = cles.length - 1;
+		int position = (int) ((cle * MULTIPLICATEUR) >>> decalage);
+		
+		while ((cles[position] != CASE_VIDE) && (cles[position] != cle))
+			position = (position + 1) & masque;
+		
+		return position;
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de cases de la table.
+	 * 
+	 * @return Nombre de cases de la table.
+	 */
+	public int getCapacite() {
+		return cles.length;
+	}
+	
+}
\ No newline at end of file
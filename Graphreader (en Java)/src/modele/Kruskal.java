@@ -1,7 +1,14 @@
 package modele;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import mesure.Mesures;
 
 
 /**
@@ -20,30 +27,62 @@ import java.util.Collections;
 * Instance de 900 : 10,791 secondes.
 * Instance de 1000 : 11,529 secondes.
 * 
+* Deux variantes de l'algorithme sont disponibles :
+* - VARIANTE_SEQUENTIELLE (par dfaut) : les artes sont tries par poids sous forme de
+* tableaux d'entiers (voir la classe TriAretes), en temps linaire, sans modifier le
+* graphe g, puis parcourues dans l'ordre ;
+* - VARIANTE_PARALLELE : algorithme Filter-Kruskal. Les artes sont spares autour d'un
+* pivot ; les plus lgres sont traites rcursivement, puis les plus lourdes dont les deux
+* sommets sont dj dans le mme arbre sont limines avant d'tre tries. Sparations et
+* liminations se font en parallle sur tous les coeurs. Les artes de mme poids tant
+* dpartages par leur numro dans les deux variantes, celles-ci renvoient exactement le
+* mme arbre.
+* 
 * @author Florent LUCET et Marie-Florence REVENEAU
 * @version 1.0
 */
 public class Kruskal {
 	
+	public final static int VARIANTE_SEQUENTIELLE = 0;
+	public final static int VARIANTE_PARALLELE = 1;
+	static final int SEUIL_TRI_SEQUENTIEL = 1 << 14;
+	static final int TAILLE_BLOC_MIN = 1 << 14;
+	
 	private Graphe g;
-	private int[] parent;
-	private int[] niveau;
+	private int variante;
+	private UnionFind unionFind;
 	
+	private TableauAretes aretes;
+	private int[] aretesACM;
+	private int nbAretesACM;
+	private ForkJoinPool pool;
 	
 	
-	// ********************
-	// *** CONSTRUCTEUR ***
-	// ********************
+	
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
 	
 	/**
-	 * Constructeur avec l'attribut g de la classe Kruskal.
+	 * Constructeur avec l'attribut g de la classe Kruskal, utilisant la variante
+	 * squentielle.
 	 * 
 	 * @param g Graphe sur lequel on utilise l'algorithme de Kruskal.
 	 */
 	public Kruskal(Graphe g) {
+		this(g, VARIANTE_SEQUENTIELLE);
+	}
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe Kruskal.
+	 * 
+	 * @param g Graphe sur lequel on utilise l'algorithme de Kruskal.
+	 * @param variante Variante de l'algorithme (VARIANTE_SEQUENTIELLE ou VARIANTE_PARALLELE).
+	 */
+	public Kruskal(Graphe g, int variante) {
 		this.g = g;
-		this.parent = new int[this.getG().getNbSommets()];
-		this.niveau = new int[this.getG().getNbSommets()];
+		this.variante = variante;
+		this.unionFind = new UnionFind(this.getG().getNbSommets());
 	}
 	
 	
@@ -53,92 +92,233 @@ public class Kruskal {
 	// ******************
 	
 	/**
-	 * Dclenche l'algorithme de Kruskal.
+	 * Dclenche l'algorithme de Kruskal, dans la variante choisie.
 	 * 
 	 * @return Arbre couvrant minimal du graphe g.
 	 */
 	public Graphe declencherAlgorithme () {
-		Graphe ACM = new Graphe(this.getG().getNbSommets(), this.getG().getSommets());
-		ArrayList<Arete> aretesTriees = new ArrayList<Arete>();
-		ArrayList<Arete> aretesACM = new ArrayList<Arete>();
+		long debut = Mesures.ACTIVE ? Mesures.getInstant() : 0;
+		long memoire = Mesures.ACTIVE ? Mesures.getMemoireAllouee() : 0;
+		Graphe ACM;
 		
-		for (int i=0 ; i<this.getG().getNbSommets() ; i++)
-			initialisationArbre(i);
+		if (this.getVariante() == VARIANTE_PARALLELE)
+			ACM = declencherAlgorithmeParallele();
+		else
+			ACM = declencherAlgorithmeSequentiel();
 		
-		aretesTriees = this.getG().getAretes();
-		Collections.sort(aretesTriees);
+		if (Mesures.ACTIVE) {
+			Mesures.ajouter(Mesures.COMPTEUR_RECHERCHES_UNION_FIND, this.getUnionFind().getNbRecherches());
+			Mesures.ajouter(Mesures.COMPTEUR_UNIONS, ACM.getNbAretes());
+			Mesures.terminerPhase(Mesures.PHASE_KRUSKAL, debut, memoire);
+		}
 		
-		for (Arete a : aretesTriees) {
-			if (trouver(a.getPremierSommet().getValeur()) != trouver(a.getSecondSommet().getValeur())) {
-				aretesACM.add(a);
-				union(a.getPremierSommet().getValeur(), a.getSecondSommet().getValeur());
-			}
+		return ACM;
+	}
+	
+	/**
+	 * Dclenche l'algorithme de Kruskal squentiel.
+	 * 
+	 * @return Arbre couvrant minimal du graphe g.
+	 */
+	public Graphe declencherAlgorithmeSequentiel () {
+		int nbSommets = this.getG().getNbSommets();
+		TableauAretes aretes = this.getG().getTableauAretes();
+		int[] aretesTriees;
+		int[] aretesACM = new int[Math.max(nbSommets-1, 0)];
+		int nbAretesACM = 0;
+		int i;
+		
+		this.getUnionFind().reinitialiser();
+		aretesTriees = TriAretes.trierParPoids(aretes);
+		
+		// Un arbre couvrant a nbSommets-1 artes : les artes restantes sont inutiles.
+		for (i=0 ; (i<aretesTriees.length) && (nbAretesACM < nbSommets-1) ; i++) {
+			if (unionFind.union(aretes.getPremierSommet(aretesTriees[i]), aretes.getSecondSommet(aretesTriees[i])))
+				aretesACM[nbAretesACM++] = aretesTriees[i];
 		}
+		if (Mesures.ACTIVE)
+			Mesures.ajouter(Mesures.COMPTEUR_ARETES_EXAMINEES, i);
+		
+		return this.getG().construireForetCouvrante(aretesACM, nbAretesACM);
+	}
+	
+	/**
+	 * Dclenche l'algorithme Filter-Kruskal parallle.
+	 * Chaque arte est reprsente par un entier long dont les 32 bits de poids fort
+	 * contiennent son poids et les 32 bits de poids faible son numro : l'ordre de ces
+	 * entiers est celui du poids, puis du numro, comme dans la variante squentielle.
+	 * 
+	 * @return Arbre couvrant minimal du graphe g.
+	 */
+	public Graphe declencherAlgorithmeParallele () {
+		int nbSommets = this.getG().getNbSommets();
+		long[] cles;
+		long[] tampon;
 		
-		ACM.setNbAretes(aretesACM.size());
-		ACM.setAretes(aretesACM);
-		ACM.setMatriceAdjacence(ACM.construireMatriceAdjacence());
+		this.aretes = this.getG().getTableauAretes();
+		this.aretesACM = new int[Math.max(nbSommets-1, 0)];
+		this.nbAretesACM = 0;
+		this.pool = PoolCalcul.getPool();
 		
-		return ACM;
+		try {
+			this.getUnionFind().reinitialiser();
+			
+			cles = new long[aretes.getNbAretes()];
+			tampon = new long[aretes.getNbAretes()];
+			for (int i=0 ; i<cles.length ; i++)
+				cles[i] = ((long) aretes.getPoids(i) << 32) | i;
+			
+			filtrerKruskal(cles, tampon, 0, cles.length);
+			
+			return this.getG().construireForetCouvrante(aretesACM, nbAretesACM);
+		} finally {
+			this.pool = null;
+			this.aretes = null;
+		}
 	}
 	
+	/**
+	 * Mthode rcursive appliquant Filter-Kruskal aux artes cles[debut]  cles[fin-1].
+	 * Les petites plages sont tries et parcourues comme dans la variante squentielle.
+	 * Les autres sont spares autour d'un pivot : la partie lgre est traite en premier,
+	 * puis la partie lourde est filtre et traite  son tour (par une boucle plutt que
+	 * par un appel rcursif, pour limiter la profondeur de la pile).
+	 * 
+	 * @param cles Artes codes sous forme d'entiers longs.
+	 * @param tampon Tableau de travail de mme taille que cles.
+	 * @param debut Dbut de la plage d'artes (inclus).
+	 * @param fin Fin de la plage d'artes (exclu).
+	 */
+	private void filtrerKruskal (long[] cles, long[] tampon, int debut, int fin) {
+		int nbSommets = this.getG().getNbSommets();
+		int milieu;
+		
+		while ((fin - debut > SEUIL_TRI_SEQUENTIEL) && (nbAretesACM < nbSommets-1)) {
+			milieu = repartir(cles, tampon, debut, fin, true, choisirPivot(cles, debut, fin));
+			filtrerKruskal(cles, tampon, debut, milieu);
+			debut = milieu;
+			fin = repartir(cles, tampon, debut, fin, false, 0);
+		}
+		
+		if (nbAretesACM < nbSommets-1) {
+			Arrays.sort(cles, debut, fin);
+			for (int i=debut ; (i<fin) && (nbAretesACM < nbSommets-1) ; i++)
+				ajouterSiAcyclique((int) cles[i]);
+		}
+	}
 	
-	// *******************************************
-	// *** MTHODES DE LA STRUCTURE UNION-FIND ***
-	// *******************************************
+	/**
+	 * Mthode permettant d'ajouter une arte  l'arbre couvrant minimal si ses deux sommets
+	 * ne sont pas dj dans le mme arbre.
+	 * 
+	 * @param arete Numro de l'arte.
+	 */
+	private void ajouterSiAcyclique (int arete) {
+		if (unionFind.union(aretes.getPremierSommet(arete), aretes.getSecondSommet(arete)))
+			aretesACM[nbAretesACM++] = arete;
+	}
+	
+	/**
+	 * Mthode permettant de choisir un pivot parmi les artes d'une plage, comme mdiane
+	 * de trois mdianes de trois artes rparties sur la plage.
+	 * Les cls tant distinctes, le pivot n'est jamais la plus grande cl de la plage, et
+	 * aucune des deux parties n'est vide.
+	 * 
+	 * @param cles Artes codes sous forme d'entiers longs.
+	 * @param debut Dbut de la plage d'artes (inclus).
+	 * @param fin Fin de la plage d'artes (exclu).
+	 * @return Cl choisie comme pivot.
+	 */
+	private static long choisirPivot (long[] cles, int debut, int fin) {
+		int pas = (fin - debut) / 9;
+		long[] medianes = new long[3];
+		
+		for (int i=0 ; i<3 ; i++)
+			medianes[i] = mediane(cles[debut + (3*i)*pas], cles[debut + (3*i+1)*pas], cles[debut + (3*i+2)*pas]);
+		
+		return mediane(medianes[0], medianes[1], medianes[2]);
+	}
 	
 	/**
-	 * Mthode permettant d'initialiser chaque arbre  partir de chaque sommet du graphe g.
-	 * Correspond  MakeSet dans la structure de donnes Union-Find.
+	 * Mthode permettant d'obtenir la mdiane de trois entiers longs.
 	 * 
-	 * @param i Sommet racine de l'arbre cr.
+	 * @param a Premier entier.
+	 * @param b Deuxime entier.
+	 * @param c Troisime entier.
+	 * @return Mdiane de a, b et c.
 	 */
-	public void initialisationArbre(int i) {
-		parent[i] = i;
-		niveau[i] = 0;
+	private static long mediane (long a, long b, long c) {
+		return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
 	}
 	
 	/**
-	 * Mthode rcursive permettant de rcuprer la racine de l'arbre o est prsent un sommet.
-	 * Est d'abord retourn le parent de ce sommet, puis le parent de son parent, et ainsi de
-	 * suite, jusqu' sa racine.
-	 * Correspond  Find dans la structure de donnes Union-Find.
-	 * Optimisation ralise : compression du chemin, en ramenant le sommet mis en
-	 * paramtre en tant que fils direct de la racine de l'arbre.
+	 * Mthode permettant de rpartir en parallle les artes d'une plage selon un critre.
+	 * La plage est dcoupe en blocs : chaque bloc compte d'abord ses artes qui vrifient
+	 * le critre, ce qui donne  chacun sa position d'criture, puis y recopie ses artes.
+	 * En mode sparation, les artes de cl infrieure ou gale au pivot sont places en
+	 * tte de la plage et les autres  leur suite ; en mode filtrage, seules les artes dont
+	 * les deux sommets sont dans des arbres diffrents sont conserves, en tte de la plage.
 	 * 
-	 * @param i Sommet dont on cherche le parent de manire rcursive, et donc, indirectement,
-	 * la racine.
-	 * @return Parent du sommet mis en paramtre.
+	 * @param cles Artes codes sous forme d'entiers longs.
+	 * @param tampon Tableau de travail de mme taille que cles.
+	 * @param debut Dbut de la plage d'artes (inclus).
+	 * @param fin Fin de la plage d'artes (exclu).
+	 * @param separation Vrai pour sparer autour du pivot, faux pour filtrer.
+	 * @param pivot Cl du pivot (mode sparation uniquement).
+	 * @return Fin des artes vrifiant le critre, places de debut  cette position.
 	 */
-	public int trouver (int i) {
-		if (parent[i] != i)
-			parent[i] = trouver(parent[i]);
-		return parent[i];
+	private int repartir (long[] cles, long[] tampon, int debut, int fin, boolean separation, long pivot) {
+		int nbBlocs = (int) Math.max(1, Math.min(4L * pool.getParallelism(), (fin - debut) / TAILLE_BLOC_MIN));
+		int[] positionsVrai = new int[nbBlocs];
+		int[] positionsFaux = new int[nbBlocs];
+		List<Callable<Integer>> taches = new ArrayList<Callable<Integer>>(nbBlocs);
+		int nbVrai = 0;
+		int nbFaux = 0;
+		
+		for (int b=0 ; b<nbBlocs ; b++)
+			taches.add(new TacheRepartition(cles, tampon, debut + (int) ((long) (fin-debut) * b / nbBlocs), debut + (int) ((long) (fin-debut) * (b+1) / nbBlocs), separation, pivot));
+		
+		// Premire passe : comptage, puis calcul des positions d'criture de chaque bloc.
+		List<Integer> comptes = executer(taches);
+		for (int b=0 ; b<nbBlocs ; b++) {
+			positionsVrai[b] = debut + nbVrai;
+			nbVrai += comptes.get(b);
+		}
+		for (int b=0 ; b<nbBlocs ; b++) {
+			positionsFaux[b] = debut + nbVrai + nbFaux;
+			nbFaux += ((TacheRepartition) taches.get(b)).getTaille() - comptes.get(b);
+		}
+		
+		// Seconde passe : recopie dans le tampon, puis retour dans cles.
+		for (int b=0 ; b<nbBlocs ; b++)
+			((TacheRepartition) taches.get(b)).preparerRecopie(positionsVrai, positionsFaux, b);
+		executer(taches);
+		System.arraycopy(tampon, debut, cles, debut, separation ? fin - debut : nbVrai);
+		
+		return debut + nbVrai;
 	}
 	
 	/**
-	 * Mthode permettant d'unir les arbres de deux sommets en prenant pour racine la racine
-	 * d'un des deux arbres.
-	 * Correspond  Union dans la structure de donnes Union-Find.
-	 * Optimisation ralise : union pondre, en faisant correspondre chacun des deux arbres
-	 *  un poids selon leur nombre de sommets, et en mettant pour racine de l'union des deux
-	 * arbres la racine de l'arbre dont le poids est le plus haut.
+	 * Mthode permettant d'excuter des tches sur le pool de threads et d'attendre leurs
+	 * rsultats.
 	 * 
-	 * @param i Premier sommet.
-	 * @param j Second sommet.
+	 * @param taches Tches  excuter.
+	 * @return Rsultats des tches, dans l'ordre des tches.
 	 */
-	public void union (int i, int j) {
-		int racineArbreI = trouver(i);
-		int racineArbreJ = trouver(j);
+	private List<Integer> executer (List<Callable<Integer>> taches) {
+		List<Integer> resultats = new ArrayList<Integer>(taches.size());
 		
-		if (niveau[racineArbreI] < niveau[racineArbreJ])
-			parent[racineArbreI] = racineArbreJ;
-		else if (niveau[racineArbreI] < niveau[racineArbreJ])
-			parent[racineArbreJ] = racineArbreI;
-		else {
-			parent[racineArbreJ] = racineArbreI;
-			niveau[racineArbreI] = niveau[racineArbreI]+1;
+		try {
+			for (Future<Integer> f : pool.invokeAll(taches))
+				resultats.add(f.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
 		}
+		
+		return resultats;
 	}
 	
 	
@@ -157,23 +337,22 @@ public class Kruskal {
 	}
 	
 	/**
-	 * Accesseur permettant de rcuprer le tableau des parents des sommets du graphe
-	 * de Kruskal.
+	 * Accesseur permettant de rcuprer la variante de l'algorithme de Kruskal utilise.
 	 * 
-	 * @return Tableau des parents des sommets du graphe de Kruskal.
+	 * @return Variante de l'algorithme (VARIANTE_SEQUENTIELLE ou VARIANTE_PARALLELE).
 	 */
-	public int[] getParent() {
-		return parent;
+	public int getVariante() {
+		return variante;
 	}
 	
 	/**
-	 * Accesseur permettant de rcuprer le tableau des niveaux des sommets du graphe
+	 * Accesseur permettant de rcuprer la structure Union-Find des sommets du graphe
 	 * de Kruskal.
 	 * 
-	 * @return Tableau des niveaux des sommets du graphe de Kruskal.
+	 * @return Structure Union-Find des sommets du graphe de Kruskal.
 	 */
-	public int[] getNiveau() {
-		return niveau;
+	public UnionFind getUnionFind() {
+		return unionFind;
 	}
 	
 	
@@ -191,23 +370,134 @@ public class Kruskal {
 	}
 	
 	/**
-	 * Mutateur permettant de changer le tableau des parents des sommets du graphe
-	 * de Kruskal.
+	 * Mutateur permettant de changer la variante de l'algorithme de Kruskal utilise.
 	 * 
-	 * @param parent Nouveau tableau des parents des sommets du graphe de Kruskal.
+	 * @param variante Nouvelle variante de l'algorithme (VARIANTE_SEQUENTIELLE ou
+	 * VARIANTE_PARALLELE).
 	 */
-	public void setParent(int[] parent) {
-		this.parent = parent;
+	public void setVariante(int variante) {
+		this.variante = variante;
 	}
 	
 	/**
-	 * Mutateur permettant de changer le tableau des niveaux des sommets du graphe
+	 * Mutateur permettant de changer la structure Union-Find des sommets du graphe
 	 * de Kruskal.
 	 * 
-	 * @param niveau Nouveau tableau des parents des niveaux du graphe de Kruskal.
+	 * @param unionFind Nouvelle structure Union-Find des sommets du graphe de Kruskal.
 	 */
-	public void setNiveau(int[] niveau) {
-		this.niveau = niveau;
+	public void setUnionFind(UnionFind unionFind) {
+		this.unionFind = unionFind;
+	}
+	
+	
+	
+	// ****************************
+	// *** TCHE DE RPARTITION ***
+	// ****************************
+	
+	/**
+	 * La classe TacheRepartition correspond au traitement d'un bloc d'artes par la mthode
+	 * repartir : comptage des artes vrifiant le critre lors de la premire passe, puis
+	 * recopie dans le tampon lors de la seconde.
+	 */
+	private class TacheRepartition implements Callable<Integer> {
+		
+		private long[] cles;
+		private long[] tampon;
+		private int debut;
+		private int fin;
+		private boolean separation;
+		private long pivot;
+		private int[] positionsVrai;
+		private int[] positionsFaux;
+		private int bloc;
+		
+		/**
+		 * Constructeur d'une tche de comptage sur le bloc cles[debut]  cles[fin-1].
+		 * 
+		 * @param cles Artes codes sous forme d'entiers longs.
+		 * @param tampon Tableau de travail de mme taille que cles.
+		 * @param debut Dbut du bloc (inclus).
+		 * @param fin Fin du bloc (exclu).
+		 * @param separation Vrai pour sparer autour du pivot, faux pour filtrer.
+		 * @param pivot Cl du pivot (mode sparation uniquement).
+		 */
+		TacheRepartition(long[] cles, long[] tampon, int debut, int fin, boolean separation, long pivot) {
+			this.cles = cles;
+			this.tampon = tampon;
+			this.debut = debut;
+			this.fin = fin;
+			this.separation = separation;
+			this.pivot = pivot;
+		}
+		
+		/**
+		 * Mthode permettant de passer la tche en mode recopie, une fois les positions
+		 * d'criture de chaque bloc connues.
+		 * 
+		 * @param positionsVrai Position d'criture des artes vrifiant le critre, par bloc.
+		 * @param positionsFaux Position d'criture des autres artes, par bloc.
+		 * @param bloc Numro du bloc de la tche.
+		 */
+		void preparerRecopie(int[] positionsVrai, int[] positionsFaux, int bloc) {
+			this.positionsVrai = positionsVrai;
+			this.positionsFaux = positionsFaux;
+			this.bloc = bloc;
+		}
+		
+		/**
+		 * Accesseur permettant de rcuprer le nombre d'artes du bloc.
+		 * 
+		 * @return Nombre d'artes du bloc.
+		 */
+		int getTaille() {
+			return fin - debut;
+		}
+		
+		/**
+		 * Mthode permettant de savoir si une arte vrifie le critre de la rpartition.
+		 * 
+		 * @param cle Arte code sous forme d'entier long.
+		 * @return Vrai si l'arte doit tre place en tte de la plage.
+		 */
+		boolean verifieCritere(long cle) {
+			if (separation)
+				return cle <= pivot;
+			
+			int arete = (int) cle;
+			return unionFind.trouverSansCompression(aretes.getPremierSommet(arete)) != unionFind.trouverSansCompression(aretes.getSecondSommet(arete));
+		}
+		
+		/**
+		 * Mthode traitant le bloc : comptage ou recopie selon la passe.
+		 * 
+		 * @return Nombre d'artes du bloc vrifiant le critre.
+		 */
+		@Override
+		public Integer call() {
+			int nbVrai = 0;
+			int positionVrai;
+			int positionFaux;
+			
+			if (positionsVrai == null) {
+				for (int i=debut ; i<fin ; i++) {
+					if (verifieCritere(cles[i]))
+						nbVrai++;
+				}
+				return nbVrai;
+			}
+			
+			positionVrai = positionsVrai[bloc];
+			positionFaux = positionsFaux[bloc];
+			for (int i=debut ; i<fin ; i++) {
+				if (verifieCritere(cles[i]))
+					tampon[positionVrai++] = cles[i];
+				else if (separation)
+					tampon[positionFaux++] = cles[i];
+			}
+			return positionVrai - positionsVrai[bloc];
+		}
+		
 	}
 	
 }
\ No newline at end of file
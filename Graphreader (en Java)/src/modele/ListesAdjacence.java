@@ -0,0 +1,213 @@
+package modele;
+
+import java.nio.IntBuffer;
+
+/**
+* La classe ListesAdjacence correspond aux listes d'adjacence d'un graphe, stockes de
+* manire compacte (format CSR) dans des tableaux d'entiers : l'indice de dbut des
+* voisins de chaque sommet, les voisins eux-mmes, le numro de l'arte menant  chacun
+* d'eux et le poids de cette arte.
+* La mmoire occupe est proportionnelle au nombre de sommets et d'artes du graphe, et
+* le parcours des voisins d'un sommet se fait en temps proportionnel  son degr.
+* Comme pour la classe TableauAretes, les tableaux peuvent tre projets en mmoire depuis
+* un fichier binaire.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class ListesAdjacence {
+	
+	private int nbSommets;
+	private IntBuffer debuts;
+	private IntBuffer voisins;
+	private IntBuffer aretes;
+	private IntBuffer poids;
+	
+	
+	
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
+	
+	/**
+	 * Constructeur construisant les listes d'adjacence  partir de la liste des artes
+	 * du graphe.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param tableauAretes Liste des artes du graphe.
+	 */
+	public ListesAdjacence(int nbSommets, TableauAretes tableauAretes) {
+		int nbAretes = tableauAretes.getNbAretes();
+		int[] debuts = new int[nbSommets+1];
+		int[] positions = new int[nbSommets+1];
+		int premierSommet;
+		int secondSommet;
+		
+		this.nbSommets = nbSommets;
+		
+		// Calcul du degr de chaque sommet (une boucle n'est compte qu'une fois).
+		for (int i=0 ; i<nbAretes ; i++) {
+			premierSommet = tableauAretes.getPremierSommet(i);
+			secondSommet = tableauAretes.getSecondSommet(i);
+			debuts[premierSommet+1]++;
+			if (premierSommet != secondSommet)
+				debuts[secondSommet+1]++;
+		}
+		
+		// Somme cumule des degrs, donnant l'indice de dbut des voisins de chaque sommet.
+		for (int s=0 ; s<nbSommets ; s++)
+			debuts[s+1] += debuts[s];
+		
+		int[] voisins = new int[debuts[nbSommets]];
+		int[] aretes = new int[debuts[nbSommets]];
+		int[] poids = new int[debuts[nbSommets]];
+		System.arraycopy(debuts, 0, positions, 0, nbSommets+1);
+		
+		for (int i=0 ; i<nbAretes ; i++) {
+			premierSommet = tableauAretes.getPremierSommet(i);
+			secondSommet = tableauAretes.getSecondSommet(i);
+			ajouterVoisin(positions, premierSommet, voisins, secondSommet, aretes, i, poids, tableauAretes.getPoids(i));
+			if (premierSommet != secondSommet)
+				ajouterVoisin(positions, secondSommet, voisins, premierSommet, aretes, i, poids, tableauAretes.getPoids(i));
+		}
+		
+		this.debuts = IntBuffer.wrap(debuts);
+		this.voisins = IntBuffer.wrap(voisins);
+		this.aretes = IntBuffer.wrap(aretes);
+		this.poids = IntBuffer.wrap(poids);
+	}
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe ListesAdjacence, utilis lorsque
+	 * les listes ont dj t construites (par exemple lues depuis un fichier binaire).
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param debuts Indice du premier voisin de chaque sommet (nbSommets+1 valeurs).
+	 * @param voisins Voisins de chaque sommet,  la suite les uns des autres.
+	 * @param aretes Numro de l'arte menant  chaque voisin.
+	 * @param poids Poids de l'arte menant  chaque voisin.
+	 */
+	public ListesAdjacence(int nbSommets, IntBuffer debuts, IntBuffer voisins, IntBuffer aretes, IntBuffer poids) {
+		this.nbSommets = nbSommets;
+		this.debuts = debuts;
+		this.voisins = voisins;
+		this.aretes = aretes;
+		this.poids = poids;
+	}
+	
+	
+	
+	// ***********************
+	// *** MTHODE INTERNE ***
+	// ***********************
+	
+	/**
+	 * Mthode permettant d'ajouter un voisin  la liste d'adjacence d'un sommet,  la
+	 * prochaine position libre de cette liste.
+	 * 
+	 * @param positions Prochaine position libre de la liste d'adjacence de chaque sommet.
+	 * @param s Sommet auquel on ajoute un voisin.
+	 * @param voisins Tableau des voisins en construction.
+	 * @param voisin Sommet voisin ajout.
+	 * @param aretes Tableau des numros d'artes en construction.
+	 * @param arete Numro de l'arte reliant s et voisin.
+	 * @param poids Tableau des poids en construction.
+	 * @param poidsArete Poids de l'arte reliant s et voisin.
+	 */
+	private static void ajouterVoisin(int[] positions, int s, int[] voisins, int voisin, int[] aretes, int arete, int[] poids, int poidsArete) {
+		int position = positions[s]++;
+		
+		voisins[position] = voisin;
+		aretes[position] = arete;
+		poids[position] = poidsArete;
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets du graphe.
+	 * 
+	 * @return Nombre de sommets du graphe.
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le degr d'un sommet.
+	 * 
+	 * @param s Valeur du sommet.
+	 * @return Degr du sommet s.
+	 */
+	public int getDegre(int s) {
+		return debuts.get(s+1) - debuts.get(s);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer l'indice du premier voisin d'un sommet.
+	 * Les voisins du sommet s occupent les indices getDebut(s) inclus  getFin(s) exclu.
+	 * 
+	 * @param s Valeur du sommet.
+	 * @return Indice du premier voisin du sommet s.
+	 */
+	public int getDebut(int s) {
+		return debuts.get(s);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer l'indice suivant le dernier voisin d'un sommet.
+	 * 
+	 * @param s Valeur du sommet.
+	 * @return Indice suivant le dernier voisin du sommet s.
+	 */
+	public int getFin(int s) {
+		return debuts.get(s+1);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le voisin situ  un indice donn.
+	 * 
+	 * @param i Indice du voisin.
+	 * @return Valeur du sommet voisin.
+	 */
+	public int getVoisin(int i) {
+		return voisins.get(i);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le numro de l'arte menant au voisin situ  un
+	 * indice donn.
+	 * 
+	 * @param i Indice du voisin.
+	 * @return Numro de l'arte dans la liste des artes du graphe.
+	 */
+	public int getArete(int i) {
+		return aretes.get(i);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids de l'arte menant au voisin situ  un
+	 * indice donn.
+	 * 
+	 * @param i Indice du voisin.
+	 * @return Poids de l'arte.
+	 */
+	public int getPoids(int i) {
+		return poids.get(i);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre total de voisins, toutes listes
+	 * confondues.
+	 * 
+	 * @return Taille cumule des listes d'adjacence.
+	 */
+	public int getTaille() {
+		return debuts.get(nbSommets);
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+package modele;
+
+import java.util.Arrays;
+
+
+/**
+* La classe MatriceAdjacence correspond  la matrice d'adjacence d'un graphe, stocke bit
+*  bit : la ligne de chaque sommet est une suite de nbMots entiers longs, dont le bit v
+* vaut 1 si le sommet est voisin de v. La matrice occupe V/8 octets, soit moins que les
+* listes d'adjacence (24 octets par arte) ds que le graphe est un peu dense, et huit fois
+* moins qu'une matrice de boolens.
+* Elle permet une recherche en largeur  direction optimise (Beamer et al.) : tant que
+* la frontire (les sommets du dernier niveau atteint) est petite, chaque sommet de la
+* frontire ajoute au niveau suivant ses voisins non encore atteints, 64  la fois (tape
+* descendante) ; ds qu'elle est grande devant le nombre de sommets restant  atteindre,
+* chaque sommet non atteint cherche un voisin dans la frontire, en comparant sa ligne 
+* la frontire mot par mot et en s'arrtant au premier mot commun (tape montante).
+* Le gain porte sur les graphes de densit intermdiaire : une recherche en largeur y est
+* 7  10 fois plus rapide que sur les listes  densit 0,3, mais seulement 1,5 fois 
+* densit 0,1. Sur un graphe complet ou presque, il n'y a pas de gain : la recherche sur
+* les listes s'arrte dj ds que tous les sommets sont atteints, en O(V), et le cot
+* est domin par la construction de la reprsentation, en O(E) dans les deux cas.
+* La matrice n'est construite par la classe Graphe que pour les graphes denses (voir
+* isAdaptee).
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class MatriceAdjacence {
+	
+	public final static double DENSITE_MIN = 0.1;
+	public final static int NB_SOMMETS_MAX = 1 << 15;
+	static final int FACTEUR_BASCULE = 8;
+	
+	private int nbSommets;
+	private int nbMots;
+	private long[] bits;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur de la matrice d'adjacence d'un graphe  partir de ses artes.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param aretes Tableau des artes du graphe.
+	 */
+	public MatriceAdjacence(int nbSommets, TableauAretes aretes) {
+		int premierSommet;
+		int secondSommet;
+		
+		this.nbSommets = nbSommets;
+		this.nbMots = (nbSommets + 63) >>> 6;
+		this.bits = new long[nbSommets * nbMots];
+		
+		for (int i=0 ; i<aretes.getNbAretes() ; i++) {
+			premierSommet = aretes.getPremierSommet(i);
+			secondSommet = aretes.getSecondSommet(i);
+			bits[premierSommet*nbMots + (secondSommet >>> 6)] |= 1L << secondSommet;
+			bits[secondSommet*nbMots + (premierSommet >>> 6)] |= 1L << premierSommet;
+		}
+	}
+	
+	
+	
+	// **************************************
+	// *** MTHODE DE PARCOURS EN LARGEUR ***
+	// **************************************
+	
+	/**
+	 * Mthode permettant d'effectuer une recherche en largeur depuis un sommet, avec les
+	 * mmes conventions que la mthode parcourirEnLargeur de la classe Diametre : distances
+	 * doit valoir NON_ATTEINT pour chaque sommet, et  la fin de la recherche, file contient
+	 * les sommets atteints par distance croissante au sommet de dpart, et distances leur
+	 * distance.
+	 * Chaque niveau est parcouru par une tape descendante ou montante selon la taille de
+	 * la frontire, compare au nombre de sommets restant  atteindre.
+	 * 
+	 * @param depart Sommet duquel part la recherche en largeur.
+	 * @param distances Tableau des distances depuis le sommet de dpart.
+	 * @param file File des sommets atteints, dans l'ordre de leur dcouverte.
+	 * @param nbMaxAtteints Nombre de sommets de la composante du sommet de dpart, s'il
+	 * est connu, ou nombre de sommets du graphe.
+	 * @param nonAtteints Tableau de travail de nbMots entiers longs.
+	 * @param frontiere Tableau de travail de nbMots entiers longs.
+	 * @return Nombre de sommets atteints, sommet de dpart compris.
+	 */
+	public int parcourirEnLargeur(int depart, int[] distances, int[] file, int nbMaxAtteints, long[] nonAtteints, long[] frontiere) {
+		int debutNiveau = 0;
+		int finNiveau;
+		int finFile = 0;
+		int niveau = 0;
+		
+		Arrays.fill(nonAtteints, -1L);
+		if ((nbSommets & 63) != 0)
+			nonAtteints[nbMots-1] = (1L << nbSommets) - 1;
+		nonAtteints[depart >>> 6] &= ~(1L << depart);
+		distances[depart] = 0;
+		file[finFile++] = depart;
+		
+		while ((debutNiveau < finFile) && (finFile < nbMaxAtteints)) {
+			finNiveau = finFile;
+			niveau++;
+			
+			if ((long) (finNiveau - debutNiveau) * FACTEUR_BASCULE >= nbMaxAtteints - finFile)
+				finFile = etapeMontante(debutNiveau, finNiveau, niveau, distances, file, nbMaxAtteints, nonAtteints, frontiere);
+			else
+				finFile = etapeDescendante(debutNiveau, finNiveau, niveau, distances, file, nonAtteints);
+			
+			debutNiveau = finNiveau;
+		}
+		
+		return finFile;
+	}
+	
+	/**
+	 * Mthode permettant de parcourir un niveau de la recherche en largeur depuis la
+	 * frontire : les voisins non atteints de chaque sommet de la frontire sont ajouts
+	 * au niveau suivant, 64  la fois.
+	 * 
+	 * @param debutNiveau Position du premier sommet de la frontire dans la file.
+	 * @param finNiveau Position suivant le dernier sommet de la frontire dans la file.
+	 * @param niveau Distance des sommets du niveau suivant.
+	 * @param distances Tableau des distances depuis le sommet de dpart.
+	 * @param file File des sommets atteints.
+	 * @param nonAtteints Ensemble des sommets non atteints.
+	 * @return Nouvelle fin de la file.
+	 */
+	private int etapeDescendante(int debutNiveau, int finNiveau, int niveau, int[] distances, int[] file, long[] nonAtteints) {
+		int finFile = finNiveau;
+		int ligne;
+		int sommet;
+		long mot;
+		
+		for (int i=debutNiveau ; i<finNiveau ; i++) {
+			ligne = file[i] * nbMots;
+			for (int m=0 ; m<nbMots ; m++) {
+				mot = bits[ligne + m] & nonAtteints[m];
+				if (mot != 0) {
+					nonAtteints[m] &= ~mot;
+					do {
+						sommet = (m << 6) + Long.numberOfTrailingZeros(mot);
+						distances[sommet] = niveau;
+						file[finFile++] = sommet;
+						mot &= mot - 1;
+					} while (mot != 0);
+				}
+			}
+		}
+		
+		return finFile;
+	}
+	
+	/**
+	 * Mthode permettant de parcourir un niveau de la recherche en largeur depuis les
+	 * sommets non atteints : chacun rejoint le niveau suivant si sa ligne a un bit commun
+	 * avec la frontire. La recherche du bit commun s'arrte au premier mot qui en contient
+	 * un, et le parcours s'arrte ds que nbMaxAtteints sommets ont t atteints.
+	 * 
+	 * @param debutNiveau Position du premier sommet de la frontire dans la file.
+	 * @param finNiveau Position suivant le dernier sommet de la frontire dans la file.
+	 * @param niveau Distance des sommets du niveau suivant.
+	 * @param distances Tableau des distances depuis le sommet de dpart.
+	 * @param file File des sommets atteints.
+	 * @param nbMaxAtteints Nombre maximal de sommets atteints.
+	 * @param nonAtteints Ensemble des sommets non atteints.
+	 * @param frontiere Tableau de travail recevant l'ensemble des sommets de la frontire.
+	 * @return Nouvelle fin de la file.
+	 */
+	private int etapeMontante(int debutNiveau, int finNiveau, int niveau, int[] distances, int[] file, int nbMaxAtteints, long[] nonAtteints, long[] frontiere) {
+		int finFile = finNiveau;
+		int ligne;
+		int sommet;
+		long mot;
+		long bit;
+		
+		Arrays.fill(frontiere, 0L);
+		for (int i=debutNiveau ; i<finNiveau ; i++)
+			frontiere[file[i] >>> 6] |= 1L << file[i];
+		
+		for (int m=0 ; (m<nbMots) && (finFile<nbMaxAtteints) ; m++) {
+			mot = nonAtteints[m];
+			while (mot != 0) {
+				bit = mot & -mot;
+				mot ^= bit;
+				sommet = (m << 6) + Long.numberOfTrailingZeros(bit);
+				ligne = sommet * nbMots;
+				for (int k=0 ; k<nbMots ; k++) {
+					if ((bits[ligne + k] & frontiere[k]) != 0) {
+						nonAtteints[m] ^= bit;
+						distances[sommet] = niveau;
+						file[finFile++] = sommet;
+						break;
+					}
+				}
+			}
+		}
+		
+		return finFile;
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Mthode permettant de savoir si un graphe est assez dense, et assez petit, pour que
+	 * sa matrice d'adjacence bit  bit soit prfre  ses listes d'adjacence : au moins
+	 * une proportion DENSITE_MIN des artes possibles doit tre prsente, et le graphe ne
+	 * doit pas avoir plus de NB_SOMMETS_MAX sommets (la matrice occupant alors 128 Mo).
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param nbAretes Nombre d'artes du graphe.
+	 * @return Vrai si la matrice d'adjacence convient au graphe.
+	 */
+	public static boolean isAdaptee(int nbSommets, int nbAretes) {
+		return (nbSommets > 1) && (nbSommets <= NB_SOMMETS_MAX) && (2.0 * nbAretes >= DENSITE_MIN * nbSommets * (nbSommets - 1));
+	}
+	
+	/**
+	 * Mthode permettant de savoir si deux sommets sont voisins.
+	 * 
+	 * @param premierSommet Premier sommet.
+	 * @param secondSommet Second sommet.
+	 * @return Vrai si une arte relie les deux sommets.
+	 */
+	public boolean isVoisin(int premierSommet, int secondSommet) {
+		return (bits[premierSommet*nbMots + (secondSommet >>> 6)] & (1L << secondSommet)) != 0;
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer le nombre de voisins distincts d'un sommet, en
+	 * O(V/64).
+	 * 
+	 * @param sommet Sommet.
+	 * @return Nombre de voisins du sommet.
+	 */
+	public int getDegre(int sommet) {
+		int ligne = sommet * nbMots;
+		int degre = 0;
+		
+		for (int m=0 ; m<nbMots ; m++)
+			degre += Long.bitCount(bits[ligne + m]);
+		
+		return degre;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets du graphe.
+	 * 
+	 * @return Nombre de sommets du graphe.
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'entiers longs d'une ligne de la matrice.
+	 * 
+	 * @return Nombre d'entiers longs d'une ligne.
+	 */
+	public int getNbMots() {
+		return nbMots;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package modele;
+
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+* La classe PoolCalcul fournit le pool de threads partag par les algorithmes parallles
+* du paquetage (variante parallle de Kruskal, Boruvka, diamtre par recherches en
+* largeur parallles).
+* Un seul pool, d'autant de threads que de processeurs, sert  tous les calculs : lorsque
+* plusieurs calculs sont mens en mme temps (branches de la classe Main, traitement par
+* lots), leurs tches se partagent ces threads au lieu d'en crer chacun autant.
+* Le pool n'est jamais arrt : ses threads sont des dmons, crs  la demande et
+* retirs lorsqu'ils restent inoccups.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+final class PoolCalcul {
+	
+	private static final ForkJoinPool POOL = new ForkJoinPool();
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur priv : la classe ne contient que des mthodes statiques.
+	 */
+	private PoolCalcul() {
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le pool de threads partag.
+	 * 
+	 * @return Pool de threads partag.
+	 */
+	static ForkJoinPool getPool() {
+		return POOL;
+	}
+	
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package modele;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+
+import mesure.Mesures;
 
 
 /**
@@ -14,26 +17,59 @@ import java.util.ArrayList;
 * Instance de 300 : 1,316 seconde.
 * Instance de 400 : 2,139 secondes.
 * 
+* Plusieurs variantes de l'algorithme sont disponibles :
+* - VARIANTE_TAS : les sommets non encore atteints sont rangs dans un tas index selon
+* le poids de l'arte la plus lgre qui les relie  l'arbre, et le parcours se fait sur
+* les listes d'adjacence, en O(E log V) ;
+* - VARIANTE_DENSE : les poids sont rangs dans une matrice et le sommet suivant est
+* cherch par simple parcours d'un tableau, en O(V), ce qui est plus rapide que le tas
+* sur les graphes complets ou presque complets ;
+* - VARIANTE_AUTOMATIQUE (par dfaut) : VARIANTE_DENSE si la densit du graphe atteint
+* SEUIL_DENSITE, VARIANTE_TAS sinon ;
+* - VARIANTE_VAGUES : la recherche en largeur adapte d'origine, conserve pour pouvoir
+* comparer les rsultats.
+* 
 * @author Florent LUCET et Marie-Florence REVENEAU
 * @version 1.0
 */
 public class Prim {
 	
+	public final static int VARIANTE_VAGUES = 0;
+	public final static int VARIANTE_TAS = 1;
+	public final static int VARIANTE_DENSE = 2;
+	public final static int VARIANTE_AUTOMATIQUE = 3;
+	public final static double SEUIL_DENSITE = 0.5;
+	static final int NB_SOMMETS_MAX_MATRICE = 46340;
+	
 	private Graphe g;
+	private int variante;
 	
 	
 	
-	// ********************
-	// *** CONSTRUCTEUR ***
-	// ********************
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
 	
 	/**
-	 * Constructeur avec l'attribut g de la classe Prim.
+	 * Constructeur avec l'attribut g de la classe Prim, choisissant automatiquement la
+	 * variante selon la densit du graphe.
 	 * 
 	 * @param g Graphe sur lequel on utilise l'algorithme de Prim.
 	 */
 	public Prim(Graphe g) {
+		this(g, VARIANTE_AUTOMATIQUE);
+	}
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe Prim.
+	 * 
+	 * @param g Graphe sur lequel on utilise l'algorithme de Prim.
+	 * @param variante Variante de l'algorithme (VARIANTE_VAGUES, VARIANTE_TAS,
+	 * VARIANTE_DENSE ou VARIANTE_AUTOMATIQUE).
+	 */
+	public Prim(Graphe g, int variante) {
 		this.g = g;
+		this.variante = variante;
 	}
 	
 	
@@ -43,34 +79,283 @@ public class Prim {
 	// ******************
 	
 	/**
-	 * Dclenche l'algorithme de Prim.
+	 * Dclenche l'algorithme de Prim, dans la variante choisie.
 	 * 
 	 * @return Arbre couvrant minimal du graphe g.
 	 */
 	public Graphe declencherAlgorithme () {
-		Graphe ACM = new Graphe(this.getG().getNbSommets(), this.getG().getSommets());
+		long debut = Mesures.ACTIVE ? Mesures.getInstant() : 0;
+		long memoire = Mesures.ACTIVE ? Mesures.getMemoireAllouee() : 0;
+		Graphe ACM;
+		
+		switch (this.getVariante()) {
+			case VARIANTE_VAGUES :
+				ACM = declencherAlgorithmeVagues();
+				break;
+			case VARIANTE_DENSE :
+				ACM = declencherAlgorithmeDense();
+				break;
+			case VARIANTE_AUTOMATIQUE :
+				ACM = isGrapheDense() ? declencherAlgorithmeDense() : declencherAlgorithmeTas();
+				break;
+			default :
+				ACM = declencherAlgorithmeTas();
+				break;
+		}
+		
+		if (Mesures.ACTIVE)
+			Mesures.terminerPhase(Mesures.PHASE_PRIM, debut, memoire);
+		
+		return ACM;
+	}
+	
+	/**
+	 * Mthode permettant de savoir si le graphe g est assez dense pour que la variante
+	 * VARIANTE_DENSE soit la plus rapide, c'est--dire si son nombre d'artes atteint
+	 * SEUIL_DENSITE fois celui du graphe complet ayant le mme nombre de sommets.
+	 * La matrice des poids devant tenir dans un seul tableau, les graphes de plus de
+	 * NB_SOMMETS_MAX_MATRICE sommets ne sont jamais considrs comme denses.
+	 * 
+	 * @return Vrai si la variante VARIANTE_DENSE doit tre utilise.
+	 */
+	public boolean isGrapheDense () {
+		long nbSommets = this.getG().getNbSommets();
+		long nbAretesGrapheComplet = nbSommets * (nbSommets-1) / 2;
+		
+		if ((nbSommets < 2) || (nbSommets > NB_SOMMETS_MAX_MATRICE))
+			return false;
+		
+		return this.getG().getTableauAretes().getNbAretes() >= SEUIL_DENSITE * nbAretesGrapheComplet;
+	}
+	
+	/**
+	 * Dclenche l'algorithme de Prim sur une matrice des poids, sans tas.
+	 * La cl de chaque sommet hors de l'arbre (poids de l'arte la plus lgre qui le
+	 * relie  l'arbre) est range dans un tableau, que l'on parcourt entirement  chaque
+	 * tape pour trouver le sommet suivant, avant de mettre  jour les cls  partir de la
+	 * ligne de ce sommet dans la matrice. Chaque tape cote O(V), soit O(V) au total.
+	 * La matrice est stocke ligne par ligne dans un tableau de short lorsque tous les
+	 * poids le permettent, et dans un tableau d'int sinon. En cas d'artes multiples entre
+	 * deux sommets, seule la plus lgre est conserve.
+	 * Si le graphe n'est pas connexe, une fort couvrante minimale est renvoye.
+	 * 
+	 * @return Arbre couvrant minimal du graphe g.
+	 */
+	public Graphe declencherAlgorithmeDense () {
+		int nbSommets = this.getG().getNbSommets();
+		TableauAretes aretes = this.getG().getTableauAretes();
+		boolean poidsCourts = true;
+		short[] matriceCourte = null;
+		int[] matrice = null;
+		int indice;
+		
+		if (nbSommets > NB_SOMMETS_MAX_MATRICE)
+			return declencherAlgorithmeTas();
+		
+		for (int i=0 ; i<aretes.getNbAretes() ; i++) {
+			if (aretes.getPoids(i) == Integer.MAX_VALUE)
+				return declencherAlgorithmeTas();
+			if ((aretes.getPoids(i) < Short.MIN_VALUE) || (aretes.getPoids(i) >= Short.MAX_VALUE))
+				poidsCourts = false;
+		}
+		
+		// Construction de la matrice des poids, o l'absence d'arte vaut la valeur maximale du type.
+		if (poidsCourts) {
+			matriceCourte = new short[nbSommets*nbSommets];
+			Arrays.fill(matriceCourte, Short.MAX_VALUE);
+		} else {
+			matrice = new int[nbSommets*nbSommets];
+			Arrays.fill(matrice, Integer.MAX_VALUE);
+		}
+		
+		for (int i=0 ; i<aretes.getNbAretes() ; i++) {
+			indice = aretes.getPremierSommet(i)*nbSommets + aretes.getSecondSommet(i);
+			if (poidsCourts && (aretes.getPoids(i) < matriceCourte[indice])) {
+				matriceCourte[indice] = (short) aretes.getPoids(i);
+				matriceCourte[aretes.getSecondSommet(i)*nbSommets + aretes.getPremierSommet(i)] = (short) aretes.getPoids(i);
+			} else if (!poidsCourts && (aretes.getPoids(i) < matrice[indice])) {
+				matrice[indice] = aretes.getPoids(i);
+				matrice[aretes.getSecondSommet(i)*nbSommets + aretes.getPremierSommet(i)] = aretes.getPoids(i);
+			}
+		}
+		
+		return parcourirMatrice(nbSommets, matriceCourte, matrice);
+	}
+	
+	/**
+	 * Mthode permettant de drouler l'algorithme de Prim sur la matrice des poids
+	 * construite par declencherAlgorithmeDense.
+	 * Une seule des deux matrices est fournie, l'autre vaut null.
+	 * La matrice ne conservant que les poids, chaque arte de l'arbre est ensuite
+	 * retrouve dans le tableau d'artes du graphe, pour tre rendue dans son sens
+	 * d'origine, comme par les autres variantes.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 * @param matriceCourte Matrice des poids sous forme de short, ou null.
+	 * @param matrice Matrice des poids sous forme d'int, ou null.
+	 * @return Arbre couvrant minimal du graphe g.
+	 */
+	private Graphe parcourirMatrice (int nbSommets, short[] matriceCourte, int[] matrice) {
+		boolean[] dansArbre = new boolean[nbSommets];
+		int[] cles = new int[nbSommets];
+		int[] parents = new int[nbSommets];
+		int[] sommetsACM = new int[Math.max(nbSommets-1, 0)];
+		int[] areteParent = new int[nbSommets];
+		int[] aretesACM = new int[Math.max(nbSommets-1, 0)];
+		TableauAretes aretes = this.getG().getTableauAretes();
+		int nbAretesACM = 0;
+		int sommet;
+		int ligne;
+		int poidsArete;
+		int premier;
+		int second;
+		
+		Arrays.fill(cles, Integer.MAX_VALUE);
+		Arrays.fill(parents, -1);
+		Arrays.fill(areteParent, -1);
+		
+		for (int etape=0 ; etape<nbSommets ; etape++) {
+			// Recherche du sommet de cl minimale hors de l'arbre (un sommet non atteint
+			// commence un nouvel arbre si le graphe n'est pas connexe).
+			sommet = -1;
+			for (int s=0 ; s<nbSommets ; s++) {
+				if (!dansArbre[s] && ((sommet == -1) || (cles[s] < cles[sommet])))
+					sommet = s;
+			}
+			
+			dansArbre[sommet] = true;
+			if (parents[sommet] != -1)
+				sommetsACM[nbAretesACM++] = sommet;
+			
+			// Mise  jour des cls  partir de la ligne du sommet ajout.
+			ligne = sommet*nbSommets;
+			if (matriceCourte != null) {
+				for (int s=0 ; s<nbSommets ; s++) {
+					poidsArete = matriceCourte[ligne+s];
+					if ((poidsArete != Short.MAX_VALUE) && (poidsArete < cles[s]) && !dansArbre[s]) {
+						cles[s] = poidsArete;
+						parents[s] = sommet;
+					}
+				}
+			} else {
+				for (int s=0 ; s<nbSommets ; s++) {
+					poidsArete = matrice[ligne+s];
+					if ((poidsArete < cles[s]) && !dansArbre[s]) {
+						cles[s] = poidsArete;
+						parents[s] = sommet;
+					}
+				}
+			}
+		}
+		
+		// Recherche, pour chaque sommet rattach  l'arbre, de la premire arte qui le relie
+		//  son parent avec le poids retenu (la cl d'un sommet ne change plus une fois ajout).
+		for (int i=0 ; i<aretes.getNbAretes() ; i++) {
+			premier = aretes.getPremierSommet(i);
+			second = aretes.getSecondSommet(i);
+			if ((parents[second] == premier) && (areteParent[second] == -1) && (aretes.getPoids(i) == cles[second]))
+				areteParent[second] = i;
+			else if ((parents[premier] == second) && (areteParent[premier] == -1) && (aretes.getPoids(i) == cles[premier]))
+				areteParent[premier] = i;
+		}
+		
+		for (int i=0 ; i<nbAretesACM ; i++)
+			aretesACM[i] = areteParent[sommetsACM[i]];
+		
+		return this.getG().construireForetCouvrante(aretesACM, nbAretesACM);
+	}
+	
+	/**
+	 * Dclenche l'algorithme de Prim avec un tas index.
+	 * Chaque sommet hors de l'arbre est rang dans le tas selon le poids de l'arte la
+	 * plus lgre qui le relie  l'arbre ; on ajoute  chaque tape le sommet de cl
+	 * minimale, puis on met  jour les cls de ses voisins.
+	 * Si le graphe n'est pas connexe, l'algorithme repart de chaque sommet non atteint et
+	 * renvoie une fort couvrante minimale.
+	 * 
+	 * @return Arbre couvrant minimal du graphe g.
+	 */
+	public Graphe declencherAlgorithmeTas () {
+		int nbSommets = this.getG().getNbSommets();
+		ListesAdjacence listes = this.getG().getListesAdjacence();
+		TasIndexe tas = new TasIndexe(nbSommets);
+		boolean[] dansArbre = new boolean[nbSommets];
+		int[] areteMinimale = new int[nbSommets];
+		int[] aretesACM = new int[Math.max(nbSommets-1, 0)];
+		int nbAretesACM = 0;
+		long nbDiminutions = 0;
+		int sommet;
+		int voisin;
+		
+		for (int racine=0 ; racine<nbSommets ; racine++) {
+			if (dansArbre[racine])
+				continue;
+			
+			areteMinimale[racine] = -1;
+			tas.inserer(racine, 0);
+			
+			while (!tas.isVide()) {
+				sommet = tas.extraireMin();
+				dansArbre[sommet] = true;
+				if (areteMinimale[sommet] != -1)
+					aretesACM[nbAretesACM++] = areteMinimale[sommet];
+				
+				for (int i=listes.getDebut(sommet) ; i<listes.getFin(sommet) ; i++) {
+					voisin = listes.getVoisin(i);
+					if (dansArbre[voisin])
+						continue;
+					
+					if (!tas.contient(voisin)) {
+						tas.inserer(voisin, listes.getPoids(i));
+						areteMinimale[voisin] = listes.getArete(i);
+					} else if (listes.getPoids(i) < tas.getCle(voisin)) {
+						tas.diminuerCle(voisin, listes.getPoids(i));
+						areteMinimale[voisin] = listes.getArete(i);
+						nbDiminutions++;
+					}
+				}
+			}
+		}
+		
+		// Chaque sommet est insr puis extrait une fois, et chaque arte est examine depuis ses deux sommets.
+		if (Mesures.ACTIVE) {
+			Mesures.ajouter(Mesures.COMPTEUR_OPERATIONS_TAS, 2L*nbSommets + nbDiminutions);
+			Mesures.ajouter(Mesures.COMPTEUR_ARETES_EXAMINEES, listes.getTaille());
+		}
+		
+		return this.getG().construireForetCouvrante(aretesACM, nbAretesACM);
+	}
+	
+	/**
+	 * Dclenche l'algorithme de Prim d'origine, par recherche en largeur adapte : 
+	 * chaque vague, toutes les artes de poids minimal partant des sommets dj parcourus
+	 * sont ajoutes  l'arbre.
+	 * Le marquage des sommets parcourus est rang dans un tableau propre  chaque appel,
+	 * index par la valeur des sommets.
+	 * 
+	 * @return Arbre couvrant minimal du graphe g.
+	 */
+	public Graphe declencherAlgorithmeVagues () {
 		ArrayList<Arete> aretesACM = new ArrayList<Arete>();
 		
 		ArrayList<Sommet> sommetsParcourus = new ArrayList<Sommet>();
 		ArrayList<Sommet> sommetsParcourusVagueActuelle = new ArrayList<Sommet>();
+		boolean[] marques = new boolean[this.getG().getNbSommets()];
 		Sommet sommetAdjacent = new Sommet();
 		int poidsMinimal;
 		
-		for (Sommet s : this.getG().getSommets())
-			s.setMarque(false);
-		
 		sommetsParcourus.add(this.getG().getSommets().get(0));
-		this.getG().getSommets().get(0).setMarque(true);
+		marques[0] = true;
 		
 		while (aretesACM.size() < (this.getG().getNbSommets()-1)) {
-			poidsMinimal = getPoidsMinimal(sommetsParcourus);
+			poidsMinimal = getPoidsMinimal(sommetsParcourus, marques);
 			
 			for (Sommet s : sommetsParcourus) {
 				for (Arete a : this.getG().aretesAdjacentes(s)) {
 					sommetAdjacent = this.getG().sommetAdjacent(s, a);
-					if ((sommetAdjacent.isMarque() == false) && (a.getPoids() == poidsMinimal)) {
+					if ((marques[sommetAdjacent.getValeur()] == false) && (a.getPoids() == poidsMinimal)) {
 						aretesACM.add(a);
-						sommetAdjacent.setMarque(true);
+						marques[sommetAdjacent.getValeur()] = true;
 						sommetsParcourusVagueActuelle.add(sommetAdjacent);
 					}
 				}
@@ -81,11 +366,7 @@ public class Prim {
 			sommetsParcourusVagueActuelle.clear();
 		}
 		
-		ACM.setNbAretes(aretesACM.size());
-		ACM.setAretes(aretesACM);
-		ACM.setMatriceAdjacence(ACM.construireMatriceAdjacence());
-		
-		return ACM;
+		return new Graphe(this.getG().getNbSommets(), aretesACM.size(), this.getG().getSommets(), aretesACM);
 	}
 	
 	
@@ -103,6 +384,16 @@ public class Prim {
 		return g;
 	}
 	
+	/**
+	 * Accesseur permettant de rcuprer la variante de l'algorithme de Prim utilise.
+	 * 
+	 * @return Variante de l'algorithme (VARIANTE_VAGUES, VARIANTE_TAS, VARIANTE_DENSE ou
+	 * VARIANTE_AUTOMATIQUE).
+	 */
+	public int getVariante() {
+		return variante;
+	}
+	
 	
 	/**
 	 * Mthode permettant de rcuprer le poids minimal trouvable pour les artes adjacentes
@@ -110,15 +401,16 @@ public class Prim {
 	 * 
 	 * @param sommetsParcourus Liste de sommets contenant les sommets dj parcourus dans le
 	 * graphe.
+	 * @param marques Marquage des sommets dj parcourus, index par leur valeur.
 	 * @return Poids minimal trouv pour les artes adjacentes aux sommets de la liste de
 	 * sommets sommetsParcourus.
 	 */
-	public int getPoidsMinimal (ArrayList<Sommet> sommetsParcourus) {
+	public int getPoidsMinimal (ArrayList<Sommet> sommetsParcourus, boolean[] marques) {
 		int poidsMinimal = 99999;
 		
 		for (Sommet s : sommetsParcourus) {
 			for (Arete a : this.getG().aretesAdjacentes(s)) {
-				if ((a.getPoids() <= poidsMinimal) && (this.getG().sommetAdjacent(s, a).isMarque() == false))
+				if ((a.getPoids() <= poidsMinimal) && (marques[this.getG().sommetAdjacent(s, a).getValeur()] == false))
 					poidsMinimal = a.getPoids();
 			}
 		}
@@ -127,9 +419,9 @@ public class Prim {
 	}
 	
 	
-	// ****************
-	// *** MUTATEUR ***
-	// ****************
+	// *****************
+	// *** MUTATEURS ***
+	// *****************
 	
 	/**
 	 * Mutateur permettant de changer le graphe de Prim.
@@ -140,4 +432,14 @@ public class Prim {
 		this.g = g;
 	}
 	
+	/**
+	 * Mutateur permettant de changer la variante de l'algorithme de Prim utilise.
+	 * 
+	 * @param variante Nouvelle variante de l'algorithme (VARIANTE_VAGUES, VARIANTE_TAS,
+	 * VARIANTE_DENSE ou VARIANTE_AUTOMATIQUE).
+	 */
+	public void setVariante(int variante) {
+		this.variante = variante;
+	}
+	
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package modele;
 
 
 /**
-* La classe Sommet correspond  un sommet de graphe, compos  la fois d'un nom, d'une
-* valeur, d'un marquage (pour l'agorithme de Prim et le parcours en largeur) et d'une
-* vague (pour le parcours en largeur).
+* La classe Sommet correspond  un sommet de graphe, compos  la fois d'un nom et d'une
+* valeur.
+* Un sommet ne porte aucun tat de parcours : les algorithmes (Prim, parcours en largeur)
+* rangent leurs marquages dans leurs propres tableaux, indexs par la valeur des sommets,
+* ce qui permet  plusieurs d'entre eux de parcourir le mme graphe en mme temps.
 *
 * @author Florent LUCET et Marie-Florence REVENEAU
 * @version 1.0
@@ -13,8 +15,6 @@ public class Sommet {
 	
 	private String nom;
 	private int valeur;
-	private boolean marque;
-	private int vague;
 	
 	
 	
@@ -23,16 +23,14 @@ public class Sommet {
 	// *********************
 	
 	/**
-	 * Constructeur avec les attributs nom, valeur et marque de la classe Sommet.
+	 * Constructeur avec les attributs nom et valeur de la classe Sommet.
 	 * 
 	 * @param nom Nom du sommet.
 	 * @param valeur Valeur du sommet.
-	 * @param marque Marquage du sommet.
 	 */
-	public Sommet(String nom, int valeur, boolean marque) {
+	public Sommet(String nom, int valeur) {
 		this.nom = nom;
 		this.valeur = valeur;
-		this.marque = marque;
 	}
 	
 	/**
@@ -74,24 +72,6 @@ public class Sommet {
 		return valeur;
 	}
 	
-	/**
-	 * Accesseur permettant de rcuprer le marquage du sommet.
-	 * 
-	 * @return Marquage du sommet.
-	 */
-	public boolean isMarque() {
-		return marque;
-	}
-	
-	/**
-	 * Accesseur permettant de rcuprer la vague du sommet.
-	 * 
-	 * @return Vague du sommet.
-	 */
-	public int getVague() {
-		return vague;
-	}
-	
 	
 	// *****************
 	// *** MUTATEURS ***
@@ -115,22 +95,4 @@ public class Sommet {
 		this.valeur = valeur;
 	}
 	
-	/**
-	 * Mutateur permettant de changer le marquage du sommet.
-	 * 
-	 * @param marque Nouveau marquage du sommet.
-	 */
-	public void setMarque(boolean marque) {
-		this.marque = marque;
-	}
-	
-	/**
-	 * Mutateur permettant de changer la vague du sommet.
-	 * 
-	 * @param vague Nouvelle vague du sommet.
-	 */
-	public void setVague(int vague) {
-		this.vague = vague;
-	}
-	
 }
\ No newline at end of file
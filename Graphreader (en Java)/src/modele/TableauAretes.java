@@ -0,0 +1,98 @@
+package modele;
+
+import java.nio.IntBuffer;
+
+/**
+* La classe TableauAretes correspond  la liste des artes d'un graphe, stocke sous forme
+* de tableaux d'entiers plutt que d'objets Arete.
+* L'arte numro i relie les sommets getPremierSommet(i) et getSecondSommet(i), et a pour
+* poids getPoids(i).
+* Les tableaux peuvent tre des tableaux Java classiques ou des tampons projets en mmoire
+* depuis un fichier (voir la classe fichier.FormatBinaire), sans copie sur le tas.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class TableauAretes {
+	
+	private IntBuffer premiersSommets;
+	private IntBuffer secondsSommets;
+	private IntBuffer poids;
+	
+	
+	
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
+	
+	/**
+	 * Constructeur avec tous les attributs de la classe TableauAretes.
+	 * Les trois tampons doivent tre de mme taille.
+	 * 
+	 * @param premiersSommets Valeurs des premiers sommets des artes.
+	 * @param secondsSommets Valeurs des seconds sommets des artes.
+	 * @param poids Poids des artes.
+	 */
+	public TableauAretes(IntBuffer premiersSommets, IntBuffer secondsSommets, IntBuffer poids) {
+		this.premiersSommets = premiersSommets;
+		this.secondsSommets = secondsSommets;
+		this.poids = poids;
+	}
+	
+	/**
+	 * Constructeur  partir de trois tableaux Java de mme taille.
+	 * 
+	 * @param premiersSommets Valeurs des premiers sommets des artes.
+	 * @param secondsSommets Valeurs des seconds sommets des artes.
+	 * @param poids Poids des artes.
+	 */
+	public TableauAretes(int[] premiersSommets, int[] secondsSommets, int[] poids) {
+		this(IntBuffer.wrap(premiersSommets), IntBuffer.wrap(secondsSommets), IntBuffer.wrap(poids));
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'artes du tableau.
+	 * 
+	 * @return Nombre d'artes du tableau.
+	 */
+	public int getNbAretes() {
+		return premiersSommets.limit();
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la valeur du premier sommet d'une arte.
+	 * 
+	 * @param i Numro de l'arte.
+	 * @return Valeur du premier sommet de l'arte i.
+	 */
+	public int getPremierSommet(int i) {
+		return premiersSommets.get(i);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la valeur du second sommet d'une arte.
+	 * 
+	 * @param i Numro de l'arte.
+	 * @return Valeur du second sommet de l'arte i.
+	 */
+	public int getSecondSommet(int i) {
+		return secondsSommets.get(i);
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le poids d'une arte.
+	 * 
+	 * @param i Numro de l'arte.
+	 * @return Poids de l'arte i.
+	 */
+	public int getPoids(int i) {
+		return poids.get(i);
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package modele;
+
+
+/**
+* La classe TasIndexe correspond  un tas binaire minimum index par les sommets d'un
+* graphe : chaque sommet prsent dans le tas y est associ  une cl entire, et l'on peut
+* diminuer la cl d'un sommet en connaissant seulement sa valeur.
+* Le tas est stock dans des tableaux d'entiers allous une fois pour toutes, et aucune
+* de ses oprations ne cre d'objet.
+* Insertion, diminution de cl et extraction du minimum se font en O(log V).
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class TasIndexe {
+	
+	static final int ABSENT = -1;
+	
+	private int taille;
+	private int[] tas;
+	private int[] positions;
+	private int[] cles;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un tas vide pouvant contenir les sommets 0  nbSommets-1.
+	 * 
+	 * @param nbSommets Nombre de sommets du graphe.
+	 */
+	public TasIndexe(int nbSommets) {
+		this.taille = 0;
+		this.tas = new int[nbSommets];
+		this.positions = new int[nbSommets];
+		this.cles = new int[nbSommets];
+		
+		for (int s=0 ; s<nbSommets ; s++)
+			positions[s] = ABSENT;
+	}
+	
+	
+	
+	// *****************************
+	// *** OPRATIONS SUR LE TAS ***
+	// *****************************
+	
+	/**
+	 * Mthode permettant d'insrer un sommet absent du tas avec une cl donne.
+	 * 
+	 * @param s Sommet insr.
+	 * @param cle Cl du sommet.
+	 */
+	public void inserer(int s, int cle) {
+		tas[taille] = s;
+		positions[s] = taille;
+		cles[s] = cle;
+		taille++;
+		remonter(taille-1);
+	}
+	
+	/**
+	 * Mthode permettant de diminuer la cl d'un sommet prsent dans le tas.
+	 * 
+	 * @param s Sommet dont la cl diminue.
+	 * @param cle Nouvelle cl du sommet, infrieure ou gale  l'ancienne.
+	 */
+	public void diminuerCle(int s, int cle) {
+		cles[s] = cle;
+		remonter(positions[s]);
+	}
+	
+	/**
+	 * Mthode permettant de retirer du tas le sommet de cl minimale.
+	 * 
+	 * @return Sommet de cl minimale.
+	 */
+	public int extraireMin() {
+		int min = tas[0];
+		
+		taille--;
+		if (taille > 0) {
+			tas[0] = tas[taille];
+			positions[tas[0]] = 0;
+			descendre(0);
+		}
+		positions[min] = ABSENT;
+		
+		return min;
+	}
+	
+	/**
+	 * Mthode permettant de faire remonter un lment du tas tant que sa cl est
+	 * infrieure  celle de son parent.
+	 * 
+	 * @param i Position de l'lment dans le tas.
+	 */
+	private void remonter(int i) {
+		int s = tas[i];
+		int parent;
+		
+		while (i > 0) {
+			parent = (i-1) >>> 1;
+			if (cles[tas[parent]] <= cles[s])
+				break;
+			tas[i] = tas[parent];
+			positions[tas[i]] = i;
+			i = parent;
+		}
+		tas[i] = s;
+		positions[s] = i;
+	}
+	
+	/**
+	 * Mthode permettant de faire descendre un lment du tas tant que sa cl est
+	 * suprieure  celle de l'un de ses fils.
+	 * 
+	 * @param i Position de l'lment dans le tas.
+	 */
+	private void descendre(int i) {
+		int s = tas[i];
+		int fils;
+		
+		while ((fils = 2*i + 1) < taille) {
+			if ((fils+1 < taille) && (cles[tas[fils+1]] < cles[tas[fils]]))
+				fils++;
+			if (cles[s] <= cles[tas[fils]])
+				break;
+			tas[i] = tas[fils];
+			positions[tas[i]] = i;
+			i = fils;
+		}
+		tas[i] = s;
+		positions[s] = i;
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de savoir si le tas est vide.
+	 * 
+	 * @return Vrai si le tas ne contient aucun sommet.
+	 */
+	public boolean isVide() {
+		return taille == 0;
+	}
+	
+	/**
+	 * Accesseur permettant de savoir si un sommet est prsent dans le tas.
+	 * 
+	 * @param s Sommet recherch.
+	 * @return Vrai si le sommet s est dans le tas.
+	 */
+	public boolean contient(int s) {
+		return positions[s] != ABSENT;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer la cl d'un sommet prsent dans le tas.
+	 * 
+	 * @param s Sommet prsent dans le tas.
+	 * @return Cl du sommet s.
+	 */
+	public int getCle(int s) {
+		return cles[s];
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de sommets prsents dans le tas.
+	 * 
+	 * @return Nombre de sommets du tas.
+	 */
+	public int getTaille() {
+		return taille;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,975 @@
+package modele;
+
+import java.util.Arrays;
+
+
+/**
+* La classe ToursEuler range les tours d'Euler des arbres d'une fort couvrante, avec les
+* artes hors de la fort, pour trouver l'arte hors de la fort la plus lgre qui relie
+* deux arbres de la fort (voir la classe ACMDynamique).
+* Chaque sommet et chaque demi-arte est un noeud. Un arbre est rang comme une suite de
+* noeuds : chaque sommet y est immdiatement suivi des demi-artes hors de la fort qui en
+* partent, et les deux demi-artes d'une arte de la fort encadrent les noeuds de l'un
+* des deux cts de cette arte (l'autre ct tant le reste de la suite). Le premier
+* noeud de la suite de chaque arbre est marqu comme dbut.
+* Les suites de tous les arbres sont mises bout  bout, et la suite obtenue est dcoupe en
+* morceaux d'au plus 2K noeuds, deux morceaux voisins en comptant toujours au moins K
+* ensemble, o K vaut N^(2/3)/2 pour une capacit de N noeuds : il y a donc O(N/K)
+* morceaux.
+* Pour chaque paire de morceaux, une matrice retient la cl de l'arte hors de la fort la
+* plus lgre qui les relie,  galit de poids la plus petite par son numro.
+* Relier deux arbres, couper une arte de la fort, ajouter ou retirer une arte hors de
+* la fort ne fait que dcouper, dplacer, modifier et fusionner un nombre constant de
+* morceaux, en O(K + N/K). L'arte la plus lgre reliant deux arbres est le minimum de la
+* matrice sur les paires de morceaux de ces deux arbres, en O((N/K)). Chaque opration
+* cote donc O(N^(2/3)) au pire, sans amortissement.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class ToursEuler {
+	
+	public final static int AUCUNE = -1;
+	static final int AUCUN = -1;
+	static final long AUCUNE_CLE = Long.MAX_VALUE;
+	static final int TAILLE_MORCEAU_MIN = 64;
+	static final int NB_MORCEAUX_SUPPLEMENTAIRES = 16;
+	
+	private int nbSommets;
+	private int nbNoeuds;
+	private int tailleMorceau;
+	private int[] morceaux;
+	private boolean[] debuts;
+	private long[] cles;
+	
+	private int[][] contenus;
+	private int[] tailles;
+	private int[] nbDebuts;
+	private int[] precedents;
+	private int[] suivants;
+	private boolean[] actifs;
+	private int[] libres;
+	private int nbLibres;
+	private int premier;
+	private int dernier;
+	private int capaciteMorceaux;
+	private long[] minima;
+	private int[] aEquilibrer;
+	private int nbAEquilibrer;
+	
+	
+	
+	// *********************
+	// *** CONSTRUCTEURS ***
+	// *********************
+	
+	/**
+	 * Constructeur d'une fort de nbSommets sommets isols, sans arte.
+	 * 
+	 * @param nbSommets Nombre de sommets.
+	 * @param capaciteAretes Nombre de numros d'artes utilisables (de 0 
+	 * capaciteAretes-1).
+	 */
+	public ToursEuler(int nbSommets, int capaciteAretes) {
+		int[] suite = new int[nbSommets];
+		
+		this.nbSommets = nbSommets;
+		this.aEquilibrer = new int[NB_MORCEAUX_SUPPLEMENTAIRES];
+		allouer(capaciteAretes);
+		
+		for (int s=0 ; s<nbSommets ; s++) {
+			suite[s] = s;
+			debuts[s] = true;
+		}
+		decouper(suite, nbSommets);
+	}
+	
+	
+	
+	// *******************************
+	// *** MTHODES DE MISE  JOUR ***
+	// *******************************
+	
+	/**
+	 * Mthode permettant de remplacer tout le contenu de la structure par une fort et des
+	 * artes hors de la fort, en O(N + (N/K)), sans passer par les oprations une  une.
+	 * Les tours d'Euler sont construits par un parcours en profondeur de chaque arbre.
+	 * 
+	 * @param aretesForet Numros des artes de la fort, qui ne doivent former aucun cycle.
+	 * @param nbAretesForet Nombre d'artes de la fort.
+	 * @param aretesHors Numros des artes hors de la fort.
+	 * @param nbAretesHors Nombre d'artes hors de la fort.
+	 * @param premiersSommets Premier sommet de chaque arte.
+	 * @param secondsSommets Second sommet de chaque arte.
+	 * @param poids Poids de chaque arte.
+	 */
+	public void construire(int[] aretesForet, int nbAretesForet, int[] aretesHors, int nbAretesHors, int[] premiersSommets, int[] secondsSommets, int[] poids) {
+		int[] debutsForet = new int[nbSommets+1];
+		int[] demiAretesForet = new int[2*nbAretesForet];
+		int[] debutsHors = new int[nbSommets+1];
+		int[] demiAretesHors = new int[2*nbAretesHors];
+		int[] suite = new int[nbSommets + 2*nbAretesForet + 2*nbAretesHors];
+		int[] pile = new int[nbSommets];
+		int[] prochaines = new int[nbSommets];
+		int[] entrees = new int[nbSommets];
+		boolean[] atteints = new boolean[nbSommets];
+		int taille = 0;
+		int hauteur;
+		int s;
+		int t;
+		int h;
+		
+		Arrays.fill(morceaux, AUCUN);
+		Arrays.fill(debuts, false);
+		Arrays.fill(cles, AUCUNE_CLE);
+		for (int i=0 ; i<nbAretesHors ; i++)
+			cles[aretesHors[i]] = calculerCle(aretesHors[i], poids[aretesHors[i]]);
+		
+		ranger(aretesForet, nbAretesForet, premiersSommets, secondsSommets, debutsForet, demiAretesForet);
+		ranger(aretesHors, nbAretesHors, premiersSommets, secondsSommets, debutsHors, demiAretesHors);
+		
+		// Parcours en profondeur de chaque arbre : chaque sommet est crit suivi de ses
+		// demi-artes hors de la fort, et chaque arte de la fort est encadre par ses
+		// deux demi-artes, avant et aprs le sous-arbre qu'elle atteint.
+		for (int r=0 ; r<nbSommets ; r++) {
+			if (atteints[r])
+				continue;
+			
+			debuts[r] = true;
+			atteints[r] = true;
+			entrees[r] = AUCUNE;
+			prochaines[r] = debutsForet[r];
+			taille = ecrireSommet(suite, taille, r, debutsHors, demiAretesHors);
+			pile[0] = r;
+			hauteur = 1;
+			while (hauteur > 0) {
+				s = pile[hauteur-1];
+				if (prochaines[s] < debutsForet[s+1]) {
+					h = demiAretesForet[prochaines[s]++];
+					if ((entrees[s] != AUCUNE) && ((h >> 1) == (entrees[s] >> 1)))
+						continue;
+					t = ((h & 1) == 0) ? secondsSommets[h >> 1] : premiersSommets[h >> 1];
+					suite[taille++] = nbSommets + h;
+					atteints[t] = true;
+					entrees[t] = h;
+					prochaines[t] = debutsForet[t];
+					taille = ecrireSommet(suite, taille, t, debutsHors, demiAretesHors);
+					pile[hauteur++] = t;
+				} else {
+					hauteur--;
+					if (entrees[s] != AUCUNE)
+						suite[taille++] = nbSommets + (entrees[s] ^ 1);
+				}
+			}
+		}
+		
+		decouper(suite, taille);
+	}
+	
+	/**
+	 * Mthode permettant d'augmenter le nombre de numros d'artes utilisables, en
+	 * conservant le contenu de la structure, qui est redcoupe en morceaux adapts  la
+	 * nouvelle capacit.
+	 * 
+	 * @param capaciteAretes Nouveau nombre de numros d'artes utilisables.
+	 */
+	public void agrandir(int capaciteAretes) {
+		int[] suite = new int[nbNoeuds];
+		boolean[] anciensDebuts = debuts;
+		long[] anciennesCles = cles;
+		int taille = 0;
+		
+		for (int c=premier ; c!=AUCUN ; c=suivants[c]) {
+			System.arraycopy(contenus[c], 0, suite, taille, tailles[c]);
+			taille += tailles[c];
+		}
+		
+		allouer(capaciteAretes);
+		System.arraycopy(anciensDebuts, 0, debuts, 0, anciensDebuts.length);
+		System.arraycopy(anciennesCles, 0, cles, 0, anciennesCles.length);
+		decouper(suite, taille);
+	}
+	
+	/**
+	 * Mthode permettant de relier deux arbres par une arte de la fort : l'arbre du
+	 * second sommet, rordonn pour commencer par ce sommet, est encadr par les deux
+	 * demi-artes de l'arte et plac juste avant le premier sommet.
+	 * 
+	 * @param a Numro de l'arte.
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte, qui ne doit pas tre dans l'arbre du
+	 * premier.
+	 */
+	public void relier(int a, int premierSommet, int secondSommet) {
+		int p = nbSommets + 2*a;
+		int q = p + 1;
+		int debut = debutSegment(secondSommet);
+		int fin = finSegment(secondSommet);
+		boolean premierEnDebut;
+		int dernierNoeud;
+		int premierMorceau;
+		int dernierMorceau;
+		
+		couperAvant(secondSommet);
+		couperApres(fin);
+		if (debut != secondSommet) {
+			// Rotation : la partie de la suite qui prcde le second sommet passe  la fin.
+			couperAvant(debut);
+			dernierMorceau = precedents[morceaux[secondSommet]];
+			dernierNoeud = contenus[dernierMorceau][tailles[dernierMorceau]-1];
+			deplacer(morceaux[debut], dernierMorceau, suivants[morceaux[fin]]);
+		} else
+			dernierNoeud = fin;
+		setDebut(debut, false);
+		
+		premierMorceau = morceaux[secondSommet];
+		dernierMorceau = morceaux[dernierNoeud];
+		couperAvant(premierSommet);
+		deplacer(premierMorceau, dernierMorceau, morceaux[premierSommet]);
+		
+		premierEnDebut = debuts[premierSommet];
+		setDebut(premierSommet, false);
+		insererAvant(p, secondSommet);
+		insererApres(q, dernierNoeud);
+		setDebut(p, premierEnDebut);
+		
+		equilibrerTout();
+	}
+	
+	/**
+	 * Mthode permettant de couper une arte de la fort : les noeuds encadrs par ses
+	 * deux demi-artes forment l'un des deux nouveaux arbres, et sont dplacs  la fin de
+	 * la suite.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	public void couper(int a) {
+		int p = nbSommets + 2*a;
+		int q = p + 1;
+		int premierMorceau;
+		int dernierMorceau;
+		int suivant;
+		
+		if (!precede(p, q)) {
+			p = q;
+			q = p - 1;
+		}
+		
+		couperApres(p);
+		couperAvant(q);
+		premierMorceau = suivants[morceaux[p]];
+		dernierMorceau = precedents[morceaux[q]];
+		deplacer(premierMorceau, dernierMorceau, AUCUN);
+		setDebut(contenus[premierMorceau][0], true);
+		
+		if (debuts[p]) {
+			// L'arbre commenait par p : il commence dsormais par le noeud qui suit q.
+			suivant = (tailles[morceaux[q]] > 1) ? contenus[morceaux[q]][1] : contenus[suivants[morceaux[q]]][0];
+			setDebut(p, false);
+			setDebut(suivant, true);
+		}
+		enlever(p);
+		enlever(q);
+		
+		equilibrerTout();
+	}
+	
+	/**
+	 * Mthode permettant d'ajouter une arte hors de la fort, dont les deux demi-artes
+	 * sont places juste aprs ses deux sommets.
+	 * 
+	 * @param a Numro de l'arte.
+	 * @param premierSommet Premier sommet de l'arte.
+	 * @param secondSommet Second sommet de l'arte.
+	 * @param poids Poids de l'arte.
+	 */
+	public void ajouterHorsForet(int a, int premierSommet, int secondSommet, int poids) {
+		int p = nbSommets + 2*a;
+		int q = p + 1;
+		long cle = calculerCle(a, poids);
+		
+		cles[a] = cle;
+		insererApres(p, premierSommet);
+		insererApres(q, secondSommet);
+		if (cle < minima[morceaux[p]*capaciteMorceaux + morceaux[q]]) {
+			minima[morceaux[p]*capaciteMorceaux + morceaux[q]] = cle;
+			minima[morceaux[q]*capaciteMorceaux + morceaux[p]] = cle;
+		}
+		
+		equilibrerTout();
+	}
+	
+	/**
+	 * Mthode permettant de retirer une arte hors de la fort.
+	 * 
+	 * @param a Numro de l'arte.
+	 */
+	public void retirerHorsForet(int a) {
+		int p = nbSommets + 2*a;
+		int q = p + 1;
+		int premierMorceau = morceaux[p];
+		int secondMorceau = morceaux[q];
+		
+		enlever(p);
+		enlever(q);
+		cles[a] = AUCUNE_CLE;
+		if ((actifs[premierMorceau]) && (actifs[secondMorceau]))
+			recalculerEntree(premierMorceau, secondMorceau);
+		
+		equilibrerTout();
+	}
+	
+	/**
+	 * Mthode permettant de trouver l'arte hors de la fort la plus lgre ( galit, la
+	 * plus petite par son numro) qui relie les arbres de deux sommets.
+	 * 
+	 * @param premierSommet Sommet du premier arbre.
+	 * @param secondSommet Sommet du second arbre, diffrent du premier.
+	 * @return Numro de l'arte trouve, ou AUCUNE si aucune arte ne relie les deux
+	 * arbres.
+	 */
+	public int chercherRemplacement(int premierSommet, int secondSommet) {
+		int premierDebut = debutSegment(premierSommet);
+		int premiereFin = finSegment(premierSommet);
+		int secondDebut = debutSegment(secondSommet);
+		int secondeFin = finSegment(secondSommet);
+		long meilleure = AUCUNE_CLE;
+		int finPremier;
+		int finSecond;
+		
+		couperAvant(premierDebut);
+		couperApres(premiereFin);
+		couperAvant(secondDebut);
+		couperApres(secondeFin);
+		finPremier = suivants[morceaux[premiereFin]];
+		finSecond = suivants[morceaux[secondeFin]];
+		
+		for (int c=morceaux[premierDebut] ; c!=finPremier ; c=suivants[c]) {
+			for (int d=morceaux[secondDebut] ; d!=finSecond ; d=suivants[d])
+				meilleure = Math.min(meilleure, minima[c*capaciteMorceaux + d]);
+		}
+		
+		equilibrerTout();
+		
+		return (meilleure == AUCUNE_CLE) ? AUCUNE : (int) meilleure;
+	}
+	
+	
+	
+	// ****************************************
+	// *** MTHODES DE GESTION DES MORCEAUX ***
+	// ****************************************
+	
+	/**
+	 * Mthode permettant d'allouer les tableaux des noeuds pour une capacit d'artes, et
+	 * de choisir la taille K des morceaux.
+	 * 
+	 * @param capaciteAretes Nombre de numros d'artes utilisables.
+	 */
+	private void allouer(int capaciteAretes) {
+		nbNoeuds = nbSommets + 2*capaciteAretes;
+		tailleMorceau = Math.max(TAILLE_MORCEAU_MIN, (int) Math.cbrt((double) nbNoeuds * nbNoeuds) / 2);
+		morceaux = new int[nbNoeuds];
+		debuts = new boolean[nbNoeuds];
+		cles = new long[capaciteAretes];
+		Arrays.fill(morceaux, AUCUN);
+		Arrays.fill(cles, AUCUNE_CLE);
+	}
+	
+	/**
+	 * Mthode permettant de dcouper une suite complte de noeuds en morceaux de K noeuds,
+	 * et de remplir la matrice des artes les plus lgres entre morceaux.
+	 * 
+	 * @param suite Suite des noeuds.
+	 * @param taille Nombre de noeuds de la suite.
+	 */
+	private void decouper(int[] suite, int taille) {
+		int nbMorceaux = (taille + tailleMorceau - 1) / tailleMorceau;
+		int nbCopies;
+		int c;
+		
+		capaciteMorceaux = 2*(nbNoeuds / tailleMorceau) + NB_MORCEAUX_SUPPLEMENTAIRES;
+		contenus = new int[capaciteMorceaux][];
+		tailles = new int[capaciteMorceaux];
+		nbDebuts = new int[capaciteMorceaux];
+		precedents = new int[capaciteMorceaux];
+		suivants = new int[capaciteMorceaux];
+		actifs = new boolean[capaciteMorceaux];
+		libres = new int[capaciteMorceaux];
+		minima = new long[capaciteMorceaux * capaciteMorceaux];
+		Arrays.fill(minima, AUCUNE_CLE);
+		nbLibres = 0;
+		for (int l=capaciteMorceaux-1 ; l>=0 ; l--)
+			libres[nbLibres++] = l;
+		premier = AUCUN;
+		dernier = AUCUN;
+		nbAEquilibrer = 0;
+		
+		for (int m=0 ; m<nbMorceaux ; m++) {
+			c = nouveauMorceau();
+			nbCopies = Math.min(tailleMorceau, taille - m*tailleMorceau);
+			System.arraycopy(suite, m*tailleMorceau, contenus[c], 0, nbCopies);
+			tailles[c] = nbCopies;
+			for (int i=0 ; i<nbCopies ; i++) {
+				morceaux[contenus[c][i]] = c;
+				if (debuts[contenus[c][i]])
+					nbDebuts[c]++;
+			}
+			lierApres(c, dernier);
+		}
+		
+		for (c=premier ; c!=AUCUN ; c=suivants[c]) {
+			for (int i=0 ; i<tailles[c] ; i++)
+				noterArete(c, contenus[c][i]);
+		}
+	}
+	
+	/**
+	 * Mthode permettant de prendre un morceau libre, vide, en doublant le nombre de
+	 * morceaux s'il n'en reste aucun.
+	 * 
+	 * @return Numro du morceau.
+	 */
+	private int nouveauMorceau() {
+		int c;
+		
+		if (nbLibres == 0)
+			agrandirMorceaux();
+		
+		c = libres[--nbLibres];
+		if (contenus[c] == null)
+			contenus[c] = new int[2*tailleMorceau + 1];
+		tailles[c] = 0;
+		nbDebuts[c] = 0;
+		actifs[c] = true;
+		
+		return c;
+	}
+	
+	/**
+	 * Mthode permettant de doubler le nombre de morceaux disponibles.
+	 */
+	private void agrandirMorceaux() {
+		int capacite = 2*capaciteMorceaux;
+		long[] anciensMinima = minima;
+		
+		minima = new long[capacite * capacite];
+		Arrays.fill(minima, AUCUNE_CLE);
+		for (int c=0 ; c<capaciteMorceaux ; c++)
+			System.arraycopy(anciensMinima, c*capaciteMorceaux, minima, c*capacite, capaciteMorceaux);
+		
+		contenus = Arrays.copyOf(contenus, capacite);
+		tailles = Arrays.copyOf(tailles, capacite);
+		nbDebuts = Arrays.copyOf(nbDebuts, capacite);
+		precedents = Arrays.copyOf(precedents, capacite);
+		suivants = Arrays.copyOf(suivants, capacite);
+		actifs = Arrays.copyOf(actifs, capacite);
+		libres = Arrays.copyOf(libres, capacite);
+		for (int c=capacite-1 ; c>=capaciteMorceaux ; c--)
+			libres[nbLibres++] = c;
+		capaciteMorceaux = capacite;
+	}
+	
+	/**
+	 * Mthode permettant de librer un morceau vide ou fusionn : il est retir de la
+	 * suite, et sa ligne et sa colonne de la matrice sont effaces.
+	 * 
+	 * @param c Numro du morceau.
+	 */
+	private void liberer(int c) {
+		delier(c, c);
+		for (int d=0 ; d<capaciteMorceaux ; d++) {
+			minima[c*capaciteMorceaux + d] = AUCUNE_CLE;
+			minima[d*capaciteMorceaux + c] = AUCUNE_CLE;
+		}
+		tailles[c] = 0;
+		nbDebuts[c] = 0;
+		actifs[c] = false;
+		libres[nbLibres++] = c;
+	}
+	
+	/**
+	 * Mthode permettant de couper un morceau en deux avant l'une de ses positions : la
+	 * fin du morceau passe dans un nouveau morceau plac juste aprs lui.
+	 * 
+	 * @param c Numro du morceau.
+	 * @param i Position, entre 1 et la taille du morceau moins 1.
+	 */
+	private void scinder(int c, int i) {
+		int d = nouveauMorceau();
+		
+		tailles[d] = tailles[c] - i;
+		tailles[c] = i;
+		System.arraycopy(contenus[c], i, contenus[d], 0, tailles[d]);
+		for (int j=0 ; j<tailles[d] ; j++) {
+			morceaux[contenus[d][j]] = d;
+			if (debuts[contenus[d][j]])
+				nbDebuts[d]++;
+		}
+		nbDebuts[c] -= nbDebuts[d];
+		lierApres(d, c);
+		
+		recalculerLigne(c);
+		recalculerLigne(d);
+		noter(c);
+		noter(d);
+	}
+	
+	/**
+	 * Mthode permettant de fusionner un morceau avec le morceau qui le suit.
+	 * 
+	 * @param c Numro du morceau.
+	 */
+	private void fusionner(int c) {
+		int d = suivants[c];
+		long diagonale = Math.min(minima[c*capaciteMorceaux + c], Math.min(minima[c*capaciteMorceaux + d], minima[d*capaciteMorceaux + d]));
+		long minimum;
+		
+		System.arraycopy(contenus[d], 0, contenus[c], tailles[c], tailles[d]);
+		for (int j=0 ; j<tailles[d] ; j++)
+			morceaux[contenus[d][j]] = c;
+		tailles[c] += tailles[d];
+		nbDebuts[c] += nbDebuts[d];
+		
+		for (int e=0 ; e<capaciteMorceaux ; e++) {
+			minimum = Math.min(minima[c*capaciteMorceaux + e], minima[d*capaciteMorceaux + e]);
+			minima[c*capaciteMorceaux + e] = minimum;
+			minima[e*capaciteMorceaux + c] = minimum;
+		}
+		minima[c*capaciteMorceaux + c] = diagonale;
+		
+		liberer(d);
+	}
+	
+	/**
+	 * Mthode permettant de fusionner un morceau avec ses voisins tant que deux morceaux
+	 * voisins comptent moins de K noeuds ensemble.
+	 * 
+	 * @param c Numro du morceau, ventuellement libr depuis.
+	 */
+	private void equilibrer(int c) {
+		if (!actifs[c])
+			return;
+		
+		while ((suivants[c] != AUCUN) && (tailles[c] + tailles[suivants[c]] < tailleMorceau))
+			fusionner(c);
+		while ((precedents[c] != AUCUN) && (tailles[precedents[c]] + tailles[c] < tailleMorceau)) {
+			c = precedents[c];
+			fusionner(c);
+		}
+	}
+	
+	/**
+	 * Mthode permettant de retenir un morceau modifi,  quilibrer  la fin de
+	 * l'opration en cours.
+	 * 
+	 * @param c Numro du morceau, ou AUCUN.
+	 */
+	private void noter(int c) {
+		if (c == AUCUN)
+			return;
+		
+		if (nbAEquilibrer == aEquilibrer.length)
+			aEquilibrer = Arrays.copyOf(aEquilibrer, 2*nbAEquilibrer);
+		aEquilibrer[nbAEquilibrer++] = c;
+	}
+	
+	/**
+	 * Mthode permettant d'quilibrer tous les morceaux modifis par l'opration en cours.
+	 */
+	private void equilibrerTout() {
+		for (int i=0 ; i<nbAEquilibrer ; i++)
+			equilibrer(aEquilibrer[i]);
+		nbAEquilibrer = 0;
+	}
+	
+	/**
+	 * Mthode permettant de placer un morceau, absent de la suite, aprs un autre.
+	 * 
+	 * @param c Numro du morceau plac.
+	 * @param precedent Morceau aprs lequel il est plac, ou AUCUN pour le placer en tte.
+	 */
+	private void lierApres(int c, int precedent) {
+		int suivant = (precedent == AUCUN) ? premier : suivants[precedent];
+		
+		precedents[c] = precedent;
+		suivants[c] = suivant;
+		if (precedent == AUCUN)
+			premier = c;
+		else
+			suivants[precedent] = c;
+		if (suivant == AUCUN)
+			dernier = c;
+		else
+			precedents[suivant] = c;
+	}
+	
+	/**
+	 * Mthode permettant de retirer de la suite une srie de morceaux conscutifs.
+	 * 
+	 * @param debut Premier morceau de la srie.
+	 * @param fin Dernier morceau de la srie.
+	 */
+	private void delier(int debut, int fin) {
+		int precedent = precedents[debut];
+		int suivant = suivants[fin];
+		
+		if (precedent == AUCUN)
+			premier = suivant;
+		else
+			suivants[precedent] = suivant;
+		if (suivant == AUCUN)
+			dernier = precedent;
+		else
+			precedents[suivant] = precedent;
+	}
+	
+	/**
+	 * Mthode permettant de dplacer une srie de morceaux conscutifs avant un autre
+	 * morceau, ou  la fin de la suite.
+	 * 
+	 * @param debut Premier morceau de la srie.
+	 * @param fin Dernier morceau de la srie.
+	 * @param avant Morceau avant lequel la srie est place, hors de la srie, ou AUCUN
+	 * pour la placer  la fin.
+	 */
+	private void deplacer(int debut, int fin, int avant) {
+		int precedent;
+		
+		noter(precedents[debut]);
+		noter(suivants[fin]);
+		delier(debut, fin);
+		
+		precedent = (avant == AUCUN) ? dernier : precedents[avant];
+		precedents[debut] = precedent;
+		suivants[fin] = avant;
+		if (precedent == AUCUN)
+			premier = debut;
+		else
+			suivants[precedent] = debut;
+		if (avant == AUCUN)
+			dernier = fin;
+		else
+			precedents[avant] = fin;
+		
+		noter(precedent);
+		noter(debut);
+		noter(fin);
+		noter(avant);
+	}
+	
+	
+	
+	// **************************************
+	// *** MTHODES DE GESTION DES NOEUDS ***
+	// **************************************
+	
+	/**
+	 * Mthode permettant de trouver la position d'un noeud dans son morceau.
+	 * 
+	 * @param noeud Noeud.
+	 * @return Position du noeud.
+	 */
+	private int indice(int noeud) {
+		int[] contenu = contenus[morceaux[noeud]];
+		int i = 0;
+		
+		while (contenu[i] != noeud)
+			i++;
+		
+		return i;
+	}
+	
+	/**
+	 * Mthode permettant de faire commencer un morceau par un noeud, en coupant son
+	 * morceau si ncessaire.
+	 * 
+	 * @param noeud Noeud.
+	 */
+	private void couperAvant(int noeud) {
+		int i = indice(noeud);
+		
+		if (i > 0)
+			scinder(morceaux[noeud], i);
+	}
+	
+	/**
+	 * Mthode permettant de faire finir un morceau par un noeud, en coupant son morceau
+	 * si ncessaire.
+	 * 
+	 * @param noeud Noeud.
+	 */
+	private void couperApres(int noeud) {
+		int i = indice(noeud);
+		
+		if (i+1 < tailles[morceaux[noeud]])
+			scinder(morceaux[noeud], i+1);
+	}
+	
+	/**
+	 * Mthode permettant d'insrer un noeud absent de la suite  une position d'un
+	 * morceau, qui est coup en deux s'il dpasse 2K noeuds.
+	 * 
+	 * @param noeud Noeud insr.
+	 * @param c Numro du morceau.
+	 * @param i Position du noeud dans le morceau.
+	 */
+	private void inserer(int noeud, int c, int i) {
+		System.arraycopy(contenus[c], i, contenus[c], i+1, tailles[c]-i);
+		contenus[c][i] = noeud;
+		tailles[c]++;
+		morceaux[noeud] = c;
+		
+		if (tailles[c] > 2*tailleMorceau)
+			scinder(c, tailles[c]/2);
+	}
+	
+	/**
+	 * Mthode permettant d'insrer un noeud juste avant un autre.
+	 * 
+	 * @param noeud Noeud insr.
+	 * @param reference Noeud avant lequel il est insr.
+	 */
+	private void insererAvant(int noeud, int reference) {
+		inserer(noeud, morceaux[reference], indice(reference));
+	}
+	
+	/**
+	 * Mthode permettant d'insrer un noeud juste aprs un autre.
+	 * 
+	 * @param noeud Noeud insr.
+	 * @param reference Noeud aprs lequel il est insr.
+	 */
+	private void insererApres(int noeud, int reference) {
+		inserer(noeud, morceaux[reference], indice(reference) + 1);
+	}
+	
+	/**
+	 * Mthode permettant de retirer un noeud de la suite, en librant son morceau s'il
+	 * devient vide.
+	 * 
+	 * @param noeud Noeud retir.
+	 */
+	private void enlever(int noeud) {
+		int c = morceaux[noeud];
+		int i = indice(noeud);
+		
+		setDebut(noeud, false);
+		System.arraycopy(contenus[c], i+1, contenus[c], i, tailles[c]-i-1);
+		tailles[c]--;
+		morceaux[noeud] = AUCUN;
+		
+		if (tailles[c] == 0)
+			liberer(c);
+		else
+			noter(c);
+	}
+	
+	/**
+	 * Mthode permettant de marquer ou non un noeud comme dbut de la suite d'un arbre.
+	 * 
+	 * @param noeud Noeud.
+	 * @param debut Vrai si le noeud commence la suite d'un arbre.
+	 */
+	private void setDebut(int noeud, boolean debut) {
+		if (debuts[noeud] != debut) {
+			debuts[noeud] = debut;
+			nbDebuts[morceaux[noeud]] += debut ? 1 : -1;
+		}
+	}
+	
+	/**
+	 * Mthode permettant de savoir si un noeud prcde un autre dans la suite.
+	 * 
+	 * @param x Premier noeud.
+	 * @param y Second noeud.
+	 * @return Vrai si x est plac avant y.
+	 */
+	private boolean precede(int x, int y) {
+		if (morceaux[x] == morceaux[y])
+			return indice(x) < indice(y);
+		
+		for (int c=suivants[morceaux[x]] ; c!=AUCUN ; c=suivants[c]) {
+			if (c == morceaux[y])
+				return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Mthode permettant de trouver le premier noeud de la suite de l'arbre d'un noeud.
+	 * 
+	 * @param noeud Noeud.
+	 * @return Premier noeud de la suite de son arbre.
+	 */
+	private int debutSegment(int noeud) {
+		int c = morceaux[noeud];
+		int i = indice(noeud);
+		
+		while (true) {
+			if (nbDebuts[c] > 0) {
+				for ( ; i>=0 ; i--) {
+					if (debuts[contenus[c][i]])
+						return contenus[c][i];
+				}
+			}
+			c = precedents[c];
+			i = tailles[c] - 1;
+		}
+	}
+	
+	/**
+	 * Mthode permettant de trouver le dernier noeud de la suite de l'arbre d'un noeud.
+	 * 
+	 * @param noeud Noeud.
+	 * @return Dernier noeud de la suite de son arbre.
+	 */
+	private int finSegment(int noeud) {
+		int c = morceaux[noeud];
+		int i = indice(noeud) + 1;
+		int precedent = noeud;
+		
+		while (c != AUCUN) {
+			if (nbDebuts[c] > 0) {
+				for ( ; i<tailles[c] ; i++) {
+					if (debuts[contenus[c][i]])
+						return precedent;
+					precedent = contenus[c][i];
+				}
+			} else if (i < tailles[c])
+				precedent = contenus[c][tailles[c]-1];
+			c = suivants[c];
+			i = 0;
+		}
+		
+		return precedent;
+	}
+	
+	
+	
+	// ************************************
+	// *** MTHODES DE GESTION DES CLS ***
+	// ************************************
+	
+	/**
+	 * Mthode permettant de calculer la cl d'une arte, qui ordonne les artes par poids
+	 * puis par numro.
+	 * 
+	 * @param a Numro de l'arte.
+	 * @param poids Poids de l'arte.
+	 * @return Cl de l'arte.
+	 */
+	private static long calculerCle(int a, int poids) {
+		return ((long) poids << 32) | a;
+	}
+	
+	/**
+	 * Mthode permettant de prendre en compte dans la matrice un noeud d'un morceau, s'il
+	 * s'agit d'une demi-arte hors de la fort dont l'autre moiti est place.
+	 * 
+	 * @param c Numro du morceau du noeud.
+	 * @param noeud Noeud.
+	 */
+	private void noterArete(int c, int noeud) {
+		int a;
+		int d;
+		
+		if (noeud < nbSommets)
+			return;
+		
+		a = (noeud - nbSommets) >> 1;
+		d = morceaux[nbSommets + ((noeud - nbSommets) ^ 1)];
+		if ((cles[a] != AUCUNE_CLE) && (d != AUCUN))
+			minima[c*capaciteMorceaux + d] = Math.min(minima[c*capaciteMorceaux + d], cles[a]);
+	}
+	
+	/**
+	 * Mthode permettant de recalculer la ligne et la colonne d'un morceau dans la
+	 * matrice,  partir des demi-artes qu'il contient.
+	 * 
+	 * @param c Numro du morceau.
+	 */
+	private void recalculerLigne(int c) {
+		Arrays.fill(minima, c*capaciteMorceaux, (c+1)*capaciteMorceaux, AUCUNE_CLE);
+		for (int i=0 ; i<tailles[c] ; i++)
+			noterArete(c, contenus[c][i]);
+		for (int d=0 ; d<capaciteMorceaux ; d++)
+			minima[d*capaciteMorceaux + c] = minima[c*capaciteMorceaux + d];
+	}
+	
+	/**
+	 * Mthode permettant de recalculer l'entre de la matrice d'une paire de morceaux, 
+	 * partir des demi-artes du premier.
+	 * 
+	 * @param c Numro du premier morceau.
+	 * @param d Numro du second morceau.
+	 */
+	private void recalculerEntree(int c, int d) {
+		long minimum = AUCUNE_CLE;
+		int noeud;
+		int a;
+		
+		for (int i=0 ; i<tailles[c] ; i++) {
+			noeud = contenus[c][i];
+			if (noeud >= nbSommets) {
+				a = (noeud - nbSommets) >> 1;
+				if ((cles[a] != AUCUNE_CLE) && (morceaux[nbSommets + ((noeud - nbSommets) ^ 1)] == d))
+					minimum = Math.min(minimum, cles[a]);
+			}
+		}
+		
+		minima[c*capaciteMorceaux + d] = minimum;
+		minima[d*capaciteMorceaux + c] = minimum;
+	}
+	
+	/**
+	 * Mthode permettant de ranger les demi-artes d'une liste d'artes par sommet de
+	 * dpart, sous forme de listes d'adjacence compactes.
+	 * 
+	 * @param aretes Numros des artes.
+	 * @param nbAretes Nombre d'artes.
+	 * @param premiersSommets Premier sommet de chaque arte.
+	 * @param secondsSommets Second sommet de chaque arte.
+	 * @param debutsListes Dbut de la liste de chaque sommet (nbSommets+1 cases).
+	 * @param demiAretes Demi-artes ranges (2*nbAretes cases).
+	 */
+	private void ranger(int[] aretes, int nbAretes, int[] premiersSommets, int[] secondsSommets, int[] debutsListes, int[] demiAretes) {
+		int[] positions = new int[nbSommets];
+		int a;
+		
+		for (int i=0 ; i<nbAretes ; i++) {
+			debutsListes[premiersSommets[aretes[i]] + 1]++;
+			debutsListes[secondsSommets[aretes[i]] + 1]++;
+		}
+		for (int s=0 ; s<nbSommets ; s++) {
+			debutsListes[s+1] += debutsListes[s];
+			positions[s] = debutsListes[s];
+		}
+		for (int i=0 ; i<nbAretes ; i++) {
+			a = aretes[i];
+			demiAretes[positions[premiersSommets[a]]++] = 2*a;
+			demiAretes[positions[secondsSommets[a]]++] = 2*a + 1;
+		}
+	}
+	
+	/**
+	 * Mthode permettant d'crire dans une suite un sommet suivi de ses demi-artes hors de
+	 * la fort.
+	 * 
+	 * @param suite Suite en cours de construction.
+	 * @param taille Nombre de noeuds dj crits.
+	 * @param s Sommet.
+	 * @param debutsHors Dbut de la liste de chaque sommet dans demiAretesHors.
+	 * @param demiAretesHors Demi-artes hors de la fort.
+	 * @return Nouveau nombre de noeuds crits.
+	 */
+	private int ecrireSommet(int[] suite, int taille, int s, int[] debutsHors, int[] demiAretesHors) {
+		suite[taille++] = s;
+		for (int i=debutsHors[s] ; i<debutsHors[s+1] ; i++)
+			suite[taille++] = nbSommets + demiAretesHors[i];
+		
+		return taille;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package modele;
+
+import mesure.Mesures;
+
+
+/**
+* La classe TriAretes permet de trier les artes d'un graphe par poids croissant sans
+* passer par des objets Arete ni par des comparaisons.
+* Le tri renvoie les numros des artes dans l'ordre de leur poids, et ne modifie pas le
+* tableau d'artes tri. Il est stable : deux artes de mme poids restent dans leur ordre
+* d'origine, comme avec Collections.sort.
+* Lorsque l'cart entre le poids minimal et le poids maximal est faible (cas des instances
+* fournies), un tri par dnombrement suffit ; sinon, un tri par base (LSD) est appliqu
+* octet par octet  des entiers longs regroupant le poids et le numro de chaque arte.
+* Dans les deux cas, le tri se fait en temps linaire en le nombre d'artes.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class TriAretes {
+	
+	static final int ECART_MAX_DENOMBREMENT = 1 << 16;
+	static final int BITS_PAR_PASSE = 8;
+	static final int BASE = 1 << BITS_PAR_PASSE;
+	
+	
+	
+	// ***********************
+	// *** MTHODES DE TRI ***
+	// ***********************
+	
+	/**
+	 * Mthode permettant de trier les artes d'un tableau par poids croissant.
+	 * 
+	 * @param aretes Tableau des artes  trier.
+	 * @return Numros des artes, tris par poids croissant.
+	 */
+	public static int[] trierParPoids(TableauAretes aretes) {
+		long debut = Mesures.ACTIVE ? Mesures.getInstant() : 0;
+		long memoire = Mesures.ACTIVE ? Mesures.getMemoireAllouee() : 0;
+		int nbAretes = aretes.getNbAretes();
+		int poidsMin = Integer.MAX_VALUE;
+		int poidsMax = Integer.MIN_VALUE;
+		int[] aretesTriees;
+		
+		for (int i=0 ; i<nbAretes ; i++) {
+			poidsMin = Math.min(poidsMin, aretes.getPoids(i));
+			poidsMax = Math.max(poidsMax, aretes.getPoids(i));
+		}
+		
+		if (nbAretes == 0)
+			aretesTriees = new int[0];
+		else if ((long) poidsMax - poidsMin < Math.max(ECART_MAX_DENOMBREMENT, nbAretes))
+			aretesTriees = trierParDenombrement(aretes, poidsMin, poidsMax - poidsMin);
+		else
+			aretesTriees = trierParBase(aretes, poidsMin, (long) poidsMax - poidsMin);
+		
+		if (Mesures.ACTIVE)
+			Mesures.terminerPhase(Mesures.PHASE_TRI, debut, memoire);
+		
+		return aretesTriees;
+	}
+	
+	/**
+	 * Mthode permettant de trier les artes par dnombrement : on compte le nombre
+	 * d'artes de chaque poids, ce qui donne la position de la premire arte de chaque
+	 * poids dans le rsultat.
+	 * 
+	 * @param aretes Tableau des artes  trier.
+	 * @param poidsMin Poids minimal des artes.
+	 * @param ecart cart entre le poids maximal et le poids minimal.
+	 * @return Numros des artes, tris par poids croissant.
+	 */
+	private static int[] trierParDenombrement(TableauAretes aretes, int poidsMin, int ecart) {
+		int nbAretes = aretes.getNbAretes();
+		int[] positions = new int[ecart+2];
+		int[] aretesTriees = new int[nbAretes];
+		
+		for (int i=0 ; i<nbAretes ; i++)
+			positions[aretes.getPoids(i)-poidsMin+1]++;
+		for (int p=0 ; p<=ecart ; p++)
+			positions[p+1] += positions[p];
+		for (int i=0 ; i<nbAretes ; i++)
+			aretesTriees[positions[aretes.getPoids(i)-poidsMin]++] = i;
+		
+		return aretesTriees;
+	}
+	
+	/**
+	 * Mthode permettant de trier les artes par base, octet par octet en partant de
+	 * l'octet de poids faible.
+	 * Chaque arte est reprsente par un entier long dont les 32 bits de poids fort
+	 * contiennent son poids (diminu du poids minimal) et les 32 bits de poids faible son
+	 * numro ; seuls les octets utiles du poids donnent lieu  une passe.
+	 * 
+	 * @param aretes Tableau des artes  trier.
+	 * @param poidsMin Poids minimal des artes.
+	 * @param ecart cart entre le poids maximal et le poids minimal.
+	 * @return Numros des artes, tris par poids croissant.
+	 */
+	private static int[] trierParBase(TableauAretes aretes, int poidsMin, long ecart) {
+		int nbAretes = aretes.getNbAretes();
+		int nbBits = 64 - Long.numberOfLeadingZeros(ecart);
+		long[] source = new long[nbAretes];
+		long[] destination = new long[nbAretes];
+		long[] echange;
+		int[] positions = new int[BASE];
+		int[] aretesTriees = new int[nbAretes];
+		int decalage;
+		int chiffre;
+		int total;
+		int compte;
+		
+		for (int i=0 ; i<nbAretes ; i++)
+			source[i] = (((long) aretes.getPoids(i) - poidsMin) << 32) | i;
+		
+		for (int bit=0 ; bit<nbBits ; bit+=BITS_PAR_PASSE) {
+			decalage = 32 + bit;
+			
+			for (int c=0 ; c<BASE ; c++)
+				positions[c] = 0;
+			for (int i=0 ; i<nbAretes ; i++)
+				positions[(int) (source[i] >>> decalage) & (BASE-1)]++;
+			
+			total = 0;
+			for (int c=0 ; c<BASE ; c++) {
+				compte = positions[c];
+				positions[c] = total;
+				total += compte;
+			}
+			
+			for (int i=0 ; i<nbAretes ; i++) {
+				chiffre = (int) (source[i] >>> decalage) & (BASE-1);
+				destination[positions[chiffre]++] = source[i];
+			}
+			
+			echange = source;
+			source = destination;
+			destination = echange;
+		}
+		
+		for (int i=0 ; i<nbAretes ; i++)
+			aretesTriees[i] = (int) source[i];
+		
+		return aretesTriees;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package modele;
+
+import mesure.Mesures;
+
+
+/**
+* La classe UnionFind correspond  la structure de donnes Union-Find (ensembles
+* disjoints), utilise pour savoir si deux sommets d'un graphe sont dans la mme
+* composante d'une fort en construction.
+* Toute la structure tient dans un seul tableau d'entiers : un lment positif ou nul est
+* le parent de l'lment, un lment ngatif indique une racine et vaut l'oppos du nombre
+* d'lments de sa composante.
+* La recherche de racine est itrative et dcoupe le chemin au passage (chaque lment
+* parcouru est rattach  son grand-parent), et l'union rattache la plus petite
+* composante  la plus grande. Aucune opration n'alloue de mmoire, et chacune se fait en
+* temps quasi constant amorti.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class UnionFind {
+	
+	private int[] parent;
+	private int nbComposantes;
+	private long nbRecherches;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'une structure dans laquelle chacun des lments 0  nbElements-1 forme
+	 * une composante  lui seul.
+	 * Correspond  MakeSet pour chaque lment.
+	 * 
+	 * @param nbElements Nombre d'lments de la structure.
+	 */
+	public UnionFind(int nbElements) {
+		this.parent = new int[nbElements];
+		this.reinitialiser();
+	}
+	
+	
+	
+	// **********************************
+	// *** OPRATIONS DE LA STRUCTURE ***
+	// **********************************
+	
+	/**
+	 * Mthode permettant de replacer chaque lment seul dans sa composante, sans allouer
+	 * de nouveau tableau.
+	 */
+	public void reinitialiser() {
+		for (int i=0 ; i<parent.length ; i++)
+			parent[i] = -1;
+		nbComposantes = parent.length;
+		nbRecherches = 0;
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer la racine de la composante d'un lment.
+	 * Correspond  Find dans la structure de donnes Union-Find.
+	 * Optimisation ralise : dcoupage du chemin (path splitting), en rattachant chaque
+	 * lment parcouru  son grand-parent avant de passer  son ancien parent.
+	 * 
+	 * @param i lment dont on cherche la racine.
+	 * @return Racine de la composante de l'lment i.
+	 */
+	public int trouver(int i) {
+		int p;
+		
+		if (Mesures.ACTIVE)
+			nbRecherches++;
+		while ((p = parent[i]) >= 0) {
+			if (parent[p] >= 0)
+				parent[i] = parent[p];
+			i = p;
+		}
+		
+		return i;
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer la racine de la composante d'un lment, sans
+	 * modifier la structure.
+	 * Ne modifiant pas le tableau des parents, elle peut tre appele par plusieurs threads
+	 *  la fois tant qu'aucune union n'a lieu.
+	 * 
+	 * @param i lment dont on cherche la racine.
+	 * @return Racine de la composante de l'lment i.
+	 */
+	public int trouverSansCompression(int i) {
+		while (parent[i] >= 0)
+			i = parent[i];
+		
+		return i;
+	}
+	
+	/**
+	 * Mthode permettant d'unir les composantes de deux lments.
+	 * Correspond  Union dans la structure de donnes Union-Find.
+	 * Optimisation ralise : union par taille, en rattachant la racine de la composante
+	 * ayant le moins d'lments  celle de l'autre composante.
+	 * 
+	 * @param i Premier lment.
+	 * @param j Second lment.
+	 * @return Vrai si les deux lments taient dans des composantes diffrentes.
+	 */
+	public boolean union(int i, int j) {
+		int racineI = trouver(i);
+		int racineJ = trouver(j);
+		int racine;
+		
+		if (racineI == racineJ)
+			return false;
+		
+		// Les tailles tant stockes en ngatif, la plus grande composante a la plus petite valeur.
+		if (parent[racineI] > parent[racineJ]) {
+			racine = racineI;
+			racineI = racineJ;
+			racineJ = racine;
+		}
+		parent[racineI] += parent[racineJ];
+		parent[racineJ] = racineI;
+		nbComposantes--;
+		
+		return true;
+	}
+	
+	/**
+	 * Mthode permettant de savoir si deux lments sont dans la mme composante.
+	 * 
+	 * @param i Premier lment.
+	 * @param j Second lment.
+	 * @return Vrai si les lments i et j sont dans la mme composante.
+	 */
+	public boolean isMemeComposante(int i, int j) {
+		return trouver(i) == trouver(j);
+	}
+	
+	
+	
+	// ******************
+	// *** ACCESSEURS ***
+	// ******************
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'lments de la structure.
+	 * 
+	 * @return Nombre d'lments de la structure.
+	 */
+	public int getNbElements() {
+		return parent.length;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre de composantes de la structure.
+	 * 
+	 * @return Nombre de composantes de la structure.
+	 */
+	public int getNbComposantes() {
+		return nbComposantes;
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'lments de la composante d'un lment.
+	 * 
+	 * @param i lment de la composante.
+	 * @return Nombre d'lments de la composante de l'lment i.
+	 */
+	public int getTailleComposante(int i) {
+		return -parent[trouver(i)];
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le nombre d'appels  trouver depuis la dernire
+	 * rinitialisation, compt seulement si les mesures sont actives (voir la classe
+	 * mesure.Mesures).
+	 * 
+	 * @return Nombre d'appels  trouver.
+	 */
+	public long getNbRecherches() {
+		return nbRecherches;
+	}
+	
+}
\ No newline at end of file
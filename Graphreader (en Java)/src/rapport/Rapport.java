@@ -0,0 +1,155 @@
+package rapport;
+
+import java.io.IOException;
+
+import modele.Graphe;
+
+
+/**
+* La classe Rapport correspond  la forme sous laquelle les caractristiques des graphes
+* traits (graphe d'origine, ACM de Prim, ACM de Kruskal) sont crites. Chaque format est
+* une sous-classe, qui crit dans un TamponSortie partag par tous les graphes du rapport :
+* - detaille : le texte historique de Graphreader, artes comprises (RapportTexte) ;
+* - resume : le mme texte, sans la liste des artes (RapportTexte) ;
+* - csv : une ligne par arte, prcde du nom du graphe (RapportCsv) ;
+* - jsonl : une ligne JSON par graphe, puis une par arte (RapportJsonLignes) ;
+* - binaire : les artes des arbres couvrants minimaux en entiers de quatre octets
+*   (RapportBinaire).
+* Le format est choisi par la proprit systme PROPRIETE_FORMAT, par exemple avec
+* -Dgraphreader.format=csv.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public abstract class Rapport {
+	
+	public final static String PROPRIETE_FORMAT = "graphreader.format";
+	
+	public final static String FORMAT_DETAILLE = "detaille";
+	public final static String FORMAT_RESUME = "resume";
+	public final static String FORMAT_CSV = "csv";
+	public final static String FORMAT_JSON_LIGNES = "jsonl";
+	public final static String FORMAT_BINAIRE = "binaire";
+	
+	public final static int TYPE_ORIGINE = 0;
+	public final static int TYPE_PRIM = 1;
+	public final static int TYPE_KRUSKAL = 2;
+	public final static int DIAMETRE_NON_CALCULE = -1;
+	
+	protected TamponSortie sortie;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un rapport crit dans un tampon.
+	 * 
+	 * @param sortie Tampon dans lequel le rapport est crit.
+	 */
+	protected Rapport(TamponSortie sortie) {
+		this.sortie = sortie;
+	}
+	
+	/**
+	 * Mthode permettant de crer le rapport d'un format donn.
+	 * 
+	 * @param format Nom du format (FORMAT_DETAILLE, FORMAT_RESUME, FORMAT_CSV,
+	 * FORMAT_JSON_LIGNES ou FORMAT_BINAIRE).
+	 * @param sortie Tampon dans lequel le rapport est crit.
+	 * @return Rapport du format demand.
+	 */
+	public static Rapport creer(String format, TamponSortie sortie) {
+		if (format.equals(FORMAT_DETAILLE))
+			return new RapportTexte(sortie, true);
+		if (format.equals(FORMAT_RESUME))
+			return new RapportTexte(sortie, false);
+		if (format.equals(FORMAT_CSV))
+			return new RapportCsv(sortie);
+		if (format.equals(FORMAT_JSON_LIGNES))
+			return new RapportJsonLignes(sortie);
+		if (format.equals(FORMAT_BINAIRE))
+			return new RapportBinaire(sortie);
+		
+		throw new IllegalArgumentException("Format de rapport inconnu : " + format + ".");
+	}
+	
+	/**
+	 * Accesseur permettant de rcuprer le format demand par la proprit systme
+	 * PROPRIETE_FORMAT, ou FORMAT_DETAILLE si elle n'est pas dfinie.
+	 * 
+	 * @return Nom du format demand.
+	 */
+	public static String getFormatDemande() {
+		return System.getProperty(PROPRIETE_FORMAT, FORMAT_DETAILLE);
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant d'crire les caractristiques d'un graphe dans le rapport.
+	 * Le diamtre du graphe n'est demand au graphe que si le rapport l'crit.
+	 * 
+	 * @param g Graphe  crire.
+	 * @param typeGraphe Type du graphe (TYPE_ORIGINE, TYPE_PRIM ou TYPE_KRUSKAL).
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	public void ecrireGraphe(Graphe g, int typeGraphe) throws IOException {
+		this.ecrireGraphe(g, typeGraphe, this.isDiametreEcrit(typeGraphe) ? g.getDiametre() : DIAMETRE_NON_CALCULE);
+	}
+	
+	/**
+	 * Mthode permettant d'crire les caractristiques d'un graphe dont le diamtre est
+	 * dj connu (lu dans le cache des rsultats, par exemple) : il n'est pas recalcul.
+	 * 
+	 * @param g Graphe  crire.
+	 * @param typeGraphe Type du graphe (TYPE_ORIGINE, TYPE_PRIM ou TYPE_KRUSKAL).
+	 * @param diametre Diamtre du graphe, ou DIAMETRE_NON_CALCULE s'il n'est pas crit
+	 * (voir isDiametreEcrit).
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	public abstract void ecrireGraphe(Graphe g, int typeGraphe, int diametre) throws IOException;
+	
+	/**
+	 * Mthode permettant de terminer le rapport, en crivant ce qui reste dans le tampon.
+	 * 
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	public void terminer() throws IOException {
+		sortie.vider();
+	}
+	
+	/**
+	 * Mthode permettant de savoir si le rapport contient le diamtre des graphes d'un
+	 * type : il n'a pas  tre calcul sinon.
+	 * 
+	 * @param typeGraphe Type du graphe.
+	 * @return Vrai si le diamtre des graphes de ce type est crit.
+	 */
+	public boolean isDiametreEcrit(int typeGraphe) {
+		return true;
+	}
+	
+	/**
+	 * Mthode permettant de rcuprer le nom court d'un type de graphe, utilis par les
+	 * formats destins  d'autres programmes.
+	 * 
+	 * @param typeGraphe Type du graphe.
+	 * @return Nom du type du graphe.
+	 */
+	protected static String getNomType(int typeGraphe) {
+		if (typeGraphe == TYPE_ORIGINE)
+			return "origine";
+		if (typeGraphe == TYPE_PRIM)
+			return "prim";
+		
+		return "kruskal";
+	}
+	
+}
\ No newline at end of file
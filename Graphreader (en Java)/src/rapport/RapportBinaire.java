@@ -0,0 +1,97 @@
+package rapport;
+
+import java.io.IOException;
+
+import modele.Graphe;
+import modele.TableauAretes;
+
+
+/**
+* La classe RapportBinaire correspond  un rapport binaire compact des arbres couvrants
+* minimaux, destin  d'autres programmes ; le graphe d'origine n'y figure pas.
+* Le rapport commence par deux entiers (signature et version), puis chaque arbre est
+* dcrit par cinq entiers (type du graphe, nombre de sommets, nombre d'artes, diamtre,
+* et cot sur 8 octets), suivis de ses artes, chacune en trois entiers (premier sommet,
+* second sommet, poids), comme les paquets de la classe KruskalExterne.
+* Tous les entiers sont stocks sur 4 octets, dans l'ordre petit-boutiste, comme ceux
+* de la classe FormatBinaire.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class RapportBinaire extends Rapport {
+	
+	public final static int SIGNATURE = 0x31415247; // "GRA1" en petit-boutiste.
+	public final static int VERSION = 1;
+	
+	private boolean enTeteEcrit;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un rapport binaire.
+	 * 
+	 * @param sortie Tampon dans lequel le rapport est crit.
+	 */
+	public RapportBinaire(TamponSortie sortie) {
+		super(sortie);
+		this.enTeteEcrit = false;
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant d'crire un arbre couvrant minimal, prcd de l'en-tte s'il
+	 * s'agit du premier. Le graphe d'origine est ignor.
+	 * 
+	 * @param g Graphe  crire.
+	 * @param typeGraphe Type du graphe (TYPE_ORIGINE, TYPE_PRIM ou TYPE_KRUSKAL).
+	 * @param diametre Diamtre du graphe.
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	public void ecrireGraphe(Graphe g, int typeGraphe, int diametre) throws IOException {
+		TableauAretes aretes;
+		
+		if (typeGraphe == TYPE_ORIGINE)
+			return;
+		
+		if (!enTeteEcrit) {
+			sortie.ecrireEntierBinaire(SIGNATURE);
+			sortie.ecrireEntierBinaire(VERSION);
+			enTeteEcrit = true;
+		}
+		
+		aretes = g.getTableauAretes();
+		sortie.ecrireEntierBinaire(typeGraphe);
+		sortie.ecrireEntierBinaire(g.getNbSommets());
+		sortie.ecrireEntierBinaire(aretes.getNbAretes());
+		sortie.ecrireEntierBinaire(diametre);
+		sortie.ecrireEntierLongBinaire(g.getPoidsTotal());
+		
+		for (int i=0 ; i<aretes.getNbAretes() ; i++) {
+			sortie.ecrireEntierBinaire(aretes.getPremierSommet(i));
+			sortie.ecrireEntierBinaire(aretes.getSecondSommet(i));
+			sortie.ecrireEntierBinaire(aretes.getPoids(i));
+		}
+	}
+	
+	/**
+	 * Mthode permettant de savoir si le rapport contient le diamtre des graphes d'un
+	 * type : c'est le cas des arbres couvrants minimaux, mais pas du graphe d'origine.
+	 * 
+	 * @param typeGraphe Type du graphe.
+	 * @return Vrai si le diamtre des graphes de ce type est crit.
+	 */
+	public boolean isDiametreEcrit(int typeGraphe) {
+		return typeGraphe != TYPE_ORIGINE;
+	}
+	
+}
\ No newline at end of file
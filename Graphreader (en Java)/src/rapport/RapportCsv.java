@@ -0,0 +1,91 @@
+package rapport;
+
+import java.io.IOException;
+
+import modele.Graphe;
+import modele.TableauAretes;
+
+
+/**
+* La classe RapportCsv correspond  un rapport au format CSV, destin  un tableur ou 
+* un autre programme : une ligne d'en-tte, puis une ligne par arte de chaque graphe,
+* de la forme "graphe,premier_sommet,second_sommet,poids", le graphe tant nomm origine,
+* prim ou kruskal. Les lignes se terminent par '\n'.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class RapportCsv extends Rapport {
+	
+	public final static char SEPARATEUR = ',';
+	
+	private boolean enTeteEcrit;
+	private byte[] enTete;
+	private byte[][] nomsTypes;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un rapport au format CSV.
+	 * 
+	 * @param sortie Tampon dans lequel le rapport est crit.
+	 */
+	public RapportCsv(TamponSortie sortie) {
+		super(sortie);
+		this.enTeteEcrit = false;
+		this.enTete = sortie.encoder("graphe" + SEPARATEUR + "premier_sommet" + SEPARATEUR + "second_sommet" + SEPARATEUR + "poids\n");
+		this.nomsTypes = new byte[][] {sortie.encoder(getNomType(TYPE_ORIGINE)), sortie.encoder(getNomType(TYPE_PRIM)), sortie.encoder(getNomType(TYPE_KRUSKAL))};
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant d'crire une ligne par arte du graphe, prcde de l'en-tte
+	 * s'il s'agit du premier graphe du rapport.
+	 * 
+	 * @param g Graphe  crire.
+	 * @param typeGraphe Type du graphe (TYPE_ORIGINE, TYPE_PRIM ou TYPE_KRUSKAL).
+	 * @param diametre Diamtre du graphe, ignor par ce format.
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	public void ecrireGraphe(Graphe g, int typeGraphe, int diametre) throws IOException {
+		TableauAretes aretes = g.getTableauAretes();
+		byte[] nomType = nomsTypes[typeGraphe];
+		
+		if (!enTeteEcrit) {
+			sortie.ecrire(enTete);
+			enTeteEcrit = true;
+		}
+		
+		for (int i=0 ; i<aretes.getNbAretes() ; i++) {
+			sortie.ecrire(nomType);
+			sortie.ecrireOctet(SEPARATEUR);
+			sortie.ecrireEntier(aretes.getPremierSommet(i));
+			sortie.ecrireOctet(SEPARATEUR);
+			sortie.ecrireEntier(aretes.getSecondSommet(i));
+			sortie.ecrireOctet(SEPARATEUR);
+			sortie.ecrireEntier(aretes.getPoids(i));
+			sortie.ecrireOctet('\n');
+		}
+	}
+	
+	/**
+	 * Mthode permettant de savoir si le rapport contient le diamtre des graphes d'un
+	 * type : le format CSV ne contenant que les artes, ce n'est jamais le cas.
+	 * 
+	 * @param typeGraphe Type du graphe.
+	 * @return Faux, le diamtre n'tant jamais crit.
+	 */
+	public boolean isDiametreEcrit(int typeGraphe) {
+		return false;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package rapport;
+
+import java.io.IOException;
+
+import modele.Graphe;
+import modele.TableauAretes;
+
+
+/**
+* La classe RapportJsonLignes correspond  un rapport au format JSON Lines : un objet JSON
+* par ligne, termine par '\n', que d'autres programmes peuvent lire au fil de l'eau. Pour
+* chaque graphe, une premire ligne en donne les caractristiques :
+* {"type":"graphe","graphe":"prim","sommets":5,"aretes":4,"diametre":3,"cout":12}
+* puis une ligne dcrit chacune de ses artes :
+* {"type":"arete","graphe":"prim","premier":0,"second":1,"poids":3}
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class RapportJsonLignes extends Rapport {
+	
+	private byte[][] debutsGraphes;
+	private byte[][] debutsAretes;
+	private byte[] champAretes;
+	private byte[] champDiametre;
+	private byte[] champCout;
+	private byte[] champSecond;
+	private byte[] champPoids;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un rapport au format JSON Lines.
+	 * 
+	 * @param sortie Tampon dans lequel le rapport est crit.
+	 */
+	public RapportJsonLignes(TamponSortie sortie) {
+		super(sortie);
+		this.debutsGraphes = new byte[3][];
+		this.debutsAretes = new byte[3][];
+		for (int t=TYPE_ORIGINE ; t<=TYPE_KRUSKAL ; t++) {
+			debutsGraphes[t] = sortie.encoder("{\"type\":\"graphe\",\"graphe\":\"" + getNomType(t) + "\",\"sommets\":");
+			debutsAretes[t] = sortie.encoder("{\"type\":\"arete\",\"graphe\":\"" + getNomType(t) + "\",\"premier\":");
+		}
+		this.champAretes = sortie.encoder(",\"aretes\":");
+		this.champDiametre = sortie.encoder(",\"diametre\":");
+		this.champCout = sortie.encoder(",\"cout\":");
+		this.champSecond = sortie.encoder(",\"second\":");
+		this.champPoids = sortie.encoder(",\"poids\":");
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant d'crire la ligne des caractristiques du graphe, puis une ligne
+	 * par arte.
+	 * 
+	 * @param g Graphe  crire.
+	 * @param typeGraphe Type du graphe (TYPE_ORIGINE, TYPE_PRIM ou TYPE_KRUSKAL).
+	 * @param diametre Diamtre du graphe.
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	public void ecrireGraphe(Graphe g, int typeGraphe, int diametre) throws IOException {
+		TableauAretes aretes = g.getTableauAretes();
+		
+		sortie.ecrire(debutsGraphes[typeGraphe]);
+		sortie.ecrireEntier(g.getNbSommets());
+		sortie.ecrire(champAretes);
+		sortie.ecrireEntier(g.getNbAretes());
+		sortie.ecrire(champDiametre);
+		sortie.ecrireEntier(diametre);
+		sortie.ecrire(champCout);
+		sortie.ecrireEntier(g.getPoidsTotal());
+		sortie.ecrireOctet('}');
+		sortie.ecrireOctet('\n');
+		
+		for (int i=0 ; i<aretes.getNbAretes() ; i++) {
+			sortie.ecrire(debutsAretes[typeGraphe]);
+			sortie.ecrireEntier(aretes.getPremierSommet(i));
+			sortie.ecrire(champSecond);
+			sortie.ecrireEntier(aretes.getSecondSommet(i));
+			sortie.ecrire(champPoids);
+			sortie.ecrireEntier(aretes.getPoids(i));
+			sortie.ecrireOctet('}');
+			sortie.ecrireOctet('\n');
+		}
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package rapport;
+
+import java.io.IOException;
+
+import modele.Graphe;
+import modele.TableauAretes;
+
+
+/**
+* La classe RapportTexte correspond au texte historique de Graphreader : pour chaque graphe,
+* un titre, le nombre de sommets et d'artes, la liste des artes (sauf pour un rsum),
+* le diamtre et le cot. Les morceaux de texte fixes sont encods une seule fois,  la
+* cration du rapport, et les artes sont lues dans le tableau d'artes du graphe, sans
+* crer la liste de ses objets Arete.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class RapportTexte extends Rapport {
+	
+	private boolean avecAretes;
+	private byte[] titreOrigine;
+	private byte[] titrePrim;
+	private byte[] titreKruskal;
+	private byte[] texteNbSommets;
+	private byte[] texteNbAretes;
+	private byte[] textePremierSommet;
+	private byte[] texteSecondSommet;
+	private byte[] textePoids;
+	private byte[] texteDiametre;
+	private byte[] texteCout;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un rapport texte, dtaill ou rsum.
+	 * 
+	 * @param sortie Tampon dans lequel le rapport est crit.
+	 * @param avecAretes Vrai pour crire la liste des artes de chaque graphe.
+	 */
+	public RapportTexte(TamponSortie sortie, boolean avecAretes) {
+		super(sortie);
+		this.avecAretes = avecAretes;
+		
+		this.titreOrigine = sortie.encoder(joindreLignes("************************", "*** GRAPHE D'ORIGINE ***", "************************", "", "Le graphe d'origine possde pour..."));
+		this.titrePrim = sortie.encoder(joindreLignes("", "", "**************************", "*** ALGORITHME DE PRIM ***", "**************************", "", "L'art couvrant minimal possde pour..."));
+		this.titreKruskal = sortie.encoder(joindreLignes("", "", "*****************************", "*** ALGORITHME DE KRUSKAL ***", "*****************************", "", "L'art couvrant minimal possde pour..."));
+		this.texteNbSommets = sortie.encoder("- Nombre de sommets : ");
+		this.texteNbAretes = sortie.encoder("- Nombre d'artes : ");
+		this.textePremierSommet = sortie.encoder("- Premier sommet : ");
+		this.texteSecondSommet = sortie.encoder(" ; Second sommet : ");
+		this.textePoids = sortie.encoder(" ; Poids : ");
+		this.texteDiametre = sortie.encoder("- Diamtre : ");
+		this.texteCout = sortie.encoder("- Cot : ");
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant d'crire les caractristiques d'un graphe, comme le faisait
+	 * auparavant la mthode afficherInformationsGraphe de la classe Graphe, ligne par ligne.
+	 * 
+	 * @param g Graphe  crire.
+	 * @param typeGraphe Type du graphe (TYPE_ORIGINE, TYPE_PRIM ou TYPE_KRUSKAL).
+	 * @param diametre Diamtre du graphe.
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	public void ecrireGraphe(Graphe g, int typeGraphe, int diametre) throws IOException {
+		TableauAretes aretes = g.getTableauAretes();
+		
+		// Dbut de l'affichage des informations du graphe.
+		if (typeGraphe == TYPE_ORIGINE)
+			sortie.ecrire(titreOrigine);
+		else if (typeGraphe == TYPE_PRIM)
+			sortie.ecrire(titrePrim);
+		else
+			sortie.ecrire(titreKruskal);
+		
+		// Nombre de sommets et d'artes du graphe.
+		this.ecrireLigne(texteNbSommets, g.getNbSommets());
+		this.ecrireLigne(texteNbAretes, g.getNbAretes());
+		
+		// Artes du graphe.
+		if (avecAretes) {
+			for (int i=0 ; i<aretes.getNbAretes() ; i++) {
+				sortie.ecrire(textePremierSommet);
+				sortie.ecrireEntier(aretes.getPremierSommet(i));
+				sortie.ecrire(texteSecondSommet);
+				sortie.ecrireEntier(aretes.getSecondSommet(i));
+				sortie.ecrire(textePoids);
+				sortie.ecrireEntier(aretes.getPoids(i));
+				sortie.ecrireOctet('.');
+				sortie.ecrireFinLigne();
+			}
+		}
+		
+		// Diamtre et cot du graphe.
+		this.ecrireLigne(texteDiametre, diametre);
+		this.ecrireLigne(texteCout, g.getPoidsTotal());
+	}
+	
+	/**
+	 * Mthode permettant d'crire une ligne forme d'un libell, d'un nombre et d'un point.
+	 * 
+	 * @param libelle Libell encod.
+	 * @param valeur Nombre  crire aprs le libell.
+	 * @throws IOException Si le rapport ne peut pas tre crit.
+	 */
+	private void ecrireLigne(byte[] libelle, long valeur) throws IOException {
+		sortie.ecrire(libelle);
+		sortie.ecrireEntier(valeur);
+		sortie.ecrireOctet('.');
+		sortie.ecrireFinLigne();
+	}
+	
+	/**
+	 * Mthode permettant de joindre des lignes de texte, chacune suivie d'une fin de ligne.
+	 * 
+	 * @param lignes Lignes  joindre.
+	 * @return Texte des lignes jointes.
+	 */
+	private static String joindreLignes(String... lignes) {
+		StringBuilder texte = new StringBuilder();
+		
+		for (String ligne : lignes)
+			texte.append(ligne).append(System.lineSeparator());
+		
+		return texte.toString();
+	}
+	
+}
\ No newline at end of file
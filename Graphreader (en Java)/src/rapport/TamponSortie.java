@@ -0,0 +1,219 @@
+package rapport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+
+/**
+* La classe TamponSortie correspond  un tampon d'criture plac devant un flux de sortie.
+* Les rapports y crivent des textes encods une fois pour toutes et des nombres dont les
+* chiffres sont poss directement dans le tampon : l'criture d'une arte ne cre aucun
+* objet. Le flux n'est appel que lorsque le tampon est plein ou vid, soit une fois tous
+* les TAILLE_TAMPON octets au plus, au lieu d'une fois par ligne (chaque println de
+* System.out prend le verrou du flux et le vide) : un long rapport est alors limit par
+* l'criture elle-mme.
+* Le tampon est allou une seule fois et sert  tous les graphes d'un mme rapport.
+*
+* @author Florent LUCET et Marie-Florence REVENEAU
+* @version 1.0
+*/
+public class TamponSortie {
+	
+	public final static int TAILLE_TAMPON = 1 << 16;
+	static final int TAILLE_NOMBRE_MAX = 20;
+	
+	private OutputStream sortie;
+	private Charset jeuCaracteres;
+	private byte[] tampon;
+	private int position;
+	private byte[] finLigne;
+	
+	
+	
+	// ********************
+	// *** CONSTRUCTEUR ***
+	// ********************
+	
+	/**
+	 * Constructeur d'un tampon d'criture devant un flux de sortie.
+	 * 
+	 * @param sortie Flux dans lequel le tampon est vid.
+	 * @param jeuCaracteres Jeu de caractres des textes crits dans le flux.
+	 */
+	public TamponSortie(OutputStream sortie, Charset jeuCaracteres) {
+		this.sortie = sortie;
+		this.jeuCaracteres = jeuCaracteres;
+		this.tampon = new byte[TAILLE_TAMPON];
+		this.position = 0;
+		this.finLigne = this.encoder(System.lineSeparator());
+	}
+	
+	/**
+	 * Mthode permettant de crer un tampon d'criture devant la sortie standard, dont les
+	 * textes sont encods comme ceux de System.out.
+	 * 
+	 * @return Tampon d'criture devant la sortie standard.
+	 */
+	public static TamponSortie creerPourConsole() {
+		String nomJeuCaracteres = System.getProperty("stdout.encoding");
+		Charset jeuCaracteres = Charset.defaultCharset();
+		
+		// Depuis Java 18, System.out n'utilise plus forcment le jeu de caractres par dfaut.
+		if ((nomJeuCaracteres != null) && Charset.isSupported(nomJeuCaracteres))
+			jeuCaracteres = Charset.forName(nomJeuCaracteres);
+		
+		return new TamponSortie(System.out, jeuCaracteres);
+	}
+	
+	
+	
+	// ***************************
+	// *** MTHODES D'CRITURE ***
+	// ***************************
+	
+	/**
+	 * Mthode permettant d'encoder un texte dans le jeu de caractres du flux, une fois
+	 * pour toutes, afin de l'crire ensuite autant de fois que voulu avec ecrire.
+	 * 
+	 * @param texte Texte  encoder.
+	 * @return Octets du texte encod.
+	 */
+	public byte[] encoder(String texte) {
+		return texte.getBytes(jeuCaracteres);
+	}
+	
+	/**
+	 * Mthode permettant d'crire des octets dans le tampon. Un tableau plus grand que le
+	 * tampon est crit directement dans le flux.
+	 * 
+	 * @param octets Octets  crire.
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	public void ecrire(byte[] octets) throws IOException {
+		if (octets.length > tampon.length) {
+			this.ecrireTampon();
+			sortie.write(octets);
+			return;
+		}
+		
+		this.reserver(octets.length);
+		System.arraycopy(octets, 0, tampon, position, octets.length);
+		position += octets.length;
+	}
+	
+	/**
+	 * Mthode permettant d'crire un octet dans le tampon (un caractre ASCII, par exemple).
+	 * 
+	 * @param octet Octet  crire.
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	public void ecrireOctet(int octet) throws IOException {
+		this.reserver(1);
+		tampon[position++] = (byte) octet;
+	}
+	
+	/**
+	 * Mthode permettant d'crire un entier en base 10 dans le tampon, sans passer par une
+	 * chane de caractres : les chiffres sont crits du dernier au premier, puis remis
+	 * dans l'ordre. Le calcul se fait sur la valeur ngative, afin que Long.MIN_VALUE soit
+	 * lui aussi crit correctement.
+	 * 
+	 * @param valeur Entier  crire.
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	public void ecrireEntier(long valeur) throws IOException {
+		int debut;
+		int fin;
+		byte chiffre;
+		
+		this.reserver(TAILLE_NOMBRE_MAX);
+		if (valeur < 0)
+			tampon[position++] = '-';
+		else
+			valeur = -valeur;
+		
+		debut = position;
+		do {
+			tampon[position++] = (byte) ('0' - valeur % 10);
+			valeur /= 10;
+		} while (valeur != 0);
+		
+		for (fin=position-1 ; debut<fin ; debut++, fin--) {
+			chiffre = tampon[debut];
+			tampon[debut] = tampon[fin];
+			tampon[fin] = chiffre;
+		}
+	}
+	
+	/**
+	 * Mthode permettant d'crire une fin de ligne dans le tampon, la mme que celle de
+	 * println.
+	 * 
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	public void ecrireFinLigne() throws IOException {
+		this.ecrire(finLigne);
+	}
+	
+	/**
+	 * Mthode permettant d'crire un entier sur quatre octets, poids faible en premier,
+	 * comme les fichiers binaires du projet.
+	 * 
+	 * @param valeur Entier  crire.
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	public void ecrireEntierBinaire(int valeur) throws IOException {
+		this.reserver(4);
+		tampon[position++] = (byte) valeur;
+		tampon[position++] = (byte) (valeur >>> 8);
+		tampon[position++] = (byte) (valeur >>> 16);
+		tampon[position++] = (byte) (valeur >>> 24);
+	}
+	
+	/**
+	 * Mthode permettant d'crire un entier long sur huit octets, poids faible en premier.
+	 * 
+	 * @param valeur Entier long  crire.
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	public void ecrireEntierLongBinaire(long valeur) throws IOException {
+		this.ecrireEntierBinaire((int) valeur);
+		this.ecrireEntierBinaire((int) (valeur >>> 32));
+	}
+	
+	/**
+	 * Mthode permettant d'crire le contenu du tampon dans le flux, puis de vider le flux.
+	 * 
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	public void vider() throws IOException {
+		this.ecrireTampon();
+		sortie.flush();
+	}
+	
+	/**
+	 * Mthode permettant de s'assurer que le tampon a la place d'crire un certain nombre
+	 * d'octets, en l'crivant dans le flux si ncessaire.
+	 * 
+	 * @param taille Nombre d'octets  crire, au plus gal  la taille du tampon.
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	private void reserver(int taille) throws IOException {
+		if (position + taille > tampon.length)
+			this.ecrireTampon();
+	}
+	
+	/**
+	 * Mthode permettant d'crire le contenu du tampon dans le flux, sans vider le flux.
+	 * 
+	 * @throws IOException Si le flux ne peut pas tre crit.
+	 */
+	private void ecrireTampon() throws IOException {
+		if (position > 0) {
+			sortie.write(tampon, 0, position);
+			position = 0;
+		}
+	}
+	
+}
\ No newline at end of file